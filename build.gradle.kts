@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.0.6"
     id("io.spring.dependency-management") version "1.1.0"
     id("jacoco")
+    id("me.champeau.jmh") version "0.6.8"
 }
 
 group = "faang.school"
@@ -22,6 +23,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign:4.0.2")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.1.0")
     implementation ("org.springframework.retry:spring-retry")
@@ -74,6 +76,22 @@ dependencies {
     implementation("software.amazon.awssdk:auth:2.27.24")
     implementation("software.amazon.awssdk:regions:2.27.24")
     implementation("net.coobird:thumbnailator:0.4.20")
+
+    /**
+     * Benchmarks
+     */
+    jmhImplementation("org.springframework:spring-test")
+    jmhImplementation("org.springframework.kafka:spring-kafka-test:3.3.0")
+}
+
+/**
+ * JMH settings
+ */
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(2)
+    iterations.set(5)
 }
 
 /**
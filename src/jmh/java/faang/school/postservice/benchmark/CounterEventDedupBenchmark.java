@@ -0,0 +1,168 @@
+package faang.school.postservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
+import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
+import faang.school.postservice.redis.dedup.CounterEventFilter;
+import faang.school.postservice.redis.serializer.BinarySafeRedisSerializer;
+import faang.school.postservice.service.impl.RedisPostServiceImpl;
+import faang.school.postservice.service.impl.UniqueViewServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the dedup bitmaps of {@link CounterEventFilter} with the former key per event
+ * ({@code SET NX EX} and an {@code HINCRBY} per post in one pipeline) for likes and post views.
+ * Requires a running Redis, by default on localhost:6379 ({@code -Dredis.host}, {@code -Dredis.port}),
+ * that nothing else writes to while the benchmark runs.
+ * <p>
+ * The score is events per second. Memory is printed at the end of every trial as the growth of
+ * {@code used_memory} per event written, the keys are removed afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CounterEventDedupBenchmark.BATCH_SIZE)
+public class CounterEventDedupBenchmark {
+    static final int BATCH_SIZE = 500;
+    private static final int POSTS = 200;
+    private static final long ID_BITS_PER_KEY = 8388608L;
+    private static final long TTL_SECONDS = 3600L;
+    private static final LocalDateTime VIEW_TIME = LocalDateTime.of(2024, 12, 10, 12, 0);
+
+    @Param({"KEY_PER_EVENT", "BITMAP"})
+    private String strategy;
+
+    @Param({"LIKE", "POST_VIEW"})
+    private String event;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisPostServiceImpl redisPostService;
+    private long usedMemoryBefore;
+    private long nextEventId = 1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new BinarySafeRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        redisPostService = new RedisPostServiceImpl(redisTemplate, new ObjectMapper(), null, null, null,
+                RedisScript.of(new ClassPathResource("redis/scripts/increment_counter_once.lua"), List.class),
+                new CounterEventFilter(ID_BITS_PER_KEY, TTL_SECONDS, TTL_SECONDS, TTL_SECONDS, 60L, 1000000L, 0.001),
+                new UniqueViewServiceImpl(redisTemplate, null));
+        ReflectionTestUtils.setField(redisPostService, "counterBucketSize", 40);
+        ReflectionTestUtils.setField(redisPostService, "counterTtlInSeconds", TTL_SECONDS);
+        usedMemoryBefore = usedMemory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long events = nextEventId - 1;
+        System.out.printf("%n%s %s: %d events, %.2f bytes of Redis memory per event%n",
+                strategy, event, events, (double) (usedMemory() - usedMemoryBefore) / Math.max(1, events));
+
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            deleteByPattern(connection, "benchmark:dedup:*");
+            deleteByPattern(connection, "dedup:like:*");
+            deleteByPattern(connection, "dedup:postView:*");
+            deleteByPattern(connection, "post:counters:*");
+            return null;
+        });
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public void dedupBatch() {
+        long firstId = nextEventId;
+        nextEventId += BATCH_SIZE;
+        if ("BITMAP".equals(strategy)) {
+            if ("LIKE".equals(event)) {
+                List<LikeKafkaEvent> likes = new ArrayList<>(BATCH_SIZE);
+                for (long id = firstId; id < nextEventId; id++) {
+                    likes.add(new LikeKafkaEvent(id, id % POSTS + 1));
+                }
+                redisPostService.incrementLikes(likes);
+            } else {
+                List<PostViewKafkaEvent> views = new ArrayList<>(BATCH_SIZE);
+                for (long id = firstId; id < nextEventId; id++) {
+                    views.add(new PostViewKafkaEvent(id % POSTS + 1, id, viewTime(id)));
+                }
+                redisPostService.incrementPostViews(views);
+            }
+            return;
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long id = firstId; id < nextEventId; id++) {
+                long postId = id % POSTS + 1;
+                String key = "LIKE".equals(event)
+                        ? "benchmark:dedup:like:" + id
+                        : "benchmark:dedup:postView:post:" + postId + ":user:" + id + ":viewDateTime:" + viewTime(id);
+                connection.stringCommands().set(bytes(key), bytes("processed"),
+                        Expiration.seconds(TTL_SECONDS), RedisStringCommands.SetOption.SET_IF_ABSENT);
+                connection.hashCommands().hIncrBy(bytes("post:counters:" + postId / 40), bytes(postId + ":l"), 1);
+            }
+            return null;
+        });
+    }
+
+    private String viewTime(long id) {
+        return VIEW_TIME.plusSeconds(id % 3600).toString();
+    }
+
+    private long usedMemory() {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("memory"));
+        return Long.parseLong(info.getProperty("used_memory"));
+    }
+
+    private void deleteByPattern(RedisConnection connection, String pattern) {
+        List<byte[]> keys = new ArrayList<>();
+        connection.keyCommands().scan(ScanOptions.scanOptions()
+                .match(pattern).count(10_000).build()).forEachRemaining(keys::add);
+        for (int from = 0; from < keys.size(); from += 10_000) {
+            connection.keyCommands().del(keys.subList(from, Math.min(from + 10_000, keys.size())).toArray(byte[][]::new));
+        }
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,176 @@
+package faang.school.postservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
+import faang.school.postservice.redis.dedup.CounterEventFilter;
+import faang.school.postservice.redis.serializer.BinarySafeRedisSerializer;
+import faang.school.postservice.service.RedisPostService;
+import faang.school.postservice.service.impl.FeedServiceImpl;
+import faang.school.postservice.service.impl.RedisPostServiceImpl;
+import faang.school.postservice.service.impl.UniqueViewServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the push (fan-out on write) and pull (author timeline merged on read) paths of the news feed.
+ * Requires a running Redis, by default on localhost:6379 ({@code -Dredis.host}, {@code -Dredis.port}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FeedFanOutBenchmark {
+    private static final long AUTHOR_ID = 1_000_000_000L;
+    private static final long CELEBRITY_POST_ID = 1_000_000_000L;
+    private static final int FEED_POSTS = 50;
+    private static final int PAGE_SIZE = 20;
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @Param({"1000", "10000", "100000"})
+    private int followerCount;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private UserContext userContext;
+    private RedisPostService redisPostService;
+    private FeedServiceImpl pushFeedService;
+    private FeedServiceImpl pullFeedService;
+    private PostPublishedKafkaEvent event;
+    private long celebrityFollowerId;
+    private long regularUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        RedisTemplate<String, Object> postCacheRedisTemplate = new RedisTemplate<>();
+        postCacheRedisTemplate.setConnectionFactory(connectionFactory);
+        postCacheRedisTemplate.setKeySerializer(new StringRedisSerializer());
+        postCacheRedisTemplate.setValueSerializer(new StringRedisSerializer());
+        postCacheRedisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        postCacheRedisTemplate.setHashValueSerializer(new BinarySafeRedisSerializer());
+        postCacheRedisTemplate.afterPropertiesSet();
+
+        userContext = new UserContext();
+        redisPostService = new RedisPostServiceImpl(postCacheRedisTemplate, new ObjectMapper(), null, null, null,
+                RedisScript.of(new ClassPathResource("redis/scripts/increment_counter_once.lua"), List.class),
+                new CounterEventFilter(8388608L, 86400L, 86400L, 86400L, 60L, 1000000L, 0.001),
+                new UniqueViewServiceImpl(redisTemplate, null));
+        ReflectionTestUtils.setField(redisPostService, "counterBucketSize", 40);
+        RedisScript<Long> script = RedisScript.of(
+                new ClassPathResource("redis/scripts/add_post_to_feeds.lua"), Long.class);
+        pushFeedService = createFeedService(script, Integer.MAX_VALUE);
+        pullFeedService = createFeedService(script, 0);
+
+        List<Long> followerIds = LongStream.rangeClosed(1, followerCount).boxed().toList();
+        event = new PostPublishedKafkaEvent(CELEBRITY_POST_ID, followerIds, LocalDateTime.now());
+        celebrityFollowerId = 1L;
+        regularUserId = followerCount + 1L;
+
+        redisTemplate.opsForSet().add("newsfeed:followees:user:" + celebrityFollowerId, "", String.valueOf(AUTHOR_ID));
+        redisTemplate.opsForSet().add("newsfeed:followees:user:" + regularUserId, "");
+        cachePost(CELEBRITY_POST_ID, LocalDateTime.now());
+        for (long postId = 1; postId <= FEED_POSTS; postId++) {
+            LocalDateTime publishedAt = LocalDateTime.now().minusMinutes(postId);
+            cachePost(postId, publishedAt);
+            List<Long> readers = List.of(celebrityFollowerId, regularUserId);
+            pushFeedService.addPost(new PostPublishedKafkaEvent(postId, readers, publishedAt));
+        }
+        pullFeedService.addPost(event);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        List<String> keys = new ArrayList<>();
+        LongStream.rangeClosed(1, regularUserId).forEach(userId -> keys.add("newsfeed:user:" + userId));
+        LongStream.rangeClosed(1, FEED_POSTS).forEach(postId -> keys.add("post:" + postId));
+        keys.add("post:" + CELEBRITY_POST_ID);
+        keys.add("timeline:author:" + AUTHOR_ID);
+        keys.add("newsfeed:followees:user:" + celebrityFollowerId);
+        keys.add("newsfeed:followees:user:" + regularUserId);
+        redisTemplate.delete(keys);
+        redisTemplate.opsForSet().remove("celebrities", String.valueOf(AUTHOR_ID));
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public void publishPush() {
+        pushFeedService.addPost(event);
+    }
+
+    @Benchmark
+    public void publishPull() {
+        pullFeedService.addPost(event);
+    }
+
+    @Benchmark
+    public List<RedisPostDto> readPushedFeed() {
+        userContext.setUserId(regularUserId);
+        return pushFeedService.getNewsFeed(regularUserId, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<RedisPostDto> readMergedFeed() {
+        userContext.setUserId(celebrityFollowerId);
+        return pullFeedService.getNewsFeed(celebrityFollowerId, 0, PAGE_SIZE);
+    }
+
+    private FeedServiceImpl createFeedService(RedisScript<Long> script, int celebrityFollowerThreshold) {
+        FeedServiceImpl feedService = new FeedServiceImpl(redisTemplate, userContext, null, redisPostService, null,
+                null, script, RedisScript.of(new ClassPathResource("redis/scripts/read_feed_page.lua"), List.class),
+                RedisScript.of(new ClassPathResource("redis/scripts/release_lock.lua"), Long.class), null, new UniqueViewServiceImpl(redisTemplate, null), null);
+        ReflectionTestUtils.setField(feedService, "newsFeedSize", 500);
+        ReflectionTestUtils.setField(feedService, "fanOutChunkSize", 500);
+        ReflectionTestUtils.setField(feedService, "fanOutTaskSize", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(feedService, "celebrityFollowerThreshold", celebrityFollowerThreshold);
+        return feedService;
+    }
+
+    private void cachePost(long postId, LocalDateTime createdAt) {
+        Map<String, Object> post = new HashMap<>();
+        post.put("postId", String.valueOf(postId));
+        post.put("authorId", String.valueOf(AUTHOR_ID));
+        post.put("content", "Benchmark post " + postId);
+        post.put("createdAt", createdAt.format(FORMATTER));
+        post.put("commentCount", "0");
+        post.put("likeCount", "0");
+        post.put("viewCount", "0");
+        post.put("recentComments", "[]");
+        redisTemplate.opsForHash().putAll("post:" + postId, post);
+    }
+}
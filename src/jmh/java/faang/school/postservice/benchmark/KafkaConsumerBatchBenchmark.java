@@ -0,0 +1,186 @@
+package faang.school.postservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.consumer.LikeKafkaConsumer;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
+import faang.school.postservice.model.enums.KafkaEventFormat;
+import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
+import faang.school.postservice.redis.dedup.CounterEventFilter;
+import faang.school.postservice.redis.serializer.BinarySafeRedisSerializer;
+import faang.school.postservice.service.impl.RedisPostServiceImpl;
+import faang.school.postservice.service.impl.UniqueViewServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the like consumer reading one record per call with the batch listener that counts a whole poll
+ * in one pipelined Redis write, with the events written as JSON or in the binary format. Kafka runs embedded, Redis has to be running, by default on localhost:6379
+ * ({@code -Dredis.host}, {@code -Dredis.port}).
+ * <p>
+ * Every invocation produces {@link #EVENTS} unique like events while the container is paused and measures
+ * the time until all of them are processed and acknowledged. The score is reported per event, so
+ * events per second is {@code 1000 / score}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(KafkaConsumerBatchBenchmark.EVENTS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class KafkaConsumerBatchBenchmark {
+    static final int EVENTS = 10_000;
+    private static final int POSTS = 200;
+    private static final long ID_BITS_PER_KEY = 8388608L;
+    private static final String TOPIC = "like_benchmark_topic";
+
+    @Param({"SINGLE", "BATCH"})
+    private String mode;
+
+    @Param({"JSON", "BINARY"})
+    private String format;
+
+    private EmbeddedKafkaBroker broker;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private KafkaEventCodec eventCodec;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private KafkaMessageListenerContainer<String, byte[]> container;
+    private volatile CountDownLatch processed;
+    private long nextLikeId = 1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, 1, TOPIC);
+        broker.afterPropertiesSet();
+
+        connectionFactory = new LettuceConnectionFactory(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new BinarySafeRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        RedisPostServiceImpl redisPostService = new RedisPostServiceImpl(redisTemplate, new ObjectMapper(),
+                null, null, null,
+                RedisScript.of(new ClassPathResource("redis/scripts/increment_counter_once.lua"), List.class),
+                new CounterEventFilter(ID_BITS_PER_KEY, 3600L, 3600L, 3600L, 60L, 1000000L, 0.001),
+                new UniqueViewServiceImpl(redisTemplate, null));
+        ReflectionTestUtils.setField(redisPostService, "counterBucketSize", 40);
+        ReflectionTestUtils.setField(redisPostService, "counterTtlInSeconds", 3600L);
+
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.LINGER_MS_CONFIG, 5)));
+        eventCodec = new KafkaEventCodec(new ObjectMapper(), KafkaEventFormat.valueOf(format));
+        LikeKafkaConsumer consumer = new LikeKafkaConsumer(eventCodec, redisPostService,
+                new FailedEventRouter(kafkaTemplate, new SimpleMeterRegistry(), new long[]{5, 60, 600}, 5000, 5000));
+
+        ContainerProperties containerProperties = new ContainerProperties(TOPIC);
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        if ("BATCH".equals(mode)) {
+            containerProperties.setMessageListener(
+                    (BatchAcknowledgingMessageListener<String, byte[]>) (records, acknowledgment) -> {
+                        consumer.onBatch(records, acknowledgment);
+                        records.forEach(record -> processed.countDown());
+                    });
+        } else {
+            containerProperties.setMessageListener(
+                    (AcknowledgingMessageListener<String, byte[]>) (record, acknowledgment) -> {
+                        consumer.onMessage(record, acknowledgment);
+                        processed.countDown();
+                    });
+        }
+        container = new KafkaMessageListenerContainer<>(new DefaultKafkaConsumerFactory<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.GROUP_ID_CONFIG, "like-benchmark-" + mode + "-" + format,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class)), containerProperties);
+        processed = new CountDownLatch(0);
+        container.start();
+    }
+
+    @Setup(Level.Invocation)
+    public void produceEvents() throws InterruptedException {
+        container.pause();
+        while (!container.isPauseRequested() || !container.isContainerPaused()) {
+            Thread.sleep(10);
+        }
+        processed = new CountDownLatch(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            long likeId = nextLikeId++;
+            long postId = likeId % POSTS + 1;
+            kafkaTemplate.send(TOPIC, String.valueOf(postId), eventCodec.encode(new LikeKafkaEvent(likeId, postId)));
+        }
+        kafkaTemplate.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.stop();
+        kafkaTemplate.destroy();
+        List<String> keys = new ArrayList<>();
+        LongStream.rangeClosed(0, nextLikeId / ID_BITS_PER_KEY).forEach(range -> keys.add("dedup:like:" + range));
+        LongStream.rangeClosed(0, POSTS / 40).forEach(bucket -> keys.add("post:counters:" + bucket));
+        redisTemplate.delete(keys);
+        connectionFactory.destroy();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public void consumeLikes() throws InterruptedException {
+        container.resume();
+        if (!processed.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Like events were not consumed in time");
+        }
+    }
+}
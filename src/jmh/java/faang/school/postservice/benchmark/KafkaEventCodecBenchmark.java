@@ -0,0 +1,88 @@
+package faang.school.postservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.model.enums.KafkaEventFormat;
+import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
+import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Encode and decode cost of Kafka events in JSON and in the binary format of {@link KafkaEventCodec}:
+ * a post published to {@code followerCount} followers, as sent by the fan-out, and a like event.
+ * The score is operations per second. The setup prints the bytes per event of both formats, before
+ * compression by the producer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KafkaEventCodecBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int followerCount;
+
+    @Param({"JSON", "BINARY"})
+    private String format;
+
+    private KafkaEventCodec codec;
+    private PostPublishedKafkaEvent postEvent;
+    private LikeKafkaEvent likeEvent;
+    private byte[] postPayload;
+    private byte[] likePayload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        codec = new KafkaEventCodec(objectMapper, KafkaEventFormat.valueOf(format));
+        postEvent = new PostPublishedKafkaEvent(987_654_321L, createFollowerIds(), LocalDateTime.now());
+        likeEvent = new LikeKafkaEvent(123_456_789L, 987_654_321L);
+        postPayload = codec.encode(postEvent);
+        likePayload = codec.encode(likeEvent);
+        System.out.printf("%s: %d bytes per post published to %d followers (%.2f per follower), %d bytes per like%n",
+                format, postPayload.length, followerCount, postPayload.length / (double) followerCount,
+                likePayload.length);
+    }
+
+    @Benchmark
+    public byte[] encodePostPublished() {
+        return codec.encode(postEvent);
+    }
+
+    @Benchmark
+    public PostPublishedKafkaEvent decodePostPublished() {
+        return codec.decode(postPayload, PostPublishedKafkaEvent.class);
+    }
+
+    @Benchmark
+    public LikeKafkaEvent decodeLike() {
+        return codec.decode(likePayload, LikeKafkaEvent.class);
+    }
+
+    /**
+     * Ascending follower ids with random gaps, spread over about a hundred million users.
+     */
+    private List<Long> createFollowerIds() {
+        Random random = new Random(42);
+        long[] ids = new long[followerCount];
+        long id = random.nextInt(1_000);
+        for (int i = 0; i < followerCount; i++) {
+            id += 1 + random.nextInt(Math.max(1, 100_000_000 / followerCount));
+            ids[i] = id;
+        }
+        return LongStream.of(ids).boxed().toList();
+    }
+}
@@ -0,0 +1,91 @@
+package faang.school.postservice.benchmark;
+
+import faang.school.postservice.util.moderation.AhoCorasickMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former dictionary scan ({@code content.toLowerCase().contains(word)} for every word) with
+ * the {@link AhoCorasickMatcher} of {@code ModerationDictionary} on clean 4 KB posts, the case where every
+ * word has to be tried. Dictionary words start with a letter the posts never contain. The score is posts
+ * checked per second for each dictionary size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ModerationDictionaryBenchmark {
+    private static final int POST_LENGTH = 4096;
+    private static final int POSTS = 64;
+    private static final String WORD_ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    private static final String POST_ALPHABET = "abcdefghijklmnoprstuvwxyz";
+
+    @Param({"20", "200", "2000", "20000"})
+    private int dictionarySize;
+
+    @Param({"false", "true"})
+    private boolean wholeWords;
+
+    private Set<String> words;
+    private AhoCorasickMatcher matcher;
+    private List<String> posts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        words = new HashSet<>();
+        while (words.size() < dictionarySize) {
+            words.add("q" + randomWord(random, WORD_ALPHABET, 5 + random.nextInt(6)));
+        }
+        matcher = AhoCorasickMatcher.compile(words, wholeWords);
+
+        posts = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            StringBuilder post = new StringBuilder(POST_LENGTH);
+            while (post.length() < POST_LENGTH) {
+                String word = randomWord(random, POST_ALPHABET, 2 + random.nextInt(8));
+                post.append(random.nextInt(10) == 0 ? word.toUpperCase() : word).append(' ');
+            }
+            posts.add(post.toString());
+        }
+    }
+
+    @Benchmark
+    public boolean naiveScan() {
+        String content = nextPost();
+        return words.stream()
+                .anyMatch(swearWord -> content.toLowerCase().contains(swearWord));
+    }
+
+    @Benchmark
+    public boolean automaton() {
+        return matcher.containsAny(nextPost());
+    }
+
+    private String nextPost() {
+        next = (next + 1) % POSTS;
+        return posts.get(next);
+    }
+
+    private static String randomWord(Random random, String alphabet, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return word.toString();
+    }
+}
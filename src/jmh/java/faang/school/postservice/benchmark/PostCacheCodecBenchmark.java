@@ -0,0 +1,114 @@
+package faang.school.postservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.model.dto.redis.cache.RedisCommentDto;
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.enums.PostCacheFormat;
+import faang.school.postservice.redis.serializer.BinarySafeRedisSerializer;
+import faang.school.postservice.redis.serializer.RedisPostHashCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode cost of a cached post in the text hash and the binary layout, as read from Redis.
+ * With {@code -Dredis.host} set, the setup also stores sample posts in both layouts and prints
+ * the Redis memory they take, extrapolated to one million posts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostCacheCodecBenchmark {
+    private static final int MEMORY_SAMPLE_POSTS = 10_000;
+    private static final int POSTS_PER_REPORT = 1_000_000;
+
+    private final BinarySafeRedisSerializer valueSerializer = new BinarySafeRedisSerializer();
+    private RedisPostHashCodec codec;
+    private Map<String, Object> hashPost;
+    private Map<String, Object> binaryPost;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = new RedisPostHashCodec(new ObjectMapper());
+        RedisPostDto post = createPost(123_456_789L);
+        hashPost = toStoredFields(codec.encode(post, PostCacheFormat.HASH));
+        binaryPost = toStoredFields(codec.encode(post, PostCacheFormat.BINARY));
+
+        if (System.getProperty("redis.host") != null) {
+            reportRedisMemory();
+        }
+    }
+
+    @Benchmark
+    public RedisPostDto decodeHash() {
+        return codec.decode(hashPost);
+    }
+
+    @Benchmark
+    public RedisPostDto decodeBinary() {
+        return codec.decode(binaryPost);
+    }
+
+    private void reportRedisMemory() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                System.getProperty("redis.host"), Integer.getInteger("redis.port", 6379));
+        connectionFactory.afterPropertiesSet();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            for (PostCacheFormat format : PostCacheFormat.values()) {
+                long totalBytes = 0;
+                for (long postId = 1; postId <= MEMORY_SAMPLE_POSTS; postId++) {
+                    byte[] key = ("benchmark:post:" + format + ":" + postId).getBytes(StandardCharsets.UTF_8);
+                    Map<byte[], byte[]> fields = new HashMap<>();
+                    codec.encode(createPost(postId), format).forEach((field, value) ->
+                            fields.put(field.getBytes(StandardCharsets.UTF_8), valueSerializer.serialize(value)));
+                    connection.hashCommands().hMSet(key, fields);
+                    Object usage = connection.execute("MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), key);
+                    totalBytes += usage instanceof Number bytes ? bytes.longValue() : 0;
+                    connection.keyCommands().del(key);
+                }
+                System.out.printf("%s: %d bytes per post, %.1f MB per %d posts%n", format,
+                        totalBytes / MEMORY_SAMPLE_POSTS,
+                        totalBytes * (double) POSTS_PER_REPORT / MEMORY_SAMPLE_POSTS / (1024 * 1024),
+                        POSTS_PER_REPORT);
+            }
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private Map<String, Object> toStoredFields(Map<String, Object> postMap) {
+        Map<String, Object> storedFields = new HashMap<>();
+        postMap.forEach((field, value) -> storedFields.put(field, valueSerializer.serialize(value)));
+        return storedFields;
+    }
+
+    private RedisPostDto createPost(long postId) {
+        return RedisPostDto.builder()
+                .postId(postId)
+                .authorId(postId % 100_000)
+                .content("Benchmark post " + postId + ". " + "Lorem ipsum dolor sit amet. ".repeat(8))
+                .createdAt(LocalDateTime.of(2024, 12, 9, 16, 59, 33))
+                .commentCount(12)
+                .likeCount(345)
+                .viewCount(6789)
+                .recentComments(List.of(
+                        new RedisCommentDto(postId + 1, "First comment on the benchmark post"),
+                        new RedisCommentDto(postId + 2, "Second comment on the benchmark post"),
+                        new RedisCommentDto(postId + 3, "Third comment on the benchmark post")))
+                .build();
+    }
+}
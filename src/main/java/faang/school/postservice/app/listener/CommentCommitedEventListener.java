@@ -32,14 +32,20 @@ public class CommentCommitedEventListener {
         CommentDto savedCommentDto = event.getCommentDto();
         commentEventPublisher.publish(createCommentEvent(savedCommentDto));
 
-        authorCommentKafkaProducer.sendEvent(new AuthorCommentKafkaEvent(savedCommentDto.getAuthorId()));
+        if (!authorCommentKafkaProducer.sendEvent(new AuthorCommentKafkaEvent(savedCommentDto.getAuthorId()))) {
+            log.error("Comment {} was not announced to user-service, the Kafka producer rejected it",
+                    savedCommentDto.getId());
+        }
 
         CommentSentKafkaEvent commentSentKafkaEvent = new CommentSentKafkaEvent(
                 savedCommentDto.getPostId(),
                 savedCommentDto.getAuthorId(),
                 savedCommentDto.getId(),
                 savedCommentDto.getContent());
-        commentKafkaProducer.sendEvent(commentSentKafkaEvent);
+        if (!commentKafkaProducer.sendEvent(commentSentKafkaEvent)) {
+            log.error("Comment {} of post {} was rejected by the Kafka producer, the cached post misses it",
+                    savedCommentDto.getId(), savedCommentDto.getPostId());
+        }
     }
 
     private CommentEvent createCommentEvent(CommentDto comment) {
@@ -21,6 +21,9 @@ public class LikeCommitedEventListener {
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleLikeCommittedEvent(LikeCommitedEvent event) {
         likeEventPublisher.publish(new LikePostEvent(event.getLikeAuthorId(), event.getPostId(), event.getPostAuthorId()));
-        likeKafkaProducer.sendEvent(new LikeKafkaEvent(event.getLikeId(), event.getPostId()));
+        if (!likeKafkaProducer.sendEvent(new LikeKafkaEvent(event.getLikeId(), event.getPostId()))) {
+            log.error("Like {} of post {} was rejected by the Kafka producer, the cached like count misses it",
+                    event.getLikeId(), event.getPostId());
+        }
     }
 }
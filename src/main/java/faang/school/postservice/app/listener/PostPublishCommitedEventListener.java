@@ -1,6 +1,5 @@
 package faang.school.postservice.app.listener;
 
-import faang.school.postservice.kafka.producer.AuthorPostKafkaProducer;
 import faang.school.postservice.mapper.PostMapper;
 import faang.school.postservice.mapper.RedisPostDtoMapper;
 import faang.school.postservice.model.dto.CommentDto;
@@ -12,6 +11,7 @@ import faang.school.postservice.model.event.application.PostsPublishCommittedEve
 import faang.school.postservice.model.event.kafka.AuthorPostKafkaEvent;
 import faang.school.postservice.service.CommentService;
 import faang.school.postservice.service.LikeService;
+import faang.school.postservice.service.PostAnnouncementService;
 import faang.school.postservice.service.RedisPostService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,7 +30,7 @@ public class PostPublishCommitedEventListener {
     private final RedisPostService redisPostService;
     private final RedisPostDtoMapper redisPostDtoMapper;
     private final PostMapper postMapper;
-    private final AuthorPostKafkaProducer authorPostKafkaProducer;
+    private final PostAnnouncementService postAnnouncementService;
     private final CommentService commentService;
     private final LikeService likeService;
 
@@ -51,7 +51,7 @@ public class PostPublishCommitedEventListener {
         posts.forEach(post -> {
             log.debug("Sending AuthorPublishedPostKafkaEvent for author with id = {} in Kafka for user-service",
                     post.getAuthorId());
-            authorPostKafkaProducer.sendEvent(
+            postAnnouncementService.announce(
                     new AuthorPostKafkaEvent(post.getId(), post.getAuthorId(), post.getPublishedAt()));
             log.debug("Saving post with id = {} in Redis if needed", post.getId());
             RedisPostDto redisPostDto = RedisPostDto.builder()
@@ -25,8 +25,12 @@ public class PostViewCommitedEventListener {
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handlePostViewCommittedEvent(PostViewCommittedEvent event) {
         postViewPublisher.publish(createPostViewEvent(event.getPostId(), event.getPostAuthorId(), event.getViewerId()));
-        postViewKafkaProducer.sendEvent(
+        boolean sent = postViewKafkaProducer.sendEvent(
                 new PostViewKafkaEvent(event.getPostId(), event.getViewerId(), LocalDateTime.now().format(formatter)));
+        if (!sent) {
+            log.error("View of post {} by user {} was rejected by the Kafka producer, the cached view count misses it",
+                    event.getPostId(), event.getViewerId());
+        }
     }
 
     private PostViewEvent createPostViewEvent(Long postId, Long postAuthorId, Long viewerId) {
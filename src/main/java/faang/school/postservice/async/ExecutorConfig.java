@@ -1,5 +1,6 @@
 package faang.school.postservice.async;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,4 +14,9 @@ public class ExecutorConfig {
     public ExecutorService singleThreadExecutor() {
         return Executors.newSingleThreadExecutor();
     }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService feedHeaterExecutor(@Value("${redis.feed.heater.parallelism}") int parallelism) {
+        return Executors.newFixedThreadPool(parallelism);
+    }
 }
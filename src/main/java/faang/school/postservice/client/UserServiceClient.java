@@ -22,4 +22,7 @@ public interface UserServiceClient {
 
     @GetMapping("/users/maxId")
     Long getMaxUserId();
+
+    @GetMapping("/subscriptions/{followerId}/followees/ids")
+    List<Long> getFolloweeIds(@PathVariable long followerId);
 }
@@ -1,18 +1,23 @@
 package faang.school.postservice.config;
 
 import faang.school.postservice.redis.listener.HashtagListener;
+import faang.school.postservice.redis.serializer.BinarySafeRedisSerializer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 @Configuration
 @Slf4j
 public class RedisConfig {
@@ -89,6 +94,54 @@ public class RedisConfig {
         return template;
     }
 
+    @Bean(name = "postCacheRedisTemplate")
+    public RedisTemplate<String, Object> postCacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new BinarySafeRedisSerializer());
+        return template;
+    }
+
+    @Bean
+    public RedisScript<Long> addPostToFeedsScript() {
+        return RedisScript.of(new ClassPathResource("redis/scripts/add_post_to_feeds.lua"), Long.class);
+    }
+
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> incrementCounterOnceScript() {
+        return RedisScript.of(new ClassPathResource("redis/scripts/increment_counter_once.lua"), List.class);
+    }
+
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> readFeedPageScript() {
+        return RedisScript.of(new ClassPathResource("redis/scripts/read_feed_page.lua"), List.class);
+    }
+
+    @Bean
+    public RedisScript<Long> releaseLockScript() {
+        return RedisScript.of(new ClassPathResource("redis/scripts/release_lock.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<Long> extendLockScript() {
+        return RedisScript.of(new ClassPathResource("redis/scripts/extend_lock.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<Long> addTrendingSliceScript() {
+        return RedisScript.of(new ClassPathResource("redis/scripts/add_trending_slice.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<Long> expireTrendingSliceScript() {
+        return RedisScript.of(new ClassPathResource("redis/scripts/expire_trending_slice.lua"), Long.class);
+    }
+
     @Bean
     public ChannelTopic commentTopic() {
         return new ChannelTopic(topicNameComment);
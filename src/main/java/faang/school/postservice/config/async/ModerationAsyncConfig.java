@@ -0,0 +1,30 @@
+package faang.school.postservice.config.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+public class ModerationAsyncConfig {
+
+    @Value("${post.moderation.workers}")
+    private int workers;
+
+    @Value("${post.moderation.max-chunks-in-flight}")
+    private int maxChunksInFlight;
+
+    @Bean(name = "moderationExecutor")
+    public Executor moderationExecutor() {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(maxChunksInFlight);
+        executor.setThreadNamePrefix("ModerationExecutor-");
+        executor.initialize();
+        return executor;
+    }
+}
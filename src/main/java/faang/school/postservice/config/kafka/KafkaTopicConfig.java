@@ -1,9 +1,14 @@
 package faang.school.postservice.config.kafka;
 
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class KafkaTopicConfig {
@@ -32,6 +37,15 @@ public class KafkaTopicConfig {
     @Value("${kafka.topics.author-post-by-heat}")
     private String kafkaAuthorPostByHeatTopic;
 
+    @Value("${kafka.topics.feed-fan-out}")
+    private String kafkaFeedFanOutTopic;
+
+    @Value("${kafka.fan-out.partitions}")
+    private int feedFanOutPartitions;
+
+    @Value("${kafka.retry.topics}")
+    private String[] retryableTopics;
+
     @Bean
     public NewTopic kafkaPostTopic() {
         return new NewTopic(kafkaPostTopic, 3, (short) 1);
@@ -71,4 +85,21 @@ public class KafkaTopicConfig {
     public NewTopic kafkaAuthorPostByHeatTopic() {
         return new NewTopic(kafkaAuthorPostByHeatTopic, 3, (short) 1);
     }
+
+    @Bean
+    public NewTopic kafkaFeedFanOutTopic() {
+        return new NewTopic(kafkaFeedFanOutTopic, feedFanOutPartitions, (short) 1);
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics kafkaRetryTopics(FailedEventRouter failedEventRouter) {
+        List<NewTopic> topics = new ArrayList<>();
+        for (String topic : retryableTopics) {
+            for (int attempt = 1; attempt <= failedEventRouter.getRetryAttempts(); attempt++) {
+                topics.add(new NewTopic(FailedEventRouter.retryTopic(topic, attempt), 3, (short) 1));
+            }
+            topics.add(new NewTopic(FailedEventRouter.deadLetterTopic(topic), 3, (short) 1));
+        }
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
 }
@@ -0,0 +1,26 @@
+package faang.school.postservice.controller;
+
+import faang.school.postservice.model.dto.DeadLetterReplayDto;
+import faang.school.postservice.service.DeadLetterReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/dead-letters")
+@RequiredArgsConstructor
+public class DeadLetterController {
+
+    private final DeadLetterReplayService deadLetterReplayService;
+
+    @PostMapping("/{topic}/replay")
+    public ResponseEntity<DeadLetterReplayDto> replay(
+            @PathVariable String topic,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(deadLetterReplayService.replay(topic, limit));
+    }
+}
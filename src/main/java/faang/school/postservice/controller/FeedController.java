@@ -1,10 +1,17 @@
 package faang.school.postservice.controller;
 
+import faang.school.postservice.model.dto.FeedHeatJobDto;
+import faang.school.postservice.model.dto.FeedPageDto;
 import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.service.FeedHeaterService;
 import faang.school.postservice.service.FeedService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -16,28 +23,56 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/feed")
+@Validated
 public class FeedController {
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final FeedService feedService;
+    private final FeedHeaterService feedHeaterService;
 
     @Autowired
-    public FeedController(FeedService feedService) {
+    public FeedController(FeedService feedService, FeedHeaterService feedHeaterService) {
         this.feedService = feedService;
+        this.feedHeaterService = feedHeaterService;
     }
 
     @GetMapping("/{userId}")
     public ResponseEntity<List<RedisPostDto>> getNewsFeed(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int pageSize) {
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int pageSize) {
         List<RedisPostDto> posts = feedService.getNewsFeed(userId, page, pageSize);
         return new ResponseEntity<>(posts, HttpStatus.OK);
     }
 
+    @GetMapping("/{userId}/cursor")
+    public ResponseEntity<FeedPageDto> getNewsFeedByCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int pageSize) {
+        FeedPageDto feedPage = feedService.getNewsFeedByCursor(userId, cursor, pageSize);
+        return new ResponseEntity<>(feedPage, HttpStatus.OK);
+    }
+
     @PostMapping("/heat")
-    public ResponseEntity<String> heatCache() {
-        feedService.startHeatingInBackground();
-        return ResponseEntity.ok("Cache heating started");
+    public ResponseEntity<FeedHeatJobDto> heatCache() {
+        return ResponseEntity.ok(feedHeaterService.startHeatingInBackground());
+    }
+
+    @GetMapping("/heat")
+    public ResponseEntity<FeedHeatJobDto> getHeatingStatus() {
+        return ResponseEntity.ok(feedHeaterService.getHeatingStatus());
+    }
+
+    @DeleteMapping("/heat")
+    public ResponseEntity<FeedHeatJobDto> cancelHeating() {
+        return ResponseEntity.ok(feedHeaterService.cancelHeating());
+    }
+
+    @PostMapping("/compact")
+    public ResponseEntity<String> compactFeeds() {
+        feedService.startCompactionInBackground();
+        return ResponseEntity.ok("Feed compaction started");
     }
 
 }
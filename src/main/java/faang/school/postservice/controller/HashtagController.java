@@ -0,0 +1,35 @@
+package faang.school.postservice.controller;
+
+import faang.school.postservice.model.dto.TrendingHashtagDto;
+import faang.school.postservice.model.enums.TrendingWindow;
+import faang.school.postservice.service.TrendingHashtagService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/hashtags")
+@Validated
+public class HashtagController {
+    private static final int MAX_TRENDING_LIMIT = 100;
+
+    private final TrendingHashtagService trendingHashtagService;
+
+    public HashtagController(TrendingHashtagService trendingHashtagService) {
+        this.trendingHashtagService = trendingHashtagService;
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingHashtagDto>> getTrendingHashtags(
+            @RequestParam(defaultValue = "HOUR") TrendingWindow window,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_TRENDING_LIMIT) int limit) {
+        return ResponseEntity.ok(trendingHashtagService.getTrending(window, limit));
+    }
+}
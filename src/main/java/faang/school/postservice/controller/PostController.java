@@ -1,11 +1,14 @@
 package faang.school.postservice.controller;
 
 import faang.school.postservice.model.dto.PostDto;
+import faang.school.postservice.model.dto.PostPageDto;
 import faang.school.postservice.service.PostService;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,12 +24,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/posts")
 @Validated
 public class PostController {
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final PostService postService;
 
@@ -63,23 +65,35 @@ public class PostController {
     }
 
     @GetMapping("/drafts/user/{authorId}")
-    public ResponseEntity<List<PostDto>> getUserDrafts(@PathVariable @NotNull Long authorId) {
-        return ResponseEntity.ok(postService.getUserDrafts(authorId));
+    public ResponseEntity<PostPageDto> getUserDrafts(
+            @PathVariable @NotNull Long authorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int pageSize) {
+        return ResponseEntity.ok(postService.getUserDrafts(authorId, cursor, pageSize));
     }
 
     @GetMapping("/drafts/project/{projectId}")
-    public ResponseEntity<List<PostDto>> getProjectDrafts(@PathVariable @NotNull Long projectId) {
-        return ResponseEntity.ok(postService.getProjectDrafts(projectId));
+    public ResponseEntity<PostPageDto> getProjectDrafts(
+            @PathVariable @NotNull Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int pageSize) {
+        return ResponseEntity.ok(postService.getProjectDrafts(projectId, cursor, pageSize));
     }
 
     @GetMapping("/published/user/{authorId}")
-    public ResponseEntity<List<PostDto>> getAllPostPublishedByUser(@PathVariable @NotNull Long authorId) {
-        return ResponseEntity.ok(postService.getAllPostPublishedByUser(authorId));
+    public ResponseEntity<PostPageDto> getAllPostPublishedByUser(
+            @PathVariable @NotNull Long authorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int pageSize) {
+        return ResponseEntity.ok(postService.getAllPostPublishedByUser(authorId, cursor, pageSize));
     }
 
     @GetMapping("/published/project/{projectId}")
-    public ResponseEntity<List<PostDto>> getAllPostPublishedByProject(@PathVariable @NotNull Long projectId) {
-        return ResponseEntity.ok(postService.getAllPostPublishedByProject(projectId));
+    public ResponseEntity<PostPageDto> getAllPostPublishedByProject(
+            @PathVariable @NotNull Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int pageSize) {
+        return ResponseEntity.ok(postService.getAllPostPublishedByProject(projectId, cursor, pageSize));
     }
 
     @GetMapping("/all/hashtag/")
@@ -0,0 +1,12 @@
+package faang.school.postservice.exception;
+
+public class EventSerializationException extends RuntimeException {
+
+    public EventSerializationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public EventSerializationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,82 @@
+package faang.school.postservice.kafka.codec;
+
+import faang.school.postservice.exception.EventSerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BinaryEventReader {
+    private final byte[] buffer;
+    private int position;
+
+    BinaryEventReader(byte[] buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    byte readByte() {
+        if (position >= buffer.length) {
+            throw new EventSerializationException("Binary event is truncated");
+        }
+        return buffer[position++];
+    }
+
+    long readLong() {
+        return unzigzag(readVarLong());
+    }
+
+    Long readNullableLong() {
+        long value = readVarLong();
+        return value == 0 ? null : unzigzag(value - 1);
+    }
+
+    String readString() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int size = checkedSize(length - 1);
+        String value = new String(buffer, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return value;
+    }
+
+    List<Long> readIdList() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int size = checkedSize(length - 1);
+        List<Long> ids = new ArrayList<>(size);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += unzigzag(readVarLong());
+            ids.add(previous);
+        }
+        return ids;
+    }
+
+    private int checkedSize(long size) {
+        if (size < 0 || size > buffer.length - position) {
+            throw new EventSerializationException("Binary event is truncated");
+        }
+        return (int) size;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new EventSerializationException("Malformed varint in binary event");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,91 @@
+package faang.school.postservice.kafka.codec;
+
+import faang.school.postservice.model.event.kafka.CommentSentKafkaEvent;
+import faang.school.postservice.model.event.kafka.FeedFanOutKafkaEvent;
+import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
+import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
+import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Field layout of one event type in the binary format. The type id is part of every payload and must never be
+ * reused for another event. Fields may only be appended at the end, readers of an older layout ignore them.
+ */
+record BinaryEventSchema<T>(int typeId,
+                            Class<T> type,
+                            BiConsumer<T, BinaryEventWriter> writer,
+                            Function<BinaryEventReader, T> reader) {
+
+    static final List<BinaryEventSchema<?>> ALL = List.of(
+            new BinaryEventSchema<>(1, PostPublishedKafkaEvent.class,
+                    (event, out) -> {
+                        out.writeLong(event.getPostId());
+                        out.writeNullableLong(toEpochMillis(event.getPublishedAt()));
+                        out.writeIdList(event.getFollowerIds());
+                    },
+                    in -> {
+                        long postId = in.readLong();
+                        LocalDateTime publishedAt = fromEpochMillis(in.readNullableLong());
+                        return new PostPublishedKafkaEvent(postId, in.readIdList(), publishedAt);
+                    }),
+            new BinaryEventSchema<>(2, LikeKafkaEvent.class,
+                    (event, out) -> {
+                        out.writeNullableLong(event.getLikeId());
+                        out.writeNullableLong(event.getPostId());
+                    },
+                    in -> new LikeKafkaEvent(in.readNullableLong(), in.readNullableLong())),
+            new BinaryEventSchema<>(3, PostViewKafkaEvent.class,
+                    (event, out) -> {
+                        out.writeNullableLong(event.getPostId());
+                        out.writeNullableLong(event.getViewerId());
+                        out.writeString(event.getViewDateTime());
+                    },
+                    in -> new PostViewKafkaEvent(in.readNullableLong(), in.readNullableLong(), in.readString())),
+            new BinaryEventSchema<>(4, CommentSentKafkaEvent.class,
+                    (event, out) -> {
+                        out.writeNullableLong(event.getPostId());
+                        out.writeNullableLong(event.getCommentAuthorId());
+                        out.writeNullableLong(event.getCommentId());
+                        out.writeString(event.getCommentContent());
+                    },
+                    in -> new CommentSentKafkaEvent(in.readNullableLong(), in.readNullableLong(),
+                            in.readNullableLong(), in.readString())),
+            new BinaryEventSchema<>(5, FeedFanOutKafkaEvent.class,
+                    (event, out) -> {
+                        out.writeLong(event.getPostId());
+                        out.writeNullableLong(toEpochMillis(event.getPublishedAt()));
+                        out.writeLong(event.getChunkIndex());
+                        out.writeLong(event.getChunkCount());
+                        out.writeIdList(event.getFollowerIds());
+                    },
+                    in -> {
+                        long postId = in.readLong();
+                        LocalDateTime publishedAt = fromEpochMillis(in.readNullableLong());
+                        int chunkIndex = (int) in.readLong();
+                        int chunkCount = (int) in.readLong();
+                        return new FeedFanOutKafkaEvent(postId, in.readIdList(), publishedAt, chunkIndex, chunkCount);
+                    })
+    );
+
+    void write(Object event, BinaryEventWriter out) {
+        writer.accept(type.cast(event), out);
+    }
+
+    T read(BinaryEventReader in) {
+        return reader.apply(in);
+    }
+
+    private static Long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMillis(Long epochMillis) {
+        return epochMillis == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
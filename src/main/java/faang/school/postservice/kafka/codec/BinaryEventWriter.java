@@ -0,0 +1,82 @@
+package faang.school.postservice.kafka.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the fields of a binary event. Numbers are zigzag varints, nullable numbers, strings and lists are
+ * shifted by one so that zero means {@code null}, the same conventions as {@code RedisPostDtoSerializer}.
+ */
+final class BinaryEventWriter {
+    private byte[] buffer;
+    private int position;
+
+    BinaryEventWriter(int initialCapacity) {
+        buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeLong(long value) {
+        writeVarLong(zigzag(value));
+    }
+
+    void writeNullableLong(Long value) {
+        writeVarLong(value == null ? 0 : zigzag(value) + 1);
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    void writeIdList(List<Long> ids) {
+        if (ids == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(ids.size() + 1L);
+        long previous = 0;
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Id lists of binary events must not contain null");
+            }
+            writeVarLong(zigzag(id - previous));
+            previous = id;
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
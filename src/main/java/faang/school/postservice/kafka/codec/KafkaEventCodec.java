@@ -0,0 +1,78 @@
+package faang.school.postservice.kafka.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventSerializationException;
+import faang.school.postservice.model.enums.KafkaEventFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary records start with a zero byte, the format version and the type id of the event. A JSON document never
+ * starts with a zero byte, so the format is detected per record. Events without a binary schema are always JSON.
+ */
+@Component
+public class KafkaEventCodec {
+    public static final byte BINARY_MARKER = 0;
+    public static final byte VERSION = 1;
+
+    private final ObjectMapper objectMapper;
+    private final KafkaEventFormat format;
+    private final Map<Class<?>, BinaryEventSchema<?>> schemas = new HashMap<>();
+
+    public KafkaEventCodec(ObjectMapper objectMapper,
+                           @Value("${kafka.codec.format:JSON}") KafkaEventFormat format) {
+        this.objectMapper = objectMapper;
+        this.format = format;
+        BinaryEventSchema.ALL.forEach(schema -> schemas.put(schema.type(), schema));
+    }
+
+    public byte[] encode(Object event) {
+        BinaryEventSchema<?> schema = schemas.get(event.getClass());
+        if (format == KafkaEventFormat.BINARY && schema != null) {
+            BinaryEventWriter writer = new BinaryEventWriter(64);
+            writer.writeByte(BINARY_MARKER);
+            writer.writeByte(VERSION);
+            writer.writeByte(schema.typeId());
+            schema.write(event, writer);
+            return writer.toByteArray();
+        }
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new EventSerializationException("Failed to serialize event to JSON", e);
+        }
+    }
+
+    public <T> T decode(byte[] payload, Class<T> type) {
+        if (payload == null || payload.length == 0) {
+            throw new EventSerializationException("Event payload is empty");
+        }
+        if (payload[0] != BINARY_MARKER) {
+            try {
+                return objectMapper.readValue(payload, type);
+            } catch (IOException e) {
+                throw new EventSerializationException("Failed to deserialize event from JSON", e);
+            }
+        }
+
+        BinaryEventSchema<?> schema = schemas.get(type);
+        if (schema == null) {
+            throw new EventSerializationException("No binary schema for " + type.getSimpleName());
+        }
+        BinaryEventReader reader = new BinaryEventReader(payload, 1);
+        byte version = reader.readByte();
+        if (version != VERSION) {
+            throw new EventSerializationException(String.format("Unsupported binary event version %d", version));
+        }
+        byte typeId = reader.readByte();
+        if (typeId != schema.typeId()) {
+            throw new EventSerializationException(String.format(
+                    "Binary event of type %d cannot be read as %s", typeId, type.getSimpleName()));
+        }
+        return type.cast(schema.read(reader));
+    }
+}
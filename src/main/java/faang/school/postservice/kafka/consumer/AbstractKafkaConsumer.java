@@ -1,32 +1,86 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
 public abstract class AbstractKafkaConsumer<T> {
 
-    private final ObjectMapper objectMapper;
+    private final KafkaEventCodec eventCodec;
     private final Class<T> targetType;
+    private final FailedEventRouter failedEventRouter;
 
-    protected AbstractKafkaConsumer(ObjectMapper objectMapper, Class<T> targetType) {
-        this.objectMapper = objectMapper;
+    protected AbstractKafkaConsumer(KafkaEventCodec eventCodec, Class<T> targetType,
+                                    FailedEventRouter failedEventRouter) {
+        this.eventCodec = eventCodec;
         this.targetType = targetType;
+        this.failedEventRouter = failedEventRouter;
     }
 
-    public void consume(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
-        String eventJson = record.value();
+    public void consume(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
         try {
-            T event = objectMapper.readValue(eventJson, targetType);
+            T event = eventCodec.decode(record.value(), targetType);
             processEvent(event);
-            acknowledgment.acknowledge();
         } catch (Exception e) {
-            handleError(eventJson, e, acknowledgment);
+            handleError(record, e);
+        }
+        acknowledgment.acknowledge();
+    }
+
+    public void consumeRetry(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        Duration remainingDelay = failedEventRouter.getRemainingDelay(record);
+        if (!remainingDelay.isZero()) {
+            acknowledgment.nack(remainingDelay);
+            return;
+        }
+        consume(record, acknowledgment);
+    }
+
+    public void consumeBatch(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        List<ConsumerRecord<String, byte[]>> eventRecords = new ArrayList<>(records.size());
+        List<T> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                events.add(eventCodec.decode(record.value(), targetType));
+                eventRecords.add(record);
+            } catch (Exception e) {
+                handleError(record, e);
+            }
         }
+
+        if (!events.isEmpty()) {
+            try {
+                processEvents(events);
+            } catch (Exception e) {
+                log.warn("Failed to process batch of {} events, processing them one by one", events.size(), e);
+                for (int i = 0; i < events.size(); i++) {
+                    try {
+                        processEvent(events.get(i));
+                    } catch (Exception eventException) {
+                        handleError(eventRecords.get(i), eventException);
+                    }
+                }
+            }
+        }
+        acknowledgment.acknowledge();
     }
 
+    public abstract String getTopic();
+
     protected abstract void processEvent(T event);
 
-    protected abstract void handleError(String eventJson, Exception e, Acknowledgment acknowledgment);
-}
+    protected void processEvents(List<T> events) {
+        events.forEach(this::processEvent);
+    }
 
+    protected void handleError(ConsumerRecord<String, byte[]> record, Exception e) {
+        failedEventRouter.route(record, e);
+    }
+}
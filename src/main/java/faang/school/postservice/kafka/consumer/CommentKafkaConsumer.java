@@ -1,38 +1,64 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import faang.school.postservice.model.event.kafka.CommentSentKafkaEvent;
 import faang.school.postservice.service.RedisPostService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class CommentKafkaConsumer extends AbstractKafkaConsumer<CommentSentKafkaEvent> {
+    @Value("${kafka.topics.comment}")
+    private String topic;
+
     private final RedisPostService redisPostService;
 
-    public CommentKafkaConsumer(ObjectMapper objectMapper, RedisPostService redisPostService) {
-        super(objectMapper, CommentSentKafkaEvent.class);
+    public CommentKafkaConsumer(KafkaEventCodec eventCodec, RedisPostService redisPostService,
+                                FailedEventRouter failedEventRouter) {
+        super(eventCodec, CommentSentKafkaEvent.class, failedEventRouter);
         this.redisPostService = redisPostService;
     }
 
+    @Override
+    public String getTopic() {
+        return topic;
+    }
+
     @Override
     protected void processEvent(CommentSentKafkaEvent event) {
         redisPostService.addComment(event.getPostId(), event.getCommentId(), event.getCommentAuthorId(), event.getCommentContent());
     }
 
+    @Override
+    protected void processEvents(List<CommentSentKafkaEvent> events) {
+        redisPostService.addComments(events);
+    }
+
     @KafkaListener(
             topics = "${kafka.topics.comment}",
             groupId = "${kafka.consumer.groups.post-service.group-id}",
-            concurrency = "${kafka.consumer.groups.post-service.concurrency}"
+            concurrency = "${kafka.consumer.groups.post-service.concurrency}",
+            autoStartup = "#{!${kafka.consumer.batch.enabled}}"
     )
-    public void onMessage(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+    public void onMessage(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
         consume(record, acknowledgment);
     }
 
-    @Override
-    protected void handleError(String eventJson, Exception e, Acknowledgment acknowledgment) {
-        throw new RuntimeException(String.format("Failed to deserialize comment: %s and add to post", eventJson), e);
+    @KafkaListener(
+            topics = "${kafka.topics.comment}",
+            groupId = "${kafka.consumer.groups.post-service.group-id}",
+            concurrency = "${kafka.consumer.groups.post-service.concurrency}",
+            autoStartup = "${kafka.consumer.batch.enabled}",
+            batch = "true",
+            properties = "max.poll.records=${kafka.consumer.batch.max-poll-records}"
+    )
+    public void onBatch(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        consumeBatch(records, acknowledgment);
     }
 }
@@ -0,0 +1,44 @@
+package faang.school.postservice.kafka.consumer;
+
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
+import faang.school.postservice.model.event.kafka.FeedFanOutKafkaEvent;
+import faang.school.postservice.service.FeedService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+@Service
+public class FeedFanOutKafkaConsumer extends AbstractKafkaConsumer<FeedFanOutKafkaEvent> {
+    @Value("${kafka.topics.feed-fan-out}")
+    private String topic;
+
+    private final FeedService feedService;
+
+    public FeedFanOutKafkaConsumer(KafkaEventCodec eventCodec, FeedService feedService,
+                                   FailedEventRouter failedEventRouter) {
+        super(eventCodec, FeedFanOutKafkaEvent.class, failedEventRouter);
+        this.feedService = feedService;
+    }
+
+    @Override
+    public String getTopic() {
+        return topic;
+    }
+
+    @Override
+    protected void processEvent(FeedFanOutKafkaEvent event) {
+        feedService.fanOut(event);
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topics.feed-fan-out}",
+            groupId = "${kafka.consumer.groups.fan-out.group-id}",
+            concurrency = "${kafka.consumer.groups.fan-out.concurrency}"
+    )
+    public void onMessage(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        consume(record, acknowledgment);
+    }
+}
@@ -1,22 +1,33 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
 import faang.school.postservice.service.FeedService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
 @Service
 public class FeedHeatKafkaConsumer extends AbstractKafkaConsumer<PostPublishedKafkaEvent> {
+    @Value("${kafka.topics.feed-heat}")
+    private String topic;
+
     private final FeedService feedService;
 
-    public FeedHeatKafkaConsumer(ObjectMapper objectMapper, FeedService feedService) {
-        super(objectMapper, PostPublishedKafkaEvent.class);
+    public FeedHeatKafkaConsumer(KafkaEventCodec eventCodec, FeedService feedService,
+                                 FailedEventRouter failedEventRouter) {
+        super(eventCodec, PostPublishedKafkaEvent.class, failedEventRouter);
         this.feedService = feedService;
     }
 
+    @Override
+    public String getTopic() {
+        return topic;
+    }
+
     @Override
     protected void processEvent(PostPublishedKafkaEvent event) {
         feedService.addPost(event);
@@ -27,12 +38,7 @@ public class FeedHeatKafkaConsumer extends AbstractKafkaConsumer<PostPublishedKa
             groupId = "${kafka.consumer.groups.feed-heat.group-id}",
             concurrency = "${kafka.consumer.groups.feed-heat.concurrency}"
     )
-    public void consume(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+    public void consume(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
         super.consume(record, acknowledgment);
     }
-
-    @Override
-    protected void handleError(String eventJson, Exception e, Acknowledgment acknowledgment) {
-        throw new RuntimeException(String.format("Failed to deserialize post: %s and add to feed", eventJson), e);
-    }
 }
@@ -1,41 +1,66 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
 import faang.school.postservice.service.RedisPostService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 public class LikeKafkaConsumer extends AbstractKafkaConsumer<LikeKafkaEvent> {
+    @Value("${kafka.topics.like}")
+    private String topic;
+
     private final RedisPostService redisPostService;
 
-    public LikeKafkaConsumer(ObjectMapper objectMapper, RedisPostService redisPostService) {
-        super(objectMapper, LikeKafkaEvent.class);
+    public LikeKafkaConsumer(KafkaEventCodec eventCodec, RedisPostService redisPostService,
+                             FailedEventRouter failedEventRouter) {
+        super(eventCodec, LikeKafkaEvent.class, failedEventRouter);
         this.redisPostService = redisPostService;
     }
 
+    @Override
+    public String getTopic() {
+        return topic;
+    }
+
     @Override
     protected void processEvent(LikeKafkaEvent event) {
         redisPostService.incrementLikesWithTransaction(event.getPostId(), event.getLikeId());
     }
 
+    @Override
+    protected void processEvents(List<LikeKafkaEvent> events) {
+        redisPostService.incrementLikes(events);
+    }
+
     @KafkaListener(
             topics = "${kafka.topics.like}",
             groupId = "${kafka.consumer.groups.post-service.group-id}",
-            concurrency = "${kafka.consumer.groups.post-service.concurrency}"
+            concurrency = "${kafka.consumer.groups.post-service.concurrency}",
+            autoStartup = "#{!${kafka.consumer.batch.enabled}}"
     )
-    public void onMessage(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+    public void onMessage(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
         consume(record, acknowledgment);
     }
 
-    @Override
-    protected void handleError(String eventJson, Exception e, Acknowledgment acknowledgment) {
-        throw new RuntimeException(String.format("Failed to deserialize like event: %s and add it to post", eventJson), e);
+    @KafkaListener(
+            topics = "${kafka.topics.like}",
+            groupId = "${kafka.consumer.groups.post-service.group-id}",
+            concurrency = "${kafka.consumer.groups.post-service.concurrency}",
+            autoStartup = "${kafka.consumer.batch.enabled}",
+            batch = "true",
+            properties = "max.poll.records=${kafka.consumer.batch.max-poll-records}"
+    )
+    public void onBatch(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        consumeBatch(records, acknowledgment);
     }
 }
-
@@ -1,22 +1,33 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
 import faang.school.postservice.service.FeedService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
 @Service
 public class PostKafkaConsumer extends AbstractKafkaConsumer<PostPublishedKafkaEvent> {
+    @Value("${kafka.topics.post}")
+    private String topic;
+
     private final FeedService feedService;
 
-    public PostKafkaConsumer(ObjectMapper objectMapper, FeedService feedService) {
-        super(objectMapper, PostPublishedKafkaEvent.class);
+    public PostKafkaConsumer(KafkaEventCodec eventCodec, FeedService feedService,
+                             FailedEventRouter failedEventRouter) {
+        super(eventCodec, PostPublishedKafkaEvent.class, failedEventRouter);
         this.feedService = feedService;
     }
 
+    @Override
+    public String getTopic() {
+        return topic;
+    }
+
     @Override
     protected void processEvent(PostPublishedKafkaEvent event) {
         feedService.addPost(event);
@@ -27,12 +38,7 @@ public class PostKafkaConsumer extends AbstractKafkaConsumer<PostPublishedKafkaE
             groupId = "${kafka.consumer.groups.post-service.group-id}",
             concurrency = "${kafka.consumer.groups.post-service.concurrency}"
     )
-    public void onMessage(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+    public void onMessage(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
         consume(record, acknowledgment);
     }
-
-    @Override
-    protected void handleError(String eventJson, Exception e, Acknowledgment acknowledgment) {
-        throw new RuntimeException(String.format("Failed to deserialize post event: %s and add to feed", eventJson), e);
-    }
 }
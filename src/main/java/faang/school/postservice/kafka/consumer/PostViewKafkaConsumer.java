@@ -1,38 +1,70 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
 import faang.school.postservice.service.RedisPostService;
+import faang.school.postservice.service.UniqueViewService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class PostViewKafkaConsumer extends AbstractKafkaConsumer<PostViewKafkaEvent> {
+    @Value("${kafka.topics.post-view}")
+    private String topic;
+
     private final RedisPostService redisPostService;
+    private final UniqueViewService uniqueViewService;
 
-    public PostViewKafkaConsumer(ObjectMapper objectMapper, RedisPostService redisPostService) {
-        super(objectMapper, PostViewKafkaEvent.class);
+    public PostViewKafkaConsumer(KafkaEventCodec eventCodec, RedisPostService redisPostService,
+                                 UniqueViewService uniqueViewService,
+                                 FailedEventRouter failedEventRouter) {
+        super(eventCodec, PostViewKafkaEvent.class, failedEventRouter);
         this.redisPostService = redisPostService;
+        this.uniqueViewService = uniqueViewService;
+    }
+
+    @Override
+    public String getTopic() {
+        return topic;
     }
 
     @Override
     protected void processEvent(PostViewKafkaEvent event) {
         redisPostService.incrementPostViewsWithTransaction(event.getPostId(), event.getViewerId(), event.getViewDateTime());
+        uniqueViewService.recordViews(List.of(event));
+    }
+
+    @Override
+    protected void processEvents(List<PostViewKafkaEvent> events) {
+        redisPostService.incrementPostViews(events);
+        uniqueViewService.recordViews(events);
     }
 
     @KafkaListener(
             topics = "${kafka.topics.post-view}",
             groupId = "${kafka.consumer.groups.post-service.group-id}",
-            concurrency = "${kafka.consumer.groups.post-service.concurrency}"
+            concurrency = "${kafka.consumer.groups.post-service.concurrency}",
+            autoStartup = "#{!${kafka.consumer.batch.enabled}}"
     )
-    public void onMessage(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+    public void onMessage(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
         consume(record, acknowledgment);
     }
 
-    @Override
-    protected void handleError(String eventJson, Exception e, Acknowledgment acknowledgment) {
-        throw new RuntimeException(String.format("Failed to deserialize post view event: %s and add to post", eventJson), e);
+    @KafkaListener(
+            topics = "${kafka.topics.post-view}",
+            groupId = "${kafka.consumer.groups.post-service.group-id}",
+            concurrency = "${kafka.consumer.groups.post-service.concurrency}",
+            autoStartup = "${kafka.consumer.batch.enabled}",
+            batch = "true",
+            properties = "max.poll.records=${kafka.consumer.batch.max-poll-records}"
+    )
+    public void onBatch(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        consumeBatch(records, acknowledgment);
     }
 }
@@ -1,27 +1,74 @@
 package faang.school.postservice.kafka.producer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventPublishingException;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Slf4j
 public abstract class AbstractKafkaProducer<T> {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final KafkaEventCodec eventCodec;
+    private final KafkaSendMonitor sendMonitor;
+    private final Function<T, Object> keyExtractor;
 
-    protected AbstractKafkaProducer(KafkaTemplate<String, String> kafkaTemplate,
-                                    ObjectMapper objectMapper) {
+    protected AbstractKafkaProducer(KafkaTemplate<String, byte[]> kafkaTemplate,
+                                    KafkaEventCodec eventCodec,
+                                    KafkaSendMonitor sendMonitor,
+                                    Function<T, Object> keyExtractor) {
         this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+        this.eventCodec = eventCodec;
+        this.sendMonitor = sendMonitor;
+        this.keyExtractor = keyExtractor;
     }
 
     protected abstract String getTopic();
 
-    public void sendEvent(T event) {
+    /**
+     * Returns {@code false} when the overflow policy rejected the event, which then never reaches Kafka.
+     */
+    public boolean sendEvent(T event) {
+        return send(event) != null;
+    }
+
+    public CompletableFuture<Void> sendEventsAcknowledged(List<T> events) {
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            sends[i] = send(events.get(i));
+            if (sends[i] == null) {
+                return CompletableFuture.failedFuture(
+                        new EventPublishingException("Too many pending sends for topic " + getTopic()));
+            }
+        }
+        return CompletableFuture.allOf(sends);
+    }
+
+    private CompletableFuture<?> send(T event) {
+        byte[] payload;
+        try {
+            payload = eventCodec.encode(event);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize event", e);
+        }
+
+        String topic = getTopic();
+        Object key = keyExtractor.apply(event);
+        if (!sendMonitor.tryStartSend(topic)) {
+            log.warn("Too many pending sends, rejected event with key {} for topic {}", key, topic);
+            return null;
+        }
+        long startNanos = System.nanoTime();
         try {
-            String json = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(getTopic(), json);
+            return kafkaTemplate.send(topic, key == null ? null : key.toString(), payload)
+                    .whenComplete((result, error) -> sendMonitor.finishSend(topic, startNanos, error));
         } catch (Exception e) {
-            throw new RuntimeException("Failed to serialize event to JSON", e);
+            sendMonitor.finishSend(topic, startNanos, e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 }
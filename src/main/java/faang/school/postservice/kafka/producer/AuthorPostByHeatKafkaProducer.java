@@ -1,6 +1,6 @@
 package faang.school.postservice.kafka.producer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
 import faang.school.postservice.model.event.kafka.AuthorPostByHeatKafkaEvent;
 import faang.school.postservice.model.event.kafka.AuthorPostKafkaEvent;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,8 +13,9 @@ public class AuthorPostByHeatKafkaProducer extends AbstractKafkaProducer<AuthorP
     @Value("${kafka.topics.author-post-by-heat}")
     private String authorPostByHeatKafkaTopic;
 
-    public AuthorPostByHeatKafkaProducer(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        super(kafkaTemplate, objectMapper);
+    public AuthorPostByHeatKafkaProducer(KafkaTemplate<String, byte[]> kafkaTemplate, KafkaEventCodec eventCodec,
+                                         KafkaSendMonitor sendMonitor) {
+        super(kafkaTemplate, eventCodec, sendMonitor, AuthorPostByHeatKafkaEvent::getPostId);
     }
 
     @Override
@@ -1,6 +1,6 @@
 package faang.school.postservice.kafka.producer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
 import faang.school.postservice.model.event.kafka.CommentSentKafkaEvent;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -12,8 +12,9 @@ public class CommentKafkaProducer extends AbstractKafkaProducer<CommentSentKafka
     @Value("${kafka.topics.comment}")
     private String commentKafkaTopic;
 
-    public CommentKafkaProducer(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        super(kafkaTemplate, objectMapper);
+    public CommentKafkaProducer(KafkaTemplate<String, byte[]> kafkaTemplate, KafkaEventCodec eventCodec,
+                                KafkaSendMonitor sendMonitor) {
+        super(kafkaTemplate, eventCodec, sendMonitor, CommentSentKafkaEvent::getPostId);
     }
 
     @Override
@@ -0,0 +1,24 @@
+package faang.school.postservice.kafka.producer;
+
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.model.event.kafka.FeedFanOutKafkaEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class FeedFanOutKafkaProducer extends AbstractKafkaProducer<FeedFanOutKafkaEvent> {
+
+    @Value("${kafka.topics.feed-fan-out}")
+    private String feedFanOutKafkaTopic;
+
+    public FeedFanOutKafkaProducer(KafkaTemplate<String, byte[]> kafkaTemplate, KafkaEventCodec eventCodec,
+                                   KafkaSendMonitor sendMonitor) {
+        super(kafkaTemplate, eventCodec, sendMonitor, event -> event.getPostId() + ":" + event.getChunkIndex());
+    }
+
+    @Override
+    protected String getTopic() {
+        return feedFanOutKafkaTopic;
+    }
+}
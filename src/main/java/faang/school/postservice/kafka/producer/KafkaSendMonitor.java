@@ -0,0 +1,87 @@
+package faang.school.postservice.kafka.producer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends not yet acknowledged by Kafka are bounded across all producers. A send that finds no free permit in time
+ * is rejected and lost unless the caller handles it, the limit stays below {@code buffer.memory} of the producer.
+ */
+@Slf4j
+@Component
+public class KafkaSendMonitor {
+    private static final String LATENCY_METRIC = "kafka.producer.send.latency";
+    private static final String FAILURES_METRIC = "kafka.producer.send.failures";
+    private static final String REJECTED_METRIC = "kafka.producer.send.rejected";
+    private static final String PENDING_METRIC = "kafka.producer.send.pending";
+
+    private final MeterRegistry meterRegistry;
+    private final Semaphore pendingSends;
+    private final SendOverflowPolicy overflowPolicy;
+    private final long overflowWaitMillis;
+
+    public KafkaSendMonitor(MeterRegistry meterRegistry,
+                            @Value("${kafka.producer.max-pending-sends:10000}") int maxPendingSends,
+                            @Value("${kafka.producer.overflow-policy:DROP}") SendOverflowPolicy overflowPolicy,
+                            @Value("${kafka.producer.overflow-wait-millis:200}") long overflowWaitMillis) {
+        this.meterRegistry = meterRegistry;
+        this.pendingSends = new Semaphore(maxPendingSends);
+        this.overflowPolicy = overflowPolicy;
+        this.overflowWaitMillis = overflowWaitMillis;
+        Gauge.builder(PENDING_METRIC, pendingSends, permits -> maxPendingSends - permits.availablePermits())
+                .description("Sends waiting for an acknowledgment from Kafka")
+                .register(meterRegistry);
+    }
+
+    public boolean tryStartSend(String topic) {
+        if (acquirePermit()) {
+            return true;
+        }
+        Counter.builder(REJECTED_METRIC)
+                .tag("topic", topic)
+                .tag("policy", overflowPolicy.name())
+                .register(meterRegistry)
+                .increment();
+        return false;
+    }
+
+    private boolean acquirePermit() {
+        if (pendingSends.tryAcquire()) {
+            return true;
+        }
+        if (overflowPolicy != SendOverflowPolicy.WAIT) {
+            return false;
+        }
+        try {
+            return pendingSends.tryAcquire(overflowWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void finishSend(String topic, long startNanos, Throwable error) {
+        pendingSends.release();
+        Timer.builder(LATENCY_METRIC)
+                .tag("topic", topic)
+                .tag("outcome", error == null ? "success" : "failure")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            Counter.builder(FAILURES_METRIC)
+                    .tag("topic", topic)
+                    .tag("exception", error.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            log.error("Failed to send event to topic {}: {}", topic, error.getMessage(), error);
+        }
+    }
+}
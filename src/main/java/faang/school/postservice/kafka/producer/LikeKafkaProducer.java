@@ -1,5 +1,5 @@
 package faang.school.postservice.kafka.producer;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
 import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -11,8 +11,9 @@ public class LikeKafkaProducer extends AbstractKafkaProducer<LikeKafkaEvent> {
     @Value("${kafka.topics.like}")
     private String likeTopic;
 
-    public LikeKafkaProducer(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        super(kafkaTemplate, objectMapper);
+    public LikeKafkaProducer(KafkaTemplate<String, byte[]> kafkaTemplate, KafkaEventCodec eventCodec,
+                             KafkaSendMonitor sendMonitor) {
+        super(kafkaTemplate, eventCodec, sendMonitor, LikeKafkaEvent::getPostId);
     }
 
     @Override
@@ -0,0 +1,6 @@
+package faang.school.postservice.kafka.producer;
+
+public enum SendOverflowPolicy {
+    DROP,
+    WAIT
+}
@@ -0,0 +1,146 @@
+package faang.school.postservice.kafka.retry;
+
+import faang.school.postservice.exception.EventSerializationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A failed event goes to {@code {topic}-retry-1}, then {@code {topic}-retry-2} and so on, and to {@code {topic}-dlt}
+ * once the tiers are used up. The origin, the attempt, the due time and the last error travel in the headers.
+ */
+@Slf4j
+@Component
+public class FailedEventRouter {
+    public static final String ORIGINAL_TOPIC_HEADER = "retry-original-topic";
+    public static final String ORIGINAL_PARTITION_HEADER = "retry-original-partition";
+    public static final String ORIGINAL_OFFSET_HEADER = "retry-original-offset";
+    public static final String ATTEMPT_HEADER = "retry-attempt";
+    public static final String DUE_AT_HEADER = "retry-due-at";
+    public static final String EXCEPTION_HEADER = "retry-exception";
+    public static final String EXCEPTION_MESSAGE_HEADER = "retry-exception-message";
+
+    private static final String RETRY_TOPIC_SUFFIX = "-retry-";
+    private static final String DEAD_LETTER_TOPIC_SUFFIX = "-dlt";
+    private static final Set<Class<? extends Exception>> NOT_RETRYABLE =
+            Set.of(EventSerializationException.class, IllegalArgumentException.class);
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long[] delaysSeconds;
+    private final long maxPauseMillis;
+    private final long sendTimeoutMillis;
+
+    public FailedEventRouter(KafkaTemplate<String, byte[]> kafkaTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${kafka.retry.delays-seconds:5,60,600}") long[] delaysSeconds,
+                             @Value("${kafka.retry.max-pause-millis:5000}") long maxPauseMillis,
+                             @Value("${kafka.retry.send-timeout-millis:5000}") long sendTimeoutMillis) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.delaysSeconds = delaysSeconds;
+        this.maxPauseMillis = maxPauseMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    public static String retryTopic(String topic, int attempt) {
+        return topic + RETRY_TOPIC_SUFFIX + attempt;
+    }
+
+    public static String deadLetterTopic(String topic) {
+        return topic + DEAD_LETTER_TOPIC_SUFFIX;
+    }
+
+    public int getRetryAttempts() {
+        return delaysSeconds.length;
+    }
+
+    public void route(ConsumerRecord<String, byte[]> record, Exception error) {
+        String originalTopic = readHeader(record.headers(), ORIGINAL_TOPIC_HEADER, record.topic());
+        int attempt = Integer.parseInt(readHeader(record.headers(), ATTEMPT_HEADER, "0"));
+
+        Headers headers = new RecordHeaders();
+        headers.add(ORIGINAL_TOPIC_HEADER, bytes(originalTopic));
+        headers.add(ORIGINAL_PARTITION_HEADER,
+                bytes(readHeader(record.headers(), ORIGINAL_PARTITION_HEADER, String.valueOf(record.partition()))));
+        headers.add(ORIGINAL_OFFSET_HEADER,
+                bytes(readHeader(record.headers(), ORIGINAL_OFFSET_HEADER, String.valueOf(record.offset()))));
+        headers.add(EXCEPTION_HEADER, bytes(error.getClass().getName()));
+        headers.add(EXCEPTION_MESSAGE_HEADER, bytes(String.valueOf(error.getMessage())));
+
+        String targetTopic;
+        if (isRetryable(error) && attempt < delaysSeconds.length) {
+            targetTopic = retryTopic(originalTopic, attempt + 1);
+            long dueAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delaysSeconds[attempt]);
+            headers.add(ATTEMPT_HEADER, bytes(String.valueOf(attempt + 1)));
+            headers.add(DUE_AT_HEADER, bytes(String.valueOf(dueAt)));
+            meterRegistry.counter("kafka.consumer.retries",
+                    "topic", originalTopic, "attempt", String.valueOf(attempt + 1)).increment();
+            log.warn("Event from {} failed on attempt {}, retrying it via {}: {}",
+                    originalTopic, attempt, targetTopic, error.getMessage());
+        } else {
+            targetTopic = deadLetterTopic(originalTopic);
+            headers.add(ATTEMPT_HEADER, bytes(String.valueOf(attempt)));
+            meterRegistry.counter("kafka.consumer.dead.letters",
+                    "topic", originalTopic, "exception", error.getClass().getSimpleName()).increment();
+            log.error("Event {}-{}@{} failed on attempt {}, parked it in {}",
+                    record.topic(), record.partition(), record.offset(), attempt, targetTopic, error);
+        }
+        send(new ProducerRecord<>(targetTopic, null, record.key(), record.value(), headers));
+    }
+
+    public void replay(ConsumerRecord<String, byte[]> deadLetter) {
+        String originalTopic = readHeader(deadLetter.headers(), ORIGINAL_TOPIC_HEADER, null);
+        if (originalTopic == null) {
+            throw new IllegalStateException(String.format("Dead letter %s-%d@%d has no original topic",
+                    deadLetter.topic(), deadLetter.partition(), deadLetter.offset()));
+        }
+        send(new ProducerRecord<>(originalTopic, deadLetter.key(), deadLetter.value()));
+        meterRegistry.counter("kafka.consumer.dead.letters.replayed", "topic", originalTopic).increment();
+    }
+
+    public Duration getRemainingDelay(ConsumerRecord<String, byte[]> record) {
+        String dueAt = readHeader(record.headers(), DUE_AT_HEADER, null);
+        if (dueAt == null) {
+            return Duration.ZERO;
+        }
+        long remaining = Long.parseLong(dueAt) - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, Math.min(remaining, maxPauseMillis)));
+    }
+
+    private boolean isRetryable(Exception error) {
+        return NOT_RETRYABLE.stream().noneMatch(type -> type.isInstance(error));
+    }
+
+    private void send(ProducerRecord<String, byte[]> record) {
+        try {
+            kafkaTemplate.send(record).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending event to " + record.topic(), e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to send event to " + record.topic(), e);
+        }
+    }
+
+    private String readHeader(Headers headers, String name, String defaultValue) {
+        Header header = headers.lastHeader(name);
+        return header == null ? defaultValue : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,61 @@
+package faang.school.postservice.kafka.retry;
+
+import faang.school.postservice.kafka.consumer.AbstractKafkaConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class RetryListenerContainers implements SmartLifecycle {
+    private final List<ConcurrentMessageListenerContainer<String, byte[]>> containers = new ArrayList<>();
+    private volatile boolean running;
+
+    public RetryListenerContainers(ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory,
+                                   List<AbstractKafkaConsumer<?>> consumers,
+                                   FailedEventRouter failedEventRouter,
+                                   @Value("${kafka.consumer.groups.retry.group-id}") String groupId,
+                                   @Value("${kafka.consumer.groups.retry.concurrency}") int concurrency) {
+        for (AbstractKafkaConsumer<?> consumer : consumers) {
+            for (int attempt = 1; attempt <= failedEventRouter.getRetryAttempts(); attempt++) {
+                String topic = FailedEventRouter.retryTopic(consumer.getTopic(), attempt);
+                ConcurrentMessageListenerContainer<String, byte[]> container = containerFactory.createContainer(topic);
+                container.getContainerProperties().setGroupId(groupId + "-" + attempt);
+                container.getContainerProperties().setMessageListener(
+                        (AcknowledgingMessageListener<String, byte[]>) consumer::consumeRetry);
+                container.setConcurrency(concurrency);
+                container.setBeanName(topic + "-listener");
+                containers.add(container);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        containers.forEach(ConcurrentMessageListenerContainer::start);
+        running = true;
+        log.info("Started {} retry listener containers", containers.size());
+    }
+
+    @Override
+    public void stop() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    List<ConcurrentMessageListenerContainer<String, byte[]>> getContainers() {
+        return containers;
+    }
+}
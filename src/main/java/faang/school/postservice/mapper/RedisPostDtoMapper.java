@@ -4,6 +4,7 @@ import faang.school.postservice.model.dto.CommentDto;
 import faang.school.postservice.model.dto.PostDto;
 import faang.school.postservice.model.dto.redis.cache.RedisCommentDto;
 import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.entity.Post;
 import faang.school.postservice.service.PostService;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -15,6 +16,9 @@ import org.mapstruct.AfterMapping;
 import org.mapstruct.MappingTarget;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+import java.util.Map;
+
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public abstract class RedisPostDtoMapper {
 
@@ -43,5 +47,27 @@ public abstract class RedisPostDtoMapper {
         redisPostDto.setCommentCount(commentService.getCommentCount(postDto.getId()));
         redisPostDto.setViewCount(postService.getViewCount(postDto.getId()));
     }
-}
 
+    public List<RedisPostDto> mapToRedisPostDtos(List<Post> posts) {
+        List<Long> postIds = posts.stream()
+                .map(Post::getId)
+                .toList();
+        Map<Long, List<CommentDto>> top3CommentsForPosts = commentService.getTop3CommentsForPosts(postIds);
+        Map<Long, Integer> postIdCommentCountMap = commentService.getPostIdCommentCountMap(postIds);
+        Map<Long, Integer> postIdLikeCountMap = likeService.getPostIdLikeCountMap(postIds);
+        return posts.stream()
+                .map(post -> RedisPostDto.builder()
+                        .postId(post.getId())
+                        .authorId(post.getAuthorId())
+                        .content(post.getContent())
+                        .createdAt(post.getCreatedAt())
+                        .commentCount(postIdCommentCountMap.getOrDefault(post.getId(), 0))
+                        .likeCount(postIdLikeCountMap.getOrDefault(post.getId(), 0))
+                        .recentComments(top3CommentsForPosts.getOrDefault(post.getId(), List.of()).stream()
+                                .map(commentDto -> new RedisCommentDto(commentDto.getAuthorId(), commentDto.getContent()))
+                                .toList())
+                        .viewCount(post.getViewCount())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,16 @@
+package faang.school.postservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeadLetterReplayDto {
+    private String topic;
+    private String deadLetterTopic;
+    private int replayed;
+}
@@ -0,0 +1,31 @@
+package faang.school.postservice.model.dto;
+
+import faang.school.postservice.model.enums.FeedHeatJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FeedHeatJobDto {
+    private FeedHeatJobStatus status;
+    private String instanceId;
+    private LocalDateTime fromDate;
+    private LocalDateTime toDate;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long totalPosts;
+    private long processedPosts;
+    private long batches;
+    private long errors;
+    private String lastError;
+    private int partitions;
+    private int completedPartitions;
+    private double postsPerSecond;
+    private Long etaSeconds;
+}
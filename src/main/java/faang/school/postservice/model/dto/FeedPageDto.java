@@ -0,0 +1,16 @@
+package faang.school.postservice.model.dto;
+
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedPageDto {
+    private List<RedisPostDto> posts;
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package faang.school.postservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostPageDto {
+    private List<PostDto> posts;
+    private String nextCursor;
+}
@@ -0,0 +1,13 @@
+package faang.school.postservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrendingHashtagDto {
+    private String hashtag;
+    private long count;
+}
@@ -9,6 +9,7 @@ public class PostFields {
     public static final String LIKE_COUNT = "likeCount";
     public static final String RECENT_COMMENTS = "recentComments";
     public static final String VIEW_COUNT = "viewCount";
+    public static final String BODY = "body";
 
     private PostFields() {}
 }
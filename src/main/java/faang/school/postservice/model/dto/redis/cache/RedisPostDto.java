@@ -30,4 +30,10 @@ public class RedisPostDto {
     @Builder.Default
     private List<RedisCommentDto> recentComments = new ArrayList<>();
     private int viewCount;
+
+    /**
+     * Filled on read, never cached with the post.
+     */
+    private long uniqueViewCount;
+    private long dailyUniqueViewCount;
 }
@@ -0,0 +1,11 @@
+package faang.school.postservice.model.enums;
+
+public enum FeedHeatJobStatus {
+    NOT_STARTED,
+    RUNNING,
+    CANCELLING,
+    CANCELLED,
+    COMPLETED,
+    FAILED,
+    INTERRUPTED
+}
@@ -0,0 +1,6 @@
+package faang.school.postservice.model.enums;
+
+public enum KafkaEventFormat {
+    JSON,
+    BINARY
+}
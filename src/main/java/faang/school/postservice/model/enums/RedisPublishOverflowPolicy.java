@@ -0,0 +1,7 @@
+package faang.school.postservice.model.enums;
+
+public enum RedisPublishOverflowPolicy {
+    DROP_NEWEST,
+    DROP_OLDEST,
+    CALLER_RUNS
+}
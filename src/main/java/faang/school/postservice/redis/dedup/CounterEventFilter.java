@@ -0,0 +1,115 @@
+package faang.school.postservice.redis.dedup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Likes and comments set one bit per id, views go to a Bloom filter per time window of the view. A false positive
+ * leaves a view uncounted. Bitmaps are never deleted, they expire after their last write.
+ */
+@Slf4j
+@Component
+public class CounterEventFilter {
+    private static final String LIKE_FILTER_PREFIX = "dedup:like:";
+    private static final String COMMENT_FILTER_PREFIX = "dedup:comment:";
+    private static final String POST_VIEW_FILTER_PREFIX = "dedup:postView:";
+    private static final long MAX_BITMAP_BITS = 1L << 32;
+
+    private final long idBitsPerKey;
+    private final long likeTtlInSeconds;
+    private final long commentTtlInSeconds;
+    private final long postViewWindowInSeconds;
+    private final long postViewTtlInSeconds;
+    private final long postViewFilterBits;
+    private final int postViewHashCount;
+
+    public CounterEventFilter(
+            @Value("${redis.feed.dedup.id-bits-per-key:8388608}") long idBitsPerKey,
+            @Value("${redis.feed.ttl.like:86400}") long likeTtlInSeconds,
+            @Value("${redis.feed.ttl.comment:86400}") long commentTtlInSeconds,
+            @Value("${redis.feed.ttl.post-view:86400}") long postViewTtlInSeconds,
+            @Value("${redis.feed.dedup.post-view.window-minutes:60}") long postViewWindowInMinutes,
+            @Value("${redis.feed.dedup.post-view.expected-views-per-window:1000000}") long expectedViewsPerWindow,
+            @Value("${redis.feed.dedup.post-view.false-positive-rate:0.001}") double falsePositiveRate) {
+        if (idBitsPerKey <= 0 || idBitsPerKey > MAX_BITMAP_BITS) {
+            throw new IllegalArgumentException("Bits per dedup key must be between 1 and " + MAX_BITMAP_BITS);
+        }
+        if (expectedViewsPerWindow <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected views has to be positive and the false positive rate within (0, 1)");
+        }
+        this.idBitsPerKey = idBitsPerKey;
+        this.likeTtlInSeconds = likeTtlInSeconds;
+        this.commentTtlInSeconds = commentTtlInSeconds;
+        this.postViewWindowInSeconds = postViewWindowInMinutes * 60;
+        this.postViewTtlInSeconds = postViewWindowInSeconds + postViewTtlInSeconds;
+
+        double ln2 = Math.log(2);
+        long filterBits = (long) Math.ceil(-expectedViewsPerWindow * Math.log(falsePositiveRate) / (ln2 * ln2));
+        if (filterBits > MAX_BITMAP_BITS) {
+            throw new IllegalArgumentException(String.format(
+                    "Post view filter needs %d bits, more than a Redis bitmap holds, shorten the window", filterBits));
+        }
+        this.postViewFilterBits = filterBits;
+        this.postViewHashCount = Math.max(1, (int) Math.round((double) filterBits / expectedViewsPerWindow * ln2));
+        log.info("Post view dedup filter uses {} KB and {} hashes per {} minute window",
+                filterBits / 8 / 1024, postViewHashCount, postViewWindowInMinutes);
+    }
+
+    public EventFilterSlot like(long likeId) {
+        return idSlot(LIKE_FILTER_PREFIX, likeId, likeTtlInSeconds);
+    }
+
+    public EventFilterSlot comment(long commentId) {
+        return idSlot(COMMENT_FILTER_PREFIX, commentId, commentTtlInSeconds);
+    }
+
+    public EventFilterSlot postView(long postId, long viewerId, String viewDateTime) {
+        long window = viewEpochSecond(viewDateTime) / postViewWindowInSeconds;
+        byte[] view = String.format("%d:%d:%s", postId, viewerId, viewDateTime).getBytes(StandardCharsets.UTF_8);
+        long hash = fnv1a(view);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        long[] offsets = new long[postViewHashCount];
+        for (int i = 0; i < postViewHashCount; i++) {
+            offsets[i] = Math.floorMod(h1 + i * h2, postViewFilterBits);
+        }
+        return new EventFilterSlot(POST_VIEW_FILTER_PREFIX + window, offsets, postViewTtlInSeconds);
+    }
+
+    private EventFilterSlot idSlot(String prefix, long id, long ttlInSeconds) {
+        return new EventFilterSlot(prefix + Math.floorDiv(id, idBitsPerKey),
+                new long[]{Math.floorMod(id, idBitsPerKey)}, ttlInSeconds);
+    }
+
+    private long viewEpochSecond(String viewDateTime) {
+        if (viewDateTime != null) {
+            try {
+                return LocalDateTime.parse(viewDateTime).toEpochSecond(ZoneOffset.UTC);
+            } catch (DateTimeParseException e) {
+                log.debug("View time {} cannot be parsed, using the current window", viewDateTime);
+            }
+        }
+        return LocalDateTime.now(ZoneOffset.UTC).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private long fnv1a(byte[] bytes) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,4 @@
+package faang.school.postservice.redis.dedup;
+
+public record EventFilterSlot(String key, long[] offsets, long ttlSeconds) {
+}
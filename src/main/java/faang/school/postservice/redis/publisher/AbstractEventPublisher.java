@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 import faang.school.postservice.config.RedisConfig.MessagePublisher;
 import faang.school.postservice.exception.EventPublishingException;
@@ -13,14 +12,14 @@ import faang.school.postservice.exception.EventPublishingException;
 @RequiredArgsConstructor
 public abstract class AbstractEventPublisher<T> implements MessagePublisher<T> {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisPublishQueue publishQueue;
     protected final ObjectMapper objectMapper;
     private final ChannelTopic channelTopic;
 
     public void publish(T redisEvent) {
         try {
             String message = objectMapper.writeValueAsString(redisEvent);
-            redisTemplate.convertAndSend(channelTopic.getTopic(), message);
+            publishQueue.enqueue(channelTopic.getTopic(), message);
         } catch (JsonProcessingException exception) {
             String errorMessage = "Failed to serialize event: " + redisEvent;
             log.error(errorMessage, exception);
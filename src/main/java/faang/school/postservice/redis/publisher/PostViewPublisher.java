@@ -3,15 +3,14 @@ package faang.school.postservice.redis.publisher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import faang.school.postservice.model.event.PostViewEvent;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Component;
 
 @Component
 public class PostViewPublisher extends AbstractEventPublisher<PostViewEvent> {
-    public PostViewPublisher(@Qualifier("eventRedisTemplate") RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper,
+    public PostViewPublisher(RedisPublishQueue publishQueue, ObjectMapper objectMapper,
                              @Qualifier("postViewTopic") ChannelTopic channelTopic) {
-        super(redisTemplate, objectMapper, channelTopic);
+        super(publishQueue, objectMapper, channelTopic);
     }
 }
 
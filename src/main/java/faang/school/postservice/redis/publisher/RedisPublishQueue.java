@@ -0,0 +1,172 @@
+package faang.school.postservice.redis.publisher;
+
+import faang.school.postservice.model.enums.RedisPublishOverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class RedisPublishQueue {
+    private static final String QUEUE_DEPTH_METRIC = "redis.publisher.queue.depth";
+    private static final String LATENCY_METRIC = "redis.publisher.publish.latency";
+    private static final String BATCH_SIZE_METRIC = "redis.publisher.batch.size";
+    private static final String DROPPED_METRIC = "redis.publisher.dropped";
+    private static final String FAILURES_METRIC = "redis.publisher.failures";
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<PendingMessage> queue;
+    private final int batchSize;
+    private final RedisPublishOverflowPolicy overflowPolicy;
+    private final DistributionSummary batchSizes;
+    private final ExecutorService drainer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "redis-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running = true;
+
+    public RedisPublishQueue(@Qualifier("eventRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${redis.publisher.queue-capacity:10000}") int queueCapacity,
+                             @Value("${redis.publisher.batch-size:200}") int batchSize,
+                             @Value("${redis.publisher.overflow-policy:DROP_NEWEST}")
+                             RedisPublishOverflowPolicy overflowPolicy) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC)
+                .description("Messages sent to Redis per pipelined round trip")
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH_METRIC, queue, BlockingQueue::size)
+                .description("Messages waiting to be published to Redis")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        drainer.execute(this::drainUntilStopped);
+    }
+
+    public void enqueue(String channel, String message) {
+        PendingMessage pending = new PendingMessage(channel,
+                redisTemplate.getStringSerializer().serialize(channel),
+                serializeMessage(message),
+                System.nanoTime());
+        if (queue.offer(pending)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                PendingMessage oldest = queue.poll();
+                if (oldest != null) {
+                    countDropped(oldest.channel());
+                }
+                if (!queue.offer(pending)) {
+                    countDropped(channel);
+                }
+            }
+            case CALLER_RUNS -> publishBatch(List.of(pending));
+            default -> countDropped(channel);
+        }
+    }
+
+    int drain(long timeoutMillis) throws InterruptedException {
+        PendingMessage first = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        publishBatch(batch);
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        drainer.shutdown();
+        if (!drainer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Stopped publishing to Redis with {} messages still queued", queue.size());
+            drainer.shutdownNow();
+        }
+    }
+
+    private void drainUntilStopped() {
+        try {
+            while (running || !queue.isEmpty()) {
+                drain(POLL_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publishBatch(List<PendingMessage> batch) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PendingMessage message : batch) {
+                    connection.publish(message.rawChannel(), message.rawMessage());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            Counter.builder(FAILURES_METRIC)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment(batch.size());
+            log.error("Failed to publish {} messages to Redis", batch.size(), e);
+            return;
+        }
+        long now = System.nanoTime();
+        for (PendingMessage message : batch) {
+            Timer.builder(LATENCY_METRIC)
+                    .tag("channel", message.channel())
+                    .register(meterRegistry)
+                    .record(now - message.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        }
+        batchSizes.record(batch.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeMessage(String message) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(message);
+    }
+
+    private void countDropped(String channel) {
+        Counter.builder(DROPPED_METRIC)
+                .tag("channel", channel)
+                .tag("policy", overflowPolicy.name())
+                .register(meterRegistry)
+                .increment();
+        log.warn("Redis publish queue is full, dropped a message for channel {}", channel);
+    }
+
+    private record PendingMessage(String channel, byte[] rawChannel, byte[] rawMessage, long enqueuedNanos) {
+    }
+}
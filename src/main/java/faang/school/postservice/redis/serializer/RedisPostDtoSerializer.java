@@ -0,0 +1,193 @@
+package faang.school.postservice.redis.serializer;
+
+import faang.school.postservice.model.dto.redis.cache.RedisCommentDto;
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary form of a cached post.
+ * <p>
+ * Layout of version 1: a version byte, then post id, author id and {@code createdAt} as epoch millis (UTC),
+ * the comment, like and view counters, the content and the recent comments as author id and content pairs.
+ * Numbers are zigzag varints, nullable numbers are shifted by one so that zero means {@code null},
+ * strings are UTF-8 prefixed with their length plus one for the same reason.
+ */
+public class RedisPostDtoSerializer implements RedisSerializer<RedisPostDto> {
+    public static final byte VERSION = 1;
+
+    @Override
+    public byte[] serialize(RedisPostDto post) {
+        if (post == null) {
+            return null;
+        }
+        Writer writer = new Writer();
+        writer.writeByte(VERSION);
+        writer.writeNullableLong(post.getPostId());
+        writer.writeNullableLong(post.getAuthorId());
+        writer.writeNullableLong(post.getCreatedAt() == null
+                ? null
+                : post.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        writer.writeLong(post.getCommentCount());
+        writer.writeLong(post.getLikeCount());
+        writer.writeLong(post.getViewCount());
+        writer.writeString(post.getContent());
+
+        List<RedisCommentDto> comments = post.getRecentComments() == null ? List.of() : post.getRecentComments();
+        writer.writeLong(comments.size());
+        for (RedisCommentDto comment : comments) {
+            writer.writeNullableLong(comment.getAuthorId());
+            writer.writeString(comment.getContent());
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public RedisPostDto deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        Reader reader = new Reader(bytes);
+        byte version = reader.readByte();
+        if (version != VERSION) {
+            throw new SerializationException(String.format("Unsupported cached post format version %d", version));
+        }
+        try {
+            RedisPostDto post = new RedisPostDto();
+            post.setPostId(reader.readNullableLong());
+            post.setAuthorId(reader.readNullableLong());
+            Long createdAt = reader.readNullableLong();
+            post.setCreatedAt(createdAt == null
+                    ? null
+                    : LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneOffset.UTC));
+            post.setCommentCount((int) reader.readLong());
+            post.setLikeCount((int) reader.readLong());
+            post.setViewCount((int) reader.readLong());
+            post.setContent(reader.readString());
+
+            int commentCount = reader.checkedSize(reader.readLong());
+            List<RedisCommentDto> comments = new ArrayList<>(commentCount);
+            for (int i = 0; i < commentCount; i++) {
+                comments.add(new RedisCommentDto(reader.readNullableLong(), reader.readString()));
+            }
+            post.setRecentComments(comments);
+            return post;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Cached post is truncated", e);
+        }
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[128];
+        private int position;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeNullableLong(Long value) {
+            writeVarLong(value == null ? 0 : ((value << 1) ^ (value >> 63)) + 1);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        long readLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        Long readNullableLong() {
+            long value = readVarLong();
+            if (value == 0) {
+                return null;
+            }
+            value--;
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            long length = readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            int size = checkedSize(length - 1);
+            String value = new String(buffer, position, size, StandardCharsets.UTF_8);
+            position += size;
+            return value;
+        }
+
+        int checkedSize(long size) {
+            if (size < 0 || size > buffer.length - position) {
+                throw new SerializationException(String.format("Invalid size %d in cached post", size));
+            }
+            return (int) size;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in cached post");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package faang.school.postservice.redis.serializer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.model.dto.redis.cache.PostFields;
+import faang.school.postservice.model.dto.redis.cache.RedisCommentDto;
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.enums.PostCacheFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counters in either layout are only the snapshot taken when the post was cached, the live values are kept in
+ * the counter buckets. Reading detects the layout per hash.
+ */
+@Slf4j
+public class RedisPostHashCodec {
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final ObjectMapper objectMapper;
+    private final RedisPostDtoSerializer postSerializer = new RedisPostDtoSerializer();
+
+    public RedisPostHashCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public Map<String, Object> encode(RedisPostDto postDto, PostCacheFormat format) {
+        Map<String, Object> postMap = new HashMap<>();
+        if (format == PostCacheFormat.BINARY) {
+            postMap.put(PostFields.BODY, postSerializer.serialize(postDto));
+            return postMap;
+        }
+        postMap.put(PostFields.POST_ID, postDto.getPostId().toString());
+        postMap.put(PostFields.AUTHOR_ID, postDto.getAuthorId().toString());
+        postMap.put(PostFields.CONTENT, postDto.getContent());
+        postMap.put(PostFields.CREATED_AT, postDto.getCreatedAt().format(formatter));
+        postMap.put(PostFields.COMMENT_COUNT, String.valueOf(postDto.getCommentCount()));
+        postMap.put(PostFields.LIKE_COUNT, String.valueOf(postDto.getLikeCount()));
+        postMap.put(PostFields.RECENT_COMMENTS, encodeComments(postDto.getRecentComments()));
+        postMap.put(PostFields.VIEW_COUNT, String.valueOf(postDto.getViewCount()));
+        return postMap;
+    }
+
+    public Map<String, Object> encodeRecentComments(RedisPostDto postDto, Map<?, ?> storedPost) {
+        Map<String, Object> postMap = new HashMap<>();
+        if (isBinary(storedPost)) {
+            postMap.put(PostFields.BODY, postSerializer.serialize(postDto));
+        } else {
+            postMap.put(PostFields.RECENT_COMMENTS, encodeComments(postDto.getRecentComments()));
+            postMap.put(PostFields.COMMENT_COUNT, String.valueOf(postDto.getCommentCount()));
+        }
+        return postMap;
+    }
+
+    public RedisPostDto decode(Map<?, ?> postMap) {
+        RedisPostDto postDto;
+        if (isBinary(postMap)) {
+            postDto = postSerializer.deserialize(toBytes(postMap.get(PostFields.BODY)));
+        } else {
+            postDto = new RedisPostDto();
+            postDto.setPostId(parseLong(postMap.get(PostFields.POST_ID)));
+            postDto.setAuthorId(parseLong(postMap.get(PostFields.AUTHOR_ID)));
+            postDto.setContent(toText(postMap.get(PostFields.CONTENT)));
+            String createdAt = toText(postMap.get(PostFields.CREATED_AT));
+            postDto.setCreatedAt(createdAt == null ? null : LocalDateTime.parse(createdAt, formatter));
+            postDto.setRecentComments(decodeComments(postMap.get(PostFields.RECENT_COMMENTS)));
+        }
+        postDto.setCommentCount(parseInt(postMap.get(PostFields.COMMENT_COUNT), postDto.getCommentCount()));
+        postDto.setLikeCount(parseInt(postMap.get(PostFields.LIKE_COUNT), postDto.getLikeCount()));
+        postDto.setViewCount(parseInt(postMap.get(PostFields.VIEW_COUNT), postDto.getViewCount()));
+        return postDto;
+    }
+
+    public boolean isBinary(Map<?, ?> postMap) {
+        return postMap.get(PostFields.BODY) != null;
+    }
+
+    private String encodeComments(List<RedisCommentDto> comments) {
+        try {
+            return objectMapper.writeValueAsString(comments);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize comments, returning empty list", e);
+            return "[]";
+        }
+    }
+
+    private List<RedisCommentDto> decodeComments(Object commentsObj) {
+        String comments = toText(commentsObj);
+        if (comments == null) {
+            return new ArrayList<>();
+        }
+        try {
+            List<RedisCommentDto> decoded = objectMapper.readValue(comments, new TypeReference<>() {
+            });
+            return decoded == null ? new ArrayList<>() : decoded;
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize comments", e);
+            return new ArrayList<>();
+        }
+    }
+
+    private Long parseLong(Object value) {
+        String text = toText(value);
+        return text == null ? null : Long.valueOf(text);
+    }
+
+    public Integer parseCounter(Object value) {
+        String text = toText(value);
+        return text == null ? null : Integer.valueOf(text);
+    }
+
+    private int parseInt(Object value, int defaultValue) {
+        String text = toText(value);
+        return text == null ? defaultValue : Integer.parseInt(text);
+    }
+
+    private String toText(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value.toString();
+    }
+
+    private byte[] toBytes(Object value) {
+        if (value instanceof byte[] bytes) {
+            return bytes;
+        }
+        throw new SerializationException("Cached post body has to be read as raw bytes, check the hash value serializer");
+    }
+}
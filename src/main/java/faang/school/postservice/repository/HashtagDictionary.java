@@ -0,0 +1,93 @@
+package faang.school.postservice.repository;
+
+import faang.school.postservice.model.entity.Hashtag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class HashtagDictionary {
+    public static final int MAX_TAG_LENGTH = 128;
+    private static final Pattern TAG_PATTERN = Pattern.compile("#[\\p{L}\\p{N}_]+");
+
+    private final HashtagRepository hashtagRepository;
+    private final PostHashtagRepository postHashtagRepository;
+    private final Map<String, Long> idsByTag;
+
+    public HashtagDictionary(HashtagRepository hashtagRepository, PostHashtagRepository postHashtagRepository,
+                             @Value("${post.hashtags.cache-size}") int cacheSize) {
+        this.hashtagRepository = hashtagRepository;
+        this.postHashtagRepository = postHashtagRepository;
+        this.idsByTag = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public static String normalize(String tag) {
+        String text = tag.startsWith("#") ? tag.substring(1) : tag;
+        return "#" + Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    public static Matcher tagMatcher(String text) {
+        return TAG_PATTERN.matcher(Normalizer.normalize(text, Normalizer.Form.NFC));
+    }
+
+    /**
+     * Applies the rule of new posts to a stored tag, returns null if no tag of a post could have produced it.
+     */
+    public static String normalizeStored(String content) {
+        Matcher matcher = tagMatcher(content);
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+        String tag = normalize(matcher.group());
+        return tag.length() <= MAX_TAG_LENGTH ? tag : null;
+    }
+
+    public Map<String, Long> resolveIds(Collection<String> tags) {
+        Map<String, Long> ids = new HashMap<>();
+        TreeSet<String> missing = new TreeSet<>();
+        for (String tag : tags) {
+            Long id = idsByTag.get(tag);
+            if (id != null) {
+                ids.put(tag, id);
+            } else {
+                missing.add(tag);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Long> stored = postHashtagRepository.upsertTags(missing);
+            idsByTag.putAll(stored);
+            ids.putAll(stored);
+        }
+        return ids;
+    }
+
+    public Optional<Long> findId(String tag) {
+        String normalized = normalize(tag);
+        Long id = idsByTag.get(normalized);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        Hashtag hashtag = hashtagRepository.findHashtagByContent(normalized);
+        if (hashtag == null) {
+            return Optional.empty();
+        }
+        idsByTag.put(normalized, hashtag.getId());
+        return Optional.of(hashtag.getId());
+    }
+}
@@ -0,0 +1,68 @@
+package faang.school.postservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@Repository
+@RequiredArgsConstructor
+public class PostHashtagRepository {
+    private static final String UPSERT_TAGS_SQL = "WITH input(content) AS (VALUES %s), " +
+            "inserted AS (INSERT INTO hashtag (content) SELECT content FROM input " +
+            "ON CONFLICT (content) DO NOTHING RETURNING id, content) " +
+            "SELECT id, content FROM inserted " +
+            "UNION ALL SELECT h.id, h.content FROM hashtag h JOIN input i ON h.content = i.content";
+    private static final String FIND_TAGS_SQL = "SELECT id, content FROM hashtag WHERE content IN (%s)";
+    private static final String LINK_POST_SQL = "INSERT INTO post_hashtag (post_id, hashtag_id) VALUES %s " +
+            "ON CONFLICT DO NOTHING RETURNING hashtag_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tags should come sorted, so concurrent upserts of the same tags wait for each other instead of deadlocking.
+     */
+    public Map<String, Long> upsertTags(Collection<String> tags) {
+        Map<String, Long> idsByTag = new HashMap<>();
+        if (tags.isEmpty()) {
+            return idsByTag;
+        }
+        StringJoiner rows = new StringJoiner(", ");
+        tags.forEach(tag -> rows.add("(?)"));
+        readIds(String.format(UPSERT_TAGS_SQL, rows), tags.toArray(), idsByTag);
+        if (idsByTag.size() < tags.size()) {
+            List<String> missing = tags.stream().filter(tag -> !idsByTag.containsKey(tag)).toList();
+            StringJoiner placeholders = new StringJoiner(", ");
+            missing.forEach(tag -> placeholders.add("?"));
+            readIds(String.format(FIND_TAGS_SQL, placeholders), missing.toArray(), idsByTag);
+        }
+        return idsByTag;
+    }
+
+    public List<Long> linkPost(long postId, Collection<Long> hashtagIds) {
+        if (hashtagIds.isEmpty()) {
+            return List.of();
+        }
+        StringJoiner rows = new StringJoiner(", ");
+        List<Object> params = new ArrayList<>(hashtagIds.size() * 2);
+        hashtagIds.forEach(hashtagId -> {
+            rows.add("(?, ?)");
+            params.add(postId);
+            params.add(hashtagId);
+        });
+        return jdbcTemplate.queryForList(String.format(LINK_POST_SQL, rows), Long.class, params.toArray());
+    }
+
+    private void readIds(String sql, Object[] params, Map<String, Long> idsByTag) {
+        jdbcTemplate.query(sql,
+                (RowCallbackHandler) resultSet -> idsByTag.put(resultSet.getString("content"), resultSet.getLong("id")),
+                params);
+    }
+}
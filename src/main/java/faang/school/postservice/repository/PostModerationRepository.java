@@ -0,0 +1,51 @@
+package faang.school.postservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@Repository
+@RequiredArgsConstructor
+public class PostModerationRepository {
+    private static final String FIND_UNVERIFIED_SQL = "SELECT id, content FROM post " +
+            "WHERE verified_date IS NULL AND id > ? ORDER BY id LIMIT ?";
+    private static final String SAVE_VERDICTS_SQL = "UPDATE post AS p " +
+            "SET verified = v.verified, verified_date = ?, version = p.version + 1 " +
+            "FROM (VALUES %s) AS v(id, verified) WHERE p.id = v.id AND p.verified_date IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<UnverifiedPost> findUnverifiedAfter(long afterId, int limit) {
+        return jdbcTemplate.query(FIND_UNVERIFIED_SQL,
+                (resultSet, rowNum) -> new UnverifiedPost(resultSet.getLong("id"), resultSet.getString("content")),
+                afterId, limit);
+    }
+
+    /**
+     * Posts verified in the meantime keep their verdict.
+     */
+    public int saveVerdicts(Map<Long, Boolean> verifiedByPost, LocalDateTime verifiedDate) {
+        if (verifiedByPost.isEmpty()) {
+            return 0;
+        }
+        StringJoiner rows = new StringJoiner(", ");
+        List<Object> params = new ArrayList<>(verifiedByPost.size() * 2 + 1);
+        params.add(Timestamp.valueOf(verifiedDate));
+        verifiedByPost.forEach((postId, verified) -> {
+            rows.add("(?::bigint, ?::boolean)");
+            params.add(postId);
+            params.add(verified);
+        });
+        return jdbcTemplate.update(String.format(SAVE_VERDICTS_SQL, rows), params.toArray());
+    }
+
+    public record UnverifiedPost(long id, String content) {
+    }
+}
@@ -4,7 +4,6 @@ import faang.school.postservice.model.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,18 +14,22 @@ import java.util.List;
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    List<Post> findByAuthorId(long authorId);
-
-    List<Post> findByProjectId(long projectId);
-
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.likes WHERE p.projectId = :projectId")
     List<Post> findByProjectIdWithLikes(long projectId);
 
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.likes WHERE p.authorId = :authorId")
     List<Post> findByAuthorIdWithLikes(long authorId);
 
-    @Query("SELECT p FROM Post p WHERE p.published = false AND p.deleted = false AND p.scheduledAt <= CURRENT_TIMESTAMP")
-    List<Post> findReadyToPublish();
+    @Query(nativeQuery = true, value = "WITH claimed AS (" +
+            "SELECT id FROM post " +
+            "WHERE published = false AND deleted = false AND scheduled_at <= now() " +
+            "ORDER BY scheduled_at, id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED) " +
+            "UPDATE post p SET published = true, published_at = now(), updated_at = now(), version = p.version + 1 " +
+            "FROM claimed WHERE p.id = claimed.id " +
+            "RETURNING p.*")
+    List<Post> publishReadyPosts(@Param("limit") int limit);
 
     @Query("SELECT p FROM Post p WHERE p.published = false" +
             " AND p.deleted = false" +
@@ -34,16 +37,13 @@ public interface PostRepository extends JpaRepository<Post, Long> {
             " AND p.spellCheckCompleted = false")
     List<Post> findReadyForSpellCheck();
 
-    @Query(value = "SELECT p FROM Post p JOIN p.hashtags h WHERE h.id = :hashtagId", nativeQuery = true)
-    List<Post> findByHashtagId(Long hashtagId);
-
-    Page<Post> findByHashtagsContent(String content, Pageable pageable);
+    @Query(value = "SELECT p FROM Post p JOIN p.hashtags h WHERE h.id = :hashtagId",
+            countQuery = "SELECT COUNT(p) FROM Post p JOIN p.hashtags h WHERE h.id = :hashtagId")
+    Page<Post> findByHashtagId(@Param("hashtagId") long hashtagId, Pageable pageable);
 
     @Query(nativeQuery = true, value = "SELECT CASE WHEN COUNT(*) > 0 THEN true ELSE false END FROM post_album WHERE album_id = :albumId AND post_id = :postId")
     boolean existsInAlbum(long albumId, long postId);
 
-    List<Post> findAllByVerifiedDateIsNull();
-
     @Query("SELECT p.authorId " +
             "FROM Post p " +
             "WHERE p.verified = false AND p.deleted = false " +
@@ -52,20 +52,89 @@ public interface PostRepository extends JpaRepository<Post, Long> {
             "HAVING COUNT(p) > 5")
     List<Long> findAuthorsWithMoreThanFiveUnverifiedPostsInRange(Long minAuthorId, Long maxAuthorId);
 
-    @Modifying
-    @Query("UPDATE Post p SET p.viewCount = p.viewCount + 1 WHERE p.id = :postId")
-    int incrementViewCount(@Param("postId") long postId);
-
     @Query("SELECT p.viewCount FROM Post p WHERE p.id = :postId")
     int getViewCountByPostId(@Param("postId") Long postId);
 
+    @Query("SELECT MIN(p.id) AS minId, MAX(p.id) AS maxId, COUNT(p) AS postCount FROM Post p " +
+            "WHERE p.published = true AND p.deleted = false " +
+            "AND p.publishedAt BETWEEN :fromDate AND :toDate")
+    IdRange findIdRangeByDateRange(
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate
+    );
+
     @Query("SELECT p FROM Post p " +
             "WHERE p.published = true AND p.deleted = false " +
             "AND p.publishedAt BETWEEN :fromDate AND :toDate " +
-            "ORDER BY p.publishedAt DESC")
-    Page<Post> findPostsByDateRange(
+            "AND p.id > :afterId AND p.id <= :toId " +
+            "ORDER BY p.id ASC")
+    List<Post> findPostsByDateRangeAfterId(
             @Param("fromDate") LocalDateTime fromDate,
             @Param("toDate") LocalDateTime toDate,
+            @Param("afterId") long afterId,
+            @Param("toId") long toId,
             Pageable pageable
     );
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.authorId IN :authorIds AND p.published = true AND p.deleted = false " +
+            "AND p.publishedAt >= :fromDate " +
+            "ORDER BY p.publishedAt DESC, p.id DESC")
+    List<Post> findRecentPublishedByAuthors(
+            @Param("authorIds") List<Long> authorIds,
+            @Param("fromDate") LocalDateTime fromDate,
+            Pageable pageable
+    );
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.authorId = :authorId AND p.published = false AND p.deleted = false " +
+            "AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findDraftsByAuthorBefore(
+            @Param("authorId") long authorId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Pageable pageable
+    );
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.projectId = :projectId AND p.published = false AND p.deleted = false " +
+            "AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findDraftsByProjectBefore(
+            @Param("projectId") long projectId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Pageable pageable
+    );
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.authorId = :authorId AND p.published = true AND p.deleted = false " +
+            "AND p.publishedAt <= :publishedAt AND (p.publishedAt < :publishedAt OR p.id < :id) " +
+            "ORDER BY p.publishedAt DESC, p.id DESC")
+    List<Post> findPublishedByAuthorBefore(
+            @Param("authorId") long authorId,
+            @Param("publishedAt") LocalDateTime publishedAt,
+            @Param("id") long id,
+            Pageable pageable
+    );
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.projectId = :projectId AND p.published = true AND p.deleted = false " +
+            "AND p.publishedAt <= :publishedAt AND (p.publishedAt < :publishedAt OR p.id < :id) " +
+            "ORDER BY p.publishedAt DESC, p.id DESC")
+    List<Post> findPublishedByProjectBefore(
+            @Param("projectId") long projectId,
+            @Param("publishedAt") LocalDateTime publishedAt,
+            @Param("id") long id,
+            Pageable pageable
+    );
+
+    interface IdRange {
+        Long getMinId();
+
+        Long getMaxId();
+
+        Long getPostCount();
+    }
 }
@@ -0,0 +1,33 @@
+package faang.school.postservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@Repository
+@RequiredArgsConstructor
+public class PostViewCountRepository {
+    private static final String ADD_VIEW_COUNTS_SQL = "UPDATE post AS p SET view_count = p.view_count + v.views " +
+            "FROM (VALUES %s) AS v(id, views) WHERE p.id = v.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int addViewCounts(Map<Long, Long> viewsByPost) {
+        if (viewsByPost.isEmpty()) {
+            return 0;
+        }
+        StringJoiner rows = new StringJoiner(", ");
+        List<Object> params = new ArrayList<>(viewsByPost.size() * 2);
+        viewsByPost.forEach((postId, views) -> {
+            rows.add("(?, ?)");
+            params.add(postId);
+            params.add(views);
+        });
+        return jdbcTemplate.update(String.format(ADD_VIEW_COUNTS_SQL, rows), params.toArray());
+    }
+}
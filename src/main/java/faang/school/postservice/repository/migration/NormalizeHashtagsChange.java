@@ -0,0 +1,77 @@
+package faang.school.postservice.repository.migration;
+
+import faang.school.postservice.repository.HashtagDictionary;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+/**
+ * Fills hashtag_normalized with the content each stored tag gets from {@link HashtagDictionary#normalizeStored}, so
+ * the deduplication groups rows exactly as new posts would resolve them. Postgres lower() and [[:alnum:]] depend on
+ * the database locale and cannot reproduce that rule.
+ */
+public class NormalizeHashtagsChange implements CustomTaskChange {
+    private static final String SELECT_SQL = "SELECT id, content FROM hashtag";
+    private static final String INSERT_SQL = "INSERT INTO hashtag_normalized (id, content) VALUES (?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private int normalized;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        JdbcConnection connection = (JdbcConnection) database.getConnection();
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery(SELECT_SQL);
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            int batched = 0;
+            while (rows.next()) {
+                insert.setLong(1, rows.getLong("id"));
+                String content = HashtagDictionary.normalizeStored(rows.getString("content"));
+                if (content == null) {
+                    insert.setNull(2, Types.VARCHAR);
+                } else {
+                    insert.setString(2, content);
+                }
+                insert.addBatch();
+                normalized++;
+                if (++batched == BATCH_SIZE) {
+                    insert.executeBatch();
+                    batched = 0;
+                }
+            }
+            if (batched > 0) {
+                insert.executeBatch();
+            }
+        } catch (DatabaseException | SQLException e) {
+            throw new CustomChangeException("Failed to normalize stored hashtags", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Normalized " + normalized + " stored hashtags";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
@@ -0,0 +1,24 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.service.PostAnnouncementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostAnnouncementRetryScheduler {
+
+    private final PostAnnouncementService postAnnouncementService;
+
+    @Scheduled(fixedDelayString = "${kafka.producer.announcement-retry.delay-millis:10000}")
+    public void retryPendingAnnouncements() {
+        try {
+            postAnnouncementService.retryPendingAnnouncements();
+        } catch (Exception e) {
+            log.error("Failed to retry pending post announcements", e);
+        }
+    }
+}
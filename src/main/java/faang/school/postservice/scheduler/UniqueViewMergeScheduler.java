@@ -0,0 +1,34 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.service.UniqueViewService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UniqueViewMergeScheduler {
+
+    private final UniqueViewService uniqueViewService;
+
+    @Value("${redis.feed.views.unique.merge-catch-up-hours:3}")
+    private int catchUpHours;
+
+    @Scheduled(cron = "${redis.feed.views.unique.merge-cron}")
+    public void mergeUniqueViews() {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        for (int hoursAgo = catchUpHours; hoursAgo >= 1; hoursAgo--) {
+            try {
+                uniqueViewService.mergeHour(currentHour.minusHours(hoursAgo));
+            } catch (Exception e) {
+                log.error("Failed to merge unique viewers of hour {}", currentHour.minusHours(hoursAgo), e);
+            }
+        }
+    }
+}
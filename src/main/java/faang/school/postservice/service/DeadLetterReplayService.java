@@ -0,0 +1,8 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.model.dto.DeadLetterReplayDto;
+
+public interface DeadLetterReplayService {
+
+    DeadLetterReplayDto replay(String topic, int limit);
+}
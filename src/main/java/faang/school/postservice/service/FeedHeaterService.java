@@ -0,0 +1,12 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.model.dto.FeedHeatJobDto;
+
+public interface FeedHeaterService {
+
+    FeedHeatJobDto startHeatingInBackground();
+
+    FeedHeatJobDto getHeatingStatus();
+
+    FeedHeatJobDto cancelHeating();
+}
@@ -1,6 +1,8 @@
 package faang.school.postservice.service;
 
+import faang.school.postservice.model.dto.FeedPageDto;
 import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.event.kafka.FeedFanOutKafkaEvent;
 import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
 
 import java.util.List;
@@ -9,7 +11,11 @@ public interface FeedService {
 
     void addPost(PostPublishedKafkaEvent event);
 
+    void fanOut(FeedFanOutKafkaEvent task);
+
     List<RedisPostDto> getNewsFeed(Long userId, int page, int pageSize);
 
-    void startHeatingInBackground();
+    FeedPageDto getNewsFeedByCursor(Long userId, String cursor, int pageSize);
+
+    void startCompactionInBackground();
 }
@@ -0,0 +1,10 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.model.event.kafka.AuthorPostKafkaEvent;
+
+public interface PostAnnouncementService {
+
+    void announce(AuthorPostKafkaEvent event);
+
+    void retryPendingAnnouncements();
+}
@@ -0,0 +1,5 @@
+package faang.school.postservice.service;
+
+public interface PostModerationService {
+    int moderateUnverifiedPosts();
+}
@@ -1,6 +1,7 @@
 package faang.school.postservice.service;
 
 import faang.school.postservice.model.dto.PostDto;
+import faang.school.postservice.model.dto.PostPageDto;
 import faang.school.postservice.model.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,16 +16,14 @@ public interface PostService {
     PostDto updatePost(Long id, PostDto postDto);
     void deletePost(Long id);
     PostDto getPost(Long id);
-    List<PostDto> getUserDrafts(Long authorId);
-    List<PostDto> getProjectDrafts(Long projectId);
-    List<PostDto> getAllPostPublishedByUser(Long authorId);
-    List<PostDto> getAllPostPublishedByProject(Long projectId);
+    PostPageDto getUserDrafts(Long authorId, String cursor, int pageSize);
+    PostPageDto getProjectDrafts(Long projectId, String cursor, int pageSize);
+    PostPageDto getAllPostPublishedByUser(Long authorId, String cursor, int pageSize);
+    PostPageDto getAllPostPublishedByProject(Long projectId, String cursor, int pageSize);
     Page<PostDto> getAllPostsByHashtagId(String content, Pageable pageable);
     Post getPostByIdInternal(Long id);
     Post updatePostInternal(Post post);
     List<CompletableFuture<Void>> publishScheduledPosts();
     void correctSpellingInUnpublishedPosts();
-    List<List<Post>> findAndSplitUnverifiedPosts();
-    CompletableFuture<Void> verifyPostsForSwearWords(List<Post> unverifiedPostsBatch);
     int getViewCount(Long postId);
 }
@@ -0,0 +1,10 @@
+package faang.school.postservice.service;
+
+public interface PostViewCounter {
+
+    void increment(long postId);
+
+    long getPendingViews(long postId);
+
+    void flush();
+}
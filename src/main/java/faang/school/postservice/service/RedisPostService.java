@@ -2,21 +2,62 @@ package faang.school.postservice.service;
 
 import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
 import faang.school.postservice.model.event.kafka.CommentSentKafkaEvent;
+import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
+import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
+import org.springframework.data.redis.connection.RedisConnection;
 
 import java.util.List;
+import java.util.Map;
 
 public interface RedisPostService {
     void savePostIfNotExists(RedisPostDto postDto);
 
     RedisPostDto getPost(Long postId);
 
+    Map<Long, RedisPostDto> getCachedPosts(List<Long> postIds);
+
+    Map<Long, RedisPostDto> getCachedPosts(List<Long> postIds, PipelinedRead read);
+
     void addComment(Long postId, Long commentId, Long  commentAuthorId, String commentContent);
 
+    void addComments(List<CommentSentKafkaEvent> events);
+
     void incrementLikesWithTransaction(Long postId, Long likeId);
 
+    void incrementLikes(List<LikeKafkaEvent> events);
+
     void savePost(RedisPostDto postDto);
 
     void savePosts(List<RedisPostDto> postDtos);
 
     void incrementPostViewsWithTransaction(Long postId, Long viewerId, String viewDateTime);
+
+    void incrementPostViews(List<PostViewKafkaEvent> events);
+
+    /**
+     * Each post queues exactly {@link #commandsPerPost} commands after its own reads, their results are applied only
+     * to the posts found in cache.
+     */
+    interface PipelinedRead {
+        PipelinedRead NONE = new PipelinedRead() {
+            @Override
+            public int commandsPerPost() {
+                return 0;
+            }
+
+            @Override
+            public void queue(RedisConnection connection, Long postId) {
+            }
+
+            @Override
+            public void apply(RedisPostDto post, List<Object> results) {
+            }
+        };
+
+        int commandsPerPost();
+
+        void queue(RedisConnection connection, Long postId);
+
+        void apply(RedisPostDto post, List<Object> results);
+    }
 }
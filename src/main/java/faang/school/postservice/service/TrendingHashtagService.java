@@ -0,0 +1,15 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.model.dto.TrendingHashtagDto;
+import faang.school.postservice.model.enums.TrendingWindow;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TrendingHashtagService {
+    void record(Collection<String> hashtags);
+
+    List<TrendingHashtagDto> getTrending(TrendingWindow window, int limit);
+
+    void flush();
+}
@@ -0,0 +1,15 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UniqueViewService {
+
+    void recordViews(List<PostViewKafkaEvent> events);
+
+    RedisPostService.PipelinedRead uniqueViewCountRead();
+
+    void mergeHour(LocalDateTime hour);
+}
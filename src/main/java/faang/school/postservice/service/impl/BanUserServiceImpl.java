@@ -49,9 +49,7 @@ public class BanUserServiceImpl implements BanUserService {
                     List<Long> authorIdsToBan = postRepository.findAuthorsWithMoreThanFiveUnverifiedPostsInRange(finalMinId, maxId);
                     authorIdsToBan.forEach(authorId -> {
                         log.info("Sending authorId {} to Redis", authorId);
-                        synchronized (banedUserEventPublisher) {
-                            banedUserEventPublisher.publish(new BanedUserEvent(authorId));
-                        }
+                        banedUserEventPublisher.publish(new BanedUserEvent(authorId));
                     });
                 } catch (Exception e) {
                     log.error("While checking and banning users from id {} to {} an exception occurred", finalMinId, maxId, e);
@@ -0,0 +1,110 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.repository.PostViewCountRepository;
+import faang.school.postservice.service.PostViewCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Views of a failed flush go out with the next one, views of a crashed instance are lost. Increments and the eviction
+ * of an idle post both run under the map's lock of that post, so no view lands on an evicted entry.
+ */
+@Slf4j
+@Service
+public class BufferedPostViewCounter implements PostViewCounter {
+
+    @Value("${post.views.buffer.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    @Value("${post.views.buffer.idle-flushes:60}")
+    private int idleFlushesBeforeEviction;
+
+    private final PostViewCountRepository postViewCountRepository;
+    private final Map<Long, PendingViews> pendingViews = new ConcurrentHashMap<>();
+
+    public BufferedPostViewCounter(PostViewCountRepository postViewCountRepository) {
+        this.postViewCountRepository = postViewCountRepository;
+    }
+
+    @Override
+    public void increment(long postId) {
+        pendingViews.compute(postId, (id, views) -> {
+            PendingViews pending = views == null ? new PendingViews() : views;
+            pending.views.increment();
+            return pending;
+        });
+    }
+
+    @Override
+    public long getPendingViews(long postId) {
+        PendingViews views = pendingViews.get(postId);
+        return views == null ? 0 : views.unflushed();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${post.views.buffer.flush-interval-millis:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> batch = new LinkedHashMap<>();
+        List<PendingViews> batchViews = new ArrayList<>();
+        for (Map.Entry<Long, PendingViews> entry : pendingViews.entrySet()) {
+            PendingViews views = entry.getValue();
+            long unflushed = views.unflushed();
+            if (unflushed == 0) {
+                if (++views.idleFlushes >= idleFlushesBeforeEviction) {
+                    pendingViews.computeIfPresent(entry.getKey(),
+                            (id, current) -> current == views && views.unflushed() == 0 ? null : current);
+                }
+                continue;
+            }
+            views.idleFlushes = 0;
+            batch.put(entry.getKey(), unflushed);
+            batchViews.add(views);
+            if (batch.size() == flushBatchSize) {
+                writeBatch(batch, batchViews);
+                batch = new LinkedHashMap<>();
+                batchViews = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, batchViews);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing buffered views of {} posts before shutdown", pendingViews.size());
+        flush();
+    }
+
+    private void writeBatch(Map<Long, Long> batch, List<PendingViews> batchViews) {
+        try {
+            postViewCountRepository.addViewCounts(batch);
+            int i = 0;
+            for (long views : batch.values()) {
+                batchViews.get(i++).flushed += views;
+            }
+        } catch (Exception e) {
+            log.error("Failed to flush views of {} posts, they stay buffered for the next flush", batch.size(), e);
+        }
+    }
+
+    private static class PendingViews {
+        private final LongAdder views = new LongAdder();
+        private volatile long flushed;
+        private int idleFlushes;
+
+        private long unflushed() {
+            return views.sum() - flushed;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.kafka.retry.FailedEventRouter;
+import faang.school.postservice.model.dto.DeadLetterReplayDto;
+import faang.school.postservice.service.DeadLetterReplayService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class DeadLetterReplayServiceImpl implements DeadLetterReplayService {
+    private static final String CLIENT_ID_PREFIX = "dlt-replay";
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final FailedEventRouter failedEventRouter;
+    private final Set<String> retryableTopics;
+    private final String groupId;
+    private final Duration pollTimeout;
+
+    public DeadLetterReplayServiceImpl(ConsumerFactory<String, byte[]> consumerFactory,
+                                       FailedEventRouter failedEventRouter,
+                                       @Value("${kafka.retry.topics}") String[] retryableTopics,
+                                       @Value("${kafka.retry.replay.group-id}") String groupId,
+                                       @Value("${kafka.retry.replay.poll-timeout-millis:1000}") long pollTimeoutMillis) {
+        this.consumerFactory = consumerFactory;
+        this.failedEventRouter = failedEventRouter;
+        this.retryableTopics = Set.of(retryableTopics);
+        this.groupId = groupId;
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMillis);
+    }
+
+    @Override
+    public synchronized DeadLetterReplayDto replay(String topic, int limit) {
+        if (!retryableTopics.contains(topic)) {
+            throw new IllegalArgumentException("Topic " + topic + " has no dead letter topic");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit of events to replay has to be positive");
+        }
+
+        String deadLetterTopic = FailedEventRouter.deadLetterTopic(topic);
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(limit));
+
+        int replayed = 0;
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer(groupId, CLIENT_ID_PREFIX, null, overrides)) {
+            List<TopicPartition> partitions = consumer.partitionsFor(deadLetterTopic).stream()
+                    .map(partition -> new TopicPartition(deadLetterTopic, partition.partition()))
+                    .toList();
+            consumer.assign(partitions);
+
+            while (replayed < limit) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(pollTimeout);
+                if (records.isEmpty()) {
+                    break;
+                }
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                try {
+                    for (ConsumerRecord<String, byte[]> record : records) {
+                        if (replayed >= limit) {
+                            break;
+                        }
+                        failedEventRouter.replay(record);
+                        offsets.put(new TopicPartition(record.topic(), record.partition()),
+                                new OffsetAndMetadata(record.offset() + 1));
+                        replayed++;
+                    }
+                } finally {
+                    if (!offsets.isEmpty()) {
+                        consumer.commitSync(offsets);
+                    }
+                }
+            }
+        }
+        log.info("Replayed {} dead letters from {} to {}", replayed, deadLetterTopic, topic);
+        return new DeadLetterReplayDto(topic, deadLetterTopic, replayed);
+    }
+}
@@ -0,0 +1,449 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.kafka.producer.AuthorPostByHeatKafkaProducer;
+import faang.school.postservice.mapper.RedisPostDtoMapper;
+import faang.school.postservice.model.dto.FeedHeatJobDto;
+import faang.school.postservice.model.entity.Post;
+import faang.school.postservice.model.enums.FeedHeatJobStatus;
+import faang.school.postservice.model.event.kafka.AuthorPostByHeatKafkaEvent;
+import faang.school.postservice.repository.PostRepository;
+import faang.school.postservice.service.CommentService;
+import faang.school.postservice.service.FeedHeaterService;
+import faang.school.postservice.service.RedisPostService;
+import faang.school.postservice.util.concurrent.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Only the holder of {@code feed:heater:lock} runs the job, a watchdog extends the lock while the job runs. Partitions checkpoint their
+ * last cached id in {@code feed:heater:job}, where an unfinished job is resumed from.
+ */
+@Slf4j
+@Service
+public class FeedHeaterServiceImpl implements FeedHeaterService {
+    private static final String JOB_KEY = "feed:heater:job";
+    private static final String LOCK_KEY = "feed:heater:lock";
+    private static final String STATUS_FIELD = "status";
+    private static final String INSTANCE_ID_FIELD = "instanceId";
+    private static final String FROM_DATE_FIELD = "fromDate";
+    private static final String TO_DATE_FIELD = "toDate";
+    private static final String STARTED_AT_FIELD = "startedAt";
+    private static final String FINISHED_AT_FIELD = "finishedAt";
+    private static final String TOTAL_POSTS_FIELD = "totalPosts";
+    private static final String PROCESSED_POSTS_FIELD = "processedPosts";
+    private static final String RUN_START_PROCESSED_POSTS_FIELD = "runStartProcessedPosts";
+    private static final String BATCHES_FIELD = "batches";
+    private static final String ERRORS_FIELD = "errors";
+    private static final String LAST_ERROR_FIELD = "lastError";
+    private static final String PARTITIONS_FIELD = "partitions";
+    private static final String PARTITION_FIELD_PREFIX = "partition:";
+    private static final String LAST_ID_FIELD_SUFFIX = ":lastId";
+    private static final String END_ID_FIELD_SUFFIX = ":endId";
+
+    @Value("${redis.feed.heater.time-range-days}")
+    private int timeRangeDays;
+
+    @Value("${redis.feed.heater.batch-size}")
+    private int batchSize;
+
+    @Value("${redis.feed.heater.partitions}")
+    private int partitionCount;
+
+    @Value("${redis.feed.heater.checkpoint-ttl-seconds}")
+    private long checkpointTtlSeconds;
+
+    @Value("${redis.feed.heater.lock-ttl-seconds}")
+    private long lockTtlSeconds;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final PostRepository postRepository;
+    private final RedisPostService redisPostService;
+    private final RedisPostDtoMapper redisPostDtoMapper;
+    private final CommentService commentService;
+    private final AuthorPostByHeatKafkaProducer authorPostByHeatKafkaProducer;
+    private final ExecutorService feedHeaterExecutor;
+    private final RateLimiter rateLimiter;
+    private final RedisScript<Long> releaseLockScript;
+    private final RedisScript<Long> extendLockScript;
+    private final TaskScheduler taskScheduler;
+    private final String instanceId = UUID.randomUUID().toString();
+    private volatile ScheduledFuture<?> lockWatchdog;
+    private volatile boolean lockLost;
+
+    public FeedHeaterServiceImpl(
+            @Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+            PostRepository postRepository,
+            RedisPostService redisPostService,
+            RedisPostDtoMapper redisPostDtoMapper,
+            CommentService commentService,
+            AuthorPostByHeatKafkaProducer authorPostByHeatKafkaProducer,
+            ExecutorService feedHeaterExecutor,
+            @Value("${redis.feed.heater.max-posts-per-second}") double maxPostsPerSecond,
+            @Qualifier("releaseLockScript") RedisScript<Long> releaseLockScript,
+            @Qualifier("extendLockScript") RedisScript<Long> extendLockScript,
+            TaskScheduler taskScheduler) {
+        this.redisTemplate = redisTemplate;
+        this.postRepository = postRepository;
+        this.redisPostService = redisPostService;
+        this.redisPostDtoMapper = redisPostDtoMapper;
+        this.commentService = commentService;
+        this.authorPostByHeatKafkaProducer = authorPostByHeatKafkaProducer;
+        this.feedHeaterExecutor = feedHeaterExecutor;
+        this.rateLimiter = new RateLimiter(maxPostsPerSecond);
+        this.releaseLockScript = releaseLockScript;
+        this.extendLockScript = extendLockScript;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public FeedHeatJobDto startHeatingInBackground() {
+        boolean locked = Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(LOCK_KEY, instanceId, Duration.ofSeconds(lockTtlSeconds)));
+        if (!locked) {
+            log.info("Feed heating is already running");
+            return getHeatingStatus();
+        }
+
+        HeatJob job;
+        try {
+            job = loadOrPlanJob();
+            markRunStarted();
+        } catch (RuntimeException e) {
+            releaseLock();
+            throw e;
+        }
+        startLockWatchdog();
+        heatPartitions(job).whenComplete(this::finishRun);
+        return getHeatingStatus();
+    }
+
+    @Override
+    public FeedHeatJobDto getHeatingStatus() {
+        Map<Object, Object> storedJob = redisTemplate.opsForHash().entries(JOB_KEY);
+        if (storedJob.isEmpty()) {
+            return FeedHeatJobDto.builder()
+                    .status(FeedHeatJobStatus.NOT_STARTED)
+                    .build();
+        }
+        FeedHeatJobStatus status = getStatus(storedJob);
+        LocalDateTime startedAt = parseDate(storedJob.get(STARTED_AT_FIELD));
+        LocalDateTime finishedAt = parseDate(storedJob.get(FINISHED_AT_FIELD));
+        long totalPosts = parseLong(storedJob.get(TOTAL_POSTS_FIELD));
+        long processedPosts = parseLong(storedJob.get(PROCESSED_POSTS_FIELD));
+
+        double postsPerSecond = 0;
+        if (startedAt != null) {
+            long runMillis = Duration.between(startedAt, finishedAt == null ? LocalDateTime.now() : finishedAt).toMillis();
+            long runPosts = processedPosts - parseLong(storedJob.get(RUN_START_PROCESSED_POSTS_FIELD));
+            postsPerSecond = runMillis > 0 ? runPosts * 1000.0 / runMillis : 0;
+        }
+        Long etaSeconds = status == FeedHeatJobStatus.RUNNING && postsPerSecond > 0
+                ? (long) Math.ceil(Math.max(totalPosts - processedPosts, 0) / postsPerSecond)
+                : null;
+
+        List<Partition> partitions = readPartitions(storedJob);
+        return FeedHeatJobDto.builder()
+                .status(status)
+                .instanceId(toText(storedJob.get(INSTANCE_ID_FIELD)))
+                .fromDate(parseDate(storedJob.get(FROM_DATE_FIELD)))
+                .toDate(parseDate(storedJob.get(TO_DATE_FIELD)))
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .totalPosts(totalPosts)
+                .processedPosts(processedPosts)
+                .batches(parseLong(storedJob.get(BATCHES_FIELD)))
+                .errors(parseLong(storedJob.get(ERRORS_FIELD)))
+                .lastError(toText(storedJob.get(LAST_ERROR_FIELD)))
+                .partitions(partitions.size())
+                .completedPartitions((int) partitions.stream()
+                        .filter(partition -> partition.lastId() >= partition.endId())
+                        .count())
+                .postsPerSecond(postsPerSecond)
+                .etaSeconds(etaSeconds)
+                .build();
+    }
+
+    @Override
+    public FeedHeatJobDto cancelHeating() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(LOCK_KEY))) {
+            redisTemplate.opsForHash().put(JOB_KEY, STATUS_FIELD, FeedHeatJobStatus.CANCELLING.name());
+            log.info("Feed heating cancellation requested");
+        }
+        return getHeatingStatus();
+    }
+
+    private HeatJob loadOrPlanJob() {
+        Map<Object, Object> storedJob = redisTemplate.opsForHash().entries(JOB_KEY);
+        if (storedJob.isEmpty() || FeedHeatJobStatus.COMPLETED.name().equals(toText(storedJob.get(STATUS_FIELD)))) {
+            redisTemplate.delete(JOB_KEY);
+            return planJob();
+        }
+        HeatJob job = new HeatJob(
+                parseDate(storedJob.get(FROM_DATE_FIELD)),
+                parseDate(storedJob.get(TO_DATE_FIELD)),
+                readPartitions(storedJob));
+        log.info("Resuming feed heating of posts published from {} to {} in {} partitions",
+                job.fromDate(), job.toDate(), job.partitions().size());
+        return job;
+    }
+
+    private HeatJob planJob() {
+        LocalDateTime toDate = LocalDateTime.now();
+        LocalDateTime fromDate = toDate.minusDays(timeRangeDays);
+        PostRepository.IdRange idRange = postRepository.findIdRangeByDateRange(fromDate, toDate);
+
+        List<Partition> partitions = new ArrayList<>();
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(FROM_DATE_FIELD, fromDate.toString());
+        fields.put(TO_DATE_FIELD, toDate.toString());
+        fields.put(PROCESSED_POSTS_FIELD, "0");
+        fields.put(BATCHES_FIELD, "0");
+        fields.put(ERRORS_FIELD, "0");
+        if (idRange != null && idRange.getMinId() != null && idRange.getMaxId() != null) {
+            long firstId = idRange.getMinId() - 1;
+            long maxId = idRange.getMaxId();
+            long count = Math.min(Math.max(partitionCount, 1), maxId - firstId);
+            long partitionSize = (maxId - firstId + count - 1) / count;
+            for (long lastId = firstId; lastId < maxId; lastId += partitionSize) {
+                Partition partition = new Partition(partitions.size(), lastId, Math.min(lastId + partitionSize, maxId));
+                partitions.add(partition);
+                fields.put(createLastIdField(partition.index()), String.valueOf(partition.lastId()));
+                fields.put(createEndIdField(partition.index()), String.valueOf(partition.endId()));
+            }
+        }
+        long totalPosts = idRange == null || idRange.getPostCount() == null ? 0 : idRange.getPostCount();
+        fields.put(TOTAL_POSTS_FIELD, String.valueOf(totalPosts));
+        fields.put(PARTITIONS_FIELD, String.valueOf(partitions.size()));
+
+        redisTemplate.opsForHash().putAll(JOB_KEY, fields);
+        log.info("Feed heating of {} posts published from {} to {} split into {} partitions",
+                totalPosts, fromDate, toDate, partitions.size());
+        return new HeatJob(fromDate, toDate, partitions);
+    }
+
+    private void markRunStarted() {
+        Object processedPosts = redisTemplate.opsForHash().get(JOB_KEY, PROCESSED_POSTS_FIELD);
+        redisTemplate.opsForHash().delete(JOB_KEY, FINISHED_AT_FIELD, LAST_ERROR_FIELD);
+        redisTemplate.opsForHash().putAll(JOB_KEY, Map.of(
+                STATUS_FIELD, FeedHeatJobStatus.RUNNING.name(),
+                INSTANCE_ID_FIELD, instanceId,
+                STARTED_AT_FIELD, LocalDateTime.now().toString(),
+                RUN_START_PROCESSED_POSTS_FIELD, String.valueOf(parseLong(processedPosts))));
+        redisTemplate.expire(JOB_KEY, Duration.ofSeconds(checkpointTtlSeconds));
+    }
+
+    private CompletableFuture<Long> heatPartitions(HeatJob job) {
+        List<CompletableFuture<Long>> partitions = job.partitions().stream()
+                .map(partition -> CompletableFuture.supplyAsync(() -> heatPartition(job, partition), feedHeaterExecutor))
+                .toList();
+        return CompletableFuture.allOf(partitions.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> partitions.stream()
+                        .mapToLong(CompletableFuture::join)
+                        .sum());
+    }
+
+    private long heatPartition(HeatJob job, Partition partition) {
+        Pageable batch = PageRequest.of(0, batchSize);
+        long lastId = partition.lastId();
+        long heatedPosts = 0;
+        while (lastId < partition.endId()) {
+            ensureRunActive();
+            List<Post> posts = postRepository.findPostsByDateRangeAfterId(
+                    job.fromDate(), job.toDate(), lastId, partition.endId(), batch);
+            if (posts.isEmpty()) {
+                break;
+            }
+            throttle(posts.size());
+            int heated = heatPosts(posts);
+            lastId = posts.get(posts.size() - 1).getId();
+            heatedPosts += heated;
+            saveCheckpoint(partition.index(), lastId, heated);
+        }
+        redisTemplate.opsForHash().put(JOB_KEY, createLastIdField(partition.index()), String.valueOf(partition.endId()));
+        log.debug("Feed heating partition {} done, {} posts cached", partition.index(), heatedPosts);
+        return heatedPosts;
+    }
+
+    private int heatPosts(List<Post> posts) {
+        List<Long> postIds = posts.stream()
+                .map(Post::getId)
+                .toList();
+        redisPostService.savePosts(redisPostDtoMapper.mapToRedisPostDtos(posts));
+
+        Map<Long, List<Long>> top3CommentsAuthorIdsForPostsMap = commentService.getTop3CommentsAuthorIds(postIds);
+        int failed = 0;
+        for (Post post : posts) {
+            try {
+                List<Long> commentAuthorIds = top3CommentsAuthorIdsForPostsMap.get(post.getId());
+                boolean sent = authorPostByHeatKafkaProducer.sendEvent(
+                        new AuthorPostByHeatKafkaEvent(post.getId(), post.getAuthorId(), commentAuthorIds, post.getPublishedAt()));
+                if (!sent) {
+                    log.warn("Post {} was not sent for feed heating, the Kafka producer rejected it", post.getId());
+                    failed++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to process post {}: {}", post.getId(), e.getMessage(), e);
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            redisTemplate.opsForHash().increment(JOB_KEY, ERRORS_FIELD, failed);
+        }
+        return posts.size() - failed;
+    }
+
+    private void ensureRunActive() {
+        if (lockLost || !instanceId.equals(toText(redisTemplate.opsForValue().get(LOCK_KEY)))) {
+            throw new CancellationException("Feed heating lock is held by another instance");
+        }
+        if (FeedHeatJobStatus.CANCELLING.name().equals(toText(redisTemplate.opsForHash().get(JOB_KEY, STATUS_FIELD)))) {
+            throw new CancellationException("Feed heating was cancelled");
+        }
+    }
+
+    private void throttle(int posts) {
+        try {
+            rateLimiter.acquire(posts);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Feed heating was interrupted", e);
+        }
+    }
+
+    private void saveCheckpoint(int partitionIndex, long lastId, int posts) {
+        redisTemplate.opsForHash().put(JOB_KEY, createLastIdField(partitionIndex), String.valueOf(lastId));
+        redisTemplate.opsForHash().increment(JOB_KEY, PROCESSED_POSTS_FIELD, posts);
+        redisTemplate.opsForHash().increment(JOB_KEY, BATCHES_FIELD, 1);
+    }
+
+    private void finishRun(Long heatedPosts, Throwable e) {
+        stopLockWatchdog();
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (!instanceId.equals(toText(redisTemplate.opsForValue().get(LOCK_KEY)))) {
+            log.warn("Feed heating lock was lost, the job is left to its current holder", cause);
+            return;
+        }
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(FINISHED_AT_FIELD, LocalDateTime.now().toString());
+        if (cause == null) {
+            fields.put(STATUS_FIELD, FeedHeatJobStatus.COMPLETED.name());
+            log.info("Feed heating finished, {} posts cached", heatedPosts);
+        } else if (cause instanceof CancellationException) {
+            fields.put(STATUS_FIELD, FeedHeatJobStatus.CANCELLED.name());
+            log.info("Feed heating cancelled, the next start resumes it from the last checkpoints");
+        } else {
+            fields.put(STATUS_FIELD, FeedHeatJobStatus.FAILED.name());
+            fields.put(LAST_ERROR_FIELD, String.valueOf(cause.getMessage()));
+            redisTemplate.opsForHash().increment(JOB_KEY, ERRORS_FIELD, 1);
+            log.error("Feed heating stopped, the next start resumes it from the last checkpoints", cause);
+        }
+        redisTemplate.opsForHash().putAll(JOB_KEY, fields);
+        releaseLock();
+    }
+
+    private void startLockWatchdog() {
+        lockLost = false;
+        lockWatchdog = taskScheduler.scheduleAtFixedRate(this::extendLock,
+                Duration.ofMillis(Math.max(lockTtlSeconds * 1000 / 3, 1)));
+    }
+
+    private void stopLockWatchdog() {
+        ScheduledFuture<?> watchdog = lockWatchdog;
+        if (watchdog != null) {
+            watchdog.cancel(false);
+        }
+    }
+
+    private void extendLock() {
+        try {
+            Long extended = redisTemplate.execute(extendLockScript, List.of(LOCK_KEY),
+                    instanceId, String.valueOf(lockTtlSeconds));
+            if (extended == null || extended != 1L) {
+                log.warn("Feed heating lock was lost, stopping the job");
+                lockLost = true;
+                stopLockWatchdog();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to extend the feed heating lock: {}", e.getMessage());
+        }
+    }
+
+    private void releaseLock() {
+        Long released = redisTemplate.execute(releaseLockScript, List.of(LOCK_KEY), instanceId);
+        if (released == null || released != 1L) {
+            log.warn("Feed heating lock had already expired or was taken over");
+        }
+    }
+
+    private FeedHeatJobStatus getStatus(Map<Object, Object> storedJob) {
+        String status = toText(storedJob.get(STATUS_FIELD));
+        if (status == null) {
+            return FeedHeatJobStatus.INTERRUPTED;
+        }
+        FeedHeatJobStatus jobStatus = FeedHeatJobStatus.valueOf(status);
+        if ((jobStatus == FeedHeatJobStatus.RUNNING || jobStatus == FeedHeatJobStatus.CANCELLING)
+                && !Boolean.TRUE.equals(redisTemplate.hasKey(LOCK_KEY))) {
+            return jobStatus == FeedHeatJobStatus.RUNNING ? FeedHeatJobStatus.INTERRUPTED : FeedHeatJobStatus.CANCELLED;
+        }
+        return jobStatus;
+    }
+
+    private List<Partition> readPartitions(Map<Object, Object> storedJob) {
+        int count = (int) parseLong(storedJob.get(PARTITIONS_FIELD));
+        List<Partition> partitions = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            partitions.add(new Partition(index,
+                    parseLong(storedJob.get(createLastIdField(index))),
+                    parseLong(storedJob.get(createEndIdField(index)))));
+        }
+        return partitions;
+    }
+
+    private String createLastIdField(int partitionIndex) {
+        return PARTITION_FIELD_PREFIX + partitionIndex + LAST_ID_FIELD_SUFFIX;
+    }
+
+    private String createEndIdField(int partitionIndex) {
+        return PARTITION_FIELD_PREFIX + partitionIndex + END_ID_FIELD_SUFFIX;
+    }
+
+    private long parseLong(Object value) {
+        String text = toText(value);
+        return text == null ? 0 : Long.parseLong(text);
+    }
+
+    private LocalDateTime parseDate(Object value) {
+        String text = toText(value);
+        return text == null ? null : LocalDateTime.parse(text);
+    }
+
+    private String toText(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private record HeatJob(LocalDateTime fromDate, LocalDateTime toDate, List<Partition> partitions) {
+    }
+
+    private record Partition(int index, long lastId, long endId) {
+    }
+}
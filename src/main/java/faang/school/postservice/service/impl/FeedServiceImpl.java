@@ -1,90 +1,155 @@
 package faang.school.postservice.service.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.client.UserServiceClient;
 import faang.school.postservice.config.context.UserContext;
 import faang.school.postservice.exception.DataValidationException;
-import faang.school.postservice.kafka.producer.AuthorPostByHeatKafkaProducer;
-import faang.school.postservice.model.dto.CommentDto;
-import faang.school.postservice.model.dto.redis.cache.PostFields;
-import faang.school.postservice.model.dto.redis.cache.RedisCommentDto;
+import faang.school.postservice.exception.EventPublishingException;
+import faang.school.postservice.kafka.producer.FeedFanOutKafkaProducer;
+import faang.school.postservice.mapper.RedisPostDtoMapper;
+import faang.school.postservice.model.dto.FeedPageDto;
 import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
 import faang.school.postservice.model.entity.Post;
-import faang.school.postservice.model.event.kafka.AuthorPostByHeatKafkaEvent;
+import faang.school.postservice.model.event.kafka.FeedFanOutKafkaEvent;
 import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
 import faang.school.postservice.repository.PostRepository;
-import faang.school.postservice.service.CommentService;
 import faang.school.postservice.service.FeedService;
-import faang.school.postservice.service.LikeService;
 import faang.school.postservice.service.RedisPostService;
 import faang.school.postservice.service.RedisTransactional;
+import faang.school.postservice.service.UniqueViewService;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
 import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class FeedServiceImpl implements FeedService, RedisTransactional {
     private static final String KEY_PREFIX = "newsfeed:user:";
-    private static final String POST_KEY_PREFIX = "post:";
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final String AUTHOR_TIMELINE_KEY_PREFIX = "timeline:author:";
+    private static final String FOLLOWEES_KEY_PREFIX = "newsfeed:followees:user:";
+    private static final String CELEBRITIES_KEY = "celebrities";
+    private static final String TMP_KEY_SUFFIX = ":tmp";
+    private static final String NO_FOLLOWEES_MEMBER = "";
+    private static final String EMPTY_FEED_KEY_PREFIX = "newsfeed:empty:user:";
+    private static final String REBUILD_LOCK_KEY_PREFIX = "newsfeed:rebuild:lock:user:";
+    private static final long REBUILD_POLL_INTERVAL_MILLIS = 50;
+    private static final String CURSOR_DELIMITER = ":";
+    private static final int CURSOR_TIE_OVERFETCH = 10;
+    private static final long FEED_READY = 0;
+    private static final long FEED_MISSING = 1;
+    private static final long FOLLOWEES_MISSING = 2;
+    private static final int MAX_FEED_READ_ATTEMPTS = 3;
 
     @Value("${redis.feed.size}")
     private int newsFeedSize;
 
-    @Value("${redis.feed.heater.time-range-days}")
-    private int timeRangeDays;
+    @Value("${redis.feed.fan-out.chunk-size}")
+    private int fanOutChunkSize;
 
-    @Value("${redis.feed.heater.batch-size}")
-    private int batchSize;
+    @Value("${redis.feed.fan-out.task-size}")
+    private int fanOutTaskSize;
+
+    @Value("${redis.feed.fan-out.send-timeout-millis}")
+    private long fanOutSendTimeoutMillis;
+
+    @Value("${redis.feed.celebrity.follower-threshold}")
+    private int celebrityFollowerThreshold;
+
+    @Value("${redis.feed.celebrity.followees-ttl-seconds}")
+    private long followeesTtlSeconds;
+
+    @Value("${redis.feed.rebuild.time-range-days}")
+    private int rebuildTimeRangeDays;
+
+    @Value("${redis.feed.rebuild.lock-ttl-seconds}")
+    private long rebuildLockTtlSeconds;
+
+    @Value("${redis.feed.rebuild.wait-timeout-millis}")
+    private long rebuildWaitTimeoutMillis;
+
+    @Value("${redis.feed.ttl.user}")
+    private long userTtlInSeconds;
+
+    @Value("${redis.feed.compaction.scan-count}")
+    private int compactionScanCount;
 
     private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
     private final UserContext userContext;
     private final PostRepository postRepository;
     private final RedisPostService redisPostService;
-    private final AuthorPostByHeatKafkaProducer authorPostByHeatKafkaProducer;
-    private final CommentService commentService;
     private final ExecutorService singleThreadExecutor;
-    private final LikeService likeService;
+    private final RedisPostDtoMapper redisPostDtoMapper;
+    private final RedisScript<Long> addPostToFeedsScript;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> readFeedPageScript;
+    private final RedisScript<Long> releaseLockScript;
+    private final UserServiceClient userServiceClient;
+    private final UniqueViewService uniqueViewService;
+    private final FeedFanOutKafkaProducer feedFanOutKafkaProducer;
+    private final Map<Long, CompletableFuture<Void>> feedRebuilds = new ConcurrentHashMap<>();
 
     public FeedServiceImpl(
             @Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> redisTemplate,
-            ObjectMapper objectMapper,
             UserContext userContext,
             PostRepository postRepository,
             RedisPostService redisPostService,
-            AuthorPostByHeatKafkaProducer authorPostByHeatKafkaProducer,
-            CommentService commentService,
             ExecutorService singleThreadExecutor,
-            LikeService likeService) {
+            RedisPostDtoMapper redisPostDtoMapper,
+            @Qualifier("addPostToFeedsScript") RedisScript<Long> addPostToFeedsScript,
+            @SuppressWarnings("rawtypes") @Qualifier("readFeedPageScript") RedisScript<List> readFeedPageScript,
+            @Qualifier("releaseLockScript") RedisScript<Long> releaseLockScript,
+            UserServiceClient userServiceClient,
+            UniqueViewService uniqueViewService,
+            FeedFanOutKafkaProducer feedFanOutKafkaProducer) {
         this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
         this.userContext = userContext;
         this.postRepository = postRepository;
         this.redisPostService = redisPostService;
-        this.authorPostByHeatKafkaProducer = authorPostByHeatKafkaProducer;
-        this.commentService = commentService;
         this.singleThreadExecutor = singleThreadExecutor;
-        this.likeService = likeService;
+        this.redisPostDtoMapper = redisPostDtoMapper;
+        this.addPostToFeedsScript = addPostToFeedsScript;
+        this.readFeedPageScript = readFeedPageScript;
+        this.releaseLockScript = releaseLockScript;
+        this.userServiceClient = userServiceClient;
+        this.uniqueViewService = uniqueViewService;
+        this.feedFanOutKafkaProducer = feedFanOutKafkaProducer;
     }
 
     @Override
@@ -92,148 +157,504 @@ public class FeedServiceImpl implements FeedService, RedisTransactional {
         return redisTemplate;
     }
 
+    /**
+     * A failed split is retried as a whole, which is safe since writing a task again leaves the feeds unchanged.
+     */
     @Override
     public void addPost(PostPublishedKafkaEvent event) {
-        redisTemplate.executePipelined((RedisCallback<Void>) connection -> {
-            String member = String.valueOf(event.getPostId());
-            double score = toScore(event.getPublishedAt());
+        List<Long> followerIds = event.getFollowerIds();
+        if (followerIds == null || followerIds.isEmpty()) {
+            return;
+        }
+        if (followerIds.size() > celebrityFollowerThreshold) {
+            addPostToAuthorTimeline(event);
+            return;
+        }
+        if (followerIds.size() <= fanOutTaskSize) {
+            pushToFeeds(event.getPostId(), event.getPublishedAt(), followerIds);
+            return;
+        }
+        publishFanOutTasks(event);
+    }
 
-            for (Long followerId : event.getFollowerIds()) {
-                String key = createKey(followerId);
+    @Override
+    public void fanOut(FeedFanOutKafkaEvent task) {
+        List<Long> followerIds = task.getFollowerIds();
+        if (followerIds == null || followerIds.isEmpty()) {
+            return;
+        }
+        pushToFeeds(task.getPostId(), task.getPublishedAt(), followerIds);
+    }
 
-                redisTemplate.opsForZSet().add(key, member, score);
+    private void publishFanOutTasks(PostPublishedKafkaEvent event) {
+        List<Long> followerIds = event.getFollowerIds();
+        int chunkCount = (followerIds.size() + fanOutTaskSize - 1) / fanOutTaskSize;
+        List<FeedFanOutKafkaEvent> tasks = new ArrayList<>(chunkCount);
+        for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            int from = chunkIndex * fanOutTaskSize;
+            int to = Math.min(from + fanOutTaskSize, followerIds.size());
+            tasks.add(new FeedFanOutKafkaEvent(event.getPostId(), List.copyOf(followerIds.subList(from, to)),
+                    event.getPublishedAt(), chunkIndex, chunkCount));
+        }
 
-                Long size = redisTemplate.opsForZSet().size(key);
-                if (size != null && size > newsFeedSize) {
-                    redisTemplate.opsForZSet().removeRange(key, 0, size - newsFeedSize - 1);
+        try {
+            feedFanOutKafkaProducer.sendEventsAcknowledged(tasks).get(fanOutSendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventPublishingException("Interrupted while publishing fan-out of post " + event.getPostId(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new EventPublishingException("Failed to publish fan-out of post " + event.getPostId(), e);
+        }
+        log.debug("Split fan-out of post {} to {} followers into {} tasks",
+                event.getPostId(), followerIds.size(), chunkCount);
+    }
+
+    private void pushToFeeds(long postId, LocalDateTime publishedAt, List<Long> followerIds) {
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        byte[] member = serializer.serialize(String.valueOf(postId));
+        byte[] score = serializer.serialize(String.valueOf((long) toScore(publishedAt)));
+        byte[] maxSize = serializer.serialize(String.valueOf(newsFeedSize));
+
+        RedisCallback<Object> fanOut = connection -> {
+            for (int from = 0; from < followerIds.size(); from += fanOutChunkSize) {
+                List<Long> chunk = followerIds.subList(from, Math.min(from + fanOutChunkSize, followerIds.size()));
+                byte[][] keysAndArgs = new byte[chunk.size() + 3][];
+                for (int i = 0; i < chunk.size(); i++) {
+                    keysAndArgs[i] = serializer.serialize(createKey(chunk.get(i)));
                 }
+                keysAndArgs[chunk.size()] = member;
+                keysAndArgs[chunk.size() + 1] = score;
+                keysAndArgs[chunk.size() + 2] = maxSize;
+                connection.scriptingCommands().evalSha(
+                        addPostToFeedsScript.getSha1(), ReturnType.INTEGER, chunk.size(), keysAndArgs);
             }
             return null;
-        });
+        };
+
+        try {
+            redisTemplate.executePipelined(fanOut);
+        } catch (DataAccessException e) {
+            if (!isNoScriptError(e)) {
+                throw e;
+            }
+            log.info("Fan-out script is not loaded in Redis, loading it and retrying post {}", postId);
+            loadAddPostToFeedsScript();
+            redisTemplate.executePipelined(fanOut);
+        }
     }
 
     @Override
     public List<RedisPostDto> getNewsFeed(Long userId, int page, int pageSize) {
-        if (!userId.equals(userContext.getUserId())) {
-            throw new DataValidationException(
-                    String.format("User with id = %d tried to feed of user with id = %d",
-                            userContext.getUserId(), userId));
-        }
-        String key = createKey(userId);
-
+        validateFeedOwner(userId);
         int start = page * pageSize;
-        int end = start + pageSize - 1;
 
-        Set<Object> postIds = redisTemplate.opsForZSet().reverseRange(key, start, end);
-        if (postIds == null || postIds.isEmpty()) {
+        FeedRanges ranges = readFeedRanges(userId, Double.POSITIVE_INFINITY, start, pageSize);
+        List<TypedTuple<Object>> merged = mergeByScore(ranges.sources(),
+                ranges.fromTop() ? start + pageSize : pageSize, null, null, -1);
+        int skip = ranges.fromTop() ? start : 0;
+        if (merged.size() <= skip) {
             return List.of();
         }
+        List<Object> postIds = merged.subList(skip, merged.size()).stream()
+                .map(TypedTuple::getValue)
+                .collect(Collectors.toList());
+        return hydratePosts(userId, postIds);
+    }
+
+    @Override
+    public FeedPageDto getNewsFeedByCursor(Long userId, String cursor, int pageSize) {
+        validateFeedOwner(userId);
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
 
-        List<RedisPostDto> posts = new ArrayList<>();
-        for (Object postId : postIds) {
-            String postKey = POST_KEY_PREFIX + postId;
-            Map<Object, Object> postData = redisTemplate.opsForHash().entries(postKey);
+        double maxScore = Double.POSITIVE_INFINITY;
+        String lastMember = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] cursorParts = decodeCursor(cursor);
+            maxScore = Double.parseDouble(cursorParts[0]);
+            lastMember = cursorParts[1];
+        }
 
-            if (!postData.isEmpty()) {
-                posts.add(convertMapToRedisPostDto(postData));
+        List<TypedTuple<Object>> page = new ArrayList<>(pageSize);
+        int fetchSize = pageSize + CURSOR_TIE_OVERFETCH;
+        long offset = 0;
+        boolean hasMore = true;
+        while (page.size() < pageSize && hasMore) {
+            FeedRanges ranges = readFeedRanges(userId, maxScore, offset, fetchSize);
+            long rangeSize = ranges.fromTop() ? offset + fetchSize : fetchSize;
+            hasMore = ranges.sources().stream().anyMatch(source -> source.size() == rangeSize);
+            if (ranges.fromTop()) {
+                page = mergeByScore(ranges.sources(), pageSize, maxScore, lastMember, rangeSize);
+            } else {
+                page.addAll(mergeByScore(ranges.sources(), pageSize - page.size(), maxScore, lastMember, rangeSize));
             }
+            offset += fetchSize;
         }
 
-        return posts;
+        if (page.isEmpty()) {
+            return new FeedPageDto(List.of(), null);
+        }
+
+        List<Object> postIds = page.stream()
+                .map(TypedTuple::getValue)
+                .collect(Collectors.toList());
+        TypedTuple<Object> last = page.get(page.size() - 1);
+        String nextCursor = page.size() < pageSize ? null : encodeCursor(last.getScore(), last.getValue());
+        return new FeedPageDto(hydratePosts(userId, postIds), nextCursor);
     }
 
     @Override
-    public void startHeatingInBackground() {
-        CompletableFuture.runAsync(this::startHeating, singleThreadExecutor);
-    }
-
-    private void startHeating() {
-        LocalDateTime fromDate = LocalDateTime.now().minusDays(timeRangeDays);
-        LocalDateTime toDate = LocalDateTime.now();
-
-        Pageable pageable = PageRequest.of(0, batchSize);
-        Page<Post> page;
-
-        do {
-            page = postRepository.findPostsByDateRange(fromDate, toDate, pageable);
-            List<Post> posts = page.getContent();
-            List<Long> postIds = posts.stream()
-                    .map(Post::getId)
-                    .toList();
-            List<RedisPostDto> redisPostDtoList = getRedisPostDtoList(posts);
-            redisPostService.savePosts(redisPostDtoList);
-
-            Map<Long, List<Long>> top3CommentsAuthorIdsForPostsMap = commentService.getTop3CommentsAuthorIds(postIds);
-
-            posts.forEach(post -> {
-                try {
-                    List<Long> commentAuthorIds = top3CommentsAuthorIdsForPostsMap.get(post.getId());
-                    authorPostByHeatKafkaProducer.sendEvent(
-                            new AuthorPostByHeatKafkaEvent(post.getId(), post.getAuthorId(), commentAuthorIds, post.getPublishedAt()));
-                } catch (Exception e) {
-                    log.error("Failed to process post {}: {}", post.getId(), e.getMessage(), e);
+    public void startCompactionInBackground() {
+        CompletableFuture.runAsync(this::compactFeeds, singleThreadExecutor);
+    }
+
+    private void compactFeeds() {
+        ScanOptions scanOptions = ScanOptions.scanOptions()
+                .match(KEY_PREFIX + "*")
+                .count(compactionScanCount)
+                .build();
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        List<String> keys = new ArrayList<>(compactionScanCount);
+        long compactedFeeds = 0;
+
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == compactionScanCount || !cursor.hasNext()) {
+                    compactedFeeds += trimFeeds(keys, serializer);
+                    keys.clear();
                 }
-            });
-            pageable = pageable.next();
-        } while (!page.isLast());
+            }
+        } catch (Exception e) {
+            log.error("Failed to compact news feeds", e);
+            return;
+        }
+        log.info("News feed compaction finished, {} feeds trimmed to {} posts", compactedFeeds, newsFeedSize);
     }
 
-    private List<RedisPostDto> getRedisPostDtoList(List<Post> posts) {
-        List<Long> postIds = posts.stream()
-                .map(Post::getId)
-                .toList();
-        Map<Long, List<CommentDto>> top3CommentsForPosts = commentService.getTop3CommentsForPosts(postIds);
-        Map<Long, Integer> postIdCommentCountMap = commentService.getPostIdCommentCountMap(postIds);
-        Map<Long, Integer> postIdLikeCountMap = likeService.getPostIdLikeCountMap(postIds);
-        Map<Long, Integer> postIdViewCountMap = posts.stream()
-                .collect(Collectors.toMap(Post::getId, Post::getViewCount));
-        return posts.stream()
-                .map(post -> RedisPostDto.builder()
-                        .postId(post.getId())
-                        .authorId(post.getAuthorId())
-                        .content(post.getContent())
-                        .createdAt(post.getCreatedAt())
-                        .commentCount(postIdCommentCountMap.get(post.getId()))
-                        .likeCount(postIdLikeCountMap.get(post.getId()))
-                        .recentComments(top3CommentsForPosts.get(post.getId()).stream()
-                                .map(commentDto -> new RedisCommentDto(commentDto.getAuthorId(), commentDto.getContent()))
-                                .toList())
-                        .viewCount(postIdViewCountMap.get(post.getId()))
-                        .build())
+    private long trimFeeds(List<String> keys, RedisSerializer<String> serializer) {
+        List<Object> removed = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.zSetCommands().zRemRange(serializer.serialize(key), 0, -newsFeedSize - 1L);
+            }
+            return null;
+        });
+        return removed.stream()
+                .filter(result -> result instanceof Long count && count > 0)
+                .count();
+    }
+
+    private void loadAddPostToFeedsScript() {
+        byte[] script = redisTemplate.getStringSerializer().serialize(addPostToFeedsScript.getScriptAsString());
+        redisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands().scriptLoad(script));
+    }
+
+    private boolean isNoScriptError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean rebuildFeedIfMissing(Long userId, String key) {
+        if (isFeedBuilt(userId, key)) {
+            return false;
+        }
+
+        CompletableFuture<Void> rebuild = new CompletableFuture<>();
+        CompletableFuture<Void> inFlight = feedRebuilds.putIfAbsent(userId, rebuild);
+        if (inFlight != null) {
+            awaitRebuild(userId, inFlight);
+            return true;
+        }
+        try {
+            rebuildFeed(userId, key);
+            rebuild.complete(null);
+        } catch (Exception e) {
+            log.error("Failed to rebuild feed of user with id = {}", userId, e);
+            rebuild.completeExceptionally(e);
+        } finally {
+            feedRebuilds.remove(userId, rebuild);
+        }
+        return true;
+    }
+
+    private void rebuildFeed(Long userId, String key) {
+        String lockKey = REBUILD_LOCK_KEY_PREFIX + userId;
+        String lockToken = UUID.randomUUID().toString();
+        boolean locked = Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(lockKey, lockToken, Duration.ofSeconds(rebuildLockTtlSeconds)));
+        if (!locked) {
+            waitForFeed(userId, key);
+            return;
+        }
+        try {
+            List<Long> followeeIds = userServiceClient.getFolloweeIds(userId);
+            cacheFollowees(userId, followeeIds);
+            List<Post> posts = followeeIds == null || followeeIds.isEmpty()
+                    ? List.of()
+                    : postRepository.findRecentPublishedByAuthors(followeeIds,
+                    LocalDateTime.now().minusDays(rebuildTimeRangeDays), PageRequest.of(0, newsFeedSize));
+
+            if (posts.isEmpty()) {
+                redisTemplate.opsForValue().set(EMPTY_FEED_KEY_PREFIX + userId, "", Duration.ofSeconds(userTtlInSeconds));
+                log.info("Feed of user with id = {} has no posts to rebuild from", userId);
+                return;
+            }
+
+            redisPostService.savePosts(redisPostDtoMapper.mapToRedisPostDtos(posts));
+            Set<TypedTuple<Object>> tuples = posts.stream()
+                    .map(post -> new DefaultTypedTuple<Object>(String.valueOf(post.getId()), toScore(post.getPublishedAt())))
+                    .collect(Collectors.toSet());
+            redisTemplate.opsForZSet().add(key, tuples);
+            redisTemplate.expire(key, Duration.ofSeconds(userTtlInSeconds));
+            log.info("Feed of user with id = {} rebuilt from {} posts", userId, posts.size());
+        } finally {
+            Long released = redisTemplate.execute(releaseLockScript, List.of(lockKey), lockToken);
+            if (!Long.valueOf(1L).equals(released)) {
+                log.warn("Rebuild lock of user with id = {} expired before the rebuild finished", userId);
+            }
+        }
+    }
+
+    private void awaitRebuild(Long userId, CompletableFuture<Void> inFlight) {
+        try {
+            inFlight.get(rebuildWaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Concurrent rebuild of feed of user with id = {} did not complete", userId);
+        }
+    }
+
+    private void waitForFeed(Long userId, String key) {
+        long deadline = System.currentTimeMillis() + rebuildWaitTimeoutMillis;
+        try {
+            while (System.currentTimeMillis() < deadline && !isFeedBuilt(userId, key)) {
+                Thread.sleep(REBUILD_POLL_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isFeedBuilt(Long userId, String key) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key))
+                || Boolean.TRUE.equals(redisTemplate.hasKey(EMPTY_FEED_KEY_PREFIX + userId));
+    }
+
+    private void addPostToAuthorTimeline(PostPublishedKafkaEvent event) {
+        Long authorId = resolveAuthorId(event.getPostId());
+        String timelineKey = createAuthorTimelineKey(authorId);
+        String member = String.valueOf(event.getPostId());
+        double score = toScore(event.getPublishedAt());
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForZSet().add(timelineKey, member, score);
+                ops.opsForZSet().removeRange(timelineKey, 0, -newsFeedSize - 1L);
+                ops.opsForSet().add(CELEBRITIES_KEY, String.valueOf(authorId));
+                return null;
+            }
+        });
+        log.debug("Post {} of author {} with {} followers added to author timeline",
+                event.getPostId(), authorId, event.getFollowerIds().size());
+    }
+
+    private Long resolveAuthorId(long postId) {
+        RedisPostDto cachedPost = redisPostService.getCachedPosts(List.of(postId)).get(postId);
+        if (cachedPost != null && cachedPost.getAuthorId() != null) {
+            return cachedPost.getAuthorId();
+        }
+        return postRepository.findById(postId)
+                .map(Post::getAuthorId)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Post with id = %d not found in DB", postId)));
+    }
+
+    private FeedRanges readFeedRanges(Long userId, double maxScore, long offset, int count) {
+        String key = createKey(userId);
+        List<String> keys = List.of(key, EMPTY_FEED_KEY_PREFIX + userId, createFolloweesKey(userId), CELEBRITIES_KEY);
+        String max = Double.isInfinite(maxScore) ? "+inf" : String.valueOf((long) maxScore);
+
+        for (int attempt = 0; attempt < MAX_FEED_READ_ATTEMPTS; attempt++) {
+            List<?> result = redisTemplate.execute(readFeedPageScript, keys,
+                    AUTHOR_TIMELINE_KEY_PREFIX, max, String.valueOf(offset), String.valueOf(count));
+            long status = result == null || result.isEmpty() ? FEED_READY : ((Number) result.get(0)).longValue();
+            if (status == FEED_MISSING) {
+                rebuildFeedIfMissing(userId, key);
+            } else if (status == FOLLOWEES_MISSING) {
+                cacheFollowees(userId, userServiceClient.getFolloweeIds(userId));
+            } else {
+                List<Set<TypedTuple<Object>>> sources = result == null ? List.of() : result.stream()
+                        .skip(1)
+                        .map(this::toTuples)
+                        .toList();
+                return new FeedRanges(sources, sources.size() > 1);
+            }
+        }
+        log.warn("Feed of user with id = {} is still not ready after {} reads", userId, MAX_FEED_READ_ATTEMPTS);
+        return new FeedRanges(List.of(), false);
+    }
+
+    private Set<TypedTuple<Object>> toTuples(Object range) {
+        Set<TypedTuple<Object>> tuples = new LinkedHashSet<>();
+        if (range instanceof List<?> membersAndScores) {
+            for (int i = 0; i + 1 < membersAndScores.size(); i += 2) {
+                tuples.add(new DefaultTypedTuple<>(membersAndScores.get(i),
+                        Double.valueOf(String.valueOf(membersAndScores.get(i + 1)))));
+            }
+        }
+        return tuples;
+    }
+
+    /**
+     * The set always holds {@link #NO_FOLLOWEES_MEMBER}, so read_feed_page.lua can tell a user following nobody
+     * from a followee cache that is missing.
+     */
+    private void cacheFollowees(Long userId, List<Long> followeeIds) {
+        String followeesKey = createFolloweesKey(userId);
+        String tmpKey = followeesKey + TMP_KEY_SUFFIX;
+        List<Long> ids = followeeIds == null ? List.of() : followeeIds;
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.delete(tmpKey);
+                ops.opsForSet().add(tmpKey, NO_FOLLOWEES_MEMBER);
+                for (int from = 0; from < ids.size(); from += fanOutChunkSize) {
+                    Object[] chunk = ids.subList(from, Math.min(from + fanOutChunkSize, ids.size())).stream()
+                            .map(String::valueOf)
+                            .toArray();
+                    ops.opsForSet().add(tmpKey, chunk);
+                }
+                ops.expire(tmpKey, Duration.ofSeconds(followeesTtlSeconds));
+                ops.rename(tmpKey, followeesKey);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Ties are ordered by member descending, as Redis orders ZREVRANGE results, and a post present in several
+     * sources is returned once. A source of {@code truncatedSize} tuples may continue in Redis, so the merge stops
+     * once such a source is drained.
+     */
+    private List<TypedTuple<Object>> mergeByScore(List<Set<TypedTuple<Object>>> sources, int limit,
+                                                  Double cursorScore, String lastMember, long truncatedSize) {
+        Comparator<TypedTuple<Object>> order = Comparator
+                .comparing((TypedTuple<Object> tuple) -> tuple.getScore() == null ? 0.0 : tuple.getScore())
+                .thenComparing(tuple -> String.valueOf(tuple.getValue()))
+                .reversed();
+        PriorityQueue<MergeHead> heads =
+                new PriorityQueue<>(Math.max(1, sources.size()), Comparator.comparing(MergeHead::tuple, order));
+        for (Set<TypedTuple<Object>> source : sources) {
+            Iterator<TypedTuple<Object>> iterator = source.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new MergeHead(iterator.next(), iterator, source.size() == truncatedSize));
+            }
+        }
+
+        List<TypedTuple<Object>> merged = new ArrayList<>(limit);
+        Set<Object> seen = new HashSet<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            MergeHead head = heads.poll();
+            TypedTuple<Object> tuple = head.tuple();
+            boolean afterCursor = cursorScore == null || isAfterCursor(tuple, cursorScore, lastMember);
+            if (afterCursor && seen.add(String.valueOf(tuple.getValue()))) {
+                merged.add(tuple);
+            }
+            if (head.rest().hasNext()) {
+                heads.add(new MergeHead(head.rest().next(), head.rest(), head.truncated()));
+            } else if (head.truncated()) {
+                break;
+            }
+        }
+        return merged;
+    }
+
+    private List<RedisPostDto> hydratePosts(Long userId, List<Object> postIds) {
+        List<Long> ids = postIds.stream()
+                .map(postId -> Long.valueOf(postId.toString()))
                 .toList();
+        Map<Long, RedisPostDto> cachedPosts = redisPostService.getCachedPosts(ids,
+                uniqueViewService.uniqueViewCountRead());
+
+        List<RedisPostDto> posts = new ArrayList<>(ids.size());
+        List<Long> missingPostIds = new ArrayList<>();
+        for (Long postId : ids) {
+            RedisPostDto post = cachedPosts.get(postId);
+            if (post != null) {
+                posts.add(post);
+            } else {
+                missingPostIds.add(postId);
+            }
+        }
+
+        if (!missingPostIds.isEmpty()) {
+            log.warn("Posts {} from feed of user with id = {} are missing in cache", missingPostIds, userId);
+        }
+        return posts;
     }
 
-    private RedisPostDto convertMapToRedisPostDto(Map<Object, Object> postData) {
-        RedisPostDto postDto = new RedisPostDto();
-        postDto.setPostId(Long.valueOf(postData.get(PostFields.POST_ID).toString()));
-        postDto.setAuthorId(Long.valueOf(postData.get(PostFields.AUTHOR_ID).toString()));
-        postDto.setContent((String) postData.get(PostFields.CONTENT));
-        postDto.setCreatedAt(LocalDateTime.parse((String) postData.get(PostFields.CREATED_AT), formatter));
-        postDto.setCommentCount(Integer.parseInt(postData.get(PostFields.COMMENT_COUNT).toString()));
-        postDto.setLikeCount(Integer.parseInt(postData.get(PostFields.LIKE_COUNT).toString()));
-        postDto.setRecentComments(getComments(postData));
-        postDto.setViewCount(Integer.parseInt(postData.get(PostFields.VIEW_COUNT).toString()));
-        return postDto;
+    private void validateFeedOwner(Long userId) {
+        if (!userId.equals(userContext.getUserId())) {
+            throw new DataValidationException(
+                    String.format("User with id = %d tried to feed of user with id = %d",
+                            userContext.getUserId(), userId));
+        }
     }
 
-    private List<RedisCommentDto> getComments(Map<Object, Object> postMap) {
-        Object commentsObj = postMap.get(PostFields.RECENT_COMMENTS);
-        if (commentsObj == null) {
-            return new ArrayList<>();
+    private boolean isAfterCursor(TypedTuple<Object> tuple, double cursorScore, String lastMember) {
+        if (lastMember == null || tuple.getScore() == null || tuple.getScore() < cursorScore) {
+            return true;
         }
+        return String.valueOf(tuple.getValue()).compareTo(lastMember) < 0;
+    }
+
+    private String encodeCursor(Double score, Object postId) {
+        String rawCursor = score.longValue() + CURSOR_DELIMITER + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
         try {
-            return objectMapper.readValue(commentsObj.toString(), new TypeReference<List<RedisCommentDto>>() {
-            });
-        } catch (JsonProcessingException e) {
-            log.error("Failed to deserialize comments", e);
-            return new ArrayList<>();
+            String rawCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] cursorParts = rawCursor.split(CURSOR_DELIMITER, 2);
+            if (cursorParts.length != 2 || cursorParts[1].isEmpty()) {
+                throw new IllegalArgumentException("Invalid feed cursor: " + cursor);
+            }
+            Long.parseLong(cursorParts[0]);
+            return cursorParts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid feed cursor: " + cursor, e);
         }
     }
 
+    private record FeedRanges(List<Set<TypedTuple<Object>>> sources, boolean fromTop) {
+    }
+
+    private record MergeHead(TypedTuple<Object> tuple, Iterator<TypedTuple<Object>> rest, boolean truncated) {
+    }
+
     private String createKey(Long userId) {
         return KEY_PREFIX + userId;
     }
 
+    private String createAuthorTimelineKey(Long authorId) {
+        return AUTHOR_TIMELINE_KEY_PREFIX + authorId;
+    }
+
+    private String createFolloweesKey(Long userId) {
+        return FOLLOWEES_KEY_PREFIX + userId;
+    }
+
     private double toScore(LocalDateTime publishedAt) {
         return publishedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
     }
@@ -0,0 +1,101 @@
+package faang.school.postservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.kafka.producer.AuthorPostKafkaProducer;
+import faang.school.postservice.model.event.kafka.AuthorPostKafkaEvent;
+import faang.school.postservice.service.PostAnnouncementService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * The announcement of a published post is what triggers its fan-out, so a send that is rejected or fails is kept
+ * in {@code post:announcement:pending} and sent again until Kafka acknowledges it, at least once.
+ */
+@Slf4j
+@Service
+public class PostAnnouncementServiceImpl implements PostAnnouncementService {
+    private static final String PENDING_KEY = "post:announcement:pending";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final AuthorPostKafkaProducer authorPostKafkaProducer;
+    private final ObjectMapper objectMapper;
+    private final Executor callbackExecutor;
+    private final int retryBatchSize;
+
+    public PostAnnouncementServiceImpl(@Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                       AuthorPostKafkaProducer authorPostKafkaProducer,
+                                       ObjectMapper objectMapper,
+                                       @Qualifier("schedulingThreadPoolExecutor") Executor callbackExecutor,
+                                       @Value("${kafka.producer.announcement-retry.batch-size:500}") int retryBatchSize) {
+        this.redisTemplate = redisTemplate;
+        this.authorPostKafkaProducer = authorPostKafkaProducer;
+        this.objectMapper = objectMapper;
+        this.callbackExecutor = callbackExecutor;
+        this.retryBatchSize = retryBatchSize;
+    }
+
+    @Override
+    public void announce(AuthorPostKafkaEvent event) {
+        authorPostKafkaProducer.sendEventsAcknowledged(List.of(event)).whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                log.warn("Post {} was not announced to user-service, keeping it for a retry: {}",
+                        event.getPostId(), error.getMessage());
+                savePending(event);
+            }
+        }, callbackExecutor);
+    }
+
+    @Override
+    public void retryPendingAnnouncements() {
+        int retried = 0;
+        try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash().scan(PENDING_KEY,
+                ScanOptions.scanOptions().count(retryBatchSize).build())) {
+            while (cursor.hasNext() && retried < retryBatchSize) {
+                Map.Entry<Object, Object> entry = cursor.next();
+                retry(entry.getKey(), String.valueOf(entry.getValue()));
+                retried++;
+            }
+        }
+        if (retried > 0) {
+            log.info("Retried {} pending post announcements", retried);
+        }
+    }
+
+    private void retry(Object postId, String payload) {
+        AuthorPostKafkaEvent event;
+        try {
+            event = objectMapper.readValue(payload, AuthorPostKafkaEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error("Dropping unreadable pending announcement of post {}", postId, e);
+            redisTemplate.opsForHash().delete(PENDING_KEY, postId);
+            return;
+        }
+        authorPostKafkaProducer.sendEventsAcknowledged(List.of(event)).whenCompleteAsync((result, error) -> {
+            if (error == null) {
+                redisTemplate.opsForHash().delete(PENDING_KEY, postId);
+            } else {
+                log.warn("Post {} is still not announced to user-service: {}", postId, error.getMessage());
+            }
+        }, callbackExecutor);
+    }
+
+    private void savePending(AuthorPostKafkaEvent event) {
+        try {
+            redisTemplate.opsForHash().put(PENDING_KEY, String.valueOf(event.getPostId()),
+                    objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.error("Post {} is lost for the feeds, it could neither be announced nor kept for a retry",
+                    event.getPostId(), e);
+        }
+    }
+}
@@ -4,12 +4,14 @@ import faang.school.postservice.model.entity.Post;
 import faang.school.postservice.model.event.application.PostsPublishCommittedEvent;
 import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.service.PostBatchService;
+import faang.school.postservice.util.moderation.NearDuplicateDetector;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -17,11 +19,26 @@ import java.util.List;
 public class PostBatchServiceImpl implements PostBatchService {
     private final PostRepository postRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final NearDuplicateDetector nearDuplicateDetector;
 
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void savePostBatch(List<Post> postBatch) {
-        postRepository.saveAll(postBatch);
-        applicationEventPublisher.publishEvent(new PostsPublishCommittedEvent(postBatch));
+    public int publishReadyPosts(int limit) {
+        List<Post> publishedPosts = postRepository.publishReadyPosts(limit);
+        List<Post> nearDuplicates = publishedPosts.stream()
+                .filter(post -> nearDuplicateDetector.checkAndRemember(post.getId(), post.getContent()).isPresent())
+                .toList();
+        if (!nearDuplicates.isEmpty()) {
+            LocalDateTime verifiedDate = LocalDateTime.now();
+            nearDuplicates.forEach(post -> {
+                post.setVerified(false);
+                post.setVerifiedDate(verifiedDate);
+            });
+            postRepository.saveAll(nearDuplicates);
+        }
+        if (!publishedPosts.isEmpty()) {
+            applicationEventPublisher.publishEvent(new PostsPublishCommittedEvent(publishedPosts));
+        }
+        return publishedPosts.size();
     }
 }
@@ -0,0 +1,113 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.repository.PostModerationRepository;
+import faang.school.postservice.repository.PostModerationRepository.UnverifiedPost;
+import faang.school.postservice.service.PostModerationService;
+import faang.school.postservice.util.moderation.ModerationDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class PostModerationServiceImpl implements PostModerationService {
+
+    @Value("${post.moderation.batch-size}")
+    private int chunkSize;
+
+    @Value("${post.moderation.max-chunks-in-flight}")
+    private int maxChunksInFlight;
+
+    @Value("${post.moderation.max-posts-per-second}")
+    private int maxPostsPerSecond;
+
+    private final PostModerationRepository postModerationRepository;
+    private final ModerationDictionary moderationDictionary;
+    private final Executor moderationExecutor;
+
+    public PostModerationServiceImpl(PostModerationRepository postModerationRepository,
+                                     ModerationDictionary moderationDictionary,
+                                     @Qualifier("moderationExecutor") Executor moderationExecutor) {
+        this.postModerationRepository = postModerationRepository;
+        this.moderationDictionary = moderationDictionary;
+        this.moderationExecutor = moderationExecutor;
+    }
+
+    @Override
+    public int moderateUnverifiedPosts() {
+        Semaphore chunksInFlight = new Semaphore(maxChunksInFlight);
+        AtomicInteger moderated = new AtomicInteger();
+        long startNanos = System.nanoTime();
+        long afterId = 0;
+        int read = 0;
+        try {
+            while (true) {
+                List<UnverifiedPost> chunk = postModerationRepository.findUnverifiedAfter(afterId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1).id();
+                read += chunk.size();
+                chunksInFlight.acquire();
+                submit(chunk, moderated, chunksInFlight);
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                throttle(read, startNanos);
+            }
+            chunksInFlight.acquire(maxChunksInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Moderation was interrupted after {} of {} posts read", moderated.get(), read);
+        }
+        return moderated.get();
+    }
+
+    private void submit(List<UnverifiedPost> chunk, AtomicInteger moderated, Semaphore chunksInFlight) {
+        try {
+            moderationExecutor.execute(() -> {
+                try {
+                    moderated.addAndGet(verifyChunk(chunk));
+                } finally {
+                    chunksInFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            chunksInFlight.release();
+            throw e;
+        }
+    }
+
+    private int verifyChunk(List<UnverifiedPost> chunk) {
+        Map<Long, Boolean> verifiedByPost = new LinkedHashMap<>();
+        chunk.forEach(post -> verifiedByPost.put(post.id(), !moderationDictionary.containsSwearWords(post.content())));
+        try {
+            return postModerationRepository.saveVerdicts(verifiedByPost, LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Failed to store verdicts of posts {} to {}",
+                    chunk.get(0).id(), chunk.get(chunk.size() - 1).id(), e);
+            return 0;
+        }
+    }
+
+    private void throttle(int read, long startNanos) throws InterruptedException {
+        if (maxPostsPerSecond <= 0) {
+            return;
+        }
+        long dueNanos = startNanos + TimeUnit.SECONDS.toNanos(read) / maxPostsPerSecond;
+        long waitNanos = dueNanos - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import faang.school.postservice.client.UserServiceClient;
 import faang.school.postservice.config.context.UserContext;
 import faang.school.postservice.mapper.PostMapper;
 import faang.school.postservice.model.dto.PostDto;
+import faang.school.postservice.model.dto.PostPageDto;
 import faang.school.postservice.model.dto.ProjectDto;
 import faang.school.postservice.model.dto.UserDto;
 import faang.school.postservice.model.entity.Post;
@@ -12,37 +13,43 @@ import faang.school.postservice.model.enums.AuthorType;
 import faang.school.postservice.model.event.application.PostViewCommittedEvent;
 import faang.school.postservice.model.event.application.PostsPublishCommittedEvent;
 import faang.school.postservice.redis.publisher.NewPostPublisher;
+import faang.school.postservice.repository.HashtagDictionary;
 import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.service.BatchProcessService;
 import faang.school.postservice.service.PostBatchService;
 import faang.school.postservice.service.PostService;
-import faang.school.postservice.util.moderation.ModerationDictionary;
-import jakarta.persistence.EntityNotFoundException;
-import jakarta.persistence.OptimisticLockException;
+import faang.school.postservice.service.PostViewCounter;
+import faang.school.postservice.util.moderation.NearDuplicateDetector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Base64;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PostServiceImpl implements PostService {
+    private static final String CURSOR_DELIMITER = "_";
+    private static final PostCursor FIRST_PAGE = new PostCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
 
     @Value("${spell-checker.batch-size}")
     private int correcterBatchSize;
@@ -50,20 +57,25 @@ public class PostServiceImpl implements PostService {
     @Value("${post.publisher.batch-size}")
     private int batchSize;
 
-    @Value("${post.moderation.batch-size}")
-    private int moderationBatchSize;
+    @Value("${post.publisher.initial-batch-size}")
+    private int initialPublishBatchSize;
+
+    @Value("${post.publisher.workers}")
+    private int publishWorkers;
 
     private final PostRepository postRepository;
     private final UserServiceClient userServiceClient;
     private final ProjectServiceClient projectServiceClient;
     private final PostMapper postMapper;
     private final NewPostPublisher newPostPublisher;
-    private final ModerationDictionary moderationDictionary;
     private final BatchProcessService batchProcessService;
     private final ExecutorService schedulingThreadPoolExecutor;
     private final PostBatchService postBatchService;
     private final UserContext userContext;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final PostViewCounter postViewCounter;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final HashtagDictionary hashtagDictionary;
 
     @Override
     public PostDto createPost(PostDto postDto) {
@@ -83,6 +95,9 @@ public class PostServiceImpl implements PostService {
 
         Post post = postMapper.toPost(postDto);
         Post savedPost = postRepository.save(post);
+        if (flagIfNearDuplicate(savedPost)) {
+            savedPost = postRepository.save(savedPost);
+        }
         PostDto result = postMapper.toPostDto(savedPost);
 
         newPostPublisher.publish(result);
@@ -100,6 +115,7 @@ public class PostServiceImpl implements PostService {
 
         post.setPublished(true);
         post.setPublishedAt(LocalDateTime.now());
+        flagIfNearDuplicate(post);
         log.debug("Saving post with id = {} in DB", post.getId());
         Post savedPost = postRepository.save(post);
         PostDto postDto = postMapper.toPostDto(savedPost);
@@ -107,6 +123,15 @@ public class PostServiceImpl implements PostService {
         return postDto;
     }
 
+    private boolean flagIfNearDuplicate(Post post) {
+        if (nearDuplicateDetector.checkAndRemember(post.getId(), post.getContent()).isEmpty()) {
+            return false;
+        }
+        post.setVerified(false);
+        post.setVerifiedDate(LocalDateTime.now());
+        return true;
+    }
+
     @Override
     public PostDto updatePost(Long id, PostDto postDto) {
         Post post = getPostById(id);
@@ -115,7 +140,13 @@ public class PostServiceImpl implements PostService {
             throw new IllegalStateException("Cannot change author or author type of the post");
         }
 
-        post.setContent(postDto.getContent());
+        if (!Objects.equals(post.getContent(), postDto.getContent())) {
+            post.setContent(postDto.getContent());
+            if (!flagIfNearDuplicate(post)) {
+                post.setVerified(null);
+                post.setVerifiedDate(null);
+            }
+        }
         postRepository.save(post);
 
         return postMapper.toPostDto(post);
@@ -131,67 +162,92 @@ public class PostServiceImpl implements PostService {
     @Transactional
     @Override
     public PostDto getPost(Long id) {
-        Post post = incrementViewCountAndGetPost(id);
+        Post post = getPostById(id);
+        postViewCounter.increment(id);
         applicationEventPublisher.publishEvent(new PostViewCommittedEvent(id, post.getAuthorId(), userContext.getUserId()));
         return postMapper.toPostDto(post);
     }
 
     @Override
-    public List<PostDto> getUserDrafts(Long authorId) {
-        return postRepository.findByAuthorId(authorId).stream()
-                .filter(post -> !post.isDeleted() && !post.isPublished())
-                .map(postMapper::toPostDto)
-                .sorted(Comparator.comparing(PostDto::getCreatedAt).reversed())
-                .collect(Collectors.toList());
+    public PostPageDto getUserDrafts(Long authorId, String cursor, int pageSize) {
+        PostCursor after = decodeCursor(cursor);
+        List<Post> posts = postRepository.findDraftsByAuthorBefore(
+                authorId, after.timestamp(), after.id(), PageRequest.of(0, pageSize + 1));
+        return toPostPage(posts, pageSize, Post::getCreatedAt);
     }
 
     @Override
-    public List<PostDto> getProjectDrafts(Long projectId) {
-        return postRepository.findByProjectId(projectId).stream()
-                .filter(post -> !post.isDeleted() && !post.isPublished())
-                .map(postMapper::toPostDto)
-                .sorted(Comparator.comparing(PostDto::getCreatedAt).reversed())
-                .collect(Collectors.toList());
+    public PostPageDto getProjectDrafts(Long projectId, String cursor, int pageSize) {
+        PostCursor after = decodeCursor(cursor);
+        List<Post> posts = postRepository.findDraftsByProjectBefore(
+                projectId, after.timestamp(), after.id(), PageRequest.of(0, pageSize + 1));
+        return toPostPage(posts, pageSize, Post::getCreatedAt);
     }
 
     @Transactional
     @Override
-    public List<PostDto> getAllPostPublishedByUser(Long authorId) {
-        List<PostDto> dtos = postRepository.findByAuthorId(authorId).stream()
-                .filter(post -> !post.isDeleted() && post.isPublished())
-                .map(postMapper::toPostDto)
-                .sorted(Comparator.comparing(PostDto::getPublishedAt).reversed())
-                .collect(Collectors.toList());
-
-        if (!dtos.isEmpty()) {
-            dtos.forEach(postDto -> {
-                        incrementPostViewCount(postDto.getId());
-                        applicationEventPublisher.publishEvent(
-                                new PostViewCommittedEvent(postDto.getId(), authorId, userContext.getUserId()));
-                    }
-            );
-        }
-        return dtos;
+    public PostPageDto getAllPostPublishedByUser(Long authorId, String cursor, int pageSize) {
+        PostCursor after = decodeCursor(cursor);
+        List<Post> posts = postRepository.findPublishedByAuthorBefore(
+                authorId, after.timestamp(), after.id(), PageRequest.of(0, pageSize + 1));
+        PostPageDto page = toPostPage(posts, pageSize, Post::getPublishedAt);
+
+        page.getPosts().forEach(postDto -> {
+                    postViewCounter.increment(postDto.getId());
+                    applicationEventPublisher.publishEvent(
+                            new PostViewCommittedEvent(postDto.getId(), authorId, userContext.getUserId()));
+                }
+        );
+        return page;
     }
 
     @Transactional
     @Override
-    public List<PostDto> getAllPostPublishedByProject(Long projectId) {
-        List<PostDto> dtos = postRepository.findByProjectId(projectId).stream()
-                .filter(post -> !post.isDeleted() && post.isPublished())
-                .map(postMapper::toPostDto)
-                .sorted(Comparator.comparing(PostDto::getPublishedAt).reversed())
-                .collect(Collectors.toList());
-
-        if (!dtos.isEmpty()) {
-            dtos.forEach(postDto -> {
-                        incrementPostViewCount(postDto.getId());
-                        applicationEventPublisher.publishEvent(
-                                new PostViewCommittedEvent(postDto.getId(), postDto.getAuthorId(), userContext.getUserId()));
-                    }
-            );
+    public PostPageDto getAllPostPublishedByProject(Long projectId, String cursor, int pageSize) {
+        PostCursor after = decodeCursor(cursor);
+        List<Post> posts = postRepository.findPublishedByProjectBefore(
+                projectId, after.timestamp(), after.id(), PageRequest.of(0, pageSize + 1));
+        PostPageDto page = toPostPage(posts, pageSize, Post::getPublishedAt);
+
+        page.getPosts().forEach(postDto -> {
+                    postViewCounter.increment(postDto.getId());
+                    applicationEventPublisher.publishEvent(
+                            new PostViewCommittedEvent(postDto.getId(), postDto.getAuthorId(), userContext.getUserId()));
+                }
+        );
+        return page;
+    }
+
+    private PostPageDto toPostPage(List<Post> posts, int pageSize, Function<Post, LocalDateTime> orderedBy) {
+        List<Post> page = posts.size() > pageSize ? posts.subList(0, pageSize) : posts;
+        String nextCursor = null;
+        if (posts.size() > pageSize) {
+            Post last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(orderedBy.apply(last), last.getId());
+        }
+        return new PostPageDto(page.stream().map(postMapper::toPostDto).collect(Collectors.toList()), nextCursor);
+    }
+
+    private String encodeCursor(LocalDateTime timestamp, long postId) {
+        String rawCursor = timestamp + CURSOR_DELIMITER + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PostCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String rawCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int delimiter = rawCursor.lastIndexOf(CURSOR_DELIMITER);
+            if (delimiter < 0) {
+                throw new IllegalArgumentException("Invalid post cursor: " + cursor);
+            }
+            return new PostCursor(LocalDateTime.parse(rawCursor.substring(0, delimiter)),
+                    Long.parseLong(rawCursor.substring(delimiter + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid post cursor: " + cursor, e);
         }
-        return dtos;
     }
 
     private Post getPostById(Long id) {
@@ -202,10 +258,13 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional(readOnly = true)
     public Page<PostDto> getAllPostsByHashtagId(String content, Pageable pageable) {
-        Page<PostDto> pagesDtos = postRepository.findByHashtagsContent(content, pageable).map(postMapper::toPostDto);
+        Page<PostDto> pagesDtos = hashtagDictionary.findId(content)
+                .map(hashtagId -> postRepository.findByHashtagId(hashtagId, pageable))
+                .orElseGet(() -> Page.empty(pageable))
+                .map(postMapper::toPostDto);
         if (pagesDtos.getSize() > 0) {
             pagesDtos.getContent().forEach(postDto -> {
-                        incrementPostViewCount(postDto.getId());
+                        postViewCounter.increment(postDto.getId());
                         applicationEventPublisher.publishEvent(
                                 new PostViewCommittedEvent(postDto.getId(), postDto.getAuthorId(), userContext.getUserId()));
                     }
@@ -217,7 +276,8 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional(readOnly = true)
     public Post getPostByIdInternal(Long id) {
-        Post post = incrementViewCountAndGetPost(id);
+        Post post = getPostById(id);
+        postViewCounter.increment(id);
         applicationEventPublisher.publishEvent(
                 new PostViewCommittedEvent(id, post.getAuthorId(), userContext.getUserId()));
         return post;
@@ -231,22 +291,34 @@ public class PostServiceImpl implements PostService {
 
     @Override
     public List<CompletableFuture<Void>> publishScheduledPosts() {
-        List<Post> readyToPublish = postRepository.findReadyToPublish();
-        log.info("{} posts were found for scheduled publishing", readyToPublish.size());
-        List<List<Post>> postBatches = partitionList(readyToPublish, batchSize);
         List<CompletableFuture<Void>> futures = new ArrayList<>();
-        for (List<Post> postBatch : postBatches) {
-            postBatch.forEach(post -> {
-                post.setPublished(true);
-                post.setPublishedAt(LocalDateTime.now());
-                log.info("Post with id '{}' prepared for scheduled publishing", post.getId());
-            });
-            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> postBatchService.savePostBatch(postBatch), schedulingThreadPoolExecutor);
-            futures.add(future);
+        for (int worker = 0; worker < publishWorkers; worker++) {
+            futures.add(CompletableFuture.runAsync(this::publishReadyPosts, schedulingThreadPoolExecutor));
         }
         return futures;
     }
 
+    private void publishReadyPosts() {
+        int limit = Math.min(initialPublishBatchSize, batchSize);
+        int publishedTotal = 0;
+        try {
+            while (true) {
+                int published = postBatchService.publishReadyPosts(limit);
+                publishedTotal += published;
+                if (published < limit) {
+                    break;
+                }
+                limit = Math.min(limit * 2, batchSize);
+            }
+        } catch (Exception e) {
+            log.error("Scheduled publishing stopped after {} posts", publishedTotal, e);
+            throw e;
+        }
+        if (publishedTotal > 0) {
+            log.info("{} scheduled posts were published", publishedTotal);
+        }
+    }
+
     private List<List<Post>> partitionList(List<Post> list, int batchSize) {
         List<List<Post>> partitions = new ArrayList<>();
         for (int i = 0; i < list.size(); i += batchSize) {
@@ -272,54 +344,11 @@ public class PostServiceImpl implements PostService {
         }
     }
 
-    @Override
-    public List<List<Post>> findAndSplitUnverifiedPosts() {
-        List<Post> unverifiedPosts = postRepository.findAllByVerifiedDateIsNull();
-
-        return partitionList(unverifiedPosts, moderationBatchSize);
-    }
-
-    @Override
-    @Async("postOperationsAsyncExecutor")
-    @Transactional
-    public CompletableFuture<Void> verifyPostsForSwearWords(List<Post> unverifiedPostsBatch) {
-        return CompletableFuture.runAsync(() -> {
-            unverifiedPostsBatch.forEach(post -> {
-                boolean hasImproperContent = moderationDictionary.containsSwearWords(post.getContent());
-                post.setVerified(!hasImproperContent);
-                post.setVerifiedDate(LocalDateTime.now());
-            });
-
-            postRepository.saveAll(unverifiedPostsBatch);
-        });
-    }
-
-    private void incrementPostViewCount(long postId) {
-        try {
-            int updatedRows = postRepository.incrementViewCount(postId);
-            if (updatedRows == 0) {
-                throw new EntityNotFoundException("Post not found with id " + postId);
-            }
-        } catch (OptimisticLockException e) {
-            throw new IllegalStateException("Failed to increment view count due to concurrent modification", e);
-        }
-    }
-
     @Override
     public int getViewCount(Long postId) {
-        return postRepository.getViewCountByPostId(postId);
+        return postRepository.getViewCountByPostId(postId) + (int) postViewCounter.getPendingViews(postId);
     }
 
-    private Post incrementViewCountAndGetPost(long postId) {
-        Post post = getPostById(postId);
-        try {
-            int incremented = postRepository.incrementViewCount(postId);
-            if (incremented == 0) {
-                throw new EntityNotFoundException("Post not found with id " + postId);
-            }
-            return post;
-        } catch (OptimisticLockException e) {
-            throw new IllegalStateException("Failed to increment view count due to concurrent modification", e);
-        }
+    private record PostCursor(LocalDateTime timestamp, long id) {
     }
 }
@@ -1,81 +1,100 @@
 package faang.school.postservice.service.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import faang.school.postservice.mapper.PostMapper;
 import faang.school.postservice.mapper.RedisPostDtoMapper;
 import faang.school.postservice.model.dto.PostDto;
-import faang.school.postservice.model.dto.redis.cache.PostFields;
 import faang.school.postservice.model.dto.redis.cache.RedisCommentDto;
 import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
 import faang.school.postservice.model.entity.Post;
+import faang.school.postservice.model.enums.PostCacheFormat;
+import faang.school.postservice.model.event.kafka.CommentSentKafkaEvent;
+import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
+import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
+import faang.school.postservice.redis.dedup.CounterEventFilter;
+import faang.school.postservice.redis.dedup.EventFilterSlot;
+import faang.school.postservice.redis.serializer.RedisPostHashCodec;
 import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.service.RedisPostService;
 import faang.school.postservice.service.RedisTransactional;
+import faang.school.postservice.service.UniqueViewService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class RedisPostServiceImpl implements RedisPostService, RedisTransactional {
-    private static final String USER_KEY_PREFIX = "user:";
     private static final String POST_KEY_PREFIX = "post:";
-    private static final String LIKE_KEY_PREFIX = "like:";
-    private static final String POST_VIEW_KEY_PREFIX = "postView:";
-    private static final String COMMENT_KEY_PREFIX = "comment:";
-    private static final String VIEW_DATE_TIME = "viewDateTime:";
+    private static final String COUNTER_KEY_PREFIX = "post:counters:";
+    private static final String LIKE_COUNTER_SUFFIX = ":l";
+    private static final String VIEW_COUNTER_SUFFIX = ":v";
+    private static final String COMMENT_COUNTER_SUFFIX = ":c";
     private static final int REFRESH_TIME_IN_HOURS = 3;
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-
-    @Value("${redis.feed.ttl.comment:86400}")
-    private long commentTtlInSeconds;
 
     @Value("${redis.feed.ttl.post:86400}")
     private long postTtlInSeconds;
 
-    @Value("${redis.feed.ttl.post-view:86400}")
-    private long postViewTtlInSeconds;
-
-    @Value("${redis.feed.ttl.like:86400}")
-    private long likeTtlInSeconds;
+    @Value("${redis.feed.ttl.counters:2592000}")
+    private long counterTtlInSeconds;
 
     @Value("${redis.feed.comment.max-size:3}")
     private int maxRecentComments;
 
+    @Value("${redis.feed.counters.bucket-size:40}")
+    private int counterBucketSize;
+
+    @Value("${redis.feed.post-format:HASH}")
+    private PostCacheFormat postFormat = PostCacheFormat.HASH;
+
     private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisPostHashCodec postHashCodec;
     private final PostRepository postRepository;
     private final RedisPostDtoMapper redisPostDtoMapper;
     private final PostMapper postMapper;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> incrementCounterOnceScript;
+    private final CounterEventFilter eventFilter;
+    private final UniqueViewService uniqueViewService;
 
+    @SuppressWarnings("rawtypes")
     public RedisPostServiceImpl(
-            @Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+            @Qualifier("postCacheRedisTemplate") RedisTemplate<String, Object> redisTemplate,
             ObjectMapper objectMapper,
             PostRepository postRepository,
             RedisPostDtoMapper redisPostDtoMapper,
-            PostMapper postMapper) {
+            PostMapper postMapper,
+            RedisScript<List> incrementCounterOnceScript,
+            CounterEventFilter eventFilter,
+            UniqueViewService uniqueViewService) {
         this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+        this.postHashCodec = new RedisPostHashCodec(objectMapper);
         this.postRepository = postRepository;
         this.redisPostDtoMapper = redisPostDtoMapper;
         this.postMapper = postMapper;
+        this.incrementCounterOnceScript = incrementCounterOnceScript;
+        this.eventFilter = eventFilter;
+        this.uniqueViewService = uniqueViewService;
     }
 
     @Override
@@ -97,27 +116,76 @@ public class RedisPostServiceImpl implements RedisPostService, RedisTransactiona
     public RedisPostDto getPost(Long postId) {
         String key = createPostKey(postId);
         Map<String, Object> postMap = fetchAndCachePostIfAbsent(postId, key);
-        return convertMapToPostDto(postMap);
+        RedisPostDto post = postHashCodec.decode(postMap);
+        List<Object> counters = redisTemplate.opsForHash()
+                .multiGet(createCounterKey(postId), createCounterFields(postId));
+        if (hasCounters(counters)) {
+            applyCounters(post, counters);
+        } else {
+            seedCounters(post);
+        }
+        applyRead(post, uniqueViewService.uniqueViewCountRead());
+        return post;
     }
 
     @Override
-    @Retryable(retryFor = RuntimeException.class, maxAttempts = 3, backoff = @Backoff(delay = 100))
-    public void incrementLikesWithTransaction(Long postId, Long likeId) {
-        String likeKey = createLikeKey(likeId);
-        String postKey = createPostKey(postId);
-        executeRedisTransaction(() -> {
-            boolean isAlreadyProcessed = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(
-                    likeKey,
-                    "processed",
-                    Duration.ofSeconds(likeTtlInSeconds)));
-
-            if (!isAlreadyProcessed) {
-                log.debug("Like event for post {} is already processed", postId);
-                return;
+    public Map<Long, RedisPostDto> getCachedPosts(List<Long> postIds) {
+        return getCachedPosts(postIds, PipelinedRead.NONE);
+    }
+
+    @Override
+    public Map<Long, RedisPostDto> getCachedPosts(List<Long> postIds, PipelinedRead read) {
+        RedisSerializer<String> keySerializer = redisTemplate.getStringSerializer();
+        int stride = 2 + read.commandsPerPost();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long postId : postIds) {
+                connection.hashCommands().hGetAll(keySerializer.serialize(createPostKey(postId)));
+                connection.hashCommands().hMGet(keySerializer.serialize(createCounterKey(postId)),
+                        createCounterFields(postId).stream().map(keySerializer::serialize).toArray(byte[][]::new));
+                read.queue(connection, postId);
             }
-            fetchAndCachePostIfAbsent(postId, postKey);
-            redisTemplate.opsForHash().increment(postKey, PostFields.LIKE_COUNT, 1);
+            return null;
         });
+
+        Map<Long, RedisPostDto> posts = new LinkedHashMap<>();
+        List<RedisPostDto> unseededPosts = new ArrayList<>();
+        for (int i = 0; i < postIds.size() && stride * (i + 1) <= results.size(); i++) {
+            int offset = stride * i;
+            if (results.get(offset) instanceof Map<?, ?> postMap && !postMap.isEmpty()) {
+                try {
+                    RedisPostDto post = postHashCodec.decode(postMap);
+                    if (results.get(offset + 1) instanceof List<?> counters && hasCounters(counters)) {
+                        applyCounters(post, counters);
+                    } else {
+                        unseededPosts.add(post);
+                    }
+                    read.apply(post, results.subList(offset + 2, offset + stride));
+                    posts.put(postIds.get(i), post);
+                } catch (SerializationException e) {
+                    log.warn("Cached post with ID {} cannot be decoded", postIds.get(i), e);
+                }
+            }
+        }
+        if (!unseededPosts.isEmpty()) {
+            seedCounters(unseededPosts);
+        }
+        return posts;
+    }
+
+    @Override
+    @Retryable(retryFor = RuntimeException.class, maxAttempts = 3, backoff = @Backoff(delay = 100))
+    public void incrementLikesWithTransaction(Long postId, Long likeId) {
+        if (!incrementCounterOnce(postId, eventFilter.like(likeId), LIKE_COUNTER_SUFFIX)) {
+            log.debug("Like event for post {} is already processed", postId);
+        }
+    }
+
+    @Override
+    public void incrementLikes(List<LikeKafkaEvent> events) {
+        Map<Long, List<EventFilterSlot>> slotsByPost = new LinkedHashMap<>();
+        events.forEach(event -> slotsByPost.computeIfAbsent(event.getPostId(), postId -> new ArrayList<>())
+                .add(eventFilter.like(event.getLikeId())));
+        incrementCountersOnce(slotsByPost, LIKE_COUNTER_SUFFIX);
     }
 
     @Override
@@ -125,21 +193,30 @@ public class RedisPostServiceImpl implements RedisPostService, RedisTransactiona
     public void savePost(RedisPostDto postDto) {
         String key = createPostKey(postDto.getPostId());
         executeRedisTransaction(() -> {
-            Map<String, Object> postMap = convertPostDtoToMap(postDto);
+            Map<String, Object> postMap = postHashCodec.encode(postDto, postFormat);
+            redisTemplate.delete(key);
             postMap.forEach((field, value) -> redisTemplate.opsForHash().put(key, field, value));
             updatePostTtl(key);
+            seedCounters(postDto);
         });
     }
 
     @Override
     @Retryable(retryFor = RuntimeException.class, maxAttempts = 3, backoff = @Backoff(delay = 100))
     public void savePosts(List<RedisPostDto> postDtos) {
+        RedisSerializer<String> keySerializer = redisTemplate.getStringSerializer();
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
         redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
             for (RedisPostDto postDto : postDtos) {
-                String key = createPostKey(postDto.getPostId());
-                Map<String, Object> postMap = convertPostDtoToMap(postDto);
-                postMap.forEach((field, value) -> redisTemplate.opsForHash().put(key, field, value));
-                updatePostTtl(key);
+                byte[] key = keySerializer.serialize(createPostKey(postDto.getPostId()));
+                Map<byte[], byte[]> fields = new HashMap<>();
+                postHashCodec.encode(postDto, postFormat).forEach((field, value) ->
+                        fields.put(keySerializer.serialize(field), valueSerializer.serialize(value)));
+                connection.keyCommands().del(key);
+                connection.hashCommands().hMSet(key, fields);
+                connection.keyCommands().expire(key, postTtlInSeconds);
+                queueSeedCounters(connection, postDto);
             }
             return null;
         });
@@ -148,129 +225,277 @@ public class RedisPostServiceImpl implements RedisPostService, RedisTransactiona
     @Override
     @Retryable(retryFor = RuntimeException.class, maxAttempts = 3, backoff = @Backoff(delay = 100))
     public void incrementPostViewsWithTransaction(Long postId, Long viewerId, String viewDateTime) {
-        String postViewKey = createPostViewKey(postId, viewerId, viewDateTime);
-        String postKey = createPostKey(postId);
-        executeRedisTransaction(() -> {
-            boolean isAlreadyProcessed = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(
-                    postViewKey,
-                    "processed",
-                    Duration.ofSeconds(postViewTtlInSeconds)));
-
-            if (!isAlreadyProcessed) {
-                log.debug("Post view event for post {} is already processed", postId);
-                return;
-            }
-            fetchAndCachePostIfAbsent(postId, postKey);
-            redisTemplate.opsForHash().increment(postKey, PostFields.VIEW_COUNT, 1);
-        });
+        if (!incrementCounterOnce(postId, eventFilter.postView(postId, viewerId, viewDateTime), VIEW_COUNTER_SUFFIX)) {
+            log.debug("Post view event for post {} is already processed", postId);
+        }
+    }
+
+    @Override
+    public void incrementPostViews(List<PostViewKafkaEvent> events) {
+        Map<Long, List<EventFilterSlot>> slotsByPost = new LinkedHashMap<>();
+        events.forEach(event -> slotsByPost.computeIfAbsent(event.getPostId(), postId -> new ArrayList<>())
+                .add(eventFilter.postView(event.getPostId(), event.getViewerId(), event.getViewDateTime())));
+        incrementCountersOnce(slotsByPost, VIEW_COUNTER_SUFFIX);
     }
 
     @Retryable(retryFor = RuntimeException.class, maxAttempts = 3, backoff = @Backoff(delay = 100))
     @Override
     public void addComment(Long postId, Long commentId, Long commentAuthorId, String commentContent) {
-        String commentKey = createCommentKey(commentId);
+        if (!incrementCounterOnce(postId, eventFilter.comment(commentId), COMMENT_COUNTER_SUFFIX)) {
+            log.debug("Comment event {} for post {} is already processed", commentId, postId);
+            return;
+        }
+
         String postKey = createPostKey(postId);
-        executeRedisTransaction(() -> {
-            boolean isAlreadyProcessed = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(
-                    commentKey,
-                    "processed",
-                    Duration.ofSeconds(commentTtlInSeconds)));
-
-            if (!isAlreadyProcessed) {
-                log.debug("Comment event {} for post {} is already processed", commentId, postId);
-                return;
-            }
+        Map<Object, Object> postMap = redisTemplate.opsForHash().entries(postKey);
+        if (postMap.isEmpty()) {
+            log.debug("Post {} is not cached, its recent comments will be loaded with the post", postId);
+            return;
+        }
+        RedisPostDto post = postHashCodec.decode(postMap);
+        List<RedisCommentDto> recentComments = new ArrayList<>(post.getRecentComments());
+        recentComments.add(0, new RedisCommentDto(commentAuthorId, commentContent));
+        if (recentComments.size() > maxRecentComments) {
+            recentComments = recentComments.subList(0, maxRecentComments);
+        }
+        post.setRecentComments(recentComments);
+        post.setCommentCount(post.getCommentCount() + 1);
 
-            Map<String, Object> postMap = fetchAndCachePostIfAbsent(postId, postKey);
-            List<RedisCommentDto> recentComments = getComments(postMap);
-            recentComments.add(0, new RedisCommentDto(commentAuthorId, commentContent));
-            if (recentComments.size() > maxRecentComments) {
-                recentComments = recentComments.subList(0, maxRecentComments);
-            }
-            int commentCount = Integer.parseInt(postMap.getOrDefault(PostFields.COMMENT_COUNT, "0").toString()) + 1;
+        postHashCodec.encodeRecentComments(post, postMap)
+                .forEach((field, value) -> redisTemplate.opsForHash().put(postKey, field, value));
+    }
 
-            redisTemplate.opsForHash().put(postKey, PostFields.RECENT_COMMENTS, serializeComments(recentComments));
-            redisTemplate.opsForHash().put(postKey, PostFields.COMMENT_COUNT, String.valueOf(commentCount));
+    @Override
+    public void addComments(List<CommentSentKafkaEvent> events) {
+        Map<Long, List<CommentSentKafkaEvent>> commentsByPost = new LinkedHashMap<>();
+        events.forEach(event -> commentsByPost.computeIfAbsent(event.getPostId(), postId -> new ArrayList<>()).add(event));
+        Map<Long, List<EventFilterSlot>> slotsByPost = new LinkedHashMap<>();
+        commentsByPost.forEach((postId, comments) -> slotsByPost.put(postId, comments.stream()
+                .map(comment -> eventFilter.comment(comment.getCommentId()))
+                .toList()));
+
+        Map<Long, List<Integer>> counted = incrementCountersOnce(slotsByPost, COMMENT_COUNTER_SUFFIX);
+        Map<Long, List<CommentSentKafkaEvent>> newComments = new LinkedHashMap<>();
+        counted.forEach((postId, positions) -> {
+            if (!positions.isEmpty()) {
+                newComments.put(postId, positions.stream()
+                        .map(commentsByPost.get(postId)::get)
+                        .toList());
+            }
         });
+        if (!newComments.isEmpty()) {
+            addRecentComments(newComments);
+        }
     }
 
     private void updatePostTtl(String key) {
         redisTemplate.expire(key, postTtlInSeconds, TimeUnit.SECONDS);
     }
 
-    private RedisPostDto fetchPostFromDatabase(Long postId) {
-        Post post = postRepository.findById(postId).orElseThrow(() ->
-                new EntityNotFoundException(String.format("Post with id = %d not found in DB", postId)));
-        PostDto postDto = postMapper.toPostDto(post);
-        return redisPostDtoMapper.mapToRedisPostDto(postDto);
+    private boolean incrementCounterOnce(Long postId, EventFilterSlot slot, String counterSuffix) {
+        return !incrementCountersOnce(Map.of(postId, List.of(slot)), counterSuffix).get(postId).isEmpty();
     }
 
-    private RedisPostDto convertMapToPostDto(Map<String, Object> postMap) {
-        RedisPostDto postDto = new RedisPostDto();
-        postDto.setPostId(Long.valueOf(postMap.get(PostFields.POST_ID).toString()));
-        postDto.setAuthorId(Long.valueOf(postMap.get(PostFields.AUTHOR_ID).toString()));
-        postDto.setContent((String) postMap.get(PostFields.CONTENT));
-        postDto.setCreatedAt(LocalDateTime.parse((String) postMap.get(PostFields.CREATED_AT), formatter));
-        postDto.setCommentCount(Integer.parseInt(postMap.get(PostFields.COMMENT_COUNT).toString()));
-        postDto.setLikeCount(Integer.parseInt(postMap.get(PostFields.LIKE_COUNT).toString()));
-        postDto.setRecentComments(getComments(postMap));
-        postDto.setViewCount(Integer.parseInt(postMap.get(PostFields.VIEW_COUNT).toString()));
-        return postDto;
-    }
+    /**
+     * All slots of one increment_counter_once call have to come from the same kind of event. Returns the positions
+     * of the newly counted events within {@code slotsByPost} for every post.
+     */
+    private Map<Long, List<Integer>> incrementCountersOnce(Map<Long, List<EventFilterSlot>> slotsByPost, String counterSuffix) {
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        List<Long> postIds = new ArrayList<>(slotsByPost.keySet());
+        byte[] counterTtl = serializer.serialize(String.valueOf(counterTtlInSeconds));
+        RedisCallback<Object> increments = connection -> {
+            for (Long postId : postIds) {
+                List<EventFilterSlot> slots = slotsByPost.get(postId);
+                int offsetsPerEvent = slots.get(0).offsets().length;
+                byte[][] keysAndArgs = new byte[slots.size() * (offsetsPerEvent + 1) + 5][];
+                int next = 0;
+                keysAndArgs[next++] = serializer.serialize(createCounterKey(postId));
+                for (EventFilterSlot slot : slots) {
+                    keysAndArgs[next++] = serializer.serialize(slot.key());
+                }
+                keysAndArgs[next++] = serializer.serialize(postId + counterSuffix);
+                keysAndArgs[next++] = counterTtl;
+                keysAndArgs[next++] = serializer.serialize(String.valueOf(slots.get(0).ttlSeconds()));
+                keysAndArgs[next++] = serializer.serialize(String.valueOf(offsetsPerEvent));
+                for (EventFilterSlot slot : slots) {
+                    for (long offset : slot.offsets()) {
+                        keysAndArgs[next++] = serializer.serialize(String.valueOf(offset));
+                    }
+                }
+                connection.scriptingCommands().evalSha(incrementCounterOnceScript.getSha1(),
+                        ReturnType.MULTI, slots.size() + 1, keysAndArgs);
+            }
+            return null;
+        };
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined(increments);
+        } catch (DataAccessException e) {
+            if (!isNoScriptError(e)) {
+                throw e;
+            }
+            log.info("Counter script is not loaded in Redis, loading it and retrying");
+            byte[] script = serializer.serialize(incrementCounterOnceScript.getScriptAsString());
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands().scriptLoad(script));
+            results = redisTemplate.executePipelined(increments);
+        }
 
-    private Map<String, Object> convertPostDtoToMap(RedisPostDto postDto) {
-        Map<String, Object> postMap = new HashMap<>();
-        postMap.put(PostFields.POST_ID, postDto.getPostId().toString());
-        postMap.put(PostFields.AUTHOR_ID, postDto.getAuthorId().toString());
-        postMap.put(PostFields.CONTENT, postDto.getContent());
-        postMap.put(PostFields.CREATED_AT, postDto.getCreatedAt().format(formatter));
-        postMap.put(PostFields.COMMENT_COUNT, String.valueOf(postDto.getCommentCount()));
-        postMap.put(PostFields.LIKE_COUNT, String.valueOf(postDto.getLikeCount()));
-        postMap.put(PostFields.RECENT_COMMENTS, serializeComments(postDto.getRecentComments()));
-        postMap.put(PostFields.VIEW_COUNT, String.valueOf(postDto.getViewCount()));
-        return postMap;
+        Map<Long, List<Integer>> counted = new LinkedHashMap<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            List<Integer> positions = new ArrayList<>();
+            if (i < results.size() && results.get(i) instanceof List<?> countedPositions) {
+                countedPositions.forEach(position -> positions.add(((Number) position).intValue() - 1));
+            }
+            counted.put(postIds.get(i), positions);
+        }
+        return counted;
     }
 
-    private List<RedisCommentDto> getComments(Map<String, Object> postMap) {
-        Object commentsObj = postMap.get(PostFields.RECENT_COMMENTS);
-        if (commentsObj == null) {
-            return new ArrayList<>();
+    private void addRecentComments(Map<Long, List<CommentSentKafkaEvent>> commentsByPost) {
+        RedisSerializer<String> keySerializer = redisTemplate.getStringSerializer();
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+        List<Long> postIds = new ArrayList<>(commentsByPost.keySet());
+        List<Object> storedPosts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            postIds.forEach(postId -> connection.hashCommands().hGetAll(keySerializer.serialize(createPostKey(postId))));
+            return null;
+        });
+
+        Map<String, Map<String, Object>> updates = new LinkedHashMap<>();
+        for (int i = 0; i < postIds.size() && i < storedPosts.size(); i++) {
+            if (!(storedPosts.get(i) instanceof Map<?, ?> postMap) || postMap.isEmpty()) {
+                continue;
+            }
+            Long postId = postIds.get(i);
+            try {
+                RedisPostDto post = postHashCodec.decode(postMap);
+                List<RedisCommentDto> recentComments = new ArrayList<>(post.getRecentComments());
+                List<CommentSentKafkaEvent> comments = commentsByPost.get(postId);
+                comments.forEach(comment ->
+                        recentComments.add(0, new RedisCommentDto(comment.getCommentAuthorId(), comment.getCommentContent())));
+                post.setRecentComments(recentComments.size() > maxRecentComments
+                        ? recentComments.subList(0, maxRecentComments)
+                        : recentComments);
+                post.setCommentCount(post.getCommentCount() + comments.size());
+                updates.put(createPostKey(postId), postHashCodec.encodeRecentComments(post, postMap));
+            } catch (SerializationException e) {
+                log.warn("Cached post with ID {} cannot be decoded, its recent comments are not updated", postId, e);
+            }
         }
-        try {
-            return objectMapper.readValue(commentsObj.toString(), new TypeReference<List<RedisCommentDto>>() {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            updates.forEach((key, postMap) -> {
+                Map<byte[], byte[]> fields = new HashMap<>();
+                postMap.forEach((field, value) ->
+                        fields.put(keySerializer.serialize(field), valueSerializer.serialize(value)));
+                connection.hashCommands().hMSet(keySerializer.serialize(key), fields);
             });
-        } catch (JsonProcessingException e) {
-            log.error("Failed to deserialize comments", e);
-            return new ArrayList<>();
+            return null;
+        });
+    }
+
+    private boolean isNoScriptError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
         }
+        return false;
     }
 
-    private String serializeComments(List<RedisCommentDto> comments) {
-        try {
-            return objectMapper.writeValueAsString(comments);
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to serialize comments, returning empty list", e);
-            return "[]";
+    private void seedCounters(RedisPostDto postDto) {
+        String counterKey = createCounterKey(postDto.getPostId());
+        createCounterValues(postDto).forEach((field, value) ->
+                redisTemplate.opsForHash().putIfAbsent(counterKey, field, String.valueOf(value)));
+        redisTemplate.expire(counterKey, counterTtlInSeconds, TimeUnit.SECONDS);
+    }
+
+    private void seedCounters(List<RedisPostDto> postDtos) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            postDtos.forEach(postDto -> queueSeedCounters(connection, postDto));
+            return null;
+        });
+    }
+
+    private void queueSeedCounters(RedisConnection connection, RedisPostDto postDto) {
+        RedisSerializer<String> keySerializer = redisTemplate.getStringSerializer();
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+        byte[] counterKey = keySerializer.serialize(createCounterKey(postDto.getPostId()));
+        createCounterValues(postDto).forEach((field, value) -> connection.hashCommands().hSetNX(counterKey,
+                keySerializer.serialize(field), valueSerializer.serialize(value)));
+        connection.keyCommands().expire(counterKey, counterTtlInSeconds);
+    }
+
+    private void applyRead(RedisPostDto post, PipelinedRead read) {
+        if (read.commandsPerPost() == 0) {
+            return;
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            read.queue(connection, post.getPostId());
+            return null;
+        });
+        if (results.size() == read.commandsPerPost()) {
+            read.apply(post, results);
         }
     }
 
+    private boolean hasCounters(List<?> counters) {
+        return counters != null && counters.stream().anyMatch(Objects::nonNull);
+    }
+
+    private void applyCounters(RedisPostDto post, List<?> counters) {
+        if (counters == null || counters.size() < 3) {
+            return;
+        }
+        Integer likeCount = postHashCodec.parseCounter(counters.get(0));
+        Integer viewCount = postHashCodec.parseCounter(counters.get(1));
+        Integer commentCount = postHashCodec.parseCounter(counters.get(2));
+        if (likeCount != null) {
+            post.setLikeCount(likeCount);
+        }
+        if (viewCount != null) {
+            post.setViewCount(viewCount);
+        }
+        if (commentCount != null) {
+            post.setCommentCount(commentCount);
+        }
+    }
+
+    private RedisPostDto fetchPostFromDatabase(Long postId) {
+        Post post = postRepository.findById(postId).orElseThrow(() ->
+                new EntityNotFoundException(String.format("Post with id = %d not found in DB", postId)));
+        PostDto postDto = postMapper.toPostDto(post);
+        return redisPostDtoMapper.mapToRedisPostDto(postDto);
+    }
+
     private String createPostKey(Long postId) {
         return POST_KEY_PREFIX + postId;
     }
 
-    private String createLikeKey(Long likeId) {
-        return LIKE_KEY_PREFIX + likeId;
+    /**
+     * Keep {@code counterBucketSize} * 3 fields within {@code hash-max-listpack-entries} of Redis (128 by default)
+     * so that the hash stays in its compact encoding.
+     */
+    private String createCounterKey(Long postId) {
+        return COUNTER_KEY_PREFIX + postId / counterBucketSize;
     }
 
-    private String createPostViewKey(Long postId, Long viewerId, String viewDateTime) {
-        return String.format("%s%s%d:%s%d:%s%s",
-                POST_VIEW_KEY_PREFIX, POST_KEY_PREFIX, postId,
-                USER_KEY_PREFIX, viewerId,
-                VIEW_DATE_TIME, viewDateTime);
+    private List<Object> createCounterFields(Long postId) {
+        return List.of(postId + LIKE_COUNTER_SUFFIX, postId + VIEW_COUNTER_SUFFIX, postId + COMMENT_COUNTER_SUFFIX);
     }
 
-    private String createCommentKey(Long commentId) {
-        return COMMENT_KEY_PREFIX + commentId;
+    private Map<String, Integer> createCounterValues(RedisPostDto postDto) {
+        Long postId = postDto.getPostId();
+        return Map.of(
+                postId + LIKE_COUNTER_SUFFIX, postDto.getLikeCount(),
+                postId + VIEW_COUNTER_SUFFIX, postDto.getViewCount(),
+                postId + COMMENT_COUNTER_SUFFIX, postDto.getCommentCount());
     }
 
     private Map<String, Object> fetchAndCachePostIfAbsent(Long postId, String postKey) {
@@ -279,7 +504,7 @@ public class RedisPostServiceImpl implements RedisPostService, RedisTransactiona
             log.warn("Post with ID {} not found in Redis, fetching from database", postId);
             RedisPostDto postFromDb = fetchPostFromDatabase(postId);
             savePost(postFromDb);
-            return convertPostDtoToMap(postFromDb);
+            return postHashCodec.encode(postFromDb, postFormat);
         }
         return postMap.entrySet().stream()
                 .collect(HashMap::new, (m, e) -> m.put(e.getKey().toString(), e.getValue()), Map::putAll);
@@ -0,0 +1,192 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.model.dto.TrendingHashtagDto;
+import faang.school.postservice.model.enums.TrendingWindow;
+import faang.school.postservice.service.TrendingHashtagService;
+import faang.school.postservice.util.trending.HeavyHitters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class TrendingHashtagServiceImpl implements TrendingHashtagService {
+    private static final String KEY_PREFIX = "trending:{hashtags}:";
+
+    @Value("${post.hashtags.trending.slice-seconds}")
+    private long sliceSeconds;
+
+    @Value("${post.hashtags.trending.top-k}")
+    private int topK;
+
+    @Value("${post.hashtags.trending.sketch-width}")
+    private int sketchWidth;
+
+    @Value("${post.hashtags.trending.sketch-depth}")
+    private int sketchDepth;
+
+    @Value("${post.hashtags.trending.catch-up-slices}")
+    private long catchUpSlices;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisScript<Long> addTrendingSliceScript;
+    private final RedisScript<Long> expireTrendingSliceScript;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<Long, HeavyHitters> completedSlices = new TreeMap<>();
+    private final Map<TrendingWindow, Long> lastExpiredSlices = new EnumMap<>(TrendingWindow.class);
+    private HeavyHitters currentHitters;
+    private long currentSlice = -1;
+
+    public TrendingHashtagServiceImpl(@Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                      @Qualifier("addTrendingSliceScript") RedisScript<Long> addTrendingSliceScript,
+                                      @Qualifier("expireTrendingSliceScript") RedisScript<Long> expireTrendingSliceScript) {
+        this.redisTemplate = redisTemplate;
+        this.addTrendingSliceScript = addTrendingSliceScript;
+        this.expireTrendingSliceScript = expireTrendingSliceScript;
+    }
+
+    @Override
+    public void record(Collection<String> hashtags) {
+        record(hashtags, System.currentTimeMillis());
+    }
+
+    synchronized void record(Collection<String> hashtags, long nowMillis) {
+        if (hashtags.isEmpty()) {
+            return;
+        }
+        HeavyHitters hitters = hittersOf(sliceAt(nowMillis));
+        hashtags.forEach(hashtag -> hitters.add(hashtag, 1));
+    }
+
+    @Override
+    public List<TrendingHashtagDto> getTrending(TrendingWindow window, int limit) {
+        Set<TypedTuple<Object>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(windowKey(window), 0, limit - 1);
+        List<TrendingHashtagDto> trending = new ArrayList<>();
+        if (tuples == null) {
+            return trending;
+        }
+        tuples.forEach(tuple -> trending.add(new TrendingHashtagDto(
+                String.valueOf(tuple.getValue()), tuple.getScore() == null ? 0 : Math.round(tuple.getScore()))));
+        return trending;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${post.hashtags.trending.flush-interval-millis}")
+    public void flush() {
+        flush(System.currentTimeMillis());
+    }
+
+    void flush(long nowMillis) {
+        long slice = sliceAt(nowMillis);
+        Map<Long, HeavyHitters> toFlush;
+        synchronized (this) {
+            hittersOf(slice);
+            toFlush = new TreeMap<>(completedSlices);
+            completedSlices.clear();
+        }
+        toFlush.forEach((completedSlice, hitters) -> {
+            try {
+                addSlice(completedSlice, hitters.top());
+            } catch (Exception e) {
+                log.error("Failed to flush trending hashtags of slice {}, retrying with the next flush", completedSlice, e);
+                synchronized (this) {
+                    completedSlices.put(completedSlice, hitters);
+                }
+            }
+        });
+        for (TrendingWindow window : TrendingWindow.values()) {
+            expireSlices(window, slice);
+        }
+    }
+
+    private HeavyHitters hittersOf(long slice) {
+        if (slice != currentSlice) {
+            if (currentHitters != null && !currentHitters.isEmpty()) {
+                completedSlices.put(currentSlice, currentHitters);
+            }
+            currentHitters = new HeavyHitters(topK, sketchWidth, sketchDepth);
+            currentSlice = slice;
+        }
+        return currentHitters;
+    }
+
+    private void addSlice(long slice, Map<String, Long> counts) {
+        List<String> keys = new ArrayList<>();
+        keys.add(sliceKey(slice));
+        keys.add(addedKey(slice));
+        for (TrendingWindow window : TrendingWindow.values()) {
+            keys.add(windowKey(window));
+            keys.add(expiredKey(window, slice));
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(String.valueOf(ttlSeconds()));
+        counts.forEach((hashtag, count) -> {
+            args.add(hashtag);
+            args.add(String.valueOf(count));
+        });
+        Long windows = redisTemplate.execute(addTrendingSliceScript, keys, args.toArray());
+        if (windows != null && windows < 0) {
+            log.debug("Trending hashtags of slice {} are already added", slice);
+        }
+    }
+
+    private void expireSlices(TrendingWindow window, long currentSlice) {
+        long oldestInWindow = currentSlice - window.getLength().toSeconds() / sliceSeconds;
+        long lastExpired = lastExpiredSlices.computeIfAbsent(window, w -> oldestInWindow - 1 - catchUpSlices);
+        for (long slice = lastExpired + 1; slice < oldestInWindow; slice++) {
+            try {
+                redisTemplate.execute(expireTrendingSliceScript,
+                        List.of(sliceKey(slice), windowKey(window), expiredKey(window, slice)),
+                        String.valueOf(ttlSeconds()));
+            } catch (Exception e) {
+                log.error("Failed to expire slice {} from the trending hashtags of the last {}", slice, window, e);
+                return;
+            }
+            lastExpiredSlices.put(window, slice);
+        }
+    }
+
+    private long ttlSeconds() {
+        long longest = 0;
+        for (TrendingWindow window : TrendingWindow.values()) {
+            longest = Math.max(longest, window.getLength().toSeconds());
+        }
+        return longest + 2 * sliceSeconds * (catchUpSlices + 1);
+    }
+
+    private long sliceAt(long epochMillis) {
+        return epochMillis / 1000 / sliceSeconds;
+    }
+
+    private String sliceKey(long slice) {
+        return KEY_PREFIX + "slice:" + slice;
+    }
+
+    private String windowKey(TrendingWindow window) {
+        return KEY_PREFIX + window.name().toLowerCase(Locale.ROOT);
+    }
+
+    private String addedKey(long slice) {
+        return KEY_PREFIX + "added:" + slice + ":" + instanceId;
+    }
+
+    private String expiredKey(TrendingWindow window, long slice) {
+        return KEY_PREFIX + "expired:" + window.name().toLowerCase(Locale.ROOT) + ":" + slice;
+    }
+}
@@ -0,0 +1,244 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
+import faang.school.postservice.service.RedisPostService;
+import faang.school.postservice.service.UniqueViewService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * PFADD and PFMERGE are idempotent, so redelivered views and repeated merges never count a viewer twice. A merge
+ * works on a renamed snapshot of the active posts set, so posts viewed while it runs stay for the next merge.
+ */
+@Slf4j
+@Service
+public class UniqueViewServiceImpl implements UniqueViewService {
+    private static final String KEY_PREFIX = "views:unique:post:";
+    private static final String HOUR_KEY_INFIX = ":h:";
+    private static final String DAY_KEY_INFIX = ":d:";
+    private static final String ACTIVE_POSTS_KEY_PREFIX = "views:unique:active:";
+    private static final String MERGING_POSTS_KEY_SUFFIX = ":merging";
+    private static final String MERGE_LOCK_KEY_PREFIX = "views:unique:merge:lock:";
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHH");
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int UNMERGED_HOURS = 2;
+
+    @Value("${redis.feed.views.unique.enabled:false}")
+    private boolean enabled;
+
+    @Value("${redis.feed.views.unique.hour-ttl-seconds:172800}")
+    private long hourTtlInSeconds;
+
+    @Value("${redis.feed.views.unique.day-ttl-seconds:2592000}")
+    private long dayTtlInSeconds;
+
+    @Value("${redis.feed.ttl.counters:2592000}")
+    private long totalTtlInSeconds;
+
+    @Value("${redis.feed.views.unique.merge-batch-size:500}")
+    private int mergeBatchSize;
+
+    @Value("${redis.feed.views.unique.merge-lock-ttl-seconds:300}")
+    private long mergeLockTtlSeconds;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisScript<Long> releaseLockScript;
+
+    public UniqueViewServiceImpl(@Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                 @Qualifier("releaseLockScript") RedisScript<Long> releaseLockScript) {
+        this.redisTemplate = redisTemplate;
+        this.releaseLockScript = releaseLockScript;
+    }
+
+    @Override
+    public void recordViews(List<PostViewKafkaEvent> events) {
+        if (!enabled || events.isEmpty()) {
+            return;
+        }
+        Map<String, Map<Long, List<String>>> viewersByHour = new LinkedHashMap<>();
+        events.forEach(event -> viewersByHour
+                .computeIfAbsent(viewHour(event.getViewDateTime()).format(HOUR_FORMATTER), hour -> new LinkedHashMap<>())
+                .computeIfAbsent(event.getPostId(), postId -> new ArrayList<>())
+                .add(String.valueOf(event.getViewerId())));
+
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            viewersByHour.forEach((hour, viewersByPost) -> {
+                byte[] activePostsKey = serializer.serialize(ACTIVE_POSTS_KEY_PREFIX + hour);
+                viewersByPost.forEach((postId, viewers) -> {
+                    byte[] hourKey = serializer.serialize(createHourKey(postId, hour));
+                    connection.hyperLogLogCommands().pfAdd(hourKey,
+                            viewers.stream().map(serializer::serialize).toArray(byte[][]::new));
+                    connection.keyCommands().expire(hourKey, hourTtlInSeconds);
+                    connection.setCommands().sAdd(activePostsKey, serializer.serialize(String.valueOf(postId)));
+                });
+                connection.keyCommands().expire(activePostsKey, hourTtlInSeconds);
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public RedisPostService.PipelinedRead uniqueViewCountRead() {
+        if (!enabled) {
+            return RedisPostService.PipelinedRead.NONE;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String today = now.format(DAY_FORMATTER);
+        List<String> unmergedHours = new ArrayList<>();
+        List<String> unmergedHoursOfToday = new ArrayList<>();
+        for (int i = 0; i < UNMERGED_HOURS; i++) {
+            LocalDateTime hour = now.minusHours(i);
+            unmergedHours.add(hour.format(HOUR_FORMATTER));
+            if (hour.toLocalDate().equals(now.toLocalDate())) {
+                unmergedHoursOfToday.add(hour.format(HOUR_FORMATTER));
+            }
+        }
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+
+        return new RedisPostService.PipelinedRead() {
+            @Override
+            public int commandsPerPost() {
+                return 2;
+            }
+
+            @Override
+            public void queue(RedisConnection connection, Long postId) {
+                List<String> totalKeys = new ArrayList<>();
+                totalKeys.add(createTotalKey(postId));
+                unmergedHours.forEach(hour -> totalKeys.add(createHourKey(postId, hour)));
+                List<String> todayKeys = new ArrayList<>();
+                todayKeys.add(createDayKey(postId, today));
+                unmergedHoursOfToday.forEach(hour -> todayKeys.add(createHourKey(postId, hour)));
+
+                connection.hyperLogLogCommands().pfCount(
+                        totalKeys.stream().map(serializer::serialize).toArray(byte[][]::new));
+                connection.hyperLogLogCommands().pfCount(
+                        todayKeys.stream().map(serializer::serialize).toArray(byte[][]::new));
+            }
+
+            @Override
+            public void apply(RedisPostDto post, List<Object> results) {
+                post.setUniqueViewCount(toLong(results.get(0)));
+                post.setDailyUniqueViewCount(toLong(results.get(1)));
+            }
+        };
+    }
+
+    @Override
+    public void mergeHour(LocalDateTime hour) {
+        if (!enabled) {
+            return;
+        }
+        String hourSuffix = hour.format(HOUR_FORMATTER);
+        String lockKey = MERGE_LOCK_KEY_PREFIX + hourSuffix;
+        String lockToken = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(lockKey, lockToken, Duration.ofSeconds(mergeLockTtlSeconds)))) {
+            log.debug("Unique viewers of hour {} are merged by another instance", hourSuffix);
+            return;
+        }
+        try {
+            mergeActivePosts(hourSuffix, hour.format(DAY_FORMATTER));
+        } finally {
+            redisTemplate.execute(releaseLockScript, List.of(lockKey), lockToken);
+        }
+    }
+
+    private void mergeActivePosts(String hourSuffix, String day) {
+        String activePostsKey = ACTIVE_POSTS_KEY_PREFIX + hourSuffix;
+        String mergingPostsKey = activePostsKey + MERGING_POSTS_KEY_SUFFIX;
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(mergingPostsKey))) {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(activePostsKey))) {
+                return;
+            }
+            redisTemplate.rename(activePostsKey, mergingPostsKey);
+        }
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+
+        List<Long> postIds = new ArrayList<>();
+        int merged = 0;
+        try (Cursor<Object> cursor = redisTemplate.opsForSet().scan(mergingPostsKey,
+                ScanOptions.scanOptions().count(mergeBatchSize).build())) {
+            while (cursor.hasNext()) {
+                postIds.add(Long.valueOf(cursor.next().toString()));
+                if (postIds.size() == mergeBatchSize) {
+                    merged += mergeBatch(postIds, hourSuffix, day, serializer);
+                    postIds.clear();
+                }
+            }
+        }
+        if (!postIds.isEmpty()) {
+            merged += mergeBatch(postIds, hourSuffix, day, serializer);
+        }
+        redisTemplate.delete(mergingPostsKey);
+        if (merged > 0) {
+            log.info("Merged unique viewers of {} posts for hour {}", merged, hourSuffix);
+        }
+    }
+
+    private int mergeBatch(List<Long> postIds, String hour, String day, RedisSerializer<String> serializer) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long postId : postIds) {
+                byte[] hourKey = serializer.serialize(createHourKey(postId, hour));
+                byte[] dayKey = serializer.serialize(createDayKey(postId, day));
+                byte[] totalKey = serializer.serialize(createTotalKey(postId));
+                connection.hyperLogLogCommands().pfMerge(dayKey, dayKey, hourKey);
+                connection.keyCommands().expire(dayKey, dayTtlInSeconds);
+                connection.hyperLogLogCommands().pfMerge(totalKey, totalKey, hourKey);
+                connection.keyCommands().expire(totalKey, totalTtlInSeconds);
+                connection.keyCommands().del(hourKey);
+            }
+            return null;
+        });
+        return postIds.size();
+    }
+
+    private LocalDateTime viewHour(String viewDateTime) {
+        if (viewDateTime != null) {
+            try {
+                return LocalDateTime.parse(viewDateTime).truncatedTo(ChronoUnit.HOURS);
+            } catch (DateTimeParseException e) {
+                log.debug("View time {} cannot be parsed, using the current hour", viewDateTime);
+            }
+        }
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private long toLong(Object count) {
+        return count instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private String createHourKey(Long postId, String hour) {
+        return KEY_PREFIX + postId + HOUR_KEY_INFIX + hour;
+    }
+
+    private String createDayKey(Long postId, String day) {
+        return KEY_PREFIX + postId + DAY_KEY_INFIX + day;
+    }
+
+    private String createTotalKey(Long postId) {
+        return KEY_PREFIX + postId;
+    }
+}
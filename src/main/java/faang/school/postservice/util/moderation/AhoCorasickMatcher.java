@@ -0,0 +1,159 @@
+package faang.school.postservice.util.moderation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+
+public final class AhoCorasickMatcher {
+    private static final int ROOT = 0;
+    private static final int[] NO_LENGTHS = new int[0];
+
+    private final int[][] symbols;
+    private final int[][] targets;
+    private final int[] failures;
+    private final int[][] matchLengths;
+    private final boolean wholeWords;
+    private final int size;
+
+    private AhoCorasickMatcher(List<TreeMap<Integer, Integer>> transitions, List<List<Integer>> outputs,
+                               boolean wholeWords, int size) {
+        int states = transitions.size();
+        this.symbols = new int[states][];
+        this.targets = new int[states][];
+        this.failures = new int[states];
+        this.matchLengths = new int[states][];
+        this.wholeWords = wholeWords;
+        this.size = size;
+        for (int state = 0; state < states; state++) {
+            TreeMap<Integer, Integer> edges = transitions.get(state);
+            symbols[state] = edges.keySet().stream().mapToInt(Integer::intValue).toArray();
+            targets[state] = edges.values().stream().mapToInt(Integer::intValue).toArray();
+        }
+        linkFailures(outputs);
+    }
+
+    public static AhoCorasickMatcher compile(Collection<String> words, boolean wholeWords) {
+        List<TreeMap<Integer, Integer>> transitions = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        transitions.add(new TreeMap<>());
+        outputs.add(new ArrayList<>());
+        Set<String> added = new HashSet<>();
+        for (String word : words) {
+            String folded = fold(word.strip());
+            if (folded.isEmpty() || !added.add(folded)) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < folded.length(); ) {
+                int codePoint = folded.codePointAt(i);
+                Integer next = transitions.get(state).get(codePoint);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new TreeMap<>());
+                    outputs.add(new ArrayList<>());
+                    transitions.get(state).put(codePoint, next);
+                }
+                state = next;
+                i += Character.charCount(codePoint);
+            }
+            outputs.get(state).add(folded.length());
+        }
+        return new AhoCorasickMatcher(transitions, outputs, wholeWords, added.size());
+    }
+
+    public static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        text.codePoints().forEach(codePoint -> folded.appendCodePoint(fold(codePoint)));
+        return folded.toString();
+    }
+
+    public boolean containsAny(String text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            state = next(state, fold(codePoint));
+            int[] lengths = matchLengths[state];
+            if (lengths.length == 0) {
+                continue;
+            }
+            if (!wholeWords) {
+                return true;
+            }
+            for (int length : lengths) {
+                if (isBoundary(text, i - length, i)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isWholeWords() {
+        return wholeWords;
+    }
+
+    private int next(int state, int codePoint) {
+        while (true) {
+            int index = Arrays.binarySearch(symbols[state], codePoint);
+            if (index >= 0) {
+                return targets[state][index];
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failures[state];
+        }
+    }
+
+    private void linkFailures(List<List<Integer>> outputs) {
+        matchLengths[ROOT] = NO_LENGTHS;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            failures[child] = ROOT;
+            matchLengths[child] = toArray(outputs.get(child));
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < symbols[state].length; i++) {
+                int child = targets[state][i];
+                int failure = next(failures[state], symbols[state][i]);
+                failures[child] = failure;
+                List<Integer> lengths = outputs.get(child);
+                for (int length : matchLengths[failure]) {
+                    lengths.add(length);
+                }
+                matchLengths[child] = toArray(lengths);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static boolean isBoundary(String text, int start, int end) {
+        return (start <= 0 || !isWordChar(text.codePointBefore(start)))
+                && (end == text.length() || !isWordChar(text.codePointAt(end)));
+    }
+
+    private static boolean isWordChar(int codePoint) {
+        return Character.isLetterOrDigit(codePoint);
+    }
+
+    private static int fold(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.isEmpty() ? NO_LENGTHS : values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -5,38 +5,64 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.nio.file.Files;
-
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashSet;
-import java.util.Set;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ModerationDictionary {
 
-    private Set<String> swearWords;
+    private volatile AhoCorasickMatcher matcher;
+    private volatile FileTime loadedModifiedTime;
 
     @Value("${post.moderation.file-path}")
     private String filePath;
 
+    @Value("${post.moderation.whole-words:false}")
+    private boolean wholeWords;
+
     @PostConstruct
     public void init() {
         try {
-            swearWords = new HashSet<>(Files.readAllLines(Paths.get(filePath)));
-            log.info("Swear words successfully loaded from file: {}", filePath);
+            load();
         } catch (IOException e) {
             log.error("Failed to load swear words from file: {}", filePath, e);
             throw new DictionarySourceException("Failed to load swear words from file: " + filePath);
         }
     }
 
+    @Scheduled(fixedDelayString = "${post.moderation.reload-interval-millis:60000}",
+            initialDelayString = "${post.moderation.reload-interval-millis:60000}")
+    public void reloadIfModified() {
+        try {
+            FileTime modifiedTime = Files.getLastModifiedTime(Paths.get(filePath));
+            if (!modifiedTime.equals(loadedModifiedTime)) {
+                load();
+            }
+        } catch (IOException e) {
+            log.error("Failed to reload swear words from file: {}, keeping {} loaded words",
+                    filePath, matcher.size(), e);
+        }
+    }
+
     public boolean containsSwearWords(String content) {
-        return swearWords.stream()
-                .anyMatch(swearWord -> content.toLowerCase().contains(swearWord));
+        return matcher.containsAny(content);
+    }
+
+    private void load() throws IOException {
+        Path path = Paths.get(filePath);
+        FileTime modifiedTime = Files.getLastModifiedTime(path);
+        List<String> words = Files.readAllLines(path);
+        matcher = AhoCorasickMatcher.compile(words, wholeWords);
+        loadedModifiedTime = modifiedTime;
+        log.info("{} swear words successfully loaded from file: {}", matcher.size(), filePath);
     }
 }
@@ -0,0 +1,207 @@
+package faang.school.postservice.util.moderation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+
+@Slf4j
+@Component
+public class NearDuplicateDetector {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long SEED = 0x5deece66dL;
+
+    private final int capacity;
+    private final double similarityThreshold;
+    private final int bands;
+    private final int rows;
+    private final int shingleSize;
+    private final int minTokens;
+    private final int maxBucketSize;
+    private final long[] hashSeeds;
+
+    private final long[] postIds;
+    private final int[] signatures;
+    private final Map<Long, Integer> slotByPost = new HashMap<>();
+    private final List<Map<Long, ArrayDeque<Integer>>> buckets = new ArrayList<>();
+    private int next;
+    private int size;
+
+    public NearDuplicateDetector(@Value("${post.moderation.duplicates.capacity}") int capacity,
+                                 @Value("${post.moderation.duplicates.similarity-threshold}") double similarityThreshold,
+                                 @Value("${post.moderation.duplicates.bands}") int bands,
+                                 @Value("${post.moderation.duplicates.rows}") int rows,
+                                 @Value("${post.moderation.duplicates.shingle-size}") int shingleSize,
+                                 @Value("${post.moderation.duplicates.min-tokens}") int minTokens,
+                                 @Value("${post.moderation.duplicates.max-bucket-size}") int maxBucketSize) {
+        if (capacity < 1 || bands < 1 || rows < 1 || shingleSize < 1 || maxBucketSize < 1
+                || similarityThreshold <= 0 || similarityThreshold > 1) {
+            throw new IllegalArgumentException("Invalid near-duplicate index settings");
+        }
+        this.capacity = capacity;
+        this.similarityThreshold = similarityThreshold;
+        this.bands = bands;
+        this.rows = rows;
+        this.shingleSize = shingleSize;
+        this.minTokens = Math.max(minTokens, shingleSize);
+        this.maxBucketSize = maxBucketSize;
+        this.hashSeeds = new SplittableRandom(SEED).longs(bands * rows).toArray();
+        this.postIds = new long[capacity];
+        this.signatures = new int[capacity * bands * rows];
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public OptionalLong checkAndRemember(long postId, String content) {
+        if (content == null) {
+            return OptionalLong.empty();
+        }
+        List<String> tokens = tokenize(content);
+        if (tokens.size() < minTokens) {
+            return OptionalLong.empty();
+        }
+        int[] signature = minHash(tokens);
+        synchronized (this) {
+            OptionalLong duplicateOf = findSimilar(postId, signature);
+            remember(postId, signature);
+            duplicateOf.ifPresent(originalId ->
+                    log.info("Post {} is a near duplicate of post {}", postId, originalId));
+            return duplicateOf;
+        }
+    }
+
+    private OptionalLong findSimilar(long postId, int[] signature) {
+        for (int band = 0; band < bands; band++) {
+            ArrayDeque<Integer> bucket = buckets.get(band).get(bandKey(signature, 0, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (int slot : bucket) {
+                if (postIds[slot] != postId && similarity(signature, slot) >= similarityThreshold) {
+                    return OptionalLong.of(postIds[slot]);
+                }
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    private void remember(long postId, int[] signature) {
+        Integer previousSlot = slotByPost.remove(postId);
+        if (previousSlot != null) {
+            unlink(previousSlot);
+        }
+        if (size == capacity) {
+            slotByPost.remove(postIds[next], next);
+            unlink(next);
+        } else {
+            size++;
+        }
+        int slot = next;
+        next = (next + 1) % capacity;
+        postIds[slot] = postId;
+        System.arraycopy(signature, 0, signatures, slot * signature.length, signature.length);
+        slotByPost.put(postId, slot);
+        for (int band = 0; band < bands; band++) {
+            ArrayDeque<Integer> bucket = buckets.get(band)
+                    .computeIfAbsent(bandKey(signature, 0, band), key -> new ArrayDeque<>());
+            if (bucket.size() == maxBucketSize) {
+                bucket.pollFirst();
+            }
+            bucket.addLast(slot);
+        }
+    }
+
+    private void unlink(int slot) {
+        for (int band = 0; band < bands; band++) {
+            Map<Long, ArrayDeque<Integer>> bandBuckets = buckets.get(band);
+            long key = bandKey(signatures, slot * bands * rows, band);
+            ArrayDeque<Integer> bucket = bandBuckets.get(key);
+            if (bucket != null) {
+                bucket.removeFirstOccurrence(slot);
+                if (bucket.isEmpty()) {
+                    bandBuckets.remove(key);
+                }
+            }
+        }
+    }
+
+    private double similarity(int[] signature, int slot) {
+        int offset = slot * signature.length;
+        int equal = 0;
+        for (int i = 0; i < signature.length; i++) {
+            if (signatures[offset + i] == signature[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / signature.length;
+    }
+
+    private long bandKey(int[] signature, int offset, int band) {
+        long key = FNV_OFFSET_BASIS;
+        for (int row = band * rows; row < (band + 1) * rows; row++) {
+            key = mix(key ^ signature[offset + row]);
+        }
+        return key;
+    }
+
+    private int[] minHash(List<String> tokens) {
+        int[] signature = new int[hashSeeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int start = 0; start + shingleSize <= tokens.size(); start++) {
+            long hash = FNV_OFFSET_BASIS;
+            for (int i = start; i < start + shingleSize; i++) {
+                hash = fnv(hash, tokens.get(i));
+                hash = (hash ^ ' ') * FNV_PRIME;
+            }
+            for (int i = 0; i < hashSeeds.length; i++) {
+                signature[i] = Math.min(signature[i], (int) mix(hash ^ hashSeeds[i]));
+            }
+        }
+        return signature;
+    }
+
+    private static List<String> tokenize(String content) {
+        List<String> tokens = new ArrayList<>();
+        String folded = AhoCorasickMatcher.fold(content);
+        int start = -1;
+        for (int i = 0; i < folded.length(); ) {
+            int codePoint = folded.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            tokens.add(folded.substring(start));
+        }
+        return tokens;
+    }
+
+    private static long fnv(long hash, String token) {
+        for (int i = 0; i < token.length(); i++) {
+            hash = (hash ^ token.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
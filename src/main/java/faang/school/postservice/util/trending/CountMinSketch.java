@@ -0,0 +1,64 @@
+package faang.school.postservice.util.trending;
+
+import java.util.SplittableRandom;
+
+/**
+ * An estimate is never below the true count and exceeds it by at most {@code e / width} of the total count with
+ * probability {@code 1 - e^-depth}. Not thread-safe.
+ */
+public class CountMinSketch {
+    private static final long SEED = 0x2545f4914f6cdd1dL;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int width;
+    private final long[][] counters;
+    private final long[] rowSeeds;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Sketch width and depth must be positive");
+        }
+        this.width = width;
+        this.counters = new long[depth][width];
+        this.rowSeeds = new SplittableRandom(SEED).longs(depth).toArray();
+    }
+
+    public long add(String item, long count) {
+        long hash = hash(item);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            int column = column(hash, row);
+            counters[row][column] += count;
+            estimate = Math.min(estimate, counters[row][column]);
+        }
+        return estimate;
+    }
+
+    public long estimate(String item) {
+        long hash = hash(item);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            estimate = Math.min(estimate, counters[row][column(hash, row)]);
+        }
+        return estimate;
+    }
+
+    private int column(long hash, int row) {
+        return (int) Long.remainderUnsigned(mix(hash ^ rowSeeds[row]), width);
+    }
+
+    private static long hash(String item) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < item.length(); i++) {
+            hash = (hash ^ item.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
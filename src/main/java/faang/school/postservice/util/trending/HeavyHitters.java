@@ -0,0 +1,66 @@
+package faang.school.postservice.util.trending;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public class HeavyHitters {
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<String, Candidate> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(Candidate::getCount));
+
+    public HeavyHitters(int capacity, int sketchWidth, int sketchDepth) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+        this.capacity = capacity;
+    }
+
+    public void add(String item, long count) {
+        long estimate = sketch.add(item, count);
+        Candidate candidate = candidates.get(item);
+        if (candidate != null) {
+            heap.remove(candidate);
+            candidate.count = estimate;
+            heap.add(candidate);
+        } else if (candidates.size() < capacity) {
+            insert(item, estimate);
+        } else if (heap.peek().count < estimate) {
+            candidates.remove(heap.poll().item);
+            insert(item, estimate);
+        }
+    }
+
+    public Map<String, Long> top() {
+        Map<String, Long> top = new HashMap<>();
+        candidates.forEach((item, candidate) -> top.put(item, candidate.count));
+        return top;
+    }
+
+    public boolean isEmpty() {
+        return candidates.isEmpty();
+    }
+
+    private void insert(String item, long estimate) {
+        Candidate candidate = new Candidate(item, estimate);
+        candidates.put(item, candidate);
+        heap.add(candidate);
+    }
+
+    private static final class Candidate {
+        private final String item;
+        private long count;
+
+        private Candidate(String item, long count) {
+            this.item = item;
+            this.count = count;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- ChangeSet: add-post-listing-indexes
+-- Keyset pagination of the draft and published listings of an author or project, newest first
+CREATE INDEX IF NOT EXISTS idx_post_author_drafts
+    ON post (author_id, created_at DESC, id DESC)
+    WHERE published = false AND deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_post_project_drafts
+    ON post (project_id, created_at DESC, id DESC)
+    WHERE published = false AND deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_post_author_published
+    ON post (author_id, published_at DESC, id DESC)
+    WHERE published = true AND deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_post_project_published
+    ON post (project_id, published_at DESC, id DESC)
+    WHERE published = true AND deleted = false;
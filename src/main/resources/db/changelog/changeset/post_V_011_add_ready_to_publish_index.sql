@@ -0,0 +1,5 @@
+-- ChangeSet: add-ready-to-publish-index
+-- Scheduled publishing claims the earliest due drafts in scheduled_at order
+CREATE INDEX IF NOT EXISTS idx_post_ready_to_publish
+    ON post (scheduled_at, id)
+    WHERE published = false AND deleted = false;
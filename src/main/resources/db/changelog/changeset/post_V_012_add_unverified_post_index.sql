@@ -0,0 +1,5 @@
+-- ChangeSet: add-unverified-post-index
+-- Moderation reads unverified posts by keyset on the id
+CREATE INDEX IF NOT EXISTS idx_post_unverified
+    ON post (id)
+    WHERE verified_date IS NULL;
@@ -0,0 +1,46 @@
+-- ChangeSet: deduplicate-hashtags
+-- Hashtags were inserted once per occurrence, keep one row per normalized tag and point the links to it.
+-- hashtag_normalized is filled by NormalizeHashtagsChange with the content new posts would resolve each row to
+ALTER TABLE hashtag_normalized ADD COLUMN keep_id bigint;
+
+UPDATE hashtag_normalized n
+SET keep_id = k.keep_id
+FROM (SELECT id, min(id) OVER (PARTITION BY content) AS keep_id FROM hashtag_normalized) k
+WHERE n.id = k.id;
+
+DELETE FROM post_hashtag
+WHERE post_id IS NULL
+   OR hashtag_id IS NULL
+   OR hashtag_id IN (SELECT id FROM hashtag_normalized WHERE content IS NULL);
+
+DELETE FROM hashtag
+WHERE id IN (SELECT id FROM hashtag_normalized WHERE content IS NULL);
+
+UPDATE post_hashtag ph
+SET hashtag_id = n.keep_id
+FROM hashtag_normalized n
+WHERE ph.hashtag_id = n.id AND n.content IS NOT NULL AND n.id <> n.keep_id;
+
+DELETE FROM hashtag h
+USING hashtag_normalized n
+WHERE h.id = n.id AND n.content IS NOT NULL AND n.id <> n.keep_id;
+
+UPDATE hashtag h
+SET content = n.content, updated_at = current_timestamp
+FROM hashtag_normalized n
+WHERE h.id = n.id AND h.content <> n.content;
+
+DELETE FROM post_hashtag a
+USING post_hashtag b
+WHERE a.post_id = b.post_id AND a.hashtag_id = b.hashtag_id AND a.ctid < b.ctid;
+
+DROP TABLE hashtag_normalized;
+
+ALTER TABLE hashtag ADD CONSTRAINT uq_hashtag_content UNIQUE (content);
+
+-- Links are written with ON CONFLICT DO NOTHING, the key also serves the tags of a post
+ALTER TABLE post_hashtag ADD PRIMARY KEY (post_id, hashtag_id);
+
+-- Posts of a hashtag
+CREATE INDEX IF NOT EXISTS idx_post_hashtag_hashtag
+    ON post_hashtag (hashtag_id, post_id);
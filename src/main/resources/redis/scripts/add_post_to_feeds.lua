@@ -0,0 +1,8 @@
+-- Adds a post to every feed in KEYS and trims each feed to the newest ARGV[3] posts.
+-- ARGV[1] - post id, ARGV[2] - score (publishedAt in epoch millis), ARGV[3] - max feed size
+local maxSize = tonumber(ARGV[3])
+for i = 1, #KEYS do
+    redis.call('ZADD', KEYS[i], ARGV[2], ARGV[1])
+    redis.call('ZREMRANGEBYRANK', KEYS[i], 0, -maxSize - 1)
+end
+return #KEYS
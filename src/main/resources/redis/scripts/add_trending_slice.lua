@@ -0,0 +1,26 @@
+-- Adds the hashtag counts of one time slice to the slice and to every window that has not expired the slice yet.
+-- The claim makes a retried slice count once, even if the reply of the first attempt was lost.
+-- KEYS[1] - slice, KEYS[2] - claim of this instance's counts of the slice,
+-- then pairs of a window and the claim that marks the slice as expired from it
+-- ARGV[1] - ttl of the slice, the windows and the claim in seconds, then pairs of a hashtag and its count
+local ttl = tonumber(ARGV[1])
+if not redis.call('SET', KEYS[2], '1', 'NX', 'EX', ttl) then
+    return -1
+end
+local windows = {}
+for i = 3, #KEYS, 2 do
+    if redis.call('EXISTS', KEYS[i + 1]) == 0 then
+        windows[#windows + 1] = KEYS[i]
+    end
+end
+for i = 2, #ARGV, 2 do
+    redis.call('ZINCRBY', KEYS[1], ARGV[i + 1], ARGV[i])
+    for _, window in ipairs(windows) do
+        redis.call('ZINCRBY', window, ARGV[i + 1], ARGV[i])
+    end
+end
+redis.call('EXPIRE', KEYS[1], ttl)
+for _, window in ipairs(windows) do
+    redis.call('EXPIRE', window, ttl)
+end
+return #windows
@@ -0,0 +1,14 @@
+-- Subtracts the counts of a slice that left a window from the window, once for all instances.
+-- KEYS[1] - slice, KEYS[2] - window, KEYS[3] - claim that marks the slice as expired from the window
+-- ARGV[1] - ttl of the claim in seconds
+if not redis.call('SET', KEYS[3], '1', 'NX', 'EX', ARGV[1]) then
+    return -1
+end
+local entries = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+for i = 1, #entries, 2 do
+    local count = redis.call('ZINCRBY', KEYS[2], -tonumber(entries[i + 1]), entries[i])
+    if tonumber(count) <= 0 then
+        redis.call('ZREM', KEYS[2], entries[i])
+    end
+end
+return #entries / 2
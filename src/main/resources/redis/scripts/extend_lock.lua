@@ -0,0 +1,6 @@
+-- Extends the lock KEYS[1] to ARGV[2] seconds only while it still holds the token ARGV[1] of the caller.
+-- Returns 1 if the lock was extended, 0 if it expired or belongs to another instance.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('EXPIRE', KEYS[1], ARGV[2])
+end
+return 0
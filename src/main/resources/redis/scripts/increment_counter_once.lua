@@ -0,0 +1,31 @@
+-- Counts every event of one post at most once and adds the newly counted events to the post counter.
+-- KEYS[1] - counter bucket hash, KEYS[2..n] - dedup bitmap of each event
+-- ARGV[1] - counter field, ARGV[2] - counter ttl in seconds, ARGV[3] - dedup bitmap ttl in seconds,
+-- ARGV[4] - bit offsets per event, ARGV[5..] - bit offsets of the events in the order of their bitmaps
+-- An event is new when setting its bits changes at least one of them. A missing counter field is not created,
+-- it is seeded from the database with the events already included when the post is cached again.
+-- Returns the positions (1-based, among the dedup bitmaps) of the events counted by this call.
+local offsetsPerEvent = tonumber(ARGV[4])
+local counted = {}
+local touched = {}
+for i = 2, #KEYS do
+    local first = 4 + (i - 2) * offsetsPerEvent
+    local isNew = false
+    for j = 1, offsetsPerEvent do
+        if redis.call('SETBIT', KEYS[i], ARGV[first + j], 1) == 0 then
+            isNew = true
+        end
+    end
+    if isNew then
+        counted[#counted + 1] = i - 1
+    end
+    touched[KEYS[i]] = true
+end
+for key in pairs(touched) do
+    redis.call('EXPIRE', key, ARGV[3])
+end
+if #counted > 0 and redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then
+    redis.call('HINCRBY', KEYS[1], ARGV[1], #counted)
+    redis.call('EXPIRE', KEYS[1], ARGV[2])
+end
+return counted
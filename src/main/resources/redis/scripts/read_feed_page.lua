@@ -0,0 +1,26 @@
+-- Reads a page of a feed together with the timelines of the celebrities the reader follows.
+-- KEYS[1] - feed, KEYS[2] - empty feed marker, KEYS[3] - cached followees of the reader, KEYS[4] - celebrity set
+-- ARGV[1] - author timeline key prefix, ARGV[2] - max score, ARGV[3] - offset, ARGV[4] - count
+-- Returns {1} when the feed is missing and not marked empty, {2} when the followees are not cached, otherwise
+-- {0, feed range, timeline ranges...} with each range as flat member, score pairs ordered by score descending.
+-- When the reader follows celebrities every range starts at the top, the caller merges them and skips the offset.
+-- Timeline keys are built in the script, so all keys must live on the same Redis node.
+if redis.call('EXISTS', KEYS[1]) == 0 and redis.call('EXISTS', KEYS[2]) == 0 then
+    return {1}
+end
+if redis.call('EXISTS', KEYS[3]) == 0 then
+    return {2}
+end
+local celebrities = redis.call('SINTER', KEYS[3], KEYS[4])
+local offset = tonumber(ARGV[3])
+local count = tonumber(ARGV[4])
+if #celebrities > 0 then
+    count = offset + count
+    offset = 0
+end
+local result = {0, redis.call('ZREVRANGEBYSCORE', KEYS[1], ARGV[2], '-inf', 'WITHSCORES', 'LIMIT', offset, count)}
+for _, authorId in ipairs(celebrities) do
+    result[#result + 1] = redis.call('ZREVRANGEBYSCORE', ARGV[1] .. authorId, ARGV[2], '-inf',
+            'WITHSCORES', 'LIMIT', 0, count)
+end
+return result
@@ -0,0 +1,6 @@
+-- Deletes the lock KEYS[1] only while it still holds the token ARGV[1] of the caller, so a lock that expired
+-- and was taken over by another instance is left to its new owner. Returns 1 if the lock was released.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -1,6 +1,5 @@
 package faang.school.postservice.app.listener;
 
-import faang.school.postservice.kafka.producer.AuthorPostKafkaProducer;
 import faang.school.postservice.mapper.PostMapper;
 import faang.school.postservice.mapper.RedisPostDtoMapper;
 import faang.school.postservice.model.dto.CommentDto;
@@ -11,6 +10,7 @@ import faang.school.postservice.model.event.application.PostsPublishCommittedEve
 import faang.school.postservice.model.event.kafka.AuthorPostKafkaEvent;
 import faang.school.postservice.service.CommentService;
 import faang.school.postservice.service.LikeService;
+import faang.school.postservice.service.PostAnnouncementService;
 import faang.school.postservice.service.RedisPostService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,7 +39,7 @@ public class PostPublishCommitedEventListenerTest {
     private PostMapper postMapper;
 
     @Mock
-    private AuthorPostKafkaProducer authorPostKafkaProducer;
+    private PostAnnouncementService postAnnouncementService;
 
     @Mock
     private CommentService commentService;
@@ -100,10 +100,10 @@ public class PostPublishCommitedEventListenerTest {
         listener.handlePostsPublishCommittedEvent(event);
 
         // Assert
-        // Проверяем вызов AuthorPostKafkaProducer
-        verify(authorPostKafkaProducer, times(2)).sendEvent(any(AuthorPostKafkaEvent.class));
+        // Проверяем вызов PostAnnouncementService
+        verify(postAnnouncementService, times(2)).announce(any(AuthorPostKafkaEvent.class));
         ArgumentCaptor<AuthorPostKafkaEvent> kafkaEventCaptor = ArgumentCaptor.forClass(AuthorPostKafkaEvent.class);
-        verify(authorPostKafkaProducer, times(2)).sendEvent(kafkaEventCaptor.capture());
+        verify(postAnnouncementService, times(2)).announce(kafkaEventCaptor.capture());
 
         List<AuthorPostKafkaEvent> capturedKafkaEvents = kafkaEventCaptor.getAllValues();
         assertEquals(1L, capturedKafkaEvents.get(0).getPostId());
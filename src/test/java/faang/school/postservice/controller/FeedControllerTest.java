@@ -1,6 +1,10 @@
 package faang.school.postservice.controller;
 
+import faang.school.postservice.model.dto.FeedHeatJobDto;
+import faang.school.postservice.model.dto.FeedPageDto;
 import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.enums.FeedHeatJobStatus;
+import faang.school.postservice.service.FeedHeaterService;
 import faang.school.postservice.service.FeedService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +32,9 @@ class FeedControllerTest {
     @Mock
     private FeedService feedService;
 
+    @Mock
+    private FeedHeaterService feedHeaterService;
+
     @Test
     void testGetNewsFeed() {
         Long userId = 1L;
@@ -44,6 +51,63 @@ class FeedControllerTest {
         assertEquals(expectedPosts.size(), response.getBody().size());
     }
 
+    @Test
+    void testGetNewsFeedByCursor() {
+        Long userId = 1L;
+        FeedPageDto expectedPage = new FeedPageDto(List.of(new RedisPostDto()), "next");
+
+        when(feedService.getNewsFeedByCursor(userId, "cursor", 20)).thenReturn(expectedPage);
+
+        ResponseEntity<FeedPageDto> response = feedController.getNewsFeedByCursor(userId, "cursor", 20);
+
+        verify(feedService, times(1)).getNewsFeedByCursor(userId, "cursor", 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedPage, response.getBody());
+    }
+
+    @Test
+    void testHeatCache() {
+        FeedHeatJobDto job = FeedHeatJobDto.builder().status(FeedHeatJobStatus.RUNNING).build();
+        when(feedHeaterService.startHeatingInBackground()).thenReturn(job);
+
+        ResponseEntity<FeedHeatJobDto> response = feedController.heatCache();
+
+        verify(feedHeaterService, times(1)).startHeatingInBackground();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(job, response.getBody());
+    }
+
+    @Test
+    void testGetHeatingStatus() {
+        FeedHeatJobDto job = FeedHeatJobDto.builder().status(FeedHeatJobStatus.COMPLETED).processedPosts(10).build();
+        when(feedHeaterService.getHeatingStatus()).thenReturn(job);
+
+        ResponseEntity<FeedHeatJobDto> response = feedController.getHeatingStatus();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(job, response.getBody());
+    }
+
+    @Test
+    void testCancelHeating() {
+        FeedHeatJobDto job = FeedHeatJobDto.builder().status(FeedHeatJobStatus.CANCELLING).build();
+        when(feedHeaterService.cancelHeating()).thenReturn(job);
+
+        ResponseEntity<FeedHeatJobDto> response = feedController.cancelHeating();
+
+        verify(feedHeaterService, times(1)).cancelHeating();
+        assertEquals(job, response.getBody());
+    }
+
+    @Test
+    void testCompactFeeds() {
+        ResponseEntity<String> response = feedController.compactFeeds();
+
+        verify(feedService, times(1)).startCompactionInBackground();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
     private void assertEquals(Object expected, Object actual) {
         org.junit.jupiter.api.Assertions.assertEquals(expected, actual);
     }
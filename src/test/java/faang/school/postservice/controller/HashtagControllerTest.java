@@ -0,0 +1,39 @@
+package faang.school.postservice.controller;
+
+import faang.school.postservice.model.dto.TrendingHashtagDto;
+import faang.school.postservice.model.enums.TrendingWindow;
+import faang.school.postservice.service.TrendingHashtagService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HashtagControllerTest {
+
+    @InjectMocks
+    private HashtagController hashtagController;
+
+    @Mock
+    private TrendingHashtagService trendingHashtagService;
+
+    @Test
+    void testGetTrendingHashtags() {
+        List<TrendingHashtagDto> trending = List.of(new TrendingHashtagDto("#java", 42));
+        when(trendingHashtagService.getTrending(TrendingWindow.HOUR, 10)).thenReturn(trending);
+
+        ResponseEntity<List<TrendingHashtagDto>> response =
+                hashtagController.getTrendingHashtags(TrendingWindow.HOUR, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(trending, response.getBody());
+    }
+}
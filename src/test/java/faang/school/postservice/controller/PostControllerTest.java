@@ -1,6 +1,7 @@
 package faang.school.postservice.controller;
 
 import faang.school.postservice.model.dto.PostDto;
+import faang.school.postservice.model.dto.PostPageDto;
 import faang.school.postservice.service.PostService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -106,52 +107,56 @@ class PostControllerTest {
     void testGetUserDrafts_Success() {
         PostDto postDto = createTestPostDto(POST_ID, "User draft");
 
-        when(postService.getUserDrafts(AUTHOR_ID)).thenReturn(List.of(postDto));
+        when(postService.getUserDrafts(AUTHOR_ID, "cursor", 20)).thenReturn(new PostPageDto(List.of(postDto), "next"));
 
-        List<PostDto> result = postController.getUserDrafts(AUTHOR_ID).getBody();
+        PostPageDto result = postController.getUserDrafts(AUTHOR_ID, "cursor", 20).getBody();
 
-        assertEquals(1, result.size());
-        assertEquals("User draft", result.get(0).getContent());
-        verify(postService, times(1)).getUserDrafts(AUTHOR_ID);
+        assertEquals(1, result.getPosts().size());
+        assertEquals("User draft", result.getPosts().get(0).getContent());
+        assertEquals("next", result.getNextCursor());
+        verify(postService, times(1)).getUserDrafts(AUTHOR_ID, "cursor", 20);
     }
 
     @Test
     void testGetProjectDrafts_Success() {
         PostDto postDto = createTestPostDto(POST_ID, "Project draft");
 
-        when(postService.getProjectDrafts(PROJECT_ID)).thenReturn(List.of(postDto));
+        when(postService.getProjectDrafts(PROJECT_ID, "cursor", 20)).thenReturn(new PostPageDto(List.of(postDto), "next"));
 
-        List<PostDto> result = postController.getProjectDrafts(PROJECT_ID).getBody();
+        PostPageDto result = postController.getProjectDrafts(PROJECT_ID, "cursor", 20).getBody();
 
-        assertEquals(1, result.size());
-        assertEquals("Project draft", result.get(0).getContent());
-        verify(postService, times(1)).getProjectDrafts(PROJECT_ID);
+        assertEquals(1, result.getPosts().size());
+        assertEquals("Project draft", result.getPosts().get(0).getContent());
+        assertEquals("next", result.getNextCursor());
+        verify(postService, times(1)).getProjectDrafts(PROJECT_ID, "cursor", 20);
     }
 
     @Test
     void testGetAllPostPublishedByUser_Success() {
         PostDto postDto = createTestPostDto(POST_ID, "Published user post");
 
-        when(postService.getAllPostPublishedByUser(AUTHOR_ID)).thenReturn(List.of(postDto));
+        when(postService.getAllPostPublishedByUser(AUTHOR_ID, "cursor", 20)).thenReturn(new PostPageDto(List.of(postDto), "next"));
 
-        List<PostDto> result = postController.getAllPostPublishedByUser(AUTHOR_ID).getBody();
+        PostPageDto result = postController.getAllPostPublishedByUser(AUTHOR_ID, "cursor", 20).getBody();
 
-        assertEquals(1, result.size());
-        assertEquals("Published user post", result.get(0).getContent());
-        verify(postService, times(1)).getAllPostPublishedByUser(AUTHOR_ID);
+        assertEquals(1, result.getPosts().size());
+        assertEquals("Published user post", result.getPosts().get(0).getContent());
+        assertEquals("next", result.getNextCursor());
+        verify(postService, times(1)).getAllPostPublishedByUser(AUTHOR_ID, "cursor", 20);
     }
 
     @Test
     void testGetAllPostPublishedByProject_Success() {
         PostDto postDto = createTestPostDto(POST_ID, "Published project post");
 
-        when(postService.getAllPostPublishedByProject(PROJECT_ID)).thenReturn(List.of(postDto));
+        when(postService.getAllPostPublishedByProject(PROJECT_ID, "cursor", 20)).thenReturn(new PostPageDto(List.of(postDto), "next"));
 
-        List<PostDto> result = postController.getAllPostPublishedByProject(PROJECT_ID).getBody();
+        PostPageDto result = postController.getAllPostPublishedByProject(PROJECT_ID, "cursor", 20).getBody();
 
-        assertEquals(1, result.size());
-        assertEquals("Published project post", result.get(0).getContent());
-        verify(postService, times(1)).getAllPostPublishedByProject(PROJECT_ID);
+        assertEquals(1, result.getPosts().size());
+        assertEquals("Published project post", result.getPosts().get(0).getContent());
+        assertEquals("next", result.getNextCursor());
+        verify(postService, times(1)).getAllPostPublishedByProject(PROJECT_ID, "cursor", 20);
     }
 
     @Test
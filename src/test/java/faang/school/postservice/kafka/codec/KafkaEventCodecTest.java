@@ -0,0 +1,120 @@
+package faang.school.postservice.kafka.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventSerializationException;
+import faang.school.postservice.model.enums.KafkaEventFormat;
+import faang.school.postservice.model.event.kafka.AuthorCommentKafkaEvent;
+import faang.school.postservice.model.event.kafka.CommentSentKafkaEvent;
+import faang.school.postservice.model.event.kafka.FeedFanOutKafkaEvent;
+import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
+import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
+import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KafkaEventCodecTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final KafkaEventCodec binaryCodec = new KafkaEventCodec(objectMapper, KafkaEventFormat.BINARY);
+    private final KafkaEventCodec jsonCodec = new KafkaEventCodec(objectMapper, KafkaEventFormat.JSON);
+
+    @Test
+    void postPublishedEvent_RoundTripsWithUnsortedFollowers() {
+        PostPublishedKafkaEvent event = new PostPublishedKafkaEvent(42L,
+                List.of(1_000_000L, 1_000_001L, 7L, Long.MAX_VALUE, 1_000_005L),
+                LocalDateTime.of(2024, 12, 10, 15, 30, 0, 123_000_000));
+
+        byte[] payload = binaryCodec.encode(event);
+        PostPublishedKafkaEvent decoded = binaryCodec.decode(payload, PostPublishedKafkaEvent.class);
+
+        assertEquals(KafkaEventCodec.BINARY_MARKER, payload[0]);
+        assertEquals(42L, decoded.getPostId());
+        assertEquals(event.getFollowerIds(), decoded.getFollowerIds());
+        assertEquals(event.getPublishedAt(), decoded.getPublishedAt());
+    }
+
+    @Test
+    void postPublishedEvent_IsFarSmallerThanJson() {
+        List<Long> followerIds = LongStream.range(5_000_000L, 5_010_000L).boxed().toList();
+        PostPublishedKafkaEvent event = new PostPublishedKafkaEvent(1L, followerIds, LocalDateTime.now());
+
+        byte[] binary = binaryCodec.encode(event);
+        byte[] json = jsonCodec.encode(event);
+
+        assertTrue(binary.length < 10_100, "one byte per sequential follower id, got " + binary.length);
+        assertTrue(binary.length * 7 < json.length);
+    }
+
+    @Test
+    void feedFanOutEvent_RoundTrips() {
+        FeedFanOutKafkaEvent event = new FeedFanOutKafkaEvent(42L, List.of(3_000L, 3_001L, 3_005L),
+                LocalDateTime.of(2024, 12, 10, 15, 30), 4, 12);
+
+        FeedFanOutKafkaEvent decoded = binaryCodec.decode(binaryCodec.encode(event), FeedFanOutKafkaEvent.class);
+
+        assertEquals(42L, decoded.getPostId());
+        assertEquals(event.getFollowerIds(), decoded.getFollowerIds());
+        assertEquals(event.getPublishedAt(), decoded.getPublishedAt());
+        assertEquals(4, decoded.getChunkIndex());
+        assertEquals(12, decoded.getChunkCount());
+    }
+
+    @Test
+    void events_RoundTripWithNullFields() {
+        LikeKafkaEvent like = binaryCodec.decode(binaryCodec.encode(new LikeKafkaEvent(null, 2L)), LikeKafkaEvent.class);
+        PostViewKafkaEvent view = binaryCodec.decode(
+                binaryCodec.encode(new PostViewKafkaEvent(1L, 2L, "2024-12-10T15:30:00")), PostViewKafkaEvent.class);
+        CommentSentKafkaEvent comment = binaryCodec.decode(
+                binaryCodec.encode(new CommentSentKafkaEvent(1L, 2L, 3L, null)), CommentSentKafkaEvent.class);
+        PostPublishedKafkaEvent post = binaryCodec.decode(
+                binaryCodec.encode(new PostPublishedKafkaEvent(1L, null, null)), PostPublishedKafkaEvent.class);
+
+        assertNull(like.getLikeId());
+        assertEquals(2L, like.getPostId());
+        assertEquals("2024-12-10T15:30:00", view.getViewDateTime());
+        assertEquals(3L, comment.getCommentId());
+        assertNull(comment.getCommentContent());
+        assertNull(post.getFollowerIds());
+        assertNull(post.getPublishedAt());
+    }
+
+    @Test
+    void decode_ReadsJsonInEitherFormat() {
+        byte[] json = "{\"likeId\":1,\"postId\":2}".getBytes(StandardCharsets.UTF_8);
+
+        LikeKafkaEvent event = binaryCodec.decode(json, LikeKafkaEvent.class);
+
+        assertEquals(1L, event.getLikeId());
+        assertEquals(2L, event.getPostId());
+        assertEquals(2L, jsonCodec.decode(binaryCodec.encode(event), LikeKafkaEvent.class).getPostId());
+    }
+
+    @Test
+    void encode_WritesEventsWithoutSchemaAsJson() {
+        byte[] payload = binaryCodec.encode(new AuthorCommentKafkaEvent(7L));
+
+        assertEquals("{\"commentAuthorId\":7}", new String(payload, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decode_RejectsTruncatedOrMismatchedPayload() {
+        byte[] payload = binaryCodec.encode(new PostPublishedKafkaEvent(1L, List.of(1L, 2L, 3L), null));
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 1);
+
+        assertThrows(EventSerializationException.class,
+                () -> binaryCodec.decode(truncated, PostPublishedKafkaEvent.class));
+        assertThrows(EventSerializationException.class,
+                () -> binaryCodec.decode(payload, LikeKafkaEvent.class));
+        assertThrows(EventSerializationException.class,
+                () -> binaryCodec.decode("{invalid json}".getBytes(StandardCharsets.UTF_8), LikeKafkaEvent.class));
+    }
+}
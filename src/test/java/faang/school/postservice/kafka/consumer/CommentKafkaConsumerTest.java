@@ -1,7 +1,8 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventSerializationException;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import faang.school.postservice.model.event.kafka.CommentSentKafkaEvent;
 import faang.school.postservice.service.RedisPostService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -12,6 +13,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
@@ -24,7 +29,7 @@ import static org.mockito.Mockito.when;
 public class CommentKafkaConsumerTest {
 
     @Mock
-    private ObjectMapper objectMapper;
+    private KafkaEventCodec eventCodec;
 
     @Mock
     private RedisPostService redisPostService;
@@ -32,6 +37,9 @@ public class CommentKafkaConsumerTest {
     @Mock
     private Acknowledgment acknowledgment;
 
+    @Mock
+    private FailedEventRouter failedEventRouter;
+
     @InjectMocks
     private CommentKafkaConsumer consumer;
 
@@ -52,7 +60,7 @@ public class CommentKafkaConsumerTest {
     }
 
     @Test
-    void testOnMessage_Success() throws JsonProcessingException {
+    void testOnMessage_Success() {
         // Arrange
         String jsonEvent = """
                 {
@@ -65,9 +73,9 @@ public class CommentKafkaConsumerTest {
 
         CommentSentKafkaEvent event = new CommentSentKafkaEvent(1L, 2L, 3L, "Test comment content");
 
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, 0L, "key", jsonEvent);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "key", bytes(jsonEvent));
 
-        when(objectMapper.readValue(jsonEvent, CommentSentKafkaEvent.class)).thenReturn(event);
+        when(eventCodec.decode(bytes(jsonEvent), CommentSentKafkaEvent.class)).thenReturn(event);
 
         // Act
         consumer.onMessage(record, acknowledgment);
@@ -82,21 +90,46 @@ public class CommentKafkaConsumerTest {
     }
 
     @Test
-    void testOnMessage_ErrorHandling() throws JsonProcessingException {
+    void testOnMessage_RoutesFailedEventAndAcknowledges() {
         // Arrange
         String invalidJsonEvent = "{invalid json}";
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, 0L, "key", invalidJsonEvent);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "key", bytes(invalidJsonEvent));
 
-        when(objectMapper.readValue(invalidJsonEvent, CommentSentKafkaEvent.class)).thenThrow(JsonProcessingException.class);
+        when(eventCodec.decode(bytes(invalidJsonEvent), CommentSentKafkaEvent.class)).thenThrow(new EventSerializationException("Malformed event"));
 
-        // Act & Assert
-        RuntimeException exception =
-                org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class, () -> {
-                    consumer.onMessage(record, acknowledgment);
-                });
+        // Act
+        consumer.onMessage(record, acknowledgment);
 
+        // Assert
         verify(redisPostService, never()).addComment(anyLong(), anyLong(), anyLong(), anyString());
-        verify(acknowledgment, never()).acknowledge();
-        org.junit.jupiter.api.Assertions.assertTrue(exception.getMessage().contains("Failed to deserialize comment"));
+        verify(failedEventRouter, times(1)).route(eq(record), any(EventSerializationException.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testOnBatch_RoutesInvalidRecordAndAcknowledgesOnce() {
+        // Arrange
+        CommentSentKafkaEvent first = new CommentSentKafkaEvent(1L, 2L, 3L, "Test comment content");
+        CommentSentKafkaEvent second = new CommentSentKafkaEvent(4L, 5L, 6L, "Another comment");
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                new ConsumerRecord<>("topic", 0, 0L, "key", bytes("first")),
+                new ConsumerRecord<>("topic", 0, 1L, "key", bytes("{invalid json}")),
+                new ConsumerRecord<>("topic", 0, 2L, "key", bytes("second")));
+
+        when(eventCodec.decode(bytes("first"), CommentSentKafkaEvent.class)).thenReturn(first);
+        when(eventCodec.decode(bytes("{invalid json}"), CommentSentKafkaEvent.class)).thenThrow(new EventSerializationException("Malformed event"));
+        when(eventCodec.decode(bytes("second"), CommentSentKafkaEvent.class)).thenReturn(second);
+
+        // Act
+        consumer.onBatch(records, acknowledgment);
+
+        // Assert
+        verify(redisPostService, times(1)).addComments(List.of(first, second));
+        verify(failedEventRouter, times(1)).route(eq(records.get(1)), any(EventSerializationException.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 }
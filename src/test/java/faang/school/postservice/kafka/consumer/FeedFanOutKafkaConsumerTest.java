@@ -0,0 +1,83 @@
+package faang.school.postservice.kafka.consumer;
+
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
+import faang.school.postservice.model.event.kafka.FeedFanOutKafkaEvent;
+import faang.school.postservice.service.FeedService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FeedFanOutKafkaConsumerTest {
+
+    @Mock
+    private KafkaEventCodec eventCodec;
+
+    @Mock
+    private FeedService feedService;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    @Mock
+    private FailedEventRouter failedEventRouter;
+
+    @InjectMocks
+    private FeedFanOutKafkaConsumer consumer;
+
+    @Test
+    void testOnMessage_Success() {
+        // Arrange
+        byte[] payload = bytes("task");
+        FeedFanOutKafkaEvent task = new FeedFanOutKafkaEvent(
+                1L, List.of(2L, 3L), LocalDateTime.parse("2024-12-10T15:30:00"), 0, 2);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "1:0", payload);
+
+        when(eventCodec.decode(payload, FeedFanOutKafkaEvent.class)).thenReturn(task);
+
+        // Act
+        consumer.onMessage(record, acknowledgment);
+
+        // Assert
+        verify(feedService, times(1)).fanOut(task);
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testOnMessage_RoutesFailedTaskAndAcknowledges() {
+        // Arrange
+        byte[] payload = bytes("task");
+        FeedFanOutKafkaEvent task = new FeedFanOutKafkaEvent(1L, List.of(2L), LocalDateTime.now(), 0, 1);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "1:0", payload);
+        RuntimeException failure = new RuntimeException("Redis is unavailable");
+
+        when(eventCodec.decode(payload, FeedFanOutKafkaEvent.class)).thenReturn(task);
+        doThrow(failure).when(feedService).fanOut(task);
+
+        // Act
+        consumer.onMessage(record, acknowledgment);
+
+        // Assert
+        verify(failedEventRouter, times(1)).route(eq(record), eq(failure));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
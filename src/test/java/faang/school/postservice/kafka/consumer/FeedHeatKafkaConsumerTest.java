@@ -1,7 +1,8 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventSerializationException;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
 import faang.school.postservice.service.FeedService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -12,10 +13,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,7 +28,7 @@ import static org.mockito.Mockito.when;
 public class FeedHeatKafkaConsumerTest {
 
     @Mock
-    private ObjectMapper objectMapper;
+    private KafkaEventCodec eventCodec;
 
     @Mock
     private FeedService feedService;
@@ -33,6 +36,9 @@ public class FeedHeatKafkaConsumerTest {
     @Mock
     private Acknowledgment acknowledgment;
 
+    @Mock
+    private FailedEventRouter failedEventRouter;
+
     @InjectMocks
     private FeedHeatKafkaConsumer consumer;
 
@@ -49,7 +55,7 @@ public class FeedHeatKafkaConsumerTest {
     }
 
     @Test
-    void testConsume_Success() throws JsonProcessingException {
+    void testConsume_Success() {
         // Arrange
         String jsonEvent = """
                 {
@@ -61,9 +67,9 @@ public class FeedHeatKafkaConsumerTest {
 
         PostPublishedKafkaEvent event = new PostPublishedKafkaEvent(
                 1L, List.of(2L, 3L), LocalDateTime.parse("2024-12-10T15:30:00"));
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, 0L, "key", jsonEvent);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "key", bytes(jsonEvent));
 
-        when(objectMapper.readValue(jsonEvent, PostPublishedKafkaEvent.class)).thenReturn(event);
+        when(eventCodec.decode(bytes(jsonEvent), PostPublishedKafkaEvent.class)).thenReturn(event);
 
         // Act
         consumer.consume(record, acknowledgment);
@@ -74,21 +80,23 @@ public class FeedHeatKafkaConsumerTest {
     }
 
     @Test
-    void testConsume_ErrorHandling() throws JsonProcessingException {
+    void testConsume_RoutesFailedEventAndAcknowledges() {
         // Arrange
         String invalidJsonEvent = "{invalid json}";
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, 0L, "key", invalidJsonEvent);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "key", bytes(invalidJsonEvent));
 
-        when(objectMapper.readValue(invalidJsonEvent, PostPublishedKafkaEvent.class)).thenThrow(JsonProcessingException.class);
+        when(eventCodec.decode(bytes(invalidJsonEvent), PostPublishedKafkaEvent.class)).thenThrow(new EventSerializationException("Malformed event"));
 
-        // Act & Assert
-        RuntimeException exception =
-                org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class, () -> {
-                    consumer.consume(record, acknowledgment);
-                });
+        // Act
+        consumer.consume(record, acknowledgment);
 
+        // Assert
         verify(feedService, never()).addPost(any());
-        verify(acknowledgment, never()).acknowledge();
-        org.junit.jupiter.api.Assertions.assertTrue(exception.getMessage().contains("Failed to deserialize post"));
+        verify(failedEventRouter, times(1)).route(eq(record), any(EventSerializationException.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 }
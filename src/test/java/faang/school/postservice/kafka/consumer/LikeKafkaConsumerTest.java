@@ -1,7 +1,8 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventSerializationException;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
 import faang.school.postservice.service.RedisPostService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -12,17 +13,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class LikeKafkaConsumerTest {
 
     @Mock
-    private ObjectMapper objectMapper;
+    private KafkaEventCodec eventCodec;
 
     @Mock
     private RedisPostService redisPostService;
@@ -30,6 +39,9 @@ public class LikeKafkaConsumerTest {
     @Mock
     private Acknowledgment acknowledgment;
 
+    @Mock
+    private FailedEventRouter failedEventRouter;
+
     @InjectMocks
     private LikeKafkaConsumer consumer;
 
@@ -46,7 +58,7 @@ public class LikeKafkaConsumerTest {
     }
 
     @Test
-    void testOnMessage_Success() throws JsonProcessingException {
+    void testOnMessage_Success() {
         // Arrange
         String jsonEvent = """
                 {
@@ -56,9 +68,9 @@ public class LikeKafkaConsumerTest {
                 """;
 
         LikeKafkaEvent event = new LikeKafkaEvent(1L, 2L);
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, 0L, "key", jsonEvent);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "key", bytes(jsonEvent));
 
-        when(objectMapper.readValue(jsonEvent, LikeKafkaEvent.class)).thenReturn(event);
+        when(eventCodec.decode(bytes(jsonEvent), LikeKafkaEvent.class)).thenReturn(event);
 
         // Act
         consumer.onMessage(record, acknowledgment);
@@ -69,21 +81,104 @@ public class LikeKafkaConsumerTest {
     }
 
     @Test
-    void testOnMessage_ErrorHandling() throws JsonProcessingException {
+    void testOnMessage_RoutesFailedEventAndAcknowledges() {
         // Arrange
         String invalidJsonEvent = "{invalid json}";
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, 0L, "key", invalidJsonEvent);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "key", bytes(invalidJsonEvent));
 
-        when(objectMapper.readValue(invalidJsonEvent, LikeKafkaEvent.class)).thenThrow(JsonProcessingException.class);
+        when(eventCodec.decode(bytes(invalidJsonEvent), LikeKafkaEvent.class)).thenThrow(new EventSerializationException("Malformed event"));
 
-        // Act & Assert
-        RuntimeException exception =
-                org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class, () -> {
-                    consumer.onMessage(record, acknowledgment);
-                });
+        // Act
+        consumer.onMessage(record, acknowledgment);
 
+        // Assert
         verify(redisPostService, never()).incrementLikesWithTransaction(anyLong(), anyLong());
+        verify(failedEventRouter, times(1)).route(eq(record), any(EventSerializationException.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testOnBatch_RoutesInvalidRecordAndAcknowledgesOnce() {
+        // Arrange
+        LikeKafkaEvent first = new LikeKafkaEvent(1L, 2L);
+        LikeKafkaEvent second = new LikeKafkaEvent(3L, 4L);
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                new ConsumerRecord<>("topic", 0, 0L, "key", bytes("first")),
+                new ConsumerRecord<>("topic", 0, 1L, "key", bytes("{invalid json}")),
+                new ConsumerRecord<>("topic", 0, 2L, "key", bytes("second")));
+
+        when(eventCodec.decode(bytes("first"), LikeKafkaEvent.class)).thenReturn(first);
+        when(eventCodec.decode(bytes("{invalid json}"), LikeKafkaEvent.class)).thenThrow(new EventSerializationException("Malformed event"));
+        when(eventCodec.decode(bytes("second"), LikeKafkaEvent.class)).thenReturn(second);
+
+        // Act
+        consumer.onBatch(records, acknowledgment);
+
+        // Assert
+        verify(redisPostService, times(1)).incrementLikes(List.of(first, second));
+        verify(failedEventRouter, times(1)).route(eq(records.get(1)), any(EventSerializationException.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testOnBatch_FallsBackToSingleEventsWhenBatchFails() {
+        // Arrange
+        LikeKafkaEvent first = new LikeKafkaEvent(1L, 2L);
+        LikeKafkaEvent second = new LikeKafkaEvent(3L, 4L);
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                new ConsumerRecord<>("topic", 0, 0L, "key", bytes("first")),
+                new ConsumerRecord<>("topic", 0, 1L, "key", bytes("second")));
+
+        when(eventCodec.decode(bytes("first"), LikeKafkaEvent.class)).thenReturn(first);
+        when(eventCodec.decode(bytes("second"), LikeKafkaEvent.class)).thenReturn(second);
+        doThrow(new RuntimeException("Redis is down")).when(redisPostService).incrementLikes(List.of(first, second));
+        doThrow(new RuntimeException("Redis is down")).when(redisPostService).incrementLikesWithTransaction(1L, 2L);
+
+        // Act
+        consumer.onBatch(records, acknowledgment);
+
+        // Assert
+        verify(redisPostService, times(1)).incrementLikesWithTransaction(1L, 2L);
+        verify(redisPostService, times(1)).incrementLikesWithTransaction(3L, 4L);
+        verify(failedEventRouter, times(1)).route(eq(records.get(0)), any(RuntimeException.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testConsumeRetry_PausesUntilRetryIsDue() {
+        // Arrange
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic-retry-1", 0, 0L, "key", bytes("like"));
+
+        when(failedEventRouter.getRemainingDelay(record)).thenReturn(Duration.ofSeconds(3));
+
+        // Act
+        consumer.consumeRetry(record, acknowledgment);
+
+        // Assert
+        verify(acknowledgment, times(1)).nack(Duration.ofSeconds(3));
         verify(acknowledgment, never()).acknowledge();
-        org.junit.jupiter.api.Assertions.assertTrue(exception.getMessage().contains("Failed to deserialize like event"));
+        verifyNoInteractions(eventCodec, redisPostService);
+    }
+
+    @Test
+    void testConsumeRetry_ProcessesDueEvent() {
+        // Arrange
+        LikeKafkaEvent event = new LikeKafkaEvent(1L, 2L);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic-retry-1", 0, 0L, "key", bytes("like"));
+
+        when(failedEventRouter.getRemainingDelay(record)).thenReturn(Duration.ZERO);
+        when(eventCodec.decode(bytes("like"), LikeKafkaEvent.class)).thenReturn(event);
+
+        // Act
+        consumer.consumeRetry(record, acknowledgment);
+
+        // Assert
+        verify(redisPostService, times(1)).incrementLikesWithTransaction(1L, 2L);
+        verify(acknowledgment, times(1)).acknowledge();
+        verify(acknowledgment, never()).nack(any(Duration.class));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 }
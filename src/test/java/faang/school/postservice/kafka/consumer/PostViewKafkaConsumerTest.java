@@ -1,9 +1,11 @@
 package faang.school.postservice.kafka.consumer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventSerializationException;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.kafka.retry.FailedEventRouter;
 import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
 import faang.school.postservice.service.RedisPostService;
+import faang.school.postservice.service.UniqueViewService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,8 +14,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,14 +30,20 @@ import static org.mockito.Mockito.when;
 public class PostViewKafkaConsumerTest {
 
     @Mock
-    private ObjectMapper objectMapper;
+    private KafkaEventCodec eventCodec;
 
     @Mock
     private RedisPostService redisPostService;
 
+    @Mock
+    private UniqueViewService uniqueViewService;
+
     @Mock
     private Acknowledgment acknowledgment;
 
+    @Mock
+    private FailedEventRouter failedEventRouter;
+
     @InjectMocks
     private PostViewKafkaConsumer consumer;
 
@@ -47,10 +60,11 @@ public class PostViewKafkaConsumerTest {
                 event.getPostId(),
                 event.getViewerId(),
                 event.getViewDateTime());
+        verify(uniqueViewService, times(1)).recordViews(List.of(event));
     }
 
     @Test
-    void testOnMessage_Success() throws JsonProcessingException {
+    void testOnMessage_Success() {
         // Arrange
         String jsonEvent = """
                 {
@@ -61,9 +75,9 @@ public class PostViewKafkaConsumerTest {
                 """;
 
         PostViewKafkaEvent event = new PostViewKafkaEvent(1L, 2L, "2024-12-10T15:30:00");
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, 0L, "key", jsonEvent);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "key", bytes(jsonEvent));
 
-        when(objectMapper.readValue(jsonEvent, PostViewKafkaEvent.class)).thenReturn(event);
+        when(eventCodec.decode(bytes(jsonEvent), PostViewKafkaEvent.class)).thenReturn(event);
 
         // Act
         consumer.onMessage(record, acknowledgment);
@@ -77,21 +91,47 @@ public class PostViewKafkaConsumerTest {
     }
 
     @Test
-    void testOnMessage_ErrorHandling() throws JsonProcessingException {
+    void testOnMessage_RoutesFailedEventAndAcknowledges() {
         // Arrange
         String invalidJsonEvent = "{invalid json}";
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, 0L, "key", invalidJsonEvent);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("topic", 0, 0L, "key", bytes(invalidJsonEvent));
 
-        when(objectMapper.readValue(invalidJsonEvent, PostViewKafkaEvent.class)).thenThrow(JsonProcessingException.class);
+        when(eventCodec.decode(bytes(invalidJsonEvent), PostViewKafkaEvent.class)).thenThrow(new EventSerializationException("Malformed event"));
 
-        // Act & Assert
-        RuntimeException exception =
-                org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class, () -> {
-                    consumer.onMessage(record, acknowledgment);
-                });
+        // Act
+        consumer.onMessage(record, acknowledgment);
 
+        // Assert
         verify(redisPostService, never()).incrementPostViewsWithTransaction(anyLong(), anyLong(), anyString());
-        verify(acknowledgment, never()).acknowledge();
-        org.junit.jupiter.api.Assertions.assertTrue(exception.getMessage().contains("Failed to deserialize post view event"));
+        verify(failedEventRouter, times(1)).route(eq(record), any(EventSerializationException.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testOnBatch_RoutesInvalidRecordAndAcknowledgesOnce() {
+        // Arrange
+        PostViewKafkaEvent first = new PostViewKafkaEvent(1L, 2L, "2024-12-10T15:30:00");
+        PostViewKafkaEvent second = new PostViewKafkaEvent(3L, 4L, "2024-12-10T15:31:00");
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                new ConsumerRecord<>("topic", 0, 0L, "key", bytes("first")),
+                new ConsumerRecord<>("topic", 0, 1L, "key", bytes("{invalid json}")),
+                new ConsumerRecord<>("topic", 0, 2L, "key", bytes("second")));
+
+        when(eventCodec.decode(bytes("first"), PostViewKafkaEvent.class)).thenReturn(first);
+        when(eventCodec.decode(bytes("{invalid json}"), PostViewKafkaEvent.class)).thenThrow(new EventSerializationException("Malformed event"));
+        when(eventCodec.decode(bytes("second"), PostViewKafkaEvent.class)).thenReturn(second);
+
+        // Act
+        consumer.onBatch(records, acknowledgment);
+
+        // Assert
+        verify(redisPostService, times(1)).incrementPostViews(List.of(first, second));
+        verify(uniqueViewService, times(1)).recordViews(List.of(first, second));
+        verify(failedEventRouter, times(1)).route(eq(records.get(1)), any(EventSerializationException.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 }
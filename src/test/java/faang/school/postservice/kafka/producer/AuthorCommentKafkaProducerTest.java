@@ -1,8 +1,9 @@
 package faang.school.postservice.kafka.producer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventSerializationException;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
 import faang.school.postservice.model.event.kafka.AuthorCommentKafkaEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -11,6 +12,10 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -18,10 +23,10 @@ import static org.mockito.Mockito.*;
 class AuthorCommentKafkaProducerTest {
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private KafkaEventCodec eventCodec;
 
     @InjectMocks
     private AuthorCommentKafkaProducer producer;
@@ -31,7 +36,8 @@ class AuthorCommentKafkaProducerTest {
         MockitoAnnotations.openMocks(this);
 
         // Set the topic value
-        producer = new AuthorCommentKafkaProducer(kafkaTemplate, objectMapper) {
+        producer = new AuthorCommentKafkaProducer(kafkaTemplate, eventCodec,
+                new KafkaSendMonitor(new SimpleMeterRegistry(), 10, SendOverflowPolicy.DROP, 0)) {
             @Override
             protected String getTopic() {
                 return "author-of-comment-topic";
@@ -40,37 +46,43 @@ class AuthorCommentKafkaProducerTest {
     }
 
     @Test
-    void testSendEvent_Success() throws JsonProcessingException {
+    void testSendEvent_Success() {
         // Arrange
         AuthorCommentKafkaEvent event = new AuthorCommentKafkaEvent(123L);
         String eventJson = "{\"commentAuthorId\":123}";
 
-        when(objectMapper.writeValueAsString(event)).thenReturn(eventJson);
+        byte[] payload = eventJson.getBytes(StandardCharsets.UTF_8);
+
+        when(eventCodec.encode(event)).thenReturn(payload);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         producer.sendEvent(event);
 
         // Assert
         ArgumentCaptor<String> topicCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<byte[]> messageCaptor = ArgumentCaptor.forClass(byte[].class);
 
-        verify(kafkaTemplate).send(topicCaptor.capture(), messageCaptor.capture());
+        verify(kafkaTemplate).send(topicCaptor.capture(), keyCaptor.capture(), messageCaptor.capture());
 
         assertEquals("author-of-comment-topic", topicCaptor.getValue());
-        assertEquals(eventJson, messageCaptor.getValue());
+        assertEquals("123", keyCaptor.getValue());
+        assertArrayEquals(payload, messageCaptor.getValue());
     }
 
     @Test
-    void testSendEvent_Failure() throws JsonProcessingException {
+    void testSendEvent_Failure() {
         // Arrange
         AuthorCommentKafkaEvent event = new AuthorCommentKafkaEvent(123L);
 
-        when(objectMapper.writeValueAsString(event)).thenThrow(new JsonProcessingException("Serialization error") {});
+        when(eventCodec.encode(event)).thenThrow(new EventSerializationException("Serialization error"));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> producer.sendEvent(event));
-        assertEquals("Failed to serialize event to JSON", exception.getMessage());
+        assertEquals("Failed to serialize event", exception.getMessage());
 
-        verify(kafkaTemplate, never()).send(anyString(), anyString());
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
     }
 }
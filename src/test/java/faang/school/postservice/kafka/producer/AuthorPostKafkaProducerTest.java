@@ -1,8 +1,9 @@
 package faang.school.postservice.kafka.producer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventSerializationException;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
 import faang.school.postservice.model.event.kafka.AuthorPostKafkaEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -11,9 +12,12 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -22,10 +26,10 @@ class AuthorPostKafkaProducerTest {
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private KafkaEventCodec eventCodec;
 
     @InjectMocks
     private AuthorPostKafkaProducer producer;
@@ -35,7 +39,8 @@ class AuthorPostKafkaProducerTest {
         MockitoAnnotations.openMocks(this);
 
         // Set the topic value for testing
-        producer = new AuthorPostKafkaProducer(kafkaTemplate, objectMapper) {
+        producer = new AuthorPostKafkaProducer(kafkaTemplate, eventCodec,
+                new KafkaSendMonitor(new SimpleMeterRegistry(), 10, SendOverflowPolicy.DROP, 0)) {
             @Override
             protected String getTopic() {
                 return "author-published-post-topic";
@@ -44,37 +49,43 @@ class AuthorPostKafkaProducerTest {
     }
 
     @Test
-    void testSendEvent_Success() throws JsonProcessingException {
+    void testSendEvent_Success() {
         // Arrange
         AuthorPostKafkaEvent event = new AuthorPostKafkaEvent(1L, 2L, LocalDateTime.parse("2024-12-10T15:30:00", formatter));
         String eventJson = "{\"postId\":1,\"authorId\":2,\"publishedAt\":\"2024-12-10T15:30:00\"}";
 
-        when(objectMapper.writeValueAsString(event)).thenReturn(eventJson);
+        byte[] payload = eventJson.getBytes(StandardCharsets.UTF_8);
+
+        when(eventCodec.encode(event)).thenReturn(payload);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         producer.sendEvent(event);
 
         // Assert
         ArgumentCaptor<String> topicCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<byte[]> messageCaptor = ArgumentCaptor.forClass(byte[].class);
 
-        verify(kafkaTemplate).send(topicCaptor.capture(), messageCaptor.capture());
+        verify(kafkaTemplate).send(topicCaptor.capture(), keyCaptor.capture(), messageCaptor.capture());
 
         assertEquals("author-published-post-topic", topicCaptor.getValue());
-        assertEquals(eventJson, messageCaptor.getValue());
+        assertEquals("1", keyCaptor.getValue());
+        assertArrayEquals(payload, messageCaptor.getValue());
     }
 
     @Test
-    void testSendEvent_Failure() throws JsonProcessingException {
+    void testSendEvent_Failure() {
         // Arrange
         AuthorPostKafkaEvent event = new AuthorPostKafkaEvent(1L, 2L, LocalDateTime.parse("2024-12-10T15:30:00", formatter));
 
-        when(objectMapper.writeValueAsString(event)).thenThrow(new JsonProcessingException("Serialization error") {});
+        when(eventCodec.encode(event)).thenThrow(new EventSerializationException("Serialization error"));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> producer.sendEvent(event));
-        assertEquals("Failed to serialize event to JSON", exception.getMessage());
+        assertEquals("Failed to serialize event", exception.getMessage());
 
-        verify(kafkaTemplate, never()).send(anyString(), anyString());
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
     }
 }
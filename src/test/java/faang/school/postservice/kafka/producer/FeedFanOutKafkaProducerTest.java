@@ -0,0 +1,84 @@
+package faang.school.postservice.kafka.producer;
+
+import faang.school.postservice.exception.EventPublishingException;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
+import faang.school.postservice.model.event.kafka.FeedFanOutKafkaEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class FeedFanOutKafkaProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private KafkaEventCodec eventCodec;
+
+    private FeedFanOutKafkaProducer createProducer(int maxPendingSends) {
+        MockitoAnnotations.openMocks(this);
+        return new FeedFanOutKafkaProducer(kafkaTemplate, eventCodec,
+                new KafkaSendMonitor(new SimpleMeterRegistry(), maxPendingSends, SendOverflowPolicy.DROP, 0)) {
+            @Override
+            protected String getTopic() {
+                return "feed-fan-out-topic";
+            }
+        };
+    }
+
+    @Test
+    void testSendEventsAcknowledged_KeysTasksByPostAndChunk() {
+        FeedFanOutKafkaProducer producer = createProducer(10);
+        List<FeedFanOutKafkaEvent> tasks = List.of(task(0), task(1));
+        CompletableFuture<SendResult<String, byte[]>> secondSend = new CompletableFuture<>();
+
+        when(eventCodec.encode(any())).thenReturn(new byte[]{1});
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(secondSend);
+
+        CompletableFuture<Void> result = producer.sendEventsAcknowledged(tasks);
+
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(kafkaTemplate, times(2)).send(eq("feed-fan-out-topic"), keyCaptor.capture(), any(byte[].class));
+        assertEquals(List.of("7:0", "7:1"), keyCaptor.getAllValues());
+        assertFalse(result.isDone());
+
+        secondSend.complete(null);
+        assertTrue(result.isDone());
+    }
+
+    @Test
+    void testSendEventsAcknowledged_FailsInsteadOfDroppingTasks() {
+        FeedFanOutKafkaProducer producer = createProducer(1);
+
+        when(eventCodec.encode(any())).thenReturn(new byte[]{1});
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+
+        CompletableFuture<Void> result = producer.sendEventsAcknowledged(List.of(task(0), task(1)));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(EventPublishingException.class, exception.getCause());
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(byte[].class));
+    }
+
+    private static FeedFanOutKafkaEvent task(int chunkIndex) {
+        return new FeedFanOutKafkaEvent(7L, List.of(1L, 2L), LocalDateTime.now(), chunkIndex, 2);
+    }
+}
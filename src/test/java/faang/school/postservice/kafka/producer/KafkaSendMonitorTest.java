@@ -0,0 +1,74 @@
+package faang.school.postservice.kafka.producer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KafkaSendMonitorTest {
+    private static final String TOPIC = "post-topic";
+
+    private SimpleMeterRegistry meterRegistry;
+    private KafkaSendMonitor sendMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sendMonitor = new KafkaSendMonitor(meterRegistry, 2, SendOverflowPolicy.DROP, 0);
+    }
+
+    @Test
+    void tryStartSend_RejectsWhenTooManySendsArePending() {
+        assertTrue(sendMonitor.tryStartSend(TOPIC));
+        assertTrue(sendMonitor.tryStartSend(TOPIC));
+
+        assertFalse(sendMonitor.tryStartSend(TOPIC));
+        assertEquals(2, meterRegistry.get("kafka.producer.send.pending").gauge().value());
+        assertEquals(1, meterRegistry.get("kafka.producer.send.rejected").tag("topic", TOPIC).counter().count());
+    }
+
+    @Test
+    void tryStartSend_WaitPolicyTakesPermitReleasedWhileWaiting() throws Exception {
+        KafkaSendMonitor waitingMonitor = new KafkaSendMonitor(meterRegistry, 1, SendOverflowPolicy.WAIT, 5000);
+        waitingMonitor.tryStartSend(TOPIC);
+
+        CompletableFuture<Boolean> started = CompletableFuture.supplyAsync(() -> waitingMonitor.tryStartSend(TOPIC));
+        Thread.sleep(100);
+        assertFalse(started.isDone());
+        waitingMonitor.finishSend(TOPIC, System.nanoTime(), null);
+
+        assertTrue(started.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void tryStartSend_WaitPolicyRejectsAfterTimeout() {
+        KafkaSendMonitor waitingMonitor = new KafkaSendMonitor(meterRegistry, 1, SendOverflowPolicy.WAIT, 50);
+        waitingMonitor.tryStartSend(TOPIC);
+
+        assertFalse(waitingMonitor.tryStartSend(TOPIC));
+        assertEquals(1, meterRegistry.get("kafka.producer.send.rejected")
+                .tag("topic", TOPIC).tag("policy", "WAIT").counter().count());
+    }
+
+    @Test
+    void finishSend_ReleasesPermitAndRecordsOutcome() {
+        sendMonitor.tryStartSend(TOPIC);
+        sendMonitor.tryStartSend(TOPIC);
+
+        sendMonitor.finishSend(TOPIC, System.nanoTime(), null);
+        sendMonitor.finishSend(TOPIC, System.nanoTime(), new IllegalStateException("Broker unavailable"));
+
+        assertEquals(0, meterRegistry.get("kafka.producer.send.pending").gauge().value());
+        assertEquals(1, meterRegistry.get("kafka.producer.send.latency").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("kafka.producer.send.latency").tag("outcome", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("kafka.producer.send.failures")
+                .tag("exception", "IllegalStateException").counter().count());
+        assertTrue(sendMonitor.tryStartSend(TOPIC));
+    }
+}
@@ -1,8 +1,9 @@
 package faang.school.postservice.kafka.producer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.postservice.exception.EventSerializationException;
+import faang.school.postservice.kafka.codec.KafkaEventCodec;
 import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -11,17 +12,23 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class LikeKafkaProducerTest {
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private KafkaEventCodec eventCodec;
 
     @InjectMocks
     private LikeKafkaProducer producer;
@@ -31,7 +38,8 @@ class LikeKafkaProducerTest {
         MockitoAnnotations.openMocks(this);
 
         // Set the topic value for testing
-        producer = new LikeKafkaProducer(kafkaTemplate, objectMapper) {
+        producer = new LikeKafkaProducer(kafkaTemplate, eventCodec,
+                new KafkaSendMonitor(new SimpleMeterRegistry(), 10, SendOverflowPolicy.DROP, 0)) {
             @Override
             protected String getTopic() {
                 return "like-topic";
@@ -40,37 +48,61 @@ class LikeKafkaProducerTest {
     }
 
     @Test
-    void testSendEvent_Success() throws JsonProcessingException {
+    void testSendEvent_Success() {
         // Arrange
         LikeKafkaEvent event = new LikeKafkaEvent(1L, 2L);
         String eventJson = "{\"postId\":1,\"likeId\":2}";
 
-        when(objectMapper.writeValueAsString(event)).thenReturn(eventJson);
+        byte[] payload = eventJson.getBytes(StandardCharsets.UTF_8);
+
+        when(eventCodec.encode(event)).thenReturn(payload);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         producer.sendEvent(event);
 
         // Assert
         ArgumentCaptor<String> topicCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<byte[]> messageCaptor = ArgumentCaptor.forClass(byte[].class);
 
-        verify(kafkaTemplate).send(topicCaptor.capture(), messageCaptor.capture());
+        verify(kafkaTemplate).send(topicCaptor.capture(), keyCaptor.capture(), messageCaptor.capture());
 
         assertEquals("like-topic", topicCaptor.getValue());
-        assertEquals(eventJson, messageCaptor.getValue());
+        assertEquals("2", keyCaptor.getValue());
+        assertArrayEquals(payload, messageCaptor.getValue());
     }
 
     @Test
-    void testSendEvent_Failure() throws JsonProcessingException {
+    void testSendEvent_Failure() {
         // Arrange
         LikeKafkaEvent event = new LikeKafkaEvent(1L, 2L);
 
-        when(objectMapper.writeValueAsString(event)).thenThrow(new JsonProcessingException("Serialization error") {});
+        when(eventCodec.encode(event)).thenThrow(new EventSerializationException("Serialization error"));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> producer.sendEvent(event));
-        assertEquals("Failed to serialize event to JSON", exception.getMessage());
+        assertEquals("Failed to serialize event", exception.getMessage());
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+    }
+
+    @Test
+    void testSendEvent_RejectedWhenTooManySendsArePending() {
+        LikeKafkaProducer boundedProducer = new LikeKafkaProducer(kafkaTemplate, eventCodec,
+                new KafkaSendMonitor(new SimpleMeterRegistry(), 1, SendOverflowPolicy.DROP, 0)) {
+            @Override
+            protected String getTopic() {
+                return "like-topic";
+            }
+        };
+        when(eventCodec.encode(any())).thenReturn(new byte[]{1});
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+
+        assertTrue(boundedProducer.sendEvent(new LikeKafkaEvent(1L, 2L)));
+        assertFalse(boundedProducer.sendEvent(new LikeKafkaEvent(3L, 2L)));
 
-        verify(kafkaTemplate, never()).send(anyString(), anyString());
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(byte[].class));
     }
 }
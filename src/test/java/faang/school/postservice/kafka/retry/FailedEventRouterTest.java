@@ -0,0 +1,152 @@
+package faang.school.postservice.kafka.retry;
+
+import faang.school.postservice.exception.EventSerializationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FailedEventRouterTest {
+    private static final String TOPIC = "like_topic";
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FailedEventRouter router;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        router = new FailedEventRouter(kafkaTemplate, meterRegistry, new long[]{5, 60}, 1000, 1000);
+    }
+
+    @Test
+    void route_SendsFailedEventToFirstRetryTopic() {
+        stubSend();
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(TOPIC, 2, 42L, "7", bytes("event"));
+
+        router.route(record, new IllegalStateException("Redis is down"));
+
+        ProducerRecord<String, byte[]> sent = captureSent();
+        assertEquals("like_topic-retry-1", sent.topic());
+        assertEquals("7", sent.key());
+        assertArrayEquals(bytes("event"), sent.value());
+        assertEquals(TOPIC, header(sent.headers(), FailedEventRouter.ORIGINAL_TOPIC_HEADER));
+        assertEquals("2", header(sent.headers(), FailedEventRouter.ORIGINAL_PARTITION_HEADER));
+        assertEquals("42", header(sent.headers(), FailedEventRouter.ORIGINAL_OFFSET_HEADER));
+        assertEquals("1", header(sent.headers(), FailedEventRouter.ATTEMPT_HEADER));
+        long dueAt = Long.parseLong(header(sent.headers(), FailedEventRouter.DUE_AT_HEADER));
+        assertTrue(dueAt > System.currentTimeMillis() + 4000);
+        assertEquals(1, meterRegistry.get("kafka.consumer.retries").tag("attempt", "1").counter().count());
+    }
+
+    @Test
+    void route_ParksEventInDeadLetterTopicAfterLastAttempt() {
+        stubSend();
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("like_topic-retry-2", 0, 3L, "7", bytes("event"));
+        record.headers().add(FailedEventRouter.ORIGINAL_TOPIC_HEADER, TOPIC.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(FailedEventRouter.ORIGINAL_OFFSET_HEADER, "42".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(FailedEventRouter.ATTEMPT_HEADER, "2".getBytes(StandardCharsets.UTF_8));
+
+        router.route(record, new IllegalStateException("Redis is down"));
+
+        ProducerRecord<String, byte[]> sent = captureSent();
+        assertEquals("like_topic-dlt", sent.topic());
+        assertEquals("42", header(sent.headers(), FailedEventRouter.ORIGINAL_OFFSET_HEADER));
+        assertEquals("2", header(sent.headers(), FailedEventRouter.ATTEMPT_HEADER));
+        assertNull(sent.headers().lastHeader(FailedEventRouter.DUE_AT_HEADER));
+        assertEquals(1, meterRegistry.get("kafka.consumer.dead.letters")
+                .tag("exception", "IllegalStateException").counter().count());
+    }
+
+    @Test
+    void route_ParksUnreadableEventRightAway() {
+        stubSend();
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(TOPIC, 0, 0L, "7", bytes("{invalid json}"));
+
+        router.route(record, new EventSerializationException("Failed to deserialize event from JSON"));
+
+        assertEquals("like_topic-dlt", captureSent().topic());
+    }
+
+    @Test
+    void route_ThrowsWhenEventCannotBeStored() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(TOPIC, 0, 0L, "7", bytes("event"));
+
+        assertThrows(IllegalStateException.class, () -> router.route(record, new RuntimeException("Redis is down")));
+    }
+
+    @Test
+    void replay_SendsDeadLetterBackToOriginalTopic() {
+        stubSend();
+        ConsumerRecord<String, byte[]> deadLetter = new ConsumerRecord<>("like_topic-dlt", 0, 0L, "7", bytes("event"));
+        deadLetter.headers().add(FailedEventRouter.ORIGINAL_TOPIC_HEADER, TOPIC.getBytes(StandardCharsets.UTF_8));
+        deadLetter.headers().add(FailedEventRouter.ATTEMPT_HEADER, "2".getBytes(StandardCharsets.UTF_8));
+
+        router.replay(deadLetter);
+
+        ProducerRecord<String, byte[]> sent = captureSent();
+        assertEquals(TOPIC, sent.topic());
+        assertArrayEquals(bytes("event"), sent.value());
+        assertNull(sent.headers().lastHeader(FailedEventRouter.ATTEMPT_HEADER));
+        assertEquals(1, meterRegistry.get("kafka.consumer.dead.letters.replayed").counter().count());
+    }
+
+    @Test
+    void getRemainingDelay_IsCappedAndZeroOnceDue() {
+        ConsumerRecord<String, byte[]> waiting = new ConsumerRecord<>("like_topic-retry-2", 0, 0L, "7", bytes("event"));
+        waiting.headers().add(FailedEventRouter.DUE_AT_HEADER,
+                String.valueOf(System.currentTimeMillis() + 60_000).getBytes(StandardCharsets.UTF_8));
+        ConsumerRecord<String, byte[]> due = new ConsumerRecord<>("like_topic-retry-1", 0, 0L, "7", bytes("event"));
+        due.headers().add(FailedEventRouter.DUE_AT_HEADER,
+                String.valueOf(System.currentTimeMillis() - 1).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Duration.ofMillis(1000), router.getRemainingDelay(waiting));
+        assertEquals(Duration.ZERO, router.getRemainingDelay(due));
+    }
+
+    private void stubSend() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, byte[]> captureSent() {
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private String header(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package faang.school.postservice.kafka.retry;
+
+import faang.school.postservice.kafka.consumer.AbstractKafkaConsumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RetryListenerContainersTest {
+
+    @Mock
+    private ConsumerFactory<String, byte[]> consumerFactory;
+
+    @Mock
+    private AbstractKafkaConsumer<Object> likeConsumer;
+
+    @Mock
+    private AbstractKafkaConsumer<Object> commentConsumer;
+
+    @Mock
+    private FailedEventRouter failedEventRouter;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    @Test
+    void testCreatesContainerPerTopicAndTierInGroupOfTier() {
+        RetryListenerContainers retryListeners = createRetryListeners();
+
+        List<ConcurrentMessageListenerContainer<String, byte[]>> containers = retryListeners.getContainers();
+
+        assertEquals(4, containers.size());
+        assertArrayEquals(new String[]{"like_topic-retry-1"}, containers.get(0).getContainerProperties().getTopics());
+        assertEquals("retry-group-1", containers.get(0).getContainerProperties().getGroupId());
+        assertArrayEquals(new String[]{"like_topic-retry-2"}, containers.get(1).getContainerProperties().getTopics());
+        assertEquals("retry-group-2", containers.get(1).getContainerProperties().getGroupId());
+        assertArrayEquals(new String[]{"comment_topic-retry-1"}, containers.get(2).getContainerProperties().getTopics());
+        assertEquals("retry-group-1", containers.get(2).getContainerProperties().getGroupId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testContainerHandsRecordsToItsConsumer() {
+        RetryListenerContainers retryListeners = createRetryListeners();
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("comment_topic-retry-2", 0, 0L, "key", new byte[0]);
+
+        AcknowledgingMessageListener<String, byte[]> listener = (AcknowledgingMessageListener<String, byte[]>)
+                retryListeners.getContainers().get(3).getContainerProperties().getMessageListener();
+        listener.onMessage(record, acknowledgment);
+
+        verify(commentConsumer).consumeRetry(record, acknowledgment);
+    }
+
+    private RetryListenerContainers createRetryListeners() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory = new ConcurrentKafkaListenerContainerFactory<>();
+        containerFactory.setConsumerFactory(consumerFactory);
+        when(likeConsumer.getTopic()).thenReturn("like_topic");
+        when(commentConsumer.getTopic()).thenReturn("comment_topic");
+        when(failedEventRouter.getRetryAttempts()).thenReturn(2);
+        return new RetryListenerContainers(containerFactory, List.of(likeConsumer, commentConsumer),
+                failedEventRouter, "retry-group", 1);
+    }
+}
@@ -0,0 +1,79 @@
+package faang.school.postservice.redis.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CounterEventFilterTest {
+
+    private final CounterEventFilter filter = new CounterEventFilter(1000L, 100L, 200L, 300L, 60L, 10_000L, 0.01);
+
+    @Test
+    void testLikeAndComment_OneBitPerIdInItsRange() {
+        EventFilterSlot like = filter.like(2_345L);
+        EventFilterSlot comment = filter.comment(999L);
+
+        assertEquals("dedup:like:2", like.key());
+        assertArrayEquals(new long[]{345L}, like.offsets());
+        assertEquals(100L, like.ttlSeconds());
+        assertEquals("dedup:comment:0", comment.key());
+        assertArrayEquals(new long[]{999L}, comment.offsets());
+        assertEquals(200L, comment.ttlSeconds());
+    }
+
+    @Test
+    void testPostView_SameViewMapsToSameBits() {
+        EventFilterSlot first = filter.postView(1L, 2L, "2024-12-10T12:15:00");
+        EventFilterSlot redelivered = filter.postView(1L, 2L, "2024-12-10T12:15:00");
+
+        assertEquals(first.key(), redelivered.key());
+        assertArrayEquals(first.offsets(), redelivered.offsets());
+        assertEquals(7, first.offsets().length);
+        assertEquals(3900L, first.ttlSeconds());
+    }
+
+    @Test
+    void testPostView_WindowFollowsViewTime() {
+        assertEquals("dedup:postView:481620", filter.postView(1L, 2L, "2024-12-10T12:00:00").key());
+        assertEquals("dedup:postView:481620", filter.postView(1L, 2L, "2024-12-10T12:59:59").key());
+        assertNotEquals(filter.postView(1L, 2L, "2024-12-10T12:59:59").key(),
+                filter.postView(1L, 2L, "2024-12-10T13:00:00").key());
+    }
+
+    @Test
+    void testPostView_FalsePositiveRateWithinBudget() {
+        BitSet bits = new BitSet();
+        for (long viewerId = 0; viewerId < 10_000; viewerId++) {
+            for (long offset : filter.postView(1L, viewerId, "2024-12-10T12:00:00").offsets()) {
+                bits.set(Math.toIntExact(offset));
+            }
+        }
+
+        int falsePositives = 0;
+        for (long viewerId = 10_000; viewerId < 20_000; viewerId++) {
+            boolean allSet = true;
+            for (long offset : filter.postView(1L, viewerId, "2024-12-10T12:00:00").offsets()) {
+                allSet &= bits.get(Math.toIntExact(offset));
+            }
+            if (allSet) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void testConstructor_RejectsFilterLargerThanBitmap() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CounterEventFilter(1000L, 100L, 200L, 300L, 60L, 1_000_000_000L, 0.0001));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CounterEventFilter(0L, 100L, 200L, 300L, 60L, 10_000L, 0.01));
+    }
+}
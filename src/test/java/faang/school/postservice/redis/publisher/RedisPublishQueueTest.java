@@ -0,0 +1,136 @@
+package faang.school.postservice.redis.publisher;
+
+import faang.school.postservice.model.enums.RedisPublishOverflowPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisPublishQueueTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisConnection redisConnection;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        doReturn(new StringRedisSerializer()).when(redisTemplate).getValueSerializer();
+    }
+
+    @Test
+    void testDrain_PublishesQueuedMessagesInOnePipeline() throws InterruptedException {
+        RedisPublishQueue publishQueue = createQueue(10, 2, RedisPublishOverflowPolicy.DROP_NEWEST);
+        executePipelinedOnConnection();
+
+        publishQueue.enqueue("likes", "1");
+        publishQueue.enqueue("likes", "2");
+        publishQueue.enqueue("views", "3");
+
+        assertEquals(2, publishQueue.drain(0));
+        assertEquals(1, publishQueue.drain(0));
+        assertEquals(0, publishQueue.drain(0));
+
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+        verify(redisConnection).publish(bytes("likes"), bytes("1"));
+        verify(redisConnection).publish(bytes("likes"), bytes("2"));
+        verify(redisConnection).publish(bytes("views"), bytes("3"));
+        assertEquals(2, meterRegistry.get("redis.publisher.publish.latency").tag("channel", "likes").timer().count());
+        assertEquals(0.0, meterRegistry.get("redis.publisher.queue.depth").gauge().value());
+    }
+
+    @Test
+    void testEnqueue_DropNewestKeepsQueuedMessages() throws InterruptedException {
+        RedisPublishQueue publishQueue = createQueue(1, 10, RedisPublishOverflowPolicy.DROP_NEWEST);
+        executePipelinedOnConnection();
+
+        publishQueue.enqueue("likes", "1");
+        publishQueue.enqueue("likes", "2");
+        publishQueue.drain(0);
+
+        verify(redisConnection).publish(bytes("likes"), bytes("1"));
+        verify(redisConnection, never()).publish(bytes("likes"), bytes("2"));
+        assertEquals(1.0, meterRegistry.get("redis.publisher.dropped").tag("policy", "DROP_NEWEST").counter().count());
+    }
+
+    @Test
+    void testEnqueue_DropOldestKeepsNewMessage() throws InterruptedException {
+        RedisPublishQueue publishQueue = createQueue(1, 10, RedisPublishOverflowPolicy.DROP_OLDEST);
+        executePipelinedOnConnection();
+
+        publishQueue.enqueue("likes", "1");
+        publishQueue.enqueue("likes", "2");
+        publishQueue.drain(0);
+
+        verify(redisConnection, never()).publish(bytes("likes"), bytes("1"));
+        verify(redisConnection).publish(bytes("likes"), bytes("2"));
+        assertEquals(1.0, meterRegistry.get("redis.publisher.dropped").tag("policy", "DROP_OLDEST").counter().count());
+    }
+
+    @Test
+    void testEnqueue_CallerRunsPublishesOnCallingThread() {
+        RedisPublishQueue publishQueue = createQueue(1, 10, RedisPublishOverflowPolicy.CALLER_RUNS);
+        executePipelinedOnConnection();
+
+        publishQueue.enqueue("likes", "1");
+        publishQueue.enqueue("likes", "2");
+
+        verify(redisConnection, never()).publish(bytes("likes"), bytes("1"));
+        verify(redisConnection).publish(bytes("likes"), bytes("2"));
+        assertEquals(1.0, meterRegistry.get("redis.publisher.queue.depth").gauge().value());
+    }
+
+    @Test
+    void testDrain_CountsFailedBatch() throws InterruptedException {
+        RedisPublishQueue publishQueue = createQueue(10, 10, RedisPublishOverflowPolicy.DROP_NEWEST);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new IllegalStateException("Redis is unavailable"));
+
+        publishQueue.enqueue("likes", "1");
+        publishQueue.enqueue("likes", "2");
+
+        assertEquals(2, publishQueue.drain(0));
+        assertEquals(2.0, meterRegistry.get("redis.publisher.failures").counter().count());
+    }
+
+    private RedisPublishQueue createQueue(int capacity, int batchSize, RedisPublishOverflowPolicy policy) {
+        return new RedisPublishQueue(redisTemplate, meterRegistry, capacity, batchSize, policy);
+    }
+
+    private void executePipelinedOnConnection() {
+        doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return List.of();
+        }).when(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
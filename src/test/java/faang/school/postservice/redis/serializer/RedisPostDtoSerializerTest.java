@@ -0,0 +1,100 @@
+package faang.school.postservice.redis.serializer;
+
+import faang.school.postservice.model.dto.redis.cache.RedisCommentDto;
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisPostDtoSerializerTest {
+
+    private final RedisPostDtoSerializer serializer = new RedisPostDtoSerializer();
+
+    @Test
+    void testRoundTrip() {
+        RedisPostDto post = RedisPostDto.builder()
+                .postId(123_456_789L)
+                .authorId(42L)
+                .content("Привет, world")
+                .createdAt(LocalDateTime.of(2024, 12, 9, 16, 59, 33))
+                .commentCount(7)
+                .likeCount(1500)
+                .viewCount(98_765)
+                .recentComments(List.of(
+                        new RedisCommentDto(1L, "First"),
+                        new RedisCommentDto(null, null)))
+                .build();
+
+        RedisPostDto result = serializer.deserialize(serializer.serialize(post));
+
+        assertEquals(123_456_789L, result.getPostId());
+        assertEquals(42L, result.getAuthorId());
+        assertEquals("Привет, world", result.getContent());
+        assertEquals(LocalDateTime.of(2024, 12, 9, 16, 59, 33), result.getCreatedAt());
+        assertEquals(7, result.getCommentCount());
+        assertEquals(1500, result.getLikeCount());
+        assertEquals(98_765, result.getViewCount());
+        assertEquals(2, result.getRecentComments().size());
+        assertEquals(1L, result.getRecentComments().get(0).getAuthorId());
+        assertEquals("First", result.getRecentComments().get(0).getContent());
+        assertNull(result.getRecentComments().get(1).getAuthorId());
+        assertNull(result.getRecentComments().get(1).getContent());
+    }
+
+    @Test
+    void testRoundTrip_EmptyPost() {
+        RedisPostDto result = serializer.deserialize(serializer.serialize(new RedisPostDto()));
+
+        assertNull(result.getPostId());
+        assertNull(result.getContent());
+        assertNull(result.getCreatedAt());
+        assertTrue(result.getRecentComments().isEmpty());
+    }
+
+    @Test
+    void testSerialize_SmallIdsTakeOneByte() {
+        RedisPostDto post = RedisPostDto.builder().postId(1L).authorId(2L).build();
+
+        assertEquals(9, serializer.serialize(post).length);
+    }
+
+    @Test
+    void testDeserialize_UnsupportedVersion() {
+        byte[] bytes = serializer.serialize(RedisPostDto.builder().postId(1L).build());
+        bytes[0] = 99;
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testDeserialize_TruncatedPost() {
+        byte[] bytes = serializer.serialize(RedisPostDto.builder().postId(1L).content("Some content").build());
+
+        assertThrows(SerializationException.class,
+                () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 3)));
+    }
+
+    @Test
+    void testDeserialize_StringLengthOverflowingInt() {
+        byte[] bytes = {RedisPostDtoSerializer.VERSION, 0, 0, 0, 0, 0, 0,
+                (byte) 0x82, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08, 0};
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testDeserialize_NegativeCommentCount() {
+        byte[] bytes = serializer.serialize(new RedisPostDto());
+        bytes[bytes.length - 1] = 1;
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+}
@@ -0,0 +1,107 @@
+package faang.school.postservice.repository;
+
+import faang.school.postservice.model.entity.Hashtag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HashtagDictionaryTest {
+
+    @Mock
+    private HashtagRepository hashtagRepository;
+
+    @Mock
+    private PostHashtagRepository postHashtagRepository;
+
+    private HashtagDictionary hashtagDictionary;
+
+    @BeforeEach
+    void setUp() {
+        hashtagDictionary = new HashtagDictionary(hashtagRepository, postHashtagRepository, 2);
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("#java", HashtagDictionary.normalize("#JaVa"));
+        assertEquals("#java", HashtagDictionary.normalize("Java"));
+        assertEquals("#café", HashtagDictionary.normalize("#Café"));
+    }
+
+    @Test
+    void testNormalizeStoredMatchesTagsOfNewPosts() {
+        assertEquals("#café", HashtagDictionary.normalizeStored("#Cafe\u0301"));
+        assertEquals("#java", HashtagDictionary.normalizeStored("#JAVA!"));
+        assertEquals("#kafka_2", HashtagDictionary.normalizeStored("#Kafka_2 streams"));
+        assertNull(HashtagDictionary.normalizeStored("java"));
+        assertNull(HashtagDictionary.normalizeStored("#!"));
+    }
+
+    @Test
+    void testResolveIdsUpsertsOnlyUnknownTagsInOrder() {
+        when(postHashtagRepository.upsertTags(new TreeSet<>(Set.of("#java", "#spring"))))
+                .thenReturn(Map.of("#java", 1L, "#spring", 2L));
+        when(postHashtagRepository.upsertTags(new TreeSet<>(Set.of("#kafka"))))
+                .thenReturn(Map.of("#kafka", 3L));
+
+        assertEquals(Map.of("#java", 1L, "#spring", 2L), hashtagDictionary.resolveIds(List.of("#spring", "#java")));
+        assertEquals(Map.of("#java", 1L, "#kafka", 3L), hashtagDictionary.resolveIds(List.of("#java", "#kafka")));
+
+        verify(postHashtagRepository, times(2)).upsertTags(any());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedTags() {
+        when(postHashtagRepository.upsertTags(new TreeSet<>(Set.of("#a", "#b"))))
+                .thenReturn(Map.of("#a", 1L, "#b", 2L));
+        when(postHashtagRepository.upsertTags(new TreeSet<>(Set.of("#c"))))
+                .thenReturn(Map.of("#c", 3L));
+        when(postHashtagRepository.upsertTags(new TreeSet<>(Set.of("#a"))))
+                .thenReturn(Map.of("#a", 1L));
+
+        hashtagDictionary.resolveIds(List.of("#a", "#b"));
+        hashtagDictionary.resolveIds(List.of("#b"));
+        hashtagDictionary.resolveIds(List.of("#c"));
+        hashtagDictionary.resolveIds(List.of("#a"));
+
+        verify(postHashtagRepository, times(3)).upsertTags(any());
+    }
+
+    @Test
+    void testFindIdCachesStoredTags() {
+        Hashtag hashtag = Hashtag.builder().id(4L).content("#java").build();
+        when(hashtagRepository.findHashtagByContent("#java")).thenReturn(hashtag);
+
+        assertEquals(Optional.of(4L), hashtagDictionary.findId("#Java"));
+        assertEquals(Optional.of(4L), hashtagDictionary.findId("java"));
+
+        verify(hashtagRepository, times(1)).findHashtagByContent("#java");
+        verifyNoMoreInteractions(hashtagRepository, postHashtagRepository);
+    }
+
+    @Test
+    void testFindIdOfUnknownTag() {
+        when(hashtagRepository.findHashtagByContent("#missing")).thenReturn(null);
+
+        assertEquals(Optional.empty(), hashtagDictionary.findId("#missing"));
+        assertEquals(Optional.empty(), hashtagDictionary.findId("#missing"));
+
+        verify(hashtagRepository, times(2)).findHashtagByContent("#missing");
+    }
+}
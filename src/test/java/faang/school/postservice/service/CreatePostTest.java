@@ -11,6 +11,7 @@ import faang.school.postservice.model.enums.AuthorType;
 import faang.school.postservice.redis.publisher.NewPostPublisher;
 import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.service.impl.PostServiceImpl;
+import faang.school.postservice.util.moderation.NearDuplicateDetector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,6 +42,9 @@ public class CreatePostTest {
     @Mock
     private PostMapper postMapper;
 
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
     @InjectMocks
     private PostServiceImpl postService;
 
@@ -0,0 +1,363 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.kafka.producer.AuthorPostByHeatKafkaProducer;
+import faang.school.postservice.mapper.RedisPostDtoMapper;
+import faang.school.postservice.model.dto.FeedHeatJobDto;
+import faang.school.postservice.model.entity.Post;
+import faang.school.postservice.model.enums.FeedHeatJobStatus;
+import faang.school.postservice.model.event.kafka.AuthorPostByHeatKafkaEvent;
+import faang.school.postservice.repository.PostRepository;
+import faang.school.postservice.service.impl.FeedHeaterServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FeedHeaterServiceImplTest {
+    private static final String JOB_KEY = "feed:heater:job";
+    private static final String LOCK_KEY = "feed:heater:lock";
+    private static final long WAIT_MILLIS = 2000;
+    private static final LocalDateTime FROM_DATE = LocalDateTime.of(2024, 12, 1, 10, 0);
+    private static final LocalDateTime TO_DATE = LocalDateTime.of(2024, 12, 8, 10, 0);
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private RedisPostService redisPostService;
+
+    @Mock
+    private RedisPostDtoMapper redisPostDtoMapper;
+
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private AuthorPostByHeatKafkaProducer authorPostByHeatKafkaProducer;
+
+    @Mock
+    private RedisScript<Long> releaseLockScript;
+
+    @Mock
+    private RedisScript<Long> extendLockScript;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Captor
+    private ArgumentCaptor<Runnable> watchdogCaptor;
+
+    @Captor
+    private ArgumentCaptor<Map<String, Object>> jobCaptor;
+
+    private ExecutorService feedHeaterExecutor;
+    private FeedHeaterServiceImpl feedHeaterService;
+
+    @BeforeEach
+    void setUp() {
+        feedHeaterExecutor = Executors.newFixedThreadPool(2);
+        feedHeaterService = new FeedHeaterServiceImpl(redisTemplate, postRepository, redisPostService,
+                redisPostDtoMapper, commentService, authorPostByHeatKafkaProducer, feedHeaterExecutor, 0,
+                releaseLockScript, extendLockScript, taskScheduler);
+        ReflectionTestUtils.setField(feedHeaterService, "timeRangeDays", 7);
+        ReflectionTestUtils.setField(feedHeaterService, "batchSize", 2);
+        ReflectionTestUtils.setField(feedHeaterService, "partitionCount", 2);
+        ReflectionTestUtils.setField(feedHeaterService, "checkpointTtlSeconds", 86400L);
+        ReflectionTestUtils.setField(feedHeaterService, "lockTtlSeconds", 60L);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedHeaterExecutor.shutdownNow();
+    }
+
+    @Test
+    void testStartHeating_SplitsIdRangeIntoPartitions() {
+        mockAcquiredLock();
+        PostRepository.IdRange idRange = mock(PostRepository.IdRange.class);
+        when(idRange.getMinId()).thenReturn(1L);
+        when(idRange.getMaxId()).thenReturn(4L);
+        when(idRange.getPostCount()).thenReturn(4L);
+        when(hashOperations.entries(JOB_KEY)).thenReturn(Map.of());
+        when(postRepository.findIdRangeByDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(idRange);
+        when(postRepository.findPostsByDateRangeAfterId(
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(0L), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(createPost(1L), createPost(2L)));
+        when(postRepository.findPostsByDateRangeAfterId(
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(2L), eq(4L), any(Pageable.class)))
+                .thenReturn(List.of(createPost(3L), createPost(4L)));
+        when(authorPostByHeatKafkaProducer.sendEvent(any(AuthorPostByHeatKafkaEvent.class))).thenReturn(true);
+
+        feedHeaterService.startHeatingInBackground();
+
+        verifyLockReleased();
+        verify(hashOperations, times(3)).putAll(eq(JOB_KEY), jobCaptor.capture());
+        Map<String, Object> job = jobCaptor.getAllValues().get(0);
+        assertEquals("2", job.get("partitions"));
+        assertEquals("4", job.get("totalPosts"));
+        assertEquals("0", job.get("partition:0:lastId"));
+        assertEquals("2", job.get("partition:0:endId"));
+        assertEquals("2", job.get("partition:1:lastId"));
+        assertEquals("4", job.get("partition:1:endId"));
+        assertEquals(LocalDateTime.parse(job.get("toDate").toString()).minusDays(7),
+                LocalDateTime.parse(job.get("fromDate").toString()));
+        assertEquals("RUNNING", jobCaptor.getAllValues().get(1).get("status"));
+        assertEquals("COMPLETED", jobCaptor.getAllValues().get(2).get("status"));
+        verify(redisTemplate).expire(JOB_KEY, Duration.ofSeconds(86400));
+        verify(redisPostService, times(2)).savePosts(anyList());
+        verify(authorPostByHeatKafkaProducer, times(4)).sendEvent(any(AuthorPostByHeatKafkaEvent.class));
+        verify(hashOperations, times(2)).put(JOB_KEY, "partition:0:lastId", "2");
+        verify(hashOperations, times(2)).put(JOB_KEY, "partition:1:lastId", "4");
+        verify(hashOperations, times(2)).increment(JOB_KEY, "processedPosts", 2L);
+        verify(hashOperations, times(2)).increment(JOB_KEY, "batches", 1L);
+    }
+
+    @Test
+    void testStartHeating_ResumesFromCheckpoint() {
+        mockAcquiredLock();
+        when(hashOperations.entries(JOB_KEY)).thenReturn(storedJob("RUNNING", "5", "5", "7", "10"));
+        when(postRepository.findPostsByDateRangeAfterId(eq(FROM_DATE), eq(TO_DATE), eq(7L), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(createPost(8L), createPost(10L)));
+        when(authorPostByHeatKafkaProducer.sendEvent(any(AuthorPostByHeatKafkaEvent.class))).thenReturn(true);
+
+        feedHeaterService.startHeatingInBackground();
+
+        verifyLockReleased();
+        verify(redisTemplate, never()).delete(JOB_KEY);
+        verify(postRepository, never()).findIdRangeByDateRange(any(), any());
+        verify(postRepository, never()).findPostsByDateRangeAfterId(any(), any(), eq(5L), anyLong(), any());
+        verify(redisPostService).savePosts(anyList());
+        verify(hashOperations, times(2)).put(JOB_KEY, "partition:1:lastId", "10");
+    }
+
+    @Test
+    void testStartHeating_CountsRejectedSendsAsErrors() {
+        mockAcquiredLock();
+        when(hashOperations.entries(JOB_KEY)).thenReturn(storedJob("RUNNING", "5", "5", "7", "10"));
+        when(postRepository.findPostsByDateRangeAfterId(eq(FROM_DATE), eq(TO_DATE), eq(7L), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(createPost(8L), createPost(10L)));
+        when(authorPostByHeatKafkaProducer.sendEvent(any(AuthorPostByHeatKafkaEvent.class))).thenReturn(true, false);
+
+        feedHeaterService.startHeatingInBackground();
+
+        verifyLockReleased();
+        verify(hashOperations).increment(JOB_KEY, "errors", 1L);
+        verify(hashOperations).increment(JOB_KEY, "processedPosts", 1L);
+        verify(hashOperations, times(2)).put(JOB_KEY, "partition:1:lastId", "10");
+    }
+
+    @Test
+    void testStartHeating_WatchdogExtendsLockOnlyWhileOwned() {
+        mockAcquiredLock();
+        when(hashOperations.entries(JOB_KEY)).thenReturn(storedJob("CANCELLED", "0", "5", "5", "10"));
+        when(hashOperations.get(JOB_KEY, "status")).thenReturn("CANCELLING");
+        when(hashOperations.get(JOB_KEY, "processedPosts")).thenReturn("0");
+        String instanceId = (String) ReflectionTestUtils.getField(feedHeaterService, "instanceId");
+        when(redisTemplate.execute(extendLockScript, List.of(LOCK_KEY), instanceId, "60")).thenReturn(1L);
+
+        feedHeaterService.startHeatingInBackground();
+        verify(taskScheduler).scheduleAtFixedRate(watchdogCaptor.capture(), eq(Duration.ofSeconds(20)));
+        watchdogCaptor.getValue().run();
+
+        verify(redisTemplate).execute(extendLockScript, List.of(LOCK_KEY), instanceId, "60");
+        verifyLockReleased();
+        verify(redisTemplate, never()).delete(LOCK_KEY);
+    }
+
+    @Test
+    void testStartHeating_ReturnsRunningJobWhenLockIsHeld() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), any(), any(Duration.class))).thenReturn(false);
+        when(hashOperations.entries(JOB_KEY)).thenReturn(storedJob("RUNNING", "0", "5", "5", "10"));
+        when(redisTemplate.hasKey(LOCK_KEY)).thenReturn(true);
+
+        FeedHeatJobDto job = feedHeaterService.startHeatingInBackground();
+
+        assertEquals(FeedHeatJobStatus.RUNNING, job.getStatus());
+        verify(hashOperations, never()).putAll(eq(JOB_KEY), any());
+        verify(postRepository, never()).findPostsByDateRangeAfterId(any(), any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testStartHeating_StopsWhenCancelled() {
+        mockAcquiredLock();
+        when(hashOperations.entries(JOB_KEY)).thenReturn(storedJob("CANCELLED", "0", "5", "5", "10"));
+        when(hashOperations.get(JOB_KEY, "status")).thenReturn("CANCELLING");
+        when(hashOperations.get(JOB_KEY, "processedPosts")).thenReturn("0");
+
+        feedHeaterService.startHeatingInBackground();
+
+        verifyLockReleased();
+        verify(hashOperations, times(2)).putAll(eq(JOB_KEY), jobCaptor.capture());
+        assertEquals("CANCELLED", jobCaptor.getAllValues().get(1).get("status"));
+        verify(postRepository, never()).findPostsByDateRangeAfterId(any(), any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testStartHeating_KeepsCheckpointsWhenPartitionFails() {
+        mockAcquiredLock();
+        when(hashOperations.entries(JOB_KEY)).thenReturn(Map.of(
+                "status", "FAILED",
+                "fromDate", FROM_DATE.toString(),
+                "toDate", TO_DATE.toString(),
+                "partitions", "1",
+                "partition:0:lastId", "0",
+                "partition:0:endId", "10"));
+        when(postRepository.findPostsByDateRangeAfterId(eq(FROM_DATE), eq(TO_DATE), eq(0L), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(createPost(1L)));
+        doThrow(new IllegalStateException("Redis is down")).when(redisPostService).savePosts(anyList());
+
+        feedHeaterService.startHeatingInBackground();
+
+        verifyLockReleased();
+        verify(hashOperations, times(2)).putAll(eq(JOB_KEY), jobCaptor.capture());
+        assertEquals("FAILED", jobCaptor.getAllValues().get(1).get("status"));
+        assertEquals("Redis is down", jobCaptor.getAllValues().get(1).get("lastError"));
+        verify(hashOperations).increment(JOB_KEY, "errors", 1L);
+        verify(hashOperations, never()).put(eq(JOB_KEY), eq("partition:0:lastId"), any());
+    }
+
+    @Test
+    void testGetHeatingStatus_ReportsProgressOfRunningJob() {
+        Map<Object, Object> storedJob = new HashMap<>(storedJob("RUNNING", "10", "10", "15", "20"));
+        storedJob.put("startedAt", LocalDateTime.now().minusSeconds(10).toString());
+        storedJob.put("totalPosts", "1100");
+        storedJob.put("processedPosts", "600");
+        storedJob.put("runStartProcessedPosts", "100");
+        storedJob.put("batches", "6");
+        storedJob.put("errors", "1");
+        when(hashOperations.entries(JOB_KEY)).thenReturn(storedJob);
+        when(redisTemplate.hasKey(LOCK_KEY)).thenReturn(true);
+
+        FeedHeatJobDto job = feedHeaterService.getHeatingStatus();
+
+        assertEquals(FeedHeatJobStatus.RUNNING, job.getStatus());
+        assertEquals(600, job.getProcessedPosts());
+        assertEquals(6, job.getBatches());
+        assertEquals(1, job.getErrors());
+        assertEquals(2, job.getPartitions());
+        assertEquals(1, job.getCompletedPartitions());
+        assertTrue(job.getPostsPerSecond() > 45 && job.getPostsPerSecond() <= 50);
+        assertTrue(job.getEtaSeconds() >= 10 && job.getEtaSeconds() <= 12);
+    }
+
+    @Test
+    void testGetHeatingStatus_ReportsJobWithoutLockHolderAsInterrupted() {
+        when(hashOperations.entries(JOB_KEY)).thenReturn(storedJob("RUNNING", "0", "5", "5", "10"));
+        when(redisTemplate.hasKey(LOCK_KEY)).thenReturn(false);
+
+        FeedHeatJobDto job = feedHeaterService.getHeatingStatus();
+
+        assertEquals(FeedHeatJobStatus.INTERRUPTED, job.getStatus());
+        assertNull(job.getEtaSeconds());
+    }
+
+    @Test
+    void testGetHeatingStatus_NotStarted() {
+        when(hashOperations.entries(JOB_KEY)).thenReturn(Map.of());
+
+        assertEquals(FeedHeatJobStatus.NOT_STARTED, feedHeaterService.getHeatingStatus().getStatus());
+    }
+
+    @Test
+    void testCancelHeating_RequestsCancellationOfRunningJob() {
+        when(redisTemplate.hasKey(LOCK_KEY)).thenReturn(true);
+        when(hashOperations.entries(JOB_KEY)).thenReturn(storedJob("CANCELLING", "0", "5", "5", "10"));
+
+        FeedHeatJobDto job = feedHeaterService.cancelHeating();
+
+        verify(hashOperations).put(JOB_KEY, "status", "CANCELLING");
+        assertEquals(FeedHeatJobStatus.CANCELLING, job.getStatus());
+    }
+
+    @Test
+    void testCancelHeating_IgnoredWhenNothingRuns() {
+        when(redisTemplate.hasKey(LOCK_KEY)).thenReturn(false);
+        when(hashOperations.entries(JOB_KEY)).thenReturn(Map.of());
+
+        feedHeaterService.cancelHeating();
+
+        verify(hashOperations, never()).put(any(), any(), any());
+    }
+
+    private void verifyLockReleased() {
+        String instanceId = (String) ReflectionTestUtils.getField(feedHeaterService, "instanceId");
+        verify(redisTemplate, timeout(WAIT_MILLIS)).execute(releaseLockScript, List.of(LOCK_KEY), instanceId);
+    }
+
+    private void mockAcquiredLock() {
+        String instanceId = (String) ReflectionTestUtils.getField(feedHeaterService, "instanceId");
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(LOCK_KEY, instanceId, Duration.ofSeconds(60))).thenReturn(true);
+        when(valueOperations.get(LOCK_KEY)).thenReturn(instanceId);
+    }
+
+    private Map<Object, Object> storedJob(String status, String firstLastId, String firstEndId,
+                                          String secondLastId, String secondEndId) {
+        return Map.of(
+                "status", status,
+                "fromDate", FROM_DATE.toString(),
+                "toDate", TO_DATE.toString(),
+                "partitions", "2",
+                "partition:0:lastId", firstLastId,
+                "partition:0:endId", firstEndId,
+                "partition:1:lastId", secondLastId,
+                "partition:1:endId", secondEndId);
+    }
+
+    private Post createPost(long id) {
+        return Post.builder()
+                .id(id)
+                .authorId(100L + id)
+                .content("Post " + id)
+                .published(true)
+                .publishedAt(LocalDateTime.of(2024, 12, 5, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,568 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.exception.EventPublishingException;
+import faang.school.postservice.kafka.producer.FeedFanOutKafkaProducer;
+import faang.school.postservice.mapper.RedisPostDtoMapper;
+import faang.school.postservice.model.dto.FeedPageDto;
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.entity.Post;
+import faang.school.postservice.model.event.kafka.FeedFanOutKafkaEvent;
+import faang.school.postservice.model.event.kafka.PostPublishedKafkaEvent;
+import faang.school.postservice.repository.PostRepository;
+import faang.school.postservice.service.impl.FeedServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FeedServiceImplTest {
+    private static final List<String> FEED_KEYS = List.of(
+            "newsfeed:user:1", "newsfeed:empty:user:1", "newsfeed:followees:user:1", "celebrities");
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
+    @Mock
+    private RedisConnection redisConnection;
+
+    @Mock
+    private RedisScriptingCommands scriptingCommands;
+
+    @Mock
+    private RedisScript<Long> addPostToFeedsScript;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private UserContext userContext;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private RedisPostService redisPostService;
+
+    @Mock
+    private RedisPostDtoMapper redisPostDtoMapper;
+
+    @Mock
+    private UniqueViewService uniqueViewService;
+
+    @Mock
+    private FeedFanOutKafkaProducer feedFanOutKafkaProducer;
+
+    @InjectMocks
+    private FeedServiceImpl feedService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(feedService, "celebrityFollowerThreshold", 10000);
+        ReflectionTestUtils.setField(feedService, "fanOutTaskSize", 1000);
+        ReflectionTestUtils.setField(feedService, "fanOutSendTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(feedService, "newsFeedSize", 500);
+        ReflectionTestUtils.setField(feedService, "rebuildLockTtlSeconds", 30L);
+        ReflectionTestUtils.setField(feedService, "rebuildWaitTimeoutMillis", 2000L);
+        ReflectionTestUtils.setField(feedService, "userTtlInSeconds", 86400L);
+    }
+
+    @Test
+    void testAddPost_FansOutInChunksWithinOnePipeline() {
+        ReflectionTestUtils.setField(feedService, "fanOutChunkSize", 2);
+        ReflectionTestUtils.setField(feedService, "newsFeedSize", 500);
+        PostPublishedKafkaEvent event = new PostPublishedKafkaEvent(
+                7L, List.of(1L, 2L, 3L, 4L, 5L), LocalDateTime.of(2024, 12, 10, 15, 30));
+
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        when(redisConnection.scriptingCommands()).thenReturn(scriptingCommands);
+        when(addPostToFeedsScript.getSha1()).thenReturn("sha");
+        doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return List.of();
+        }).when(redisTemplate).executePipelined(any(RedisCallback.class));
+
+        feedService.addPost(event);
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        List<Integer> chunkSizes = mockingDetails(scriptingCommands).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("evalSha"))
+                .peek(invocation -> assertEquals("sha", invocation.getArgument(0)))
+                .peek(invocation -> assertEquals(ReturnType.INTEGER, invocation.getArgument(1)))
+                .map(invocation -> (Integer) invocation.getArgument(2))
+                .toList();
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddPost_SplitsLargeFanOutIntoTasks() {
+        ReflectionTestUtils.setField(feedService, "fanOutTaskSize", 2);
+        LocalDateTime publishedAt = LocalDateTime.of(2024, 12, 10, 15, 30);
+        PostPublishedKafkaEvent event = new PostPublishedKafkaEvent(7L, List.of(1L, 2L, 3L, 4L, 5L), publishedAt);
+        ArgumentCaptor<List<FeedFanOutKafkaEvent>> tasksCaptor = ArgumentCaptor.forClass(List.class);
+
+        when(feedFanOutKafkaProducer.sendEventsAcknowledged(tasksCaptor.capture()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        feedService.addPost(event);
+
+        List<FeedFanOutKafkaEvent> tasks = tasksCaptor.getValue();
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)),
+                tasks.stream().map(FeedFanOutKafkaEvent::getFollowerIds).toList());
+        assertEquals(List.of(0, 1, 2), tasks.stream().map(FeedFanOutKafkaEvent::getChunkIndex).toList());
+        tasks.forEach(task -> {
+            assertEquals(7L, task.getPostId());
+            assertEquals(publishedAt, task.getPublishedAt());
+            assertEquals(3, task.getChunkCount());
+        });
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testAddPost_FailedTaskPublishingFailsEvent() {
+        ReflectionTestUtils.setField(feedService, "fanOutTaskSize", 2);
+        PostPublishedKafkaEvent event = new PostPublishedKafkaEvent(7L, List.of(1L, 2L, 3L), LocalDateTime.now());
+
+        when(feedFanOutKafkaProducer.sendEventsAcknowledged(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new EventPublishingException("Too many pending sends")));
+
+        assertThrows(EventPublishingException.class, () -> feedService.addPost(event));
+    }
+
+    @Test
+    void testFanOut_PushesTaskFollowersToFeeds() {
+        ReflectionTestUtils.setField(feedService, "fanOutChunkSize", 500);
+        FeedFanOutKafkaEvent task = new FeedFanOutKafkaEvent(
+                7L, List.of(3L, 4L), LocalDateTime.of(2024, 12, 10, 15, 30), 1, 3);
+
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        when(redisConnection.scriptingCommands()).thenReturn(scriptingCommands);
+        when(addPostToFeedsScript.getSha1()).thenReturn("sha");
+        doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return List.of();
+        }).when(redisTemplate).executePipelined(any(RedisCallback.class));
+
+        feedService.fanOut(task);
+
+        verify(scriptingCommands).evalSha(eq("sha"), eq(ReturnType.INTEGER), eq(2),
+                eq("newsfeed:user:3".getBytes(StandardCharsets.UTF_8)),
+                eq("newsfeed:user:4".getBytes(StandardCharsets.UTF_8)),
+                eq("7".getBytes(StandardCharsets.UTF_8)), any(byte[].class), any(byte[].class));
+        verify(feedFanOutKafkaProducer, never()).sendEventsAcknowledged(anyList());
+    }
+
+    @Test
+    void testAddPost_NoFollowers() {
+        PostPublishedKafkaEvent event = new PostPublishedKafkaEvent(7L, List.of(), LocalDateTime.now());
+
+        feedService.addPost(event);
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testGetNewsFeed_ReadsPageWithOneScriptCall() {
+        Long userId = 1L;
+        int pageSize = 20;
+        List<Object> feedRange = new ArrayList<>();
+        List<Long> cachedPostIds = new ArrayList<>();
+        for (long postId = 1; postId <= pageSize; postId++) {
+            feedRange.add(String.valueOf(postId));
+            feedRange.add(String.valueOf(10000 - postId));
+            cachedPostIds.add(postId);
+        }
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(page(feedRange));
+        mockCachedPosts(cachedPostIds);
+
+        List<RedisPostDto> result = feedService.getNewsFeed(userId, 0, pageSize);
+
+        assertEquals(pageSize, result.size());
+        assertEquals(1L, result.get(0).getPostId());
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(FEED_KEYS),
+                eq("timeline:author:"), eq("+inf"), eq("0"), eq("20"));
+        verify(redisPostService, times(1)).getCachedPosts(eq(cachedPostIds), any());
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+        verify(redisTemplate, never()).hasKey(anyString());
+        verify(redisTemplate, never()).opsForZSet();
+    }
+
+    @Test
+    void testGetNewsFeed_ReportsMissingPostsInSamePass() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(page(List.of("1", "3000", "2", "2000", "3", "1000")));
+        mockCachedPosts(List.of(1L, 3L));
+
+        List<RedisPostDto> result = feedService.getNewsFeed(userId, 0, 3);
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getPostId());
+        assertEquals(3L, result.get(1).getPostId());
+        verify(redisPostService, times(1)).getCachedPosts(eq(List.of(1L, 2L, 3L)), any());
+    }
+
+    @Test
+    void testGetNewsFeed_EmptyFeedSkipsHydration() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(page(List.of()));
+
+        List<RedisPostDto> result = feedService.getNewsFeed(userId, 0, 20);
+
+        assertEquals(0, result.size());
+        verify(redisPostService, never()).getCachedPosts(anyList(), any());
+    }
+
+    @Test
+    void testGetNewsFeedByCursor_FirstPageReturnsNextCursor() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(page(List.of("3", "3000", "2", "2000")));
+        mockCachedPosts(List.of(3L, 2L));
+
+        FeedPageDto result = feedService.getNewsFeedByCursor(userId, null, 2);
+
+        assertEquals(2, result.getPosts().size());
+        assertEquals(3L, result.getPosts().get(0).getPostId());
+        assertEquals(encodeCursor("2000:2"), result.getNextCursor());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(FEED_KEYS),
+                eq("timeline:author:"), eq("+inf"), eq("0"), eq("12"));
+    }
+
+    @Test
+    void testGetNewsFeedByCursor_SkipsAlreadyReturnedPostsWithSameScore() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(page(List.of("5", "2000", "4", "2000", "1", "1000")));
+        mockCachedPosts(List.of(4L, 1L));
+
+        FeedPageDto result = feedService.getNewsFeedByCursor(userId, encodeCursor("2000:5"), 2);
+
+        assertEquals(2, result.getPosts().size());
+        assertEquals(4L, result.getPosts().get(0).getPostId());
+        assertEquals(1L, result.getPosts().get(1).getPostId());
+        assertEquals(encodeCursor("1000:1"), result.getNextCursor());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(FEED_KEYS),
+                eq("timeline:author:"), eq("2000"), eq("0"), eq("12"));
+    }
+
+    @Test
+    void testGetNewsFeedByCursor_LastPageHasNoNextCursor() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(page(List.of("1", "1000")));
+        mockCachedPosts(List.of(1L));
+
+        FeedPageDto result = feedService.getNewsFeedByCursor(userId, encodeCursor("2000:2"), 2);
+
+        assertEquals(1, result.getPosts().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testGetNewsFeedByCursor_KeepsReadingMergedSourcesPastFilteredTies() {
+        Long userId = 1L;
+        List<String> tiesAtCursor = new ArrayList<>();
+        for (String member : List.of("9", "8", "7", "6", "55", "54", "53", "52", "51", "50", "5")) {
+            tiesAtCursor.add(member);
+            tiesAtCursor.add("2000");
+        }
+        List<String> longerFeed = new ArrayList<>(tiesAtCursor);
+        longerFeed.addAll(List.of("4", "2000", "3", "1500"));
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(page(tiesAtCursor, List.of("100", "1000")), page(longerFeed, List.of("100", "1000")));
+        mockCachedPosts(List.of(4L));
+
+        FeedPageDto result = feedService.getNewsFeedByCursor(userId, encodeCursor("2000:5"), 1);
+
+        assertEquals(List.of(4L), result.getPosts().stream().map(RedisPostDto::getPostId).toList());
+        assertEquals(encodeCursor("2000:4"), result.getNextCursor());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(FEED_KEYS),
+                eq("timeline:author:"), eq("2000"), eq("0"), eq("11"));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(FEED_KEYS),
+                eq("timeline:author:"), eq("2000"), eq("11"), eq("11"));
+    }
+
+    @Test
+    void testGetNewsFeedByCursor_InvalidCursor() {
+        when(userContext.getUserId()).thenReturn(1L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> feedService.getNewsFeedByCursor(1L, "not a cursor", 20));
+    }
+
+    @Test
+    void testAddPost_CelebrityPostGoesToAuthorTimeline() {
+        ReflectionTestUtils.setField(feedService, "celebrityFollowerThreshold", 2);
+        PostPublishedKafkaEvent event = new PostPublishedKafkaEvent(
+                7L, List.of(1L, 2L, 3L), LocalDateTime.of(2024, 12, 10, 15, 30));
+
+        when(redisPostService.getCachedPosts(List.of(7L))).thenReturn(Map.of(7L, createPost(7L, 42L)));
+
+        feedService.addPost(event);
+
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testGetNewsFeed_MergesFollowedCelebrityTimelines() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(page(List.of("5", "5000", "2", "2000"), List.of("4", "4000", "3", "3000")));
+        mockCachedPosts(List.of(5L, 4L, 3L));
+
+        List<RedisPostDto> result = feedService.getNewsFeed(userId, 0, 3);
+
+        assertEquals(List.of(5L, 4L, 3L), result.stream().map(RedisPostDto::getPostId).toList());
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any());
+        verify(userServiceClient, never()).getFolloweeIds(anyLong());
+    }
+
+    @Test
+    void testGetNewsFeed_SkipsMergedOffsetOfLaterPages() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(page(List.of("5", "5000", "2", "2000"), List.of("4", "4000", "3", "3000")));
+        mockCachedPosts(List.of(3L, 2L));
+
+        List<RedisPostDto> result = feedService.getNewsFeed(userId, 1, 2);
+
+        assertEquals(List.of(3L, 2L), result.stream().map(RedisPostDto::getPostId).toList());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(FEED_KEYS),
+                eq("timeline:author:"), eq("+inf"), eq("2"), eq("2"));
+    }
+
+    @Test
+    void testGetNewsFeed_LoadsFolloweesWhenNotCached() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(List.of(2L), page(List.of("5", "5000"), List.of("4", "4000")));
+        when(userServiceClient.getFolloweeIds(userId)).thenReturn(List.of(42L));
+        mockCachedPosts(List.of(5L, 4L));
+
+        List<RedisPostDto> result = feedService.getNewsFeed(userId, 0, 2);
+
+        assertEquals(List.of(5L, 4L), result.stream().map(RedisPostDto::getPostId).toList());
+        verify(userServiceClient, times(1)).getFolloweeIds(userId);
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any());
+    }
+
+    @Test
+    void testGetNewsFeed_RebuildsMissingFeedFromDatabase() {
+        Long userId = 1L;
+        Post post = Post.builder()
+                .id(5L)
+                .authorId(10L)
+                .content("Post 5")
+                .publishedAt(LocalDateTime.of(2024, 12, 10, 15, 30))
+                .build();
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(List.of(1L), page(List.of("5", "5000")));
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("newsfeed:rebuild:lock:user:1"), any(), any(Duration.class)))
+                .thenReturn(true);
+        when(userServiceClient.getFolloweeIds(userId)).thenReturn(List.of(10L));
+        when(postRepository.findRecentPublishedByAuthors(eq(List.of(10L)), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(post));
+        when(redisPostDtoMapper.mapToRedisPostDtos(List.of(post))).thenReturn(List.of(new RedisPostDto()));
+        mockCachedPosts(List.of(5L));
+
+        List<RedisPostDto> result = feedService.getNewsFeed(userId, 0, 20);
+
+        assertEquals(1, result.size());
+        verify(redisPostService).savePosts(anyList());
+        verify(zSetOperations).add(eq("newsfeed:user:1"), anySet());
+        verify(redisTemplate).expire("newsfeed:user:1", Duration.ofSeconds(86400));
+        ArgumentCaptor<Object> lockToken = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations).setIfAbsent(eq("newsfeed:rebuild:lock:user:1"), lockToken.capture(), any(Duration.class));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("newsfeed:rebuild:lock:user:1")),
+                eq(lockToken.getValue()));
+        verify(redisTemplate, never()).delete("newsfeed:rebuild:lock:user:1");
+    }
+
+    @Test
+    void testGetNewsFeed_MarksFeedWithoutPostsAsEmpty() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(List.of(1L), page(List.of()));
+        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("newsfeed:rebuild:lock:user:1"), any(), any(Duration.class)))
+                .thenReturn(true);
+        when(userServiceClient.getFolloweeIds(userId)).thenReturn(List.of());
+
+        List<RedisPostDto> result = feedService.getNewsFeed(userId, 0, 20);
+
+        assertEquals(0, result.size());
+        verify(valueOperations).set(eq("newsfeed:empty:user:1"), eq(""), any(Duration.class));
+        verify(postRepository, never()).findRecentPublishedByAuthors(anyList(), any(), any());
+    }
+
+    @Test
+    void testGetNewsFeed_StopsWaitingWhenOtherInstanceMarksFeedEmpty() {
+        Long userId = 1L;
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(List.of(1L), page(List.of()));
+        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("newsfeed:rebuild:lock:user:1"), any(), any(Duration.class)))
+                .thenReturn(false);
+        when(redisTemplate.hasKey("newsfeed:empty:user:1")).thenReturn(false, true);
+
+        long startMillis = System.currentTimeMillis();
+        List<RedisPostDto> result = feedService.getNewsFeed(userId, 0, 20);
+
+        assertEquals(0, result.size());
+        assertTrue(System.currentTimeMillis() - startMillis < 2000);
+        verify(redisTemplate, times(2)).hasKey("newsfeed:empty:user:1");
+        verify(userServiceClient, never()).getFolloweeIds(anyLong());
+    }
+
+    @Test
+    void testGetNewsFeed_ConcurrentMissesShareOneRebuild() throws Exception {
+        Long userId = 1L;
+        CountDownLatch rebuildStarted = new CountDownLatch(1);
+        CountDownLatch releaseRebuild = new CountDownLatch(1);
+
+        when(userContext.getUserId()).thenReturn(userId);
+        mockFeedPages(List.of(1L), List.of(1L), page(List.of()));
+        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("newsfeed:rebuild:lock:user:1"), any(), any(Duration.class)))
+                .thenReturn(true);
+        when(userServiceClient.getFolloweeIds(userId)).thenAnswer(invocation -> {
+            rebuildStarted.countDown();
+            releaseRebuild.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<RedisPostDto>> first = executor.submit(() -> feedService.getNewsFeed(userId, 0, 20));
+            rebuildStarted.await(5, TimeUnit.SECONDS);
+            Future<List<RedisPostDto>> second = executor.submit(() -> feedService.getNewsFeed(userId, 0, 20));
+            Thread.sleep(100);
+            releaseRebuild.countDown();
+
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(userServiceClient, times(1)).getFolloweeIds(userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockFeedPages(List<?> first, List<?>... next) {
+        when(redisTemplate.execute(any(RedisScript.class), eq(FEED_KEYS), any())).thenReturn(first, (Object[]) next);
+    }
+
+    private List<?> page(List<?>... ranges) {
+        List<Object> result = new ArrayList<>();
+        result.add(0L);
+        result.addAll(List.of(ranges));
+        return result;
+    }
+
+    private String encodeCursor(String rawCursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void mockCachedPosts(List<Long> cachedPostIds) {
+        when(redisPostService.getCachedPosts(anyList(), any())).thenAnswer(invocation -> {
+            List<Long> postIds = invocation.getArgument(0);
+            Map<Long, RedisPostDto> posts = new LinkedHashMap<>();
+            postIds.stream()
+                    .filter(cachedPostIds::contains)
+                    .forEach(postId -> posts.put(postId, createPost(postId, 10L)));
+            return posts;
+        });
+    }
+
+    private RedisPostDto createPost(long postId, long authorId) {
+        return RedisPostDto.builder()
+                .postId(postId)
+                .authorId(authorId)
+                .content("Post " + postId)
+                .createdAt(LocalDateTime.of(2024, 12, 9, 16, 59, 33))
+                .build();
+    }
+}
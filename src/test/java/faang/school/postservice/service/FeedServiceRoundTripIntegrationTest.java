@@ -0,0 +1,267 @@
+package faang.school.postservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.redis.testcontainers.RedisContainer;
+import faang.school.postservice.config.context.UserContext;
+import faang.school.postservice.mapper.PostMapper;
+import faang.school.postservice.mapper.RedisPostDtoMapper;
+import faang.school.postservice.model.dto.FeedPageDto;
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
+import faang.school.postservice.redis.dedup.CounterEventFilter;
+import faang.school.postservice.redis.serializer.BinarySafeRedisSerializer;
+import faang.school.postservice.repository.PostRepository;
+import faang.school.postservice.service.impl.FeedServiceImpl;
+import faang.school.postservice.service.impl.RedisPostServiceImpl;
+import faang.school.postservice.service.impl.UniqueViewServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FeedServiceRoundTripIntegrationTest {
+    private static final long READER_ID = 1L;
+    private static final long CELEBRITY_ID = 42L;
+    private static final int MAX_ROUND_TRIPS = 2;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 10, 12, 0);
+
+    @Container
+    private static final RedisContainer REDIS_CONTAINER =
+            new RedisContainer(DockerImageName.parse("redis/redis-stack:latest"));
+
+    private RoundTripCountingConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> cacheRedisTemplate;
+    private FeedServiceImpl feedService;
+    private UniqueViewServiceImpl uniqueViewService;
+    private RedisPostServiceImpl redisPostService;
+
+    @BeforeAll
+    void setUpConnection() {
+        connectionFactory = new RoundTripCountingConnectionFactory(
+                REDIS_CONTAINER.getHost(), REDIS_CONTAINER.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        cacheRedisTemplate = createTemplate(new StringRedisSerializer());
+    }
+
+    @AfterAll
+    void closeConnection() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        cacheRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+
+        uniqueViewService = new UniqueViewServiceImpl(cacheRedisTemplate,
+                RedisScript.of(new ClassPathResource("redis/scripts/release_lock.lua"), Long.class));
+        ReflectionTestUtils.setField(uniqueViewService, "enabled", true);
+        ReflectionTestUtils.setField(uniqueViewService, "hourTtlInSeconds", 172800L);
+
+        redisPostService = new RedisPostServiceImpl(createTemplate(new BinarySafeRedisSerializer()),
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                mock(PostRepository.class), mock(RedisPostDtoMapper.class), mock(PostMapper.class),
+                RedisScript.of(new ClassPathResource("redis/scripts/increment_counter_once.lua"), List.class),
+                new CounterEventFilter(8388608L, 86400L, 86400L, 86400L, 60L, 1000000L, 0.001),
+                uniqueViewService);
+        ReflectionTestUtils.setField(redisPostService, "postTtlInSeconds", 86400L);
+        ReflectionTestUtils.setField(redisPostService, "counterTtlInSeconds", 2592000L);
+        ReflectionTestUtils.setField(redisPostService, "maxRecentComments", 3);
+        ReflectionTestUtils.setField(redisPostService, "counterBucketSize", 40);
+
+        @SuppressWarnings("rawtypes")
+        RedisScript<List> readFeedPageScript =
+                RedisScript.of(new ClassPathResource("redis/scripts/read_feed_page.lua"), List.class);
+        byte[] readFeedPageSource = cacheRedisTemplate.getStringSerializer()
+                .serialize(readFeedPageScript.getScriptAsString());
+        cacheRedisTemplate.execute((RedisCallback<String>) connection ->
+                connection.scriptingCommands().scriptLoad(readFeedPageSource));
+
+        UserContext userContext = new UserContext();
+        userContext.setUserId(READER_ID);
+        feedService = new FeedServiceImpl(cacheRedisTemplate, userContext, mock(PostRepository.class),
+                redisPostService, null, mock(RedisPostDtoMapper.class),
+                RedisScript.of(new ClassPathResource("redis/scripts/add_post_to_feeds.lua"), Long.class),
+                readFeedPageScript,
+                RedisScript.of(new ClassPathResource("redis/scripts/release_lock.lua"), Long.class),
+                null, uniqueViewService, null);
+        ReflectionTestUtils.setField(feedService, "newsFeedSize", 500);
+
+        cacheRedisTemplate.opsForSet().add("newsfeed:followees:user:" + READER_ID, "");
+    }
+
+    @Test
+    void testGetNewsFeed_PushedFeedTakesTwoRoundTrips() {
+        seedFeed(30);
+        uniqueViewService.recordViews(List.of(
+                new PostViewKafkaEvent(30L, 100L, LocalDateTime.now().toString()),
+                new PostViewKafkaEvent(30L, 101L, LocalDateTime.now().toString())));
+
+        connectionFactory.resetRoundTrips();
+        List<RedisPostDto> feed = feedService.getNewsFeed(READER_ID, 0, 20);
+
+        assertEquals(MAX_ROUND_TRIPS, connectionFactory.getRoundTrips());
+        assertEquals(20, feed.size());
+        assertEquals(30L, feed.get(0).getPostId());
+        assertEquals(2L, feed.get(0).getUniqueViewCount());
+        assertEquals(2L, feed.get(0).getDailyUniqueViewCount());
+    }
+
+    @Test
+    void testGetNewsFeed_MergedCelebrityFeedTakesTwoRoundTrips() {
+        seedFeed(30);
+        seedCelebrityTimeline(List.of(1001L, 1002L));
+
+        connectionFactory.resetRoundTrips();
+        List<RedisPostDto> firstPage = feedService.getNewsFeed(READER_ID, 0, 3);
+
+        assertEquals(MAX_ROUND_TRIPS, connectionFactory.getRoundTrips());
+        assertEquals(List.of(30L, 1002L, 29L), firstPage.stream().map(RedisPostDto::getPostId).toList());
+
+        connectionFactory.resetRoundTrips();
+        List<RedisPostDto> secondPage = feedService.getNewsFeed(READER_ID, 1, 3);
+
+        assertEquals(MAX_ROUND_TRIPS, connectionFactory.getRoundTrips());
+        assertEquals(List.of(1001L, 28L, 27L), secondPage.stream().map(RedisPostDto::getPostId).toList());
+    }
+
+    @Test
+    void testGetNewsFeedByCursor_MergedCelebrityFeedTakesTwoRoundTrips() {
+        seedFeed(30);
+        seedCelebrityTimeline(List.of(1001L, 1002L));
+
+        connectionFactory.resetRoundTrips();
+        FeedPageDto firstPage = feedService.getNewsFeedByCursor(READER_ID, null, 3);
+
+        assertEquals(MAX_ROUND_TRIPS, connectionFactory.getRoundTrips());
+        assertNotNull(firstPage.getNextCursor());
+
+        connectionFactory.resetRoundTrips();
+        FeedPageDto secondPage = feedService.getNewsFeedByCursor(READER_ID, firstPage.getNextCursor(), 3);
+
+        assertEquals(MAX_ROUND_TRIPS, connectionFactory.getRoundTrips());
+        assertEquals(List.of(1001L, 28L, 27L),
+                secondPage.getPosts().stream().map(RedisPostDto::getPostId).toList());
+    }
+
+    private void seedFeed(int postCount) {
+        List<RedisPostDto> posts = new ArrayList<>();
+        for (long postId = 1; postId <= postCount; postId++) {
+            posts.add(createPost(postId, 10L, NOW.minusMinutes(2 * (postCount - postId))));
+            cacheRedisTemplate.opsForZSet().add("newsfeed:user:" + READER_ID, String.valueOf(postId),
+                    toScore(NOW.minusMinutes(2 * (postCount - postId))));
+        }
+        redisPostService.savePosts(posts);
+    }
+
+    private void seedCelebrityTimeline(List<Long> postIds) {
+        List<RedisPostDto> posts = new ArrayList<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            LocalDateTime publishedAt = NOW.minusMinutes(2L * (postIds.size() - i) - 1);
+            posts.add(createPost(postIds.get(i), CELEBRITY_ID, publishedAt));
+            cacheRedisTemplate.opsForZSet().add("timeline:author:" + CELEBRITY_ID,
+                    String.valueOf(postIds.get(i)), toScore(publishedAt));
+        }
+        redisPostService.savePosts(posts);
+        cacheRedisTemplate.opsForSet().add("celebrities", String.valueOf(CELEBRITY_ID));
+        cacheRedisTemplate.opsForSet().add("newsfeed:followees:user:" + READER_ID, String.valueOf(CELEBRITY_ID));
+    }
+
+    private RedisPostDto createPost(long postId, long authorId, LocalDateTime createdAt) {
+        return RedisPostDto.builder()
+                .postId(postId)
+                .authorId(authorId)
+                .content("Post " + postId)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private double toScore(LocalDateTime publishedAt) {
+        return publishedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private RedisTemplate<String, Object> createTemplate(RedisSerializer<?> hashValueSerializer) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(hashValueSerializer);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    // A pipeline is one round trip, so is every command sent outside of a pipeline
+    private static class RoundTripCountingConnectionFactory extends LettuceConnectionFactory {
+        private static final Set<String> LOCAL_METHODS = Set.of("close", "isClosed", "isPipelined", "isQueueing",
+                "closePipeline", "getNativeConnection", "getSentinelConnection", "toString", "hashCode", "equals");
+
+        private final AtomicInteger roundTrips = new AtomicInteger();
+
+        RoundTripCountingConnectionFactory(String host, int port) {
+            super(host, port);
+        }
+
+        @Override
+        public RedisConnection getConnection() {
+            RedisConnection connection = super.getConnection();
+            boolean[] pipelined = {false};
+            return (RedisConnection) Proxy.newProxyInstance(RedisConnection.class.getClassLoader(),
+                    new Class<?>[]{RedisConnection.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("openPipeline")) {
+                            pipelined[0] = true;
+                            roundTrips.incrementAndGet();
+                        } else if (name.equals("closePipeline")) {
+                            pipelined[0] = false;
+                        } else if (!pipelined[0] && !LOCAL_METHODS.contains(name)) {
+                            roundTrips.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        int getRoundTrips() {
+            return roundTrips.get();
+        }
+
+        void resetRoundTrips() {
+            roundTrips.set(0);
+        }
+    }
+}
@@ -1,55 +1,113 @@
 package faang.school.postservice.service;
 
-import faang.school.postservice.model.dto.HashtagDto;
-import faang.school.postservice.mapper.HashtagMapper;
-import faang.school.postservice.model.entity.Hashtag;
-import faang.school.postservice.model.entity.Post;
-import faang.school.postservice.repository.HashtagRepository;
+import faang.school.postservice.model.dto.PostDto;
+import faang.school.postservice.repository.HashtagDictionary;
+import faang.school.postservice.repository.PostHashtagRepository;
 import faang.school.postservice.service.impl.HashtagServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
 class HashtagServiceTest {
 
     @Mock
-    private HashtagRepository hashtagRepository;
+    private HashtagDictionary hashtagDictionary;
 
     @Mock
-    private HashtagMapper hashtagMapper;
+    private PostHashtagRepository postHashtagRepository;
 
     @Mock
-    private PostService postService;
+    private TrendingHashtagService trendingHashtagService;
 
     @InjectMocks
     private HashtagServiceImpl hashtagService;
 
-    private Set<HashtagDto> hashtagDtos;
-    private Post post;
-    private Hashtag hashtag;
+    private PostDto postDto;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        HashtagDto hashtagDto = HashtagDto.builder()
-                .id(1L)
-                .postId(100L)
-                .content("#example")
-                .build();
+        postDto = new PostDto();
+        postDto.setId(100L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProcessLinksEachNormalizedTagOnce() {
+        postDto.setContent("#Java and #java, #spring_boot! #Java again #Ёлка");
+        when(hashtagDictionary.resolveIds(Set.of("#java", "#spring_boot", "#ёлка")))
+                .thenReturn(Map.of("#java", 1L, "#spring_boot", 2L, "#ёлка", 3L));
+
+        hashtagService.process(postDto);
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(postHashtagRepository).linkPost(eq(100L), ids.capture());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(ids.getValue()));
+    }
+
+    @Test
+    void testProcessComposesTagsBeforeMatching() {
+        postDto.setContent("#Cafe\u0301 #caf\u00e9");
+        when(hashtagDictionary.resolveIds(Set.of("#caf\u00e9"))).thenReturn(Map.of("#caf\u00e9", 1L));
+
+        hashtagService.process(postDto);
+
+        verify(postHashtagRepository).linkPost(eq(100L), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProcessCountsOnlyNewlyLinkedTagsAsTrending() {
+        postDto.setContent("#java #spring");
+        when(hashtagDictionary.resolveIds(Set.of("#java", "#spring")))
+                .thenReturn(Map.of("#java", 1L, "#spring", 2L));
+        when(postHashtagRepository.linkPost(eq(100L), any())).thenReturn(List.of(2L));
+
+        hashtagService.process(postDto);
+
+        ArgumentCaptor<Collection<String>> trending = ArgumentCaptor.forClass(Collection.class);
+        verify(trendingHashtagService).record(trending.capture());
+        assertEquals(List.of("#spring"), List.copyOf(trending.getValue()));
+    }
+
+    @Test
+    void testProcessSkipsPostsWithoutTags() {
+        postDto.setContent("No tags here, # alone and a price of #");
+
+        hashtagService.process(postDto);
+
+        verifyNoInteractions(hashtagDictionary, trendingHashtagService);
+        verify(postHashtagRepository, never()).linkPost(anyLong(), any());
+    }
 
-        hashtagDtos = new HashSet<>();
-        hashtagDtos.add(hashtagDto);
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProcessSkipsTagsLongerThanColumn() {
+        postDto.setContent("#" + "a".repeat(HashtagDictionary.MAX_TAG_LENGTH) + " #short");
+        when(hashtagDictionary.resolveIds(Set.of("#short"))).thenReturn(Map.of("#short", 7L));
 
-        post = new Post();
-        post.setId(1L);
-        post.setHashtags(new HashSet<>());
+        hashtagService.process(postDto);
 
-        hashtag = new Hashtag();
-        hashtag.setId(1L);
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(postHashtagRepository).linkPost(eq(100L), ids.capture());
+        assertEquals(List.of(7L), List.copyOf(ids.getValue()));
     }
-}
\ No newline at end of file
+}
@@ -8,6 +8,7 @@ import faang.school.postservice.model.entity.Post;
 import faang.school.postservice.redis.publisher.PostViewPublisher;
 import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.service.impl.PostServiceImpl;
+import faang.school.postservice.util.moderation.NearDuplicateDetector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,6 +51,9 @@ public class PublishPostTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
     @InjectMocks
     private PostServiceImpl postService;
 
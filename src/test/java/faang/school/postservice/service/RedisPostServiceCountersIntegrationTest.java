@@ -0,0 +1,119 @@
+package faang.school.postservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.redis.testcontainers.RedisContainer;
+import faang.school.postservice.mapper.PostMapper;
+import faang.school.postservice.mapper.RedisPostDtoMapper;
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.redis.dedup.CounterEventFilter;
+import faang.school.postservice.redis.serializer.BinarySafeRedisSerializer;
+import faang.school.postservice.repository.PostRepository;
+import faang.school.postservice.service.impl.RedisPostServiceImpl;
+import faang.school.postservice.service.impl.UniqueViewServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RedisPostServiceCountersIntegrationTest {
+
+    @Container
+    private static final RedisContainer REDIS_CONTAINER =
+            new RedisContainer(DockerImageName.parse("redis/redis-stack:latest"));
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisPostServiceImpl redisPostService;
+
+    @BeforeAll
+    void setUpConnection() {
+        connectionFactory = new LettuceConnectionFactory(REDIS_CONTAINER.getHost(), REDIS_CONTAINER.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new BinarySafeRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    void closeConnection() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        @SuppressWarnings("rawtypes")
+        RedisScript<List> incrementCounterOnceScript =
+                RedisScript.of(new ClassPathResource("redis/scripts/increment_counter_once.lua"), List.class);
+        redisPostService = new RedisPostServiceImpl(redisTemplate,
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                mock(PostRepository.class), mock(RedisPostDtoMapper.class), mock(PostMapper.class),
+                incrementCounterOnceScript,
+                new CounterEventFilter(8388608L, 86400L, 86400L, 86400L, 60L, 1000000L, 0.001),
+                new UniqueViewServiceImpl(redisTemplate, mock(RedisScript.class)));
+        ReflectionTestUtils.setField(redisPostService, "postTtlInSeconds", 86400L);
+        ReflectionTestUtils.setField(redisPostService, "counterTtlInSeconds", 2592000L);
+        ReflectionTestUtils.setField(redisPostService, "maxRecentComments", 3);
+        ReflectionTestUtils.setField(redisPostService, "counterBucketSize", 40);
+    }
+
+    @Test
+    void testIncrementOnUnseededPostKeepsCountFromDatabase() {
+        redisPostService.incrementLikesWithTransaction(7L, 100L);
+
+        assertNull(redisTemplate.opsForHash().get("post:counters:0", "7:l"));
+
+        redisPostService.savePost(createPost(7L, 1001));
+
+        assertEquals(1001, redisPostService.getPost(7L).getLikeCount());
+    }
+
+    @Test
+    void testIncrementOnSeededPostCountsEachEventOnce() {
+        redisPostService.savePost(createPost(7L, 1001));
+
+        redisPostService.incrementLikesWithTransaction(7L, 100L);
+        redisPostService.incrementLikesWithTransaction(7L, 100L);
+        redisPostService.incrementLikesWithTransaction(7L, 101L);
+
+        assertEquals(1003, redisPostService.getPost(7L).getLikeCount());
+    }
+
+    private RedisPostDto createPost(Long postId, int likeCount) {
+        return RedisPostDto.builder()
+                .postId(postId)
+                .authorId(1L)
+                .content("content")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .likeCount(likeCount)
+                .build();
+    }
+}
@@ -5,23 +5,40 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import faang.school.postservice.mapper.PostMapper;
 import faang.school.postservice.mapper.RedisPostDtoMapper;
 import faang.school.postservice.model.dto.PostDto;
+import faang.school.postservice.model.dto.redis.cache.RedisCommentDto;
 import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
 import faang.school.postservice.model.entity.Post;
+import faang.school.postservice.model.enums.PostCacheFormat;
+import faang.school.postservice.model.event.kafka.CommentSentKafkaEvent;
+import faang.school.postservice.model.event.kafka.LikeKafkaEvent;
+import faang.school.postservice.redis.dedup.CounterEventFilter;
+import faang.school.postservice.redis.serializer.BinarySafeRedisSerializer;
+import faang.school.postservice.redis.serializer.RedisPostDtoSerializer;
 import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.service.impl.RedisPostServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -35,8 +52,10 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -64,14 +83,37 @@ public class RedisPostServiceImplTest {
     private HashOperations<String, Object, Object> hashOperations;
 
     @Mock
-    private ValueOperations<String, Object> valueOperations;
+    private RedisConnection redisConnection;
 
     @Mock
-    private RedisConnection redisConnection;
+    private RedisHashCommands hashCommands;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    @Mock
+    private RedisScriptingCommands scriptingCommands;
+
+    @Mock
+    @SuppressWarnings("rawtypes")
+    private RedisScript<List> incrementCounterOnceScript;
+
+    @Mock
+    private UniqueViewService uniqueViewService;
+
+    @Spy
+    private CounterEventFilter eventFilter =
+            new CounterEventFilter(8388608L, 86400L, 86400L, 86400L, 60L, 1000000L, 0.001);
 
     @InjectMocks
     private RedisPostServiceImpl redisPostService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(redisPostService, "counterBucketSize", 40);
+        ReflectionTestUtils.setField(redisPostService, "counterTtlInSeconds", 2592000L);
+    }
+
     @Test
     void testGetPost_PostInRedis() {
         Long postId = 100L;
@@ -90,6 +132,7 @@ public class RedisPostServiceImplTest {
 
         when(redisTemplate.opsForHash()).thenReturn(hashOperations);
         when(hashOperations.entries(postKey)).thenReturn(redisData);
+        when(uniqueViewService.uniqueViewCountRead()).thenReturn(RedisPostService.PipelinedRead.NONE);
 
         RedisPostDto result = redisPostService.getPost(postId);
 
@@ -99,6 +142,41 @@ public class RedisPostServiceImplTest {
         assertEquals("Test content", result.getContent());
     }
 
+    @Test
+    void testGetPost_AppliesUniqueViewCounts() {
+        Long postId = 100L;
+        Map<Object, Object> redisData = new HashMap<>();
+        redisData.put("postId", "100");
+        redisData.put("authorId", "10");
+        redisData.put("content", "Test content");
+        redisData.put("createdAt", "2024-12-09T16:59:33");
+
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("post:100")).thenReturn(redisData);
+        when(uniqueViewService.uniqueViewCountRead()).thenReturn(new RedisPostService.PipelinedRead() {
+            @Override
+            public int commandsPerPost() {
+                return 2;
+            }
+
+            @Override
+            public void queue(RedisConnection connection, Long postId) {
+            }
+
+            @Override
+            public void apply(RedisPostDto post, List<Object> results) {
+                post.setUniqueViewCount((Long) results.get(0));
+                post.setDailyUniqueViewCount((Long) results.get(1));
+            }
+        });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(7L, 3L));
+
+        RedisPostDto result = redisPostService.getPost(postId);
+
+        assertEquals(7L, result.getUniqueViewCount());
+        assertEquals(3L, result.getDailyUniqueViewCount());
+    }
+
     @Test
     void testGetPost_PostNotInRedis_FetchFromDB() {
         Long postId = 200L;
@@ -136,6 +214,7 @@ public class RedisPostServiceImplTest {
         when(postRepository.findById(postId)).thenReturn(Optional.of(post));
         when(postMapper.toPostDto(post)).thenReturn(postDto);
         when(redisPostDtoMapper.mapToRedisPostDto(postDto)).thenReturn(redisPostDto);
+        when(uniqueViewService.uniqueViewCountRead()).thenReturn(RedisPostService.PipelinedRead.NONE);
 
         RedisPostDto result = redisPostService.getPost(postId);
 
@@ -152,44 +231,15 @@ public class RedisPostServiceImplTest {
     void testIncrementLikesWithTransaction_NewLike() {
         Long postId = 700L;
         Long likeId = 2L;
-        String likeKey = "like:" + likeId;
-        String postKey = "post:" + postId;
-
-        Post post = new Post();
-        post.setId(postId);
-        post.setAuthorId(70L);
-        post.setContent("Like test");
-        post.setCreatedAt(LocalDateTime.now());
 
-        PostDto postDto = new PostDto();
-        postDto.setId(postId);
-
-        RedisPostDto redisPostDto = new RedisPostDto();
-        redisPostDto.setPostId(postId);
-        redisPostDto.setAuthorId(70L);
-        redisPostDto.setCreatedAt(LocalDateTime.now());
-
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(postMapper.toPostDto(post)).thenReturn(postDto);
-        when(redisPostDtoMapper.mapToRedisPostDto(postDto)).thenReturn(redisPostDto);
-        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.setIfAbsent(eq(likeKey), eq("processed"), any())).thenReturn(true);
-        when(hashOperations.entries(postKey)).thenReturn(Collections.emptyMap());
-
-        doAnswer(invocation -> {
-            RedisCallback<?> callback = invocation.getArgument(0);
-            return callback.doInRedis(redisConnection);
-        }).when(redisTemplate).execute(any(RedisCallback.class));
-
-        doNothing().when(redisConnection).multi();
-        when(redisConnection.exec()).thenReturn(Collections.emptyList());
+        stubCounterScript(List.of(List.of(1L)));
 
         redisPostService.incrementLikesWithTransaction(postId, likeId);
 
-        verify(hashOperations, atLeastOnce()).increment(eq(postKey), eq("likeCount"), eq(1L));
-        verify(redisConnection, times(2)).multi();
-        verify(redisConnection, times(2)).exec();
+        assertEquals(List.of(List.of("post:counters:17", "dedup:like:0", "700:l", "2592000", "86400", "1", "2")),
+                counterScriptCalls());
+        verify(hashOperations, never()).entries(anyString());
+        verify(postRepository, never()).findById(any());
     }
 
     @Test
@@ -227,12 +277,10 @@ public class RedisPostServiceImplTest {
         Long authorId = 50L;
         String content = "Test comment";
 
-        String commentKey = "comment:" + commentId;
         String postKey = "post:" + postId;
 
+        stubCounterScript(List.of(List.of(1L)));
         when(redisTemplate.opsForHash()).thenReturn(hashOperations);
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.setIfAbsent(eq(commentKey), eq("processed"), any())).thenReturn(true);
 
         Map<Object, Object> postMap = new HashMap<>();
         postMap.put("postId", postId.toString());
@@ -240,23 +288,25 @@ public class RedisPostServiceImplTest {
         postMap.put("commentCount", "0");
         when(hashOperations.entries(postKey)).thenReturn(postMap);
 
-        doAnswer(invocation -> {
-            RedisCallback<?> callback = invocation.getArgument(0);
-            return callback.doInRedis(redisConnection);
-        }).when(redisTemplate).execute(any(RedisCallback.class));
-        doNothing().when(redisConnection).multi();
-        when(redisConnection.exec()).thenReturn(Collections.emptyList());
-
         when(objectMapper.readValue(eq("[]"), any(TypeReference.class))).thenReturn(new ArrayList<>());
         when(objectMapper.writeValueAsString(anyList()))
                 .thenReturn("[{\"authorId\":50,\"content\":\"Test comment\"}]");
 
         redisPostService.addComment(postId, commentId, authorId, content);
 
+        assertEquals(List.of(List.of("post:counters:12", "dedup:comment:0", "500:c", "2592000", "86400", "1", "5")),
+                counterScriptCalls());
         verify(hashOperations).put(eq(postKey), eq("recentComments"), anyString());
         verify(hashOperations).put(eq(postKey), eq("commentCount"), eq("1"));
-        verify(redisConnection).multi();
-        verify(redisConnection).exec();
+    }
+
+    @Test
+    void testAddComment_AlreadyProcessed() {
+        stubCounterScript(List.of(List.of()));
+
+        redisPostService.addComment(500L, 5L, 50L, "Test comment");
+
+        verify(redisTemplate, never()).opsForHash();
     }
 
 
@@ -265,31 +315,16 @@ public class RedisPostServiceImplTest {
         Long postId = 600L;
         Long viewerId = 60L;
         String viewDateTime = "2024-12-10T12:00:00";
-        String postViewKey = "postView:post:" + postId + ":user:" + viewerId + ":viewDateTime:" + viewDateTime;
-        String postKey = "post:" + postId;
-
-        // Настройка моков Redis
-        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.setIfAbsent(eq(postViewKey), eq("processed"), any())).thenReturn(true);
-
-        Map<Object, Object> postMap = new HashMap<>();
-        postMap.put("postId", postId.toString());
-        postMap.put("viewCount", "0");
-        when(hashOperations.entries(postKey)).thenReturn(postMap);
 
-        doAnswer(invocation -> {
-            RedisCallback<?> callback = invocation.getArgument(0);
-            return callback.doInRedis(redisConnection);
-        }).when(redisTemplate).execute(any(RedisCallback.class));
-        doNothing().when(redisConnection).multi();
-        when(redisConnection.exec()).thenReturn(Collections.emptyList());
+        stubCounterScript(List.of(List.of(1L)));
 
         redisPostService.incrementPostViewsWithTransaction(postId, viewerId, viewDateTime);
 
-        verify(hashOperations).increment(eq(postKey), eq("viewCount"), eq(1L));
-        verify(redisConnection).multi();
-        verify(redisConnection).exec();
+        List<String> scriptCall = counterScriptCalls().get(0);
+        assertEquals(List.of("post:counters:15", "dedup:postView:481620", "600:v", "2592000", "90000", "10"),
+                scriptCall.subList(0, 6));
+        assertEquals(16, scriptCall.size());
+        verify(postRepository, never()).findById(any());
     }
 
 
@@ -307,7 +342,221 @@ public class RedisPostServiceImplTest {
         verify(redisTemplate).executePipelined(any(RedisCallback.class));
     }
 
-}
+    @Test
+    void testGetCachedPosts_ReadsBothFormatsInOnePipeline() {
+        RedisPostDto binaryPost = RedisPostDto.builder()
+                .postId(1L)
+                .authorId(10L)
+                .content("Binary content")
+                .createdAt(LocalDateTime.of(2024, 12, 9, 16, 59, 33))
+                .likeCount(1)
+                .recentComments(List.of(new RedisCommentDto(20L, "Comment")))
+                .build();
+        Map<Object, Object> binaryMap = new HashMap<>();
+        binaryMap.put("body", new RedisPostDtoSerializer().serialize(binaryPost));
+
+        Map<Object, Object> hashMap = new HashMap<>();
+        hashMap.put("postId", bytes("2"));
+        hashMap.put("authorId", bytes("10"));
+        hashMap.put("content", bytes("Hash content"));
+        hashMap.put("createdAt", bytes("2024-12-09T16:59:33"));
+        hashMap.put("likeCount", bytes("3"));
+
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        when(redisConnection.hashCommands()).thenReturn(hashCommands);
+        doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return List.of(
+                    binaryMap, Arrays.asList(bytes("5"), null, null),
+                    Map.of(), Arrays.asList(null, null, null),
+                    hashMap, Arrays.asList(null, bytes("8"), null));
+        }).when(redisTemplate).executePipelined(any(RedisCallback.class));
+
+        Map<Long, RedisPostDto> result = redisPostService.getCachedPosts(List.of(1L, 3L, 2L));
+
+        assertEquals(List.of(1L, 2L), List.copyOf(result.keySet()));
+        assertEquals("Binary content", result.get(1L).getContent());
+        assertEquals(5, result.get(1L).getLikeCount());
+        assertEquals("Comment", result.get(1L).getRecentComments().get(0).getContent());
+        assertEquals("Hash content", result.get(2L).getContent());
+        assertEquals(LocalDateTime.of(2024, 12, 9, 16, 59, 33), result.get(2L).getCreatedAt());
+        assertEquals(3, result.get(2L).getLikeCount());
+        assertEquals(8, result.get(2L).getViewCount());
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(hashCommands, times(3)).hGetAll(any(byte[].class));
+        assertEquals(3, mockingDetails(hashCommands).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("hMGet"))
+                .count());
+    }
+
+    @Test
+    void testGetCachedPosts_SeedsMissingCountersFromCachedPost() {
+        Map<Object, Object> hashMap = new HashMap<>();
+        hashMap.put("postId", bytes("2"));
+        hashMap.put("authorId", bytes("10"));
+        hashMap.put("likeCount", bytes("3"));
+        hashMap.put("viewCount", bytes("7"));
+
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        doReturn(new BinarySafeRedisSerializer()).when(redisTemplate).getHashValueSerializer();
+        when(redisConnection.hashCommands()).thenReturn(hashCommands);
+        when(redisConnection.keyCommands()).thenReturn(keyCommands);
+        doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return List.of(hashMap, Arrays.asList(null, null, null));
+        }).doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return List.of();
+        }).when(redisTemplate).executePipelined(any(RedisCallback.class));
+
+        Map<Long, RedisPostDto> result = redisPostService.getCachedPosts(List.of(2L));
+
+        assertEquals(3, result.get(2L).getLikeCount());
+        assertEquals(7, result.get(2L).getViewCount());
+        verify(hashCommands).hSetNX(bytes("post:counters:0"), bytes("2:l"), bytes("3"));
+        verify(hashCommands).hSetNX(bytes("post:counters:0"), bytes("2:v"), bytes("7"));
+        verify(hashCommands).hSetNX(bytes("post:counters:0"), bytes("2:c"), bytes("0"));
+        verify(keyCommands).expire(bytes("post:counters:0"), 2592000L);
+    }
 
+    @Test
+    void testSavePost_BinaryFormat() {
+        ReflectionTestUtils.setField(redisPostService, "postFormat", PostCacheFormat.BINARY);
+        RedisPostDto postDto = RedisPostDto.builder()
+                .postId(900L)
+                .authorId(90L)
+                .content("Binary content")
+                .createdAt(LocalDateTime.of(2024, 12, 9, 16, 59, 33))
+                .build();
+
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            return callback.doInRedis(redisConnection);
+        }).when(redisTemplate).execute(any(RedisCallback.class));
 
+        redisPostService.savePost(postDto);
 
+        verify(redisTemplate).delete("post:900");
+        verify(hashOperations).put(eq("post:900"), eq("body"), any(byte[].class));
+        verify(hashOperations).putIfAbsent("post:counters:22", "900:l", "0");
+        verify(hashOperations).putIfAbsent("post:counters:22", "900:v", "0");
+        verify(hashOperations).putIfAbsent("post:counters:22", "900:c", "0");
+        assertEquals(1, mockingDetails(hashOperations).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("put"))
+                .count());
+    }
+
+    @Test
+    void testAddComment_KeepsBinaryFormatOfCachedPost() {
+        Long postId = 910L;
+        String postKey = "post:" + postId;
+        RedisPostDto cachedPost = RedisPostDto.builder()
+                .postId(postId)
+                .authorId(91L)
+                .content("Binary content")
+                .createdAt(LocalDateTime.of(2024, 12, 9, 16, 59, 33))
+                .build();
+        Map<Object, Object> postMap = new HashMap<>();
+        postMap.put("body", new RedisPostDtoSerializer().serialize(cachedPost));
+
+        stubCounterScript(List.of(List.of(1L)));
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(postKey)).thenReturn(postMap);
+
+        redisPostService.addComment(postId, 9L, 92L, "New comment");
+
+        verify(hashOperations).put(eq(postKey), eq("body"), any(byte[].class));
+        verify(hashOperations, never()).put(eq(postKey), eq("commentCount"), any());
+        verify(hashOperations, never()).put(eq(postKey), eq("recentComments"), any());
+    }
+
+    @Test
+    void testIncrementLikes_CountsEventsOfOnePostInOneScriptCall() {
+        List<LikeKafkaEvent> events = List.of(new LikeKafkaEvent(1L, 11L), new LikeKafkaEvent(41L, 21L),
+                new LikeKafkaEvent(1L, 12L));
+
+        stubCounterScript(List.of(List.of(1L, 2L), List.of(1L)));
+
+        redisPostService.incrementLikes(events);
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertEquals(List.of(
+                List.of("post:counters:0", "dedup:like:0", "dedup:like:0", "1:l", "2592000", "86400", "1", "11", "12"),
+                List.of("post:counters:1", "dedup:like:0", "41:l", "2592000", "86400", "1", "21")),
+                counterScriptCalls());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddComments_AddsOnlyNewlyCountedCommentsToCachedPost() {
+        ReflectionTestUtils.setField(redisPostService, "maxRecentComments", 3);
+        RedisPostDto cachedPost = RedisPostDto.builder()
+                .postId(910L)
+                .authorId(91L)
+                .content("Binary content")
+                .createdAt(LocalDateTime.of(2024, 12, 9, 16, 59, 33))
+                .commentCount(1)
+                .recentComments(List.of(new RedisCommentDto(90L, "Old comment")))
+                .build();
+        Map<Object, Object> postMap = new HashMap<>();
+        postMap.put("body", new RedisPostDtoSerializer().serialize(cachedPost));
+        List<CommentSentKafkaEvent> events = List.of(
+                new CommentSentKafkaEvent(910L, 92L, 1L, "Duplicate comment"),
+                new CommentSentKafkaEvent(910L, 93L, 2L, "New comment"));
+
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        doReturn(new BinarySafeRedisSerializer()).when(redisTemplate).getHashValueSerializer();
+        when(redisConnection.scriptingCommands()).thenReturn(scriptingCommands);
+        when(redisConnection.hashCommands()).thenReturn(hashCommands);
+        when(incrementCounterOnceScript.getSha1()).thenReturn("sha");
+        List<List<Object>> pipelineResults = new ArrayList<>(List.of(List.of(List.of(2L)), List.of(postMap), List.of()));
+        doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return pipelineResults.remove(0);
+        }).when(redisTemplate).executePipelined(any(RedisCallback.class));
+
+        redisPostService.addComments(events);
+
+        verify(redisTemplate, times(3)).executePipelined(any(RedisCallback.class));
+        Map<byte[], byte[]> fields = (Map<byte[], byte[]>) mockingDetails(hashCommands).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("hMSet"))
+                .findFirst()
+                .orElseThrow()
+                .getArgument(1);
+        RedisPostDto updatedPost = new RedisPostDtoSerializer().deserialize(fields.values().iterator().next());
+        assertEquals(List.of("New comment", "Old comment"), updatedPost.getRecentComments().stream()
+                .map(RedisCommentDto::getContent)
+                .toList());
+        assertEquals(2, updatedPost.getCommentCount());
+    }
+
+    private void stubCounterScript(List<Object> results) {
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        when(redisConnection.scriptingCommands()).thenReturn(scriptingCommands);
+        when(incrementCounterOnceScript.getSha1()).thenReturn("sha");
+        doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return results;
+        }).when(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    private List<List<String>> counterScriptCalls() {
+        return mockingDetails(scriptingCommands).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("evalSha"))
+                .peek(invocation -> assertEquals(ReturnType.MULTI, invocation.getArgument(1)))
+                .map(invocation -> Arrays.stream((byte[][]) invocation.getRawArguments()[3])
+                        .map(value -> new String(value, StandardCharsets.UTF_8))
+                        .toList())
+                .toList();
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,226 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.model.dto.redis.cache.RedisPostDto;
+import faang.school.postservice.model.event.kafka.PostViewKafkaEvent;
+import faang.school.postservice.service.impl.UniqueViewServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHyperLogLogCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UniqueViewServiceImplTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisConnection redisConnection;
+
+    @Mock
+    private RedisHyperLogLogCommands hyperLogLogCommands;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    @Mock
+    private RedisSetCommands setCommands;
+
+    @Mock
+    private SetOperations<String, Object> setOperations;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private Cursor<Object> cursor;
+
+    @Mock
+    private RedisScript<Long> releaseLockScript;
+
+    @InjectMocks
+    private UniqueViewServiceImpl uniqueViewService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(uniqueViewService, "enabled", true);
+        ReflectionTestUtils.setField(uniqueViewService, "hourTtlInSeconds", 172800L);
+        ReflectionTestUtils.setField(uniqueViewService, "dayTtlInSeconds", 2592000L);
+        ReflectionTestUtils.setField(uniqueViewService, "totalTtlInSeconds", 2592000L);
+        ReflectionTestUtils.setField(uniqueViewService, "mergeBatchSize", 500);
+        ReflectionTestUtils.setField(uniqueViewService, "mergeLockTtlSeconds", 300L);
+    }
+
+    @Test
+    void testRecordViews_OnePfAddPerPostAndHour() {
+        List<PostViewKafkaEvent> events = List.of(
+                new PostViewKafkaEvent(1L, 10L, "2024-12-10T12:15:00"),
+                new PostViewKafkaEvent(1L, 11L, "2024-12-10T12:40:00"),
+                new PostViewKafkaEvent(2L, 10L, "2024-12-10T13:01:00"));
+        mockPipeline(List.of());
+        when(redisConnection.hyperLogLogCommands()).thenReturn(hyperLogLogCommands);
+        when(redisConnection.keyCommands()).thenReturn(keyCommands);
+        when(redisConnection.setCommands()).thenReturn(setCommands);
+
+        uniqueViewService.recordViews(events);
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(hyperLogLogCommands).pfAdd(aryEq(bytes("views:unique:post:1:h:2024121012")),
+                aryEq(bytes("10")), aryEq(bytes("11")));
+        verify(hyperLogLogCommands).pfAdd(aryEq(bytes("views:unique:post:2:h:2024121013")), aryEq(bytes("10")));
+        verify(setCommands).sAdd(aryEq(bytes("views:unique:active:2024121012")), aryEq(bytes("1")));
+        verify(setCommands).sAdd(aryEq(bytes("views:unique:active:2024121013")), aryEq(bytes("2")));
+    }
+
+    @Test
+    void testRecordViews_DisabledDoesNothing() {
+        ReflectionTestUtils.setField(uniqueViewService, "enabled", false);
+
+        uniqueViewService.recordViews(List.of(new PostViewKafkaEvent(1L, 10L, "2024-12-10T12:15:00")));
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testUniqueViewCountRead_QueuesTotalAndDailyCounts() {
+        RedisPostDto post = RedisPostDto.builder().postId(1L).build();
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        when(redisConnection.hyperLogLogCommands()).thenReturn(hyperLogLogCommands);
+
+        RedisPostService.PipelinedRead read = uniqueViewService.uniqueViewCountRead();
+        read.queue(redisConnection, 1L);
+        read.apply(post, List.of(50L, 5L));
+
+        assertEquals(2, read.commandsPerPost());
+        assertEquals(2, mockingDetails(hyperLogLogCommands).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("pfCount"))
+                .count());
+        assertEquals(50L, post.getUniqueViewCount());
+        assertEquals(5L, post.getDailyUniqueViewCount());
+    }
+
+    @Test
+    void testUniqueViewCountRead_DisabledQueuesNothing() {
+        ReflectionTestUtils.setField(uniqueViewService, "enabled", false);
+
+        assertEquals(0, uniqueViewService.uniqueViewCountRead().commandsPerPost());
+    }
+
+    @Test
+    void testMergeHour_FoldsHourIntoDayAndTotal() {
+        String activeKey = "views:unique:active:2024121023";
+        String mergingKey = activeKey + ":merging";
+        mockMergeLock(true);
+        when(redisTemplate.hasKey(mergingKey)).thenReturn(false);
+        when(redisTemplate.hasKey(activeKey)).thenReturn(true);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.scan(eq(mergingKey), any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn("1", "2");
+        mockPipeline(List.of());
+        when(redisConnection.hyperLogLogCommands()).thenReturn(hyperLogLogCommands);
+        when(redisConnection.keyCommands()).thenReturn(keyCommands);
+
+        uniqueViewService.mergeHour(LocalDateTime.of(2024, 12, 10, 23, 0));
+
+        for (String postId : List.of("1", "2")) {
+            byte[] hourKey = bytes("views:unique:post:" + postId + ":h:2024121023");
+            byte[] dayKey = bytes("views:unique:post:" + postId + ":d:20241210");
+            byte[] totalKey = bytes("views:unique:post:" + postId);
+            verify(hyperLogLogCommands).pfMerge(aryEq(dayKey), aryEq(dayKey), aryEq(hourKey));
+            verify(hyperLogLogCommands).pfMerge(aryEq(totalKey), aryEq(totalKey), aryEq(hourKey));
+            verify(keyCommands).del(aryEq(hourKey));
+        }
+        verify(redisTemplate).rename(activeKey, mergingKey);
+        verify(redisTemplate).delete(mergingKey);
+        verify(redisTemplate, never()).delete(activeKey);
+        verify(redisTemplate).execute(releaseLockScript, List.of("views:unique:merge:lock:2024121023"),
+                lockToken());
+    }
+
+    @Test
+    void testMergeHour_ResumesLeftoverSnapshotWithoutRenaming() {
+        String mergingKey = "views:unique:active:2024121023:merging";
+        mockMergeLock(true);
+        when(redisTemplate.hasKey(mergingKey)).thenReturn(true);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.scan(eq(mergingKey), any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(false);
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+
+        uniqueViewService.mergeHour(LocalDateTime.of(2024, 12, 10, 23, 0));
+
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+        verify(redisTemplate).delete(mergingKey);
+    }
+
+    @Test
+    void testMergeHour_SkipsHourLockedByAnotherInstance() {
+        mockMergeLock(false);
+
+        uniqueViewService.mergeHour(LocalDateTime.of(2024, 12, 10, 23, 0));
+
+        verify(redisTemplate, never()).opsForSet();
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+        verify(redisTemplate, never()).execute(eq(releaseLockScript), any(), any());
+    }
+
+    private void mockMergeLock(boolean acquired) {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("views:unique:merge:lock:2024121023"), any(), any(Duration.class)))
+                .thenReturn(acquired);
+    }
+
+    private Object lockToken() {
+        return mockingDetails(valueOperations).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("setIfAbsent"))
+                .findFirst()
+                .orElseThrow()
+                .getArgument(1);
+    }
+
+    private void mockPipeline(List<Object> results) {
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return results;
+        }).when(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
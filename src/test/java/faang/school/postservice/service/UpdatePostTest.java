@@ -8,6 +8,7 @@ import faang.school.postservice.redis.publisher.PostViewPublisher;
 import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.mapper.PostMapper;
 import faang.school.postservice.service.impl.PostServiceImpl;
+import faang.school.postservice.util.moderation.NearDuplicateDetector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,7 +16,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.junit.jupiter.api.Assertions.*;
         import static org.mockito.Mockito.*;
 
@@ -34,6 +40,9 @@ public class UpdatePostTest {
     @Mock
     private PostMapper postMapper;
 
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
     @InjectMocks
     private PostServiceImpl postService;
 
@@ -72,6 +81,46 @@ public class UpdatePostTest {
         verify(postMapper).toPostDto(any(Post.class));
     }
 
+    @Test
+    void shouldUnflagNearDuplicateEditedToUniqueContent() {
+        existingPost.setVerified(false);
+        existingPost.setVerifiedDate(LocalDateTime.now());
+        when(postRepository.findById(1L)).thenReturn(java.util.Optional.of(existingPost));
+        when(nearDuplicateDetector.checkAndRemember(1L, "The new, updated content")).thenReturn(OptionalLong.empty());
+
+        postService.updatePost(1L, updatedPostDto);
+
+        assertNull(existingPost.getVerified());
+        assertNull(existingPost.getVerifiedDate());
+        verify(postRepository).save(existingPost);
+    }
+
+    @Test
+    void shouldFlagPostEditedToNearDuplicate() {
+        existingPost.setVerified(true);
+        existingPost.setVerifiedDate(LocalDateTime.now().minusDays(1));
+        when(postRepository.findById(1L)).thenReturn(java.util.Optional.of(existingPost));
+        when(nearDuplicateDetector.checkAndRemember(1L, "The new, updated content")).thenReturn(OptionalLong.of(7L));
+
+        postService.updatePost(1L, updatedPostDto);
+
+        assertFalse(existingPost.getVerified());
+        assertNotNull(existingPost.getVerifiedDate());
+        verify(postRepository).save(existingPost);
+    }
+
+    @Test
+    void shouldKeepVerdictWhenContentIsUnchanged() {
+        existingPost.setVerified(true);
+        updatedPostDto.setContent("The old, original content");
+        when(postRepository.findById(1L)).thenReturn(java.util.Optional.of(existingPost));
+
+        postService.updatePost(1L, updatedPostDto);
+
+        assertTrue(existingPost.getVerified());
+        verify(nearDuplicateDetector, never()).checkAndRemember(anyLong(), anyString());
+    }
+
     @Test
     void shouldThrowExceptionWhenAuthorOrTypeChanged() {
         PostDto invalidPostDto = new PostDto();
@@ -0,0 +1,145 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.repository.PostViewCountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BufferedPostViewCounterTest {
+
+    @Mock
+    private PostViewCountRepository postViewCountRepository;
+
+    @InjectMocks
+    private BufferedPostViewCounter postViewCounter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(postViewCounter, "flushBatchSize", 2);
+        ReflectionTestUtils.setField(postViewCounter, "idleFlushesBeforeEviction", 2);
+    }
+
+    @Test
+    void testFlush_WritesViewsOfConcurrentRequestsInBatches() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = List.of(
+                    executor.submit(() -> incrementTimes(1L, 1000)),
+                    executor.submit(() -> incrementTimes(1L, 1000)),
+                    executor.submit(() -> incrementTimes(2L, 500)),
+                    executor.submit(() -> incrementTimes(3L, 1)));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2000, postViewCounter.getPendingViews(1L));
+        postViewCounter.flush();
+
+        verify(postViewCountRepository).addViewCounts(Map.of(1L, 2000L, 2L, 500L));
+        verify(postViewCountRepository).addViewCounts(Map.of(3L, 1L));
+        assertEquals(0, postViewCounter.getPendingViews(1L));
+    }
+
+    @Test
+    void testFlush_WritesOnlyViewsSinceLastFlush() {
+        incrementTimes(1L, 3);
+        postViewCounter.flush();
+        incrementTimes(1L, 2);
+
+        postViewCounter.flush();
+
+        verify(postViewCountRepository).addViewCounts(Map.of(1L, 3L));
+        verify(postViewCountRepository).addViewCounts(Map.of(1L, 2L));
+    }
+
+    @Test
+    void testFlush_KeepsViewsOfFailedFlush() {
+        incrementTimes(1L, 3);
+        doThrow(new RuntimeException("Database is down")).doReturn(1)
+                .when(postViewCountRepository).addViewCounts(anyMap());
+        postViewCounter.flush();
+        incrementTimes(1L, 1);
+
+        postViewCounter.flush();
+
+        verify(postViewCountRepository).addViewCounts(Map.of(1L, 3L));
+        verify(postViewCountRepository).addViewCounts(Map.of(1L, 4L));
+    }
+
+    @Test
+    void testFlush_DropsIdlePostsWithoutWriting() {
+        incrementTimes(1L, 1);
+        postViewCounter.flush();
+
+        postViewCounter.flush();
+        postViewCounter.flush();
+
+        verify(postViewCountRepository, times(1)).addViewCounts(anyMap());
+        assertEquals(0, ((Map<?, ?>) ReflectionTestUtils.getField(postViewCounter, "pendingViews")).size());
+    }
+
+    @Test
+    void testFlush_KeepsViewsRacingWithIdleEviction() throws Exception {
+        ReflectionTestUtils.setField(postViewCounter, "idleFlushesBeforeEviction", 1);
+        AtomicLong written = new AtomicLong();
+        doAnswer(invocation -> {
+            Map<Long, Long> batch = invocation.getArgument(0);
+            batch.values().forEach(written::addAndGet);
+            return batch.size();
+        }).when(postViewCountRepository).addViewCounts(anyMap());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = List.of(
+                    executor.submit(() -> incrementTimes(1L, 20000)),
+                    executor.submit(() -> incrementTimes(1L, 20000)));
+            while (!futures.stream().allMatch(Future::isDone)) {
+                postViewCounter.flush();
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        postViewCounter.flush();
+
+        assertEquals(40000, written.get());
+    }
+
+    @Test
+    void testFlush_NothingBuffered() {
+        postViewCounter.flushOnShutdown();
+
+        verify(postViewCountRepository, never()).addViewCounts(anyMap());
+    }
+
+    private void incrementTimes(long postId, int times) {
+        for (int i = 0; i < times; i++) {
+            postViewCounter.increment(postId);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.kafka.retry.FailedEventRouter;
+import faang.school.postservice.model.dto.DeadLetterReplayDto;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayServiceImplTest {
+    private static final String TOPIC = "like_topic";
+    private static final String DEAD_LETTER_TOPIC = "like_topic-dlt";
+
+    @Mock
+    private ConsumerFactory<String, byte[]> consumerFactory;
+
+    @Mock
+    private Consumer<String, byte[]> consumer;
+
+    @Mock
+    private FailedEventRouter failedEventRouter;
+
+    private DeadLetterReplayServiceImpl replayService;
+
+    @BeforeEach
+    void setUp() {
+        replayService = new DeadLetterReplayServiceImpl(consumerFactory, failedEventRouter,
+                new String[]{TOPIC}, "replay-group", 100);
+    }
+
+    @Test
+    void replay_SendsDeadLettersBackAndCommitsUpToLimit() {
+        TopicPartition partition = new TopicPartition(DEAD_LETTER_TOPIC, 0);
+        ConsumerRecord<String, byte[]> first = deadLetter(10L, "first");
+        ConsumerRecord<String, byte[]> second = deadLetter(11L, "second");
+        ConsumerRecord<String, byte[]> third = deadLetter(12L, "third");
+
+        when(consumerFactory.createConsumer(eq("replay-group"), eq("dlt-replay"), isNull(), any(Properties.class)))
+                .thenReturn(consumer);
+        when(consumer.partitionsFor(DEAD_LETTER_TOPIC))
+                .thenReturn(List.of(new PartitionInfo(DEAD_LETTER_TOPIC, 0, null, null, null)));
+        when(consumer.poll(Duration.ofMillis(100)))
+                .thenReturn(new ConsumerRecords<>(Map.of(partition, List.of(first, second, third))));
+
+        DeadLetterReplayDto result = replayService.replay(TOPIC, 2);
+
+        assertEquals(2, result.getReplayed());
+        assertEquals(DEAD_LETTER_TOPIC, result.getDeadLetterTopic());
+        verify(consumer).assign(List.of(partition));
+        verify(failedEventRouter).replay(first);
+        verify(failedEventRouter).replay(second);
+        verify(failedEventRouter, never()).replay(third);
+        verify(consumer).commitSync(Map.of(partition, new OffsetAndMetadata(12L)));
+        verify(consumer).close();
+    }
+
+    @Test
+    void replay_StopsWhenDeadLetterTopicIsDrained() {
+        when(consumerFactory.createConsumer(eq("replay-group"), eq("dlt-replay"), isNull(), any(Properties.class)))
+                .thenReturn(consumer);
+        when(consumer.partitionsFor(DEAD_LETTER_TOPIC))
+                .thenReturn(List.of(new PartitionInfo(DEAD_LETTER_TOPIC, 0, null, null, null)));
+        when(consumer.poll(Duration.ofMillis(100))).thenReturn(ConsumerRecords.empty());
+
+        DeadLetterReplayDto result = replayService.replay(TOPIC, 100);
+
+        assertEquals(0, result.getReplayed());
+        verify(consumer, times(1)).poll(Duration.ofMillis(100));
+        verify(consumer, never()).commitSync(any(Map.class));
+        verifyNoInteractions(failedEventRouter);
+    }
+
+    @Test
+    void replay_RejectsTopicWithoutDeadLetters() {
+        assertThrows(IllegalArgumentException.class, () -> replayService.replay("unknown_topic", 10));
+        verifyNoInteractions(consumerFactory);
+    }
+
+    private ConsumerRecord<String, byte[]> deadLetter(long offset, String value) {
+        return new ConsumerRecord<>(DEAD_LETTER_TOPIC, 0, offset, "1", value.getBytes(StandardCharsets.UTF_8));
+    }
+}
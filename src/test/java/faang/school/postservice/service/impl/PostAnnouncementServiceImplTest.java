@@ -0,0 +1,107 @@
+package faang.school.postservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import faang.school.postservice.exception.EventPublishingException;
+import faang.school.postservice.kafka.producer.AuthorPostKafkaProducer;
+import faang.school.postservice.model.event.kafka.AuthorPostKafkaEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostAnnouncementServiceImplTest {
+    private static final String PENDING_KEY = "post:announcement:pending";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private AuthorPostKafkaProducer authorPostKafkaProducer;
+
+    @Mock
+    private Cursor<Map.Entry<Object, Object>> cursor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private PostAnnouncementServiceImpl announcementService;
+
+    @BeforeEach
+    void setUp() {
+        announcementService = new PostAnnouncementServiceImpl(redisTemplate, authorPostKafkaProducer, objectMapper,
+                Runnable::run, 100);
+    }
+
+    @Test
+    void announce_AcknowledgedSendKeepsNothing() {
+        when(authorPostKafkaProducer.sendEventsAcknowledged(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        announcementService.announce(event(1L));
+
+        verify(redisTemplate, never()).opsForHash();
+    }
+
+    @Test
+    void announce_RejectedSendIsKeptForRetry() throws Exception {
+        when(authorPostKafkaProducer.sendEventsAcknowledged(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new EventPublishingException("Too many pending sends")));
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+
+        announcementService.announce(event(1L));
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(hashOperations).put(eq(PENDING_KEY), eq("1"), payload.capture());
+        AuthorPostKafkaEvent kept = objectMapper.readValue((String) payload.getValue(), AuthorPostKafkaEvent.class);
+        assertEquals(1L, kept.getPostId());
+        assertEquals(10L, kept.getAuthorId());
+    }
+
+    @Test
+    void retryPendingAnnouncements_RemovesOnlyAcknowledgedAnnouncements() throws Exception {
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.scan(eq(PENDING_KEY), any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn(
+                new AbstractMap.SimpleEntry<>("1", objectMapper.writeValueAsString(event(1L))),
+                new AbstractMap.SimpleEntry<>("2", objectMapper.writeValueAsString(event(2L))));
+        when(authorPostKafkaProducer.sendEventsAcknowledged(anyList())).thenReturn(
+                CompletableFuture.completedFuture(null),
+                CompletableFuture.failedFuture(new EventPublishingException("Too many pending sends")));
+
+        announcementService.retryPendingAnnouncements();
+
+        verify(hashOperations).delete(PENDING_KEY, "1");
+        verify(hashOperations, never()).delete(PENDING_KEY, "2");
+        verify(hashOperations, never()).put(anyString(), any(), any());
+    }
+
+    private AuthorPostKafkaEvent event(long postId) {
+        return new AuthorPostKafkaEvent(postId, 10L, LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+}
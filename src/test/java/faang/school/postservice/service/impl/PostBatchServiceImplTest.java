@@ -0,0 +1,72 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.model.entity.Post;
+import faang.school.postservice.model.event.application.PostsPublishCommittedEvent;
+import faang.school.postservice.repository.PostRepository;
+import faang.school.postservice.util.moderation.NearDuplicateDetector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostBatchServiceImplTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @InjectMocks
+    private PostBatchServiceImpl postBatchService;
+
+    @Test
+    void testPublishReadyPosts_FlagsNearDuplicatesBeforeAnnouncing() {
+        Post original = Post.builder().id(1L).content("original").build();
+        Post duplicate = Post.builder().id(2L).content("duplicate").build();
+        when(postRepository.publishReadyPosts(10)).thenReturn(List.of(original, duplicate));
+        when(nearDuplicateDetector.checkAndRemember(1L, "original")).thenReturn(OptionalLong.empty());
+        when(nearDuplicateDetector.checkAndRemember(2L, "duplicate")).thenReturn(OptionalLong.of(1L));
+
+        int published = postBatchService.publishReadyPosts(10);
+
+        assertEquals(2, published);
+        assertNull(original.getVerified());
+        assertFalse(duplicate.getVerified());
+        assertNotNull(duplicate.getVerifiedDate());
+        verify(postRepository).saveAll(List.of(duplicate));
+        ArgumentCaptor<PostsPublishCommittedEvent> event = ArgumentCaptor.forClass(PostsPublishCommittedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(original, duplicate), event.getValue().getPosts());
+    }
+
+    @Test
+    void testPublishReadyPosts_UniquePostsAreNotSavedAgain() {
+        Post post = Post.builder().id(1L).content("original").build();
+        when(postRepository.publishReadyPosts(10)).thenReturn(List.of(post));
+        when(nearDuplicateDetector.checkAndRemember(1L, "original")).thenReturn(OptionalLong.empty());
+
+        postBatchService.publishReadyPosts(10);
+
+        verify(postRepository, never()).saveAll(anyList());
+    }
+}
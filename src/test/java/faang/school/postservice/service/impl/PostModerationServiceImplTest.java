@@ -0,0 +1,89 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.repository.PostModerationRepository;
+import faang.school.postservice.repository.PostModerationRepository.UnverifiedPost;
+import faang.school.postservice.util.moderation.ModerationDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostModerationServiceImplTest {
+
+    @Mock
+    private PostModerationRepository postModerationRepository;
+
+    @Mock
+    private ModerationDictionary moderationDictionary;
+
+    private PostModerationServiceImpl postModerationService;
+
+    @BeforeEach
+    void setUp() {
+        postModerationService = new PostModerationServiceImpl(postModerationRepository, moderationDictionary,
+                Runnable::run);
+        ReflectionTestUtils.setField(postModerationService, "chunkSize", 2);
+        ReflectionTestUtils.setField(postModerationService, "maxChunksInFlight", 2);
+        ReflectionTestUtils.setField(postModerationService, "maxPostsPerSecond", 0);
+    }
+
+    @Test
+    void testModerateUnverifiedPosts_ReadsChunksByKeyset() {
+        when(postModerationRepository.findUnverifiedAfter(0L, 2))
+                .thenReturn(List.of(new UnverifiedPost(3L, "clean"), new UnverifiedPost(5L, "swear")));
+        when(postModerationRepository.findUnverifiedAfter(5L, 2))
+                .thenReturn(List.of(new UnverifiedPost(8L, "clean too")));
+        when(moderationDictionary.containsSwearWords("clean")).thenReturn(false);
+        when(moderationDictionary.containsSwearWords("swear")).thenReturn(true);
+        when(moderationDictionary.containsSwearWords("clean too")).thenReturn(false);
+        when(postModerationRepository.saveVerdicts(eq(Map.of(3L, true, 5L, false)), any(LocalDateTime.class)))
+                .thenReturn(2);
+        when(postModerationRepository.saveVerdicts(eq(Map.of(8L, true)), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        int moderated = postModerationService.moderateUnverifiedPosts();
+
+        assertEquals(3, moderated);
+        verify(postModerationRepository, never()).findUnverifiedAfter(8L, 2);
+    }
+
+    @Test
+    void testModerateUnverifiedPosts_FailedChunkDoesNotStopTheRun() {
+        when(postModerationRepository.findUnverifiedAfter(0L, 2))
+                .thenReturn(List.of(new UnverifiedPost(1L, "a"), new UnverifiedPost(2L, "b")));
+        when(postModerationRepository.findUnverifiedAfter(2L, 2))
+                .thenReturn(List.of(new UnverifiedPost(3L, "c"), new UnverifiedPost(4L, "d")));
+        when(postModerationRepository.findUnverifiedAfter(4L, 2)).thenReturn(List.of());
+        when(postModerationRepository.saveVerdicts(eq(Map.of(1L, true, 2L, true)), any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("Database is unavailable"));
+        when(postModerationRepository.saveVerdicts(eq(Map.of(3L, true, 4L, true)), any(LocalDateTime.class)))
+                .thenReturn(2);
+
+        int moderated = postModerationService.moderateUnverifiedPosts();
+
+        assertEquals(2, moderated);
+    }
+
+    @Test
+    void testModerateUnverifiedPosts_NothingToVerify() {
+        when(postModerationRepository.findUnverifiedAfter(0L, 2)).thenReturn(List.of());
+
+        assertEquals(0, postModerationService.moderateUnverifiedPosts());
+        verify(postModerationRepository, never()).saveVerdicts(anyMap(), any());
+    }
+}
@@ -4,11 +4,15 @@ import faang.school.postservice.config.context.UserContext;
 import faang.school.postservice.exception.DataValidationException;
 import faang.school.postservice.mapper.PostMapper;
 import faang.school.postservice.model.dto.PostDto;
+import faang.school.postservice.model.dto.PostPageDto;
 import faang.school.postservice.model.entity.Post;
 import faang.school.postservice.redis.publisher.PostViewPublisher;
+import faang.school.postservice.repository.HashtagDictionary;
 import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.service.BatchProcessService;
-import faang.school.postservice.util.moderation.ModerationDictionary;
+import faang.school.postservice.service.PostBatchService;
+import faang.school.postservice.service.PostViewCounter;
+import faang.school.postservice.util.moderation.NearDuplicateDetector;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +23,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
@@ -28,16 +33,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -58,15 +67,27 @@ class PostServiceImplTest {
     @Mock
     private PostMapper postMapper;
 
-    @Mock
-    ModerationDictionary moderationDictionary;
-
     @Mock
     private BatchProcessService batchProcessService;
 
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Mock
+    private PostViewCounter postViewCounter;
+
+    @Mock
+    private PostBatchService postBatchService;
+
+    @Mock
+    private ExecutorService schedulingThreadPoolExecutor;
+
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @Mock
+    private HashtagDictionary hashtagDictionary;
+
     @InjectMocks
     private PostServiceImpl postService;
 
@@ -86,8 +107,6 @@ class PostServiceImplTest {
         postDto.setContent("Test post DTO");
 
         ReflectionTestUtils.setField(postService, "correcterBatchSize", 100);
-
-        ReflectionTestUtils.setField(postService, "moderationBatchSize", 2);
     }
 
     @Test
@@ -95,28 +114,41 @@ class PostServiceImplTest {
         Pageable pageable = mock(Pageable.class);
         Page<Post> postPage = new PageImpl<>(List.of(post));
 
-        when(postRepository.incrementViewCount(post.getId())).thenReturn(1);
-        when(postRepository.findByHashtagsContent(anyString(), any(Pageable.class))).thenReturn(postPage);
+        when(hashtagDictionary.findId("#Hashtag")).thenReturn(Optional.of(5L));
+        when(postRepository.findByHashtagId(5L, pageable)).thenReturn(postPage);
         when(postMapper.toPostDto(any(Post.class))).thenReturn(postDto);
 
-        Page<PostDto> result = postService.getAllPostsByHashtagId("#hashtag", pageable);
+        Page<PostDto> result = postService.getAllPostsByHashtagId("#Hashtag", pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(postRepository, times(1)).findByHashtagsContent(anyString(), any(Pageable.class));
+        verify(postRepository, times(1)).findByHashtagId(5L, pageable);
         verify(postMapper, times(1)).toPostDto(any(Post.class));
+        verify(postViewCounter, times(1)).increment(1L);
+    }
+
+    @Test
+    void testGetAllPostsByHashtagId_UnknownHashtag() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(hashtagDictionary.findId("#unknown")).thenReturn(Optional.empty());
+
+        Page<PostDto> result = postService.getAllPostsByHashtagId("#unknown", pageable);
+
+        assertTrue(result.isEmpty());
+        verify(postRepository, never()).findByHashtagId(anyLong(), any(Pageable.class));
+        verify(postViewCounter, never()).increment(anyLong());
     }
 
     @Test
     void testGetPostByIdInternal_PostExists() {
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(postRepository.incrementViewCount(1L)).thenReturn(1);
 
         Post result = postService.getPostByIdInternal(1L);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
         verify(postRepository, times(1)).findById(1L);
+        verify(postViewCounter, times(1)).increment(1L);
     }
 
     @Test
@@ -129,6 +161,7 @@ class PostServiceImplTest {
 
         verify(postRepository, times(1)).findById(1L);
         verify(postViewPublisher,times(0)).publish(any());
+        verify(postViewCounter, never()).increment(1L);
     }
 
     @Test
@@ -146,40 +179,66 @@ class PostServiceImplTest {
     void testGetAllPostPublishedByUser() {
         Long authorId = 1L;
 
-        post.setPublished(true);
-        post.setDeleted(false);
-
-        when(postRepository.incrementViewCount(post.getId())).thenReturn(1);
-        when(postRepository.findByAuthorId(authorId)).thenReturn(List.of(post));
+        when(postRepository.findPublishedByAuthorBefore(eq(authorId), any(LocalDateTime.class), eq(Long.MAX_VALUE),
+                eq(PageRequest.of(0, 21)))).thenReturn(List.of(post));
         when(postMapper.toPostDto(any(Post.class))).thenReturn(postDto);
 
-        List<PostDto> result = postService.getAllPostPublishedByUser(authorId);
+        PostPageDto result = postService.getAllPostPublishedByUser(authorId, null, 20);
 
-        assertEquals(1, result.size());
-        assertEquals(postDto.getId(), result.get(0).getId());
-        assertEquals(postDto.getPublishedAt(), result.get(0).getPublishedAt());
-        verify(postRepository, times(1)).findByAuthorId(authorId);
+        assertEquals(1, result.getPosts().size());
+        assertEquals(postDto.getId(), result.getPosts().get(0).getId());
+        assertEquals(postDto.getPublishedAt(), result.getPosts().get(0).getPublishedAt());
+        assertNull(result.getNextCursor());
         verify(postMapper, times(1)).toPostDto(any(Post.class));
+        verify(postViewCounter, times(1)).increment(1L);
     }
 
     @Test
     void testGetAllPostPublishedByProject() {
         Long projectId = 2L;
 
-        post.setPublished(true);
-        post.setDeleted(false);
-
-        when(postRepository.incrementViewCount(post.getId())).thenReturn(1);
-        when(postRepository.findByProjectId(projectId)).thenReturn(List.of(post));
+        when(postRepository.findPublishedByProjectBefore(eq(projectId), any(LocalDateTime.class), eq(Long.MAX_VALUE),
+                eq(PageRequest.of(0, 21)))).thenReturn(List.of(post));
         when(postMapper.toPostDto(any(Post.class))).thenReturn(postDto);
 
-        List<PostDto> result = postService.getAllPostPublishedByProject(projectId);
+        PostPageDto result = postService.getAllPostPublishedByProject(projectId, null, 20);
 
-        assertEquals(1, result.size());
-        assertEquals(postDto.getId(), result.get(0).getId());
-        assertEquals(postDto.getPublishedAt(), result.get(0).getPublishedAt());
-        verify(postRepository, times(1)).findByProjectId(projectId);
+        assertEquals(1, result.getPosts().size());
+        assertEquals(postDto.getId(), result.getPosts().get(0).getId());
+        assertEquals(postDto.getPublishedAt(), result.getPosts().get(0).getPublishedAt());
+        assertNull(result.getNextCursor());
         verify(postMapper, times(1)).toPostDto(any(Post.class));
+        verify(postViewCounter, times(1)).increment(1L);
+    }
+
+    @Test
+    void testGetUserDrafts_NextPageContinuesAfterCursor() {
+        Long authorId = 1L;
+        LocalDateTime createdAt = LocalDateTime.of(2024, 12, 10, 15, 30, 0, 123_456_000);
+        Post newest = Post.builder().id(12L).createdAt(createdAt.plusMinutes(1)).build();
+        Post last = Post.builder().id(11L).createdAt(createdAt).build();
+        Post older = Post.builder().id(10L).createdAt(createdAt.minusMinutes(1)).build();
+
+        when(postRepository.findDraftsByAuthorBefore(eq(authorId), any(LocalDateTime.class), eq(Long.MAX_VALUE),
+                eq(PageRequest.of(0, 3)))).thenReturn(List.of(newest, last, older));
+        when(postRepository.findDraftsByAuthorBefore(authorId, createdAt, 11L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(older));
+        when(postMapper.toPostDto(any(Post.class))).thenReturn(postDto);
+
+        PostPageDto firstPage = postService.getUserDrafts(authorId, null, 2);
+        PostPageDto secondPage = postService.getUserDrafts(authorId, firstPage.getNextCursor(), 2);
+
+        assertEquals(2, firstPage.getPosts().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, secondPage.getPosts().size());
+        assertNull(secondPage.getNextCursor());
+        verify(postViewCounter, never()).increment(anyLong());
+    }
+
+    @Test
+    void testGetProjectDrafts_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> postService.getProjectDrafts(2L, "not-a-cursor", 20));
+        verify(postRepository, never()).findDraftsByProjectBefore(anyLong(), any(), anyLong(), any());
     }
 
     @Test
@@ -220,68 +279,62 @@ class PostServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should do nothing when no unpublished posts are found")
-    public void testCorrectSpellingInUnpublishedPosts_NoPosts() {
-        when(postRepository.findReadyToPublish()).thenReturn(Collections.emptyList());
-
-        postService.correctSpellingInUnpublishedPosts();
-
-        verify(batchProcessService, never()).processBatch(anyList());
+    @DisplayName("Should grow claimed batches while they come back full")
+    void testPublishScheduledPosts_GrowsBatchesUntilBacklogIsDrained() {
+        ReflectionTestUtils.setField(postService, "publishWorkers", 2);
+        ReflectionTestUtils.setField(postService, "initialPublishBatchSize", 2);
+        ReflectionTestUtils.setField(postService, "batchSize", 4);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(schedulingThreadPoolExecutor).execute(any(Runnable.class));
+        when(postBatchService.publishReadyPosts(2)).thenReturn(2, 0);
+        when(postBatchService.publishReadyPosts(4)).thenReturn(4, 1);
+
+        List<CompletableFuture<Void>> futures = postService.publishScheduledPosts();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(2, futures.size());
+        verify(postBatchService, times(2)).publishReadyPosts(2);
+        verify(postBatchService, times(2)).publishReadyPosts(4);
     }
 
     @Test
-    @DisplayName("Should return split list of unverified posts")
-    void testFindAndSplitUnverifiedPosts_Success() {
-        List<Post> unverifiedPosts = List.of(
-                Post.builder().id(1L).build(),
-                Post.builder().id(2L).build(),
-                Post.builder().id(3L).build()
-        );
-
-        when(postRepository.findAllByVerifiedDateIsNull()).thenReturn(unverifiedPosts);
-
-        List<List<Post>> result = postService.findAndSplitUnverifiedPosts();
+    @DisplayName("Should store a published near duplicate as not verified")
+    void testPublishPost_NearDuplicateIsNotVerified() {
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(nearDuplicateDetector.checkAndRemember(1L, "Test post")).thenReturn(OptionalLong.of(7L));
+        when(postRepository.save(post)).thenReturn(post);
+        when(postMapper.toPostDto(post)).thenReturn(postDto);
 
-        assertEquals(2, result.size());
-        assertEquals(2, result.get(0).size());
-        assertEquals(1, result.get(1).size());
+        postService.publishPost(1L);
 
-        verify(postRepository, times(1)).findAllByVerifiedDateIsNull();
+        assertTrue(post.isPublished());
+        assertFalse(post.getVerified());
+        assertNotNull(post.getVerifiedDate());
     }
 
     @Test
-    @DisplayName("Should return empty list when no unverified posts are found")
-    void testFindAndSplitUnverifiedPosts_NoPostsFound() {
-        when(postRepository.findAllByVerifiedDateIsNull()).thenReturn(Collections.emptyList());
-
-        List<List<Post>> result = postService.findAndSplitUnverifiedPosts();
+    @DisplayName("Should leave a published original to the scheduled moderation")
+    void testPublishPost_OriginalIsLeftUnverified() {
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(nearDuplicateDetector.checkAndRemember(1L, "Test post")).thenReturn(OptionalLong.empty());
+        when(postRepository.save(post)).thenReturn(post);
+        when(postMapper.toPostDto(post)).thenReturn(postDto);
 
-        assertTrue(result.isEmpty(), "Expected an empty list of unverified posts");
+        postService.publishPost(1L);
 
-        verify(postRepository, times(1)).findAllByVerifiedDateIsNull();
+        assertNull(post.getVerified());
+        assertNull(post.getVerifiedDate());
     }
 
     @Test
-    @DisplayName("Should verify posts for swear words")
-    void testVerifyPostsForSwearWords_Success() {
-        List<Post> unverifiedPostsBatch = List.of(
-                Post.builder().id(1L).content("This is clean content")
-                        .verified(null).verifiedDate(null).build(),
-                Post.builder().id(2L).content("This is bad content")
-                        .verified(null).verifiedDate(null).build()
-        );
-
-        when(moderationDictionary.containsSwearWords("This is clean content")).thenReturn(true);
-        when(moderationDictionary.containsSwearWords("This is bad content")).thenReturn(false);
-
-        CompletableFuture<Void> future = postService.verifyPostsForSwearWords(unverifiedPostsBatch);
-        future.join();
-
-        assertFalse(unverifiedPostsBatch.get(0).getVerified());
-        assertNotNull(unverifiedPostsBatch.get(0).getVerifiedDate());
-        assertTrue(unverifiedPostsBatch.get(1).getVerified());
-        assertNotNull(unverifiedPostsBatch.get(1).getVerifiedDate());
-
-        verify(postRepository, times(1)).saveAll(unverifiedPostsBatch);
+    @DisplayName("Should do nothing when no unpublished posts are found")
+    public void testCorrectSpellingInUnpublishedPosts_NoPosts() {
+        when(postRepository.findReadyForSpellCheck()).thenReturn(Collections.emptyList());
+
+        postService.correctSpellingInUnpublishedPosts();
+
+        verify(batchProcessService, never()).processBatch(anyList());
     }
 }
@@ -0,0 +1,119 @@
+package faang.school.postservice.service.impl;
+
+import faang.school.postservice.model.dto.TrendingHashtagDto;
+import faang.school.postservice.model.enums.TrendingWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingHashtagServiceImplTest {
+    private static final long MINUTE = 60_000L;
+    private static final String TTL = "86520";
+    private static final List<String> SLICE_ZERO_KEYS = List.of("trending:{hashtags}:slice:0",
+            "trending:{hashtags}:added:0:instance-1",
+            "trending:{hashtags}:hour", "trending:{hashtags}:expired:hour:0",
+            "trending:{hashtags}:day", "trending:{hashtags}:expired:day:0");
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisScript<Long> addTrendingSliceScript;
+
+    @Mock
+    private RedisScript<Long> expireTrendingSliceScript;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
+    private TrendingHashtagServiceImpl trendingHashtagService;
+
+    @BeforeEach
+    void setUp() {
+        trendingHashtagService = new TrendingHashtagServiceImpl(redisTemplate,
+                addTrendingSliceScript, expireTrendingSliceScript);
+        ReflectionTestUtils.setField(trendingHashtagService, "sliceSeconds", 60L);
+        ReflectionTestUtils.setField(trendingHashtagService, "topK", 10);
+        ReflectionTestUtils.setField(trendingHashtagService, "sketchWidth", 256);
+        ReflectionTestUtils.setField(trendingHashtagService, "sketchDepth", 4);
+        ReflectionTestUtils.setField(trendingHashtagService, "catchUpSlices", 0L);
+        ReflectionTestUtils.setField(trendingHashtagService, "instanceId", "instance-1");
+    }
+
+    @Test
+    void testCurrentSliceIsNotFlushed() {
+        trendingHashtagService.record(List.of("#java"), 0);
+
+        trendingHashtagService.flush(MINUTE - 1);
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), any(List.class), any());
+    }
+
+    @Test
+    void testCompletedSliceIsAddedToWindows() {
+        trendingHashtagService.record(List.of("#java"), 0);
+        trendingHashtagService.record(List.of("#java"), MINUTE / 2);
+
+        trendingHashtagService.flush(MINUTE);
+        trendingHashtagService.flush(MINUTE);
+
+        verify(redisTemplate, times(1)).execute(addTrendingSliceScript, SLICE_ZERO_KEYS, TTL, "#java", "2");
+    }
+
+    @Test
+    void testFailedSliceIsRetried() {
+        when(redisTemplate.execute(addTrendingSliceScript, SLICE_ZERO_KEYS, TTL, "#java", "1"))
+                .thenThrow(new RedisConnectionFailureException("Redis is down"))
+                .thenReturn(2L);
+        trendingHashtagService.record(List.of("#java"), 0);
+
+        trendingHashtagService.flush(MINUTE);
+        trendingHashtagService.flush(MINUTE);
+
+        verify(redisTemplate, times(2)).execute(addTrendingSliceScript, SLICE_ZERO_KEYS, TTL, "#java", "1");
+    }
+
+    @Test
+    void testSlicesLeavingWindowAreExpiredOnce() {
+        trendingHashtagService.flush(61 * MINUTE);
+        trendingHashtagService.flush(62 * MINUTE);
+        trendingHashtagService.flush(62 * MINUTE);
+
+        verify(redisTemplate, times(1)).execute(expireTrendingSliceScript, List.of("trending:{hashtags}:slice:1",
+                "trending:{hashtags}:hour", "trending:{hashtags}:expired:hour:1"), TTL);
+    }
+
+    @Test
+    void testGetTrendingReadsWindow() {
+        Set<TypedTuple<Object>> tuples = new LinkedHashSet<>();
+        tuples.add(new DefaultTypedTuple<>("#java", 12.0));
+        tuples.add(new DefaultTypedTuple<>("#spring", 5.0));
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRangeWithScores("trending:{hashtags}:day", 0, 1)).thenReturn(tuples);
+
+        List<TrendingHashtagDto> trending = trendingHashtagService.getTrending(TrendingWindow.DAY, 2);
+
+        assertEquals(List.of(new TrendingHashtagDto("#java", 12), new TrendingHashtagDto("#spring", 5)), trending);
+    }
+}
@@ -2,6 +2,7 @@ package faang.school.postservice.service.messaging.likepost;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import faang.school.postservice.redis.publisher.LikeEventPublisher;
+import faang.school.postservice.redis.publisher.RedisPublishQueue;
 import faang.school.postservice.model.enums.LikePostEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,7 +10,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 
 import static org.mockito.Mockito.times;
@@ -20,7 +20,7 @@ import static org.mockito.Mockito.when;
 class LikeEventPublisherTest {
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private RedisPublishQueue publishQueue;
 
     @Mock
     private ObjectMapper objectMapper;
@@ -44,6 +44,6 @@ class LikeEventPublisherTest {
 
         likeEventPublisher.publish(likePostEvent);
 
-        verify(redisTemplate, times(1)).convertAndSend("likeEventTopic", eventJson);
+        verify(publishQueue, times(1)).enqueue("likeEventTopic", eventJson);
     }
 }
\ No newline at end of file
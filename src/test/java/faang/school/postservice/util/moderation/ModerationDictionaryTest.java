@@ -0,0 +1,124 @@
+package faang.school.postservice.util.moderation;
+
+import faang.school.postservice.exception.DictionarySourceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModerationDictionaryTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testMatchesSubstringsIgnoringCase() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("he", "she", "hers", "STRASSE"), false);
+
+        assertTrue(matcher.containsAny("uSHErs"));
+        assertTrue(matcher.containsAny("Die Strasse ist lang"));
+        assertTrue(matcher.containsAny("ahe"));
+        assertFalse(matcher.containsAny("hostel"));
+        assertFalse(matcher.containsAny(""));
+    }
+
+    @Test
+    void testMatchesThroughFailureLinks() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("abcd", "bce"), false);
+
+        assertTrue(matcher.containsAny("xabce"));
+        assertFalse(matcher.containsAny("abcabc"));
+    }
+
+    @Test
+    void testFoldsNonLatinCase() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("ΣΚΥΛΟΣ", "Дурак"), false);
+
+        assertTrue(matcher.containsAny("какой ДУРАК"));
+        assertTrue(matcher.containsAny("σκυλος"));
+        assertTrue(matcher.containsAny("σκυλος".replace('σ', 'ς')));
+    }
+
+    @Test
+    void testWholeWordsRequireBoundaries() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("ass", "bad word"), true);
+
+        assertFalse(matcher.containsAny("classic passage"));
+        assertTrue(matcher.containsAny("you ass!"));
+        assertTrue(matcher.containsAny("ASS"));
+        assertTrue(matcher.containsAny("a Bad Word, really"));
+        assertFalse(matcher.containsAny("bad words"));
+    }
+
+    @Test
+    void testWholeWordsCheckEveryWordEndingAtPosition() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("kerfuffle", "fuffle"), true);
+
+        assertTrue(matcher.containsAny("a fuffle"));
+        assertTrue(matcher.containsAny("kerfuffle"));
+        assertFalse(matcher.containsAny("akerfuffle"));
+    }
+
+    @Test
+    void testSkipsBlankAndDuplicateLines() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("word", " WORD ", "", "  "), false);
+
+        assertEquals(1, matcher.size());
+        assertFalse(matcher.containsAny("   "));
+    }
+
+    @Test
+    void testReloadsModifiedFile() throws IOException {
+        Path file = directory.resolve("swear_words.txt");
+        Files.write(file, List.of("bamboozle"));
+        ModerationDictionary dictionary = createDictionary(file);
+        dictionary.init();
+
+        assertTrue(dictionary.containsSwearWords("Don't BAMBOOZLE me"));
+        assertFalse(dictionary.containsSwearWords("what a kerfuffle"));
+
+        Files.write(file, List.of("kerfuffle"));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        dictionary.reloadIfModified();
+
+        assertFalse(dictionary.containsSwearWords("Don't BAMBOOZLE me"));
+        assertTrue(dictionary.containsSwearWords("what a kerfuffle"));
+    }
+
+    @Test
+    void testKeepsWordsWhenReloadFails() throws IOException {
+        Path file = directory.resolve("swear_words.txt");
+        Files.write(file, List.of("bamboozle"));
+        ModerationDictionary dictionary = createDictionary(file);
+        dictionary.init();
+
+        Files.delete(file);
+        dictionary.reloadIfModified();
+
+        assertTrue(dictionary.containsSwearWords("bamboozle"));
+    }
+
+    @Test
+    void testInitFailsWithoutFile() {
+        ModerationDictionary dictionary = createDictionary(directory.resolve("missing.txt"));
+
+        assertThrows(DictionarySourceException.class, dictionary::init);
+    }
+
+    private ModerationDictionary createDictionary(Path file) {
+        ModerationDictionary dictionary = new ModerationDictionary();
+        ReflectionTestUtils.setField(dictionary, "filePath", file.toString());
+        return dictionary;
+    }
+}
@@ -0,0 +1,94 @@
+package faang.school.postservice.util.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicateDetectorTest {
+    private static final String SPAM = "Win a brand new iPhone today! Just click the link in my profile " +
+            "and enter your card details to claim the prize";
+    private static final String HIKING = "I spent the weekend hiking in the mountains with my family " +
+            "and the weather was lovely all along";
+    private static final String DATABASES = "Completely different text about database indexes and query " +
+            "planners which is long enough to be checked";
+
+    @Test
+    void testFindsSlightlyChangedCopy() {
+        NearDuplicateDetector detector = createDetector(100);
+        detector.checkAndRemember(1L, SPAM);
+
+        assertEquals(OptionalLong.of(1L), detector.checkAndRemember(2L, SPAM.replace("today", "now")));
+        assertEquals(OptionalLong.of(1L), detector.checkAndRemember(3L, SPAM.toUpperCase() + " hurry"));
+    }
+
+    @Test
+    void testIgnoresDifferentPosts() {
+        NearDuplicateDetector detector = createDetector(1000);
+        detector.checkAndRemember(1L, SPAM);
+        detector.checkAndRemember(2L, HIKING);
+
+        assertTrue(detector.checkAndRemember(3L, DATABASES).isEmpty());
+
+        Random random = new Random(7);
+        for (long postId = 10; postId < 200; postId++) {
+            StringBuilder content = new StringBuilder();
+            for (int word = 0; word < 40; word++) {
+                content.append(Long.toString(random.nextInt(1 << 20), 36)).append(' ');
+            }
+            assertTrue(detector.checkAndRemember(postId, content.toString()).isEmpty());
+        }
+    }
+
+    @Test
+    void testDoesNotMatchPostWithItself() {
+        NearDuplicateDetector detector = createDetector(100);
+        detector.checkAndRemember(1L, SPAM);
+
+        assertTrue(detector.checkAndRemember(1L, SPAM).isEmpty());
+    }
+
+    @Test
+    void testSkipsShortPosts() {
+        NearDuplicateDetector detector = createDetector(100);
+        detector.checkAndRemember(1L, "Happy birthday!");
+
+        assertTrue(detector.checkAndRemember(2L, "Happy birthday!").isEmpty());
+        assertTrue(detector.checkAndRemember(3L, null).isEmpty());
+    }
+
+    @Test
+    void testForgetsOldestPostsBeyondCapacity() {
+        NearDuplicateDetector detector = createDetector(2);
+        detector.checkAndRemember(1L, SPAM);
+        detector.checkAndRemember(2L, HIKING);
+        detector.checkAndRemember(3L, DATABASES);
+
+        assertTrue(detector.checkAndRemember(4L, SPAM).isEmpty());
+    }
+
+    @Test
+    void testRememberedPostReplacesItsPreviousContent() {
+        NearDuplicateDetector detector = createDetector(2);
+        detector.checkAndRemember(1L, HIKING);
+        detector.checkAndRemember(1L, SPAM);
+        detector.checkAndRemember(2L, DATABASES);
+
+        assertTrue(detector.checkAndRemember(3L, HIKING).isEmpty());
+        assertEquals(OptionalLong.of(3L), detector.checkAndRemember(4L, HIKING));
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new NearDuplicateDetector(100, 1.5, 16, 4, 2, 8, 16));
+    }
+
+    private NearDuplicateDetector createDetector(int capacity) {
+        return new NearDuplicateDetector(capacity, 0.6, 16, 4, 2, 8, 16);
+    }
+}
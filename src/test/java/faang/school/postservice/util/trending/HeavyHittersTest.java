@@ -0,0 +1,75 @@
+package faang.school.postservice.util.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeavyHittersTest {
+
+    @Test
+    void testSketchNeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("#tag" + (i % 200), 1);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(sketch.estimate("#tag" + i) >= 5);
+        }
+        assertEquals(0, new CountMinSketch(64, 4).estimate("#missing"));
+    }
+
+    @Test
+    void testSketchSeparatesItemsWithEqualStringHashCodes() {
+        CountMinSketch sketch = new CountMinSketch(1 << 16, 4);
+        sketch.add("#Aa", 100);
+
+        assertEquals("#Aa".hashCode(), "#BB".hashCode());
+        assertEquals(0, sketch.estimate("#BB"));
+    }
+
+    @Test
+    void testKeepsMostFrequentItems() {
+        HeavyHitters hitters = new HeavyHitters(3, 1024, 4);
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            hitters.add("#noise" + random.nextInt(2000), 1);
+            if (i % 5 == 0) {
+                hitters.add("#java", 1);
+            }
+            if (i % 10 == 0) {
+                hitters.add("#spring", 1);
+            }
+            if (i % 20 == 0) {
+                hitters.add("#kafka", 1);
+            }
+        }
+
+        Map<String, Long> top = hitters.top();
+        assertEquals(3, top.size());
+        assertTrue(top.get("#java") >= 1000);
+        assertTrue(top.get("#spring") >= 500);
+        assertTrue(top.get("#kafka") >= 250);
+    }
+
+    @Test
+    void testReplacesSmallestCandidate() {
+        HeavyHitters hitters = new HeavyHitters(2, 1024, 4);
+        hitters.add("#a", 3);
+        hitters.add("#b", 1);
+        hitters.add("#c", 2);
+
+        assertEquals(Map.of("#a", 3L, "#c", 2L), hitters.top());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(0, 1024, 4));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 4));
+    }
+}